@@ -0,0 +1,21 @@
+package com.github.stefvanschie.quickskript.core.context;
+
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
+
+/**
+ * A context which is kept in an {@link ExecutionFrame} and reused for every execution in that frame. Once an execution
+ * is over, the context is cleared, so it doesn't keep the objects of that execution, such as the event or the sender
+ * of a command, reachable until the frame is used again.
+ *
+ * @since 0.1.0
+ */
+public interface ReusableContext extends Context {
+
+    /**
+     * Releases the objects of the execution this context was last used for. The context must be reset before it is
+     * used again.
+     *
+     * @since 0.1.0
+     */
+    void clear();
+}
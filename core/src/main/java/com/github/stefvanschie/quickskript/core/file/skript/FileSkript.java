@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,10 +31,10 @@ public class FileSkript implements Skript {
     private final String name;
 
     /**
-     * The section which stores all information of this file
+     * The section which stores all information of this file. This is replaced when this file is reloaded.
      */
     @NotNull
-    private final SkriptFileSection section;
+    private volatile SkriptFileSection section;
 
     /**
      * Loads a skript file from a given file
@@ -192,6 +193,189 @@ public class FileSkript implements Skript {
         registerEventExecutors(skriptLoader, registeredNodes);
     }
 
+    /**
+     * Parses the contents of the events and commands in this skript ahead of time, so they don't have to be parsed
+     * while registering them. For commands, only the trigger is parsed; other sections aren't parsed at all. Sections
+     * which can't be parsed, or can't be parsed on the current thread, are skipped; they are parsed again when they are
+     * registered. This does not register anything and may be called from any thread.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @since 0.1.0
+     * @see SkriptFileSection#preParseNodes(SkriptLoader)
+     */
+    public void preParse(@NotNull SkriptLoader skriptLoader) {
+        for (SkriptFileNode node : getNodes()) {
+            if (node instanceof SkriptFileSection) {
+                preParse(skriptLoader, (SkriptFileSection) node, false);
+            }
+        }
+    }
+
+    /**
+     * Unregisters everything in this skript file which was registered by {@link #registerAll(SkriptLoader)} or by
+     * {@link #reload(SkriptLoader, FileSkript)}.
+     *
+     * @param skriptLoader the skript loader everything was registered with
+     * @since 0.1.0
+     */
+    public void unregisterAll(@NotNull SkriptLoader skriptLoader) {
+        for (SkriptFileNode node : getNodes()) {
+            if (node instanceof SkriptFileSection) {
+                unregister(skriptLoader, (SkriptFileSection) node);
+            }
+        }
+    }
+
+    /**
+     * Replaces the contents of this skript file by the contents of the given skript file. Only the sections which
+     * changed are registered again: sections which are in both files keep their registrations, sections which are only
+     * in this file are unregistered and sections which are only in the given file are registered. Sections are
+     * compared by their contents and their line numbers, so a section which moved to another line is registered again
+     * and reports its new line numbers.
+     * <p>
+     * The new sections are parsed before anything is unregistered. If one of them can't be parsed, or registering one
+     * of them fails, the exception is thrown and this skript file is left unchanged: the new sections which were
+     * registered already are unregistered and the old sections are registered again. The given skript file should not
+     * be registered itself.
+     *
+     * @param skriptLoader the skript loader everything was registered with
+     * @param updated the skript file with the new contents
+     * @return the amount of sections that were registered again
+     * @since 0.1.0
+     */
+    public int reload(@NotNull SkriptLoader skriptLoader, @NotNull FileSkript updated) {
+        List<SkriptFileNode> removedNodes = new ArrayList<>(getNodes());
+        List<SkriptFileNode> nodes = new ArrayList<>();
+        List<SkriptFileSection> addedSections = new ArrayList<>();
+
+        for (SkriptFileNode node : updated.getNodes()) {
+            SkriptFileNode match = null;
+
+            for (Iterator<SkriptFileNode> iterator = removedNodes.iterator(); iterator.hasNext(); ) {
+                SkriptFileNode removedNode = iterator.next();
+
+                if (removedNode.getLineNumber() == node.getLineNumber() && removedNode.contentEquals(node)) {
+                    match = removedNode;
+                    iterator.remove();
+                    break;
+                }
+            }
+
+            if (match != null) {
+                nodes.add(match);
+                continue;
+            }
+
+            nodes.add(node);
+
+            if (node instanceof SkriptFileSection) {
+                addedSections.add((SkriptFileSection) node);
+            }
+        }
+
+        for (SkriptFileSection addedSection : addedSections) {
+            preParse(skriptLoader, addedSection, true);
+        }
+
+        List<SkriptFileSection> removedSections = new ArrayList<>();
+
+        for (SkriptFileNode removedNode : removedNodes) {
+            if (removedNode instanceof SkriptFileSection) {
+                removedSections.add((SkriptFileSection) removedNode);
+            }
+        }
+
+        SkriptFileSection previousSection = this.section;
+
+        for (SkriptFileSection removedSection : removedSections) {
+            unregister(skriptLoader, removedSection);
+        }
+
+        this.section = new SkriptFileSection(previousSection, nodes);
+
+        try {
+            registerSections(skriptLoader, addedSections);
+        } catch (RuntimeException exception) {
+            for (SkriptFileSection addedSection : addedSections) {
+                unregister(skriptLoader, addedSection);
+            }
+
+            this.section = previousSection;
+
+            registerSections(skriptLoader, removedSections);
+
+            throw exception;
+        }
+
+        return addedSections.size();
+    }
+
+    /**
+     * Registers the given top-level sections, first the commands and then the events
+     *
+     * @param skriptLoader the skript loader to register the sections with
+     * @param sections the top-level sections to register
+     * @since 0.1.0
+     */
+    private void registerSections(@NotNull SkriptLoader skriptLoader,
+        @NotNull Collection<? extends SkriptFileSection> sections) {
+        for (SkriptFileSection section : sections) {
+            if (section.getText().startsWith("command")) {
+                registerCommand(skriptLoader, section);
+            }
+        }
+
+        for (SkriptFileSection section : sections) {
+            if (!section.getText().startsWith("command")) {
+                registerEvent(skriptLoader, section);
+            }
+        }
+    }
+
+    /**
+     * Parses the contents of the given top-level section ahead of time. For commands, only the trigger is parsed.
+     * Sections which are neither events nor commands aren't parsed.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @param section the top-level section
+     * @param strict whether to throw the error if a section can't be parsed, instead of skipping the section
+     * @since 0.1.0
+     */
+    private static void preParse(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section,
+        boolean strict) {
+        if (!section.getText().startsWith("command")) {
+            if (skriptLoader.isEvent(section.getText())) {
+                preParseNodes(skriptLoader, section, strict);
+            }
+
+            return;
+        }
+
+        for (SkriptFileNode commandNode : section.getNodes()) {
+            if (commandNode instanceof SkriptFileSection && commandNode.getText().equalsIgnoreCase("trigger")) {
+                preParseNodes(skriptLoader, (SkriptFileSection) commandNode, strict);
+            }
+        }
+    }
+
+    /**
+     * Parses the nodes of the given section ahead of time.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @param section the section to parse the nodes of
+     * @param strict whether to throw the error if the section can't be parsed, instead of skipping the section
+     * @since 0.1.0
+     */
+    private static void preParseNodes(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section,
+        boolean strict) {
+        section.preParseNodes(skriptLoader);
+
+        if (strict && !section.isPreParsed(skriptLoader)) {
+            //parse again to raise the error
+            section.parseNodes(skriptLoader);
+        }
+    }
+
     /**
      * Registers an individual command from the given section
      *
@@ -213,4 +397,19 @@ public class FileSkript implements Skript {
     private void registerEvent(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section) {
         skriptLoader.tryRegisterEvent(this, section);
     }
+
+    /**
+     * Unregisters the command or event registered from the given top-level section
+     *
+     * @param skriptLoader the skript loader the section was registered with
+     * @param section the top-level section
+     * @since 0.1.0
+     */
+    private void unregister(@NotNull SkriptLoader skriptLoader, @NotNull SkriptFileSection section) {
+        if (section.getText().startsWith("command")) {
+            skriptLoader.tryUnregisterCommand(this, section);
+        } else {
+            skriptLoader.tryUnregisterEvent(this, section);
+        }
+    }
 }
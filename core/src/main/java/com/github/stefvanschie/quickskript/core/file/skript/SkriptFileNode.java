@@ -55,4 +55,16 @@ public class SkriptFileNode {
     public int getLineNumber() {
         return lineNumber;
     }
+
+    /**
+     * Checks whether the given node has the same contents as this node. Line numbers are not taken into account.
+     *
+     * @param node the node to compare with
+     * @return true if the contents are the same, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    boolean contentEquals(@NotNull SkriptFileNode node) {
+        return node.getClass() == getClass() && node.getText().equals(getText());
+    }
 }
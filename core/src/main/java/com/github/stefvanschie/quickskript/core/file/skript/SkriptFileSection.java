@@ -7,6 +7,7 @@ import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -23,6 +24,19 @@ public class SkriptFileSection extends SkriptFileNode {
     @NotNull
     private final List<SkriptFileNode> nodes;
 
+    /**
+     * The nodes of this section parsed ahead of time by {@link #preParseNodes(SkriptLoader)}, or null if they haven't
+     * been parsed ahead of time or have already been handed out
+     */
+    @Nullable
+    private PsiElement<?>[] preParsedNodes;
+
+    /**
+     * The skript loader with which the {@link #preParsedNodes} were parsed
+     */
+    @Nullable
+    private SkriptLoader preParseLoader;
+
     /**
      * Creates a new section with the specified text
      *
@@ -36,6 +50,18 @@ public class SkriptFileSection extends SkriptFileNode {
         this.nodes = Collections.unmodifiableList(parse(nodes));
     }
 
+    /**
+     * Creates a new section with the text and line number of the given section, but with the given nodes
+     *
+     * @param section the section to take the text and line number from
+     * @param nodes the nodes of the new section
+     * @since 0.1.0
+     */
+    SkriptFileSection(@NotNull SkriptFileSection section, @NotNull List<SkriptFileNode> nodes) {
+        super(section.getText(), section.getLineNumber());
+        this.nodes = List.copyOf(nodes);
+    }
+
     /**
      * Returns an immutable list of the underlying nodes in this section
      *
@@ -48,9 +74,43 @@ public class SkriptFileSection extends SkriptFileNode {
         return nodes;
     }
 
+    /**
+     * Parses all the nodes of this section ahead of time, so the next call to {@link #parseNodes(SkriptLoader)} with
+     * the same skript loader doesn't have to parse them anymore. This allows the nodes to be parsed on another thread
+     * than the one registering this section. If the nodes can't be parsed, or can't be parsed on the current thread,
+     * nothing is stored and the nodes are parsed again once {@link #parseNodes(SkriptLoader)} is called.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @since 0.1.0
+     */
+    public synchronized void preParseNodes(@NotNull SkriptLoader skriptLoader) {
+        try {
+            this.preParsedNodes = parseNodes(skriptLoader);
+            this.preParseLoader = skriptLoader;
+        } catch (RuntimeException exception) {
+            this.preParsedNodes = null;
+            this.preParseLoader = null;
+        }
+    }
+
+    /**
+     * Gets whether the nodes of this section were parsed ahead of time with the given skript loader and haven't been
+     * handed out yet.
+     *
+     * @param skriptLoader the skript loader
+     * @return true if the nodes were parsed ahead of time, false otherwise
+     * @since 0.1.0
+     * @see #preParseNodes(SkriptLoader)
+     */
+    @Contract(pure = true)
+    public synchronized boolean isPreParsed(@NotNull SkriptLoader skriptLoader) {
+        return this.preParsedNodes != null && this.preParseLoader == skriptLoader;
+    }
+
     /**
      * Parses all of the nodes, including the ones inside nested
-     * sections into a psi structure
+     * sections into a psi structure. If the nodes were parsed ahead of time with the same skript loader, those nodes
+     * are returned instead, once.
      *
      * @return the nodes parsed into a psi structure
      * @since 0.1.0
@@ -58,6 +118,17 @@ public class SkriptFileSection extends SkriptFileNode {
     @NotNull
     @Contract(pure = true)
     public PsiElement<?>[] parseNodes(@NotNull SkriptLoader skriptLoader) {
+        synchronized (this) {
+            PsiElement<?>[] preParsedNodes = this.preParsedNodes;
+
+            if (preParsedNodes != null && this.preParseLoader == skriptLoader) {
+                this.preParsedNodes = null;
+                this.preParseLoader = null;
+
+                return preParsedNodes;
+            }
+        }
+
         Deque<PsiElement<?>> result = new ArrayDeque<>(nodes.size());
 
         PsiIf latestValidIf = null;
@@ -94,6 +165,28 @@ public class SkriptFileSection extends SkriptFileNode {
         return result.toArray(PsiElement[]::new);
     }
 
+    @Contract(pure = true)
+    @Override
+    boolean contentEquals(@NotNull SkriptFileNode node) {
+        if (!super.contentEquals(node)) {
+            return false;
+        }
+
+        List<SkriptFileNode> otherNodes = ((SkriptFileSection) node).getNodes();
+
+        if (otherNodes.size() != nodes.size()) {
+            return false;
+        }
+
+        for (int index = 0; index < nodes.size(); index++) {
+            if (!nodes.get(index).contentEquals(otherNodes.get(index))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     /**
      * Parses a section from the given header and strings
      *
@@ -0,0 +1,735 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import com.github.stefvanschie.quickskript.core.pattern.group.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * A skript pattern lowered into a flat form which can be matched without creating intermediate strings, arrays or
+ * match results. Every group is turned into a node and every pattern nested in an optional or choice group becomes a
+ * sequence of nodes of its own. Matching walks these sequences over positions in the input, keeping the matched groups
+ * on a single stack, and only creates a {@link SkriptMatchResult} once the end of the pattern has been reached. The
+ * results are the same, and in the same order, as the ones produced by {@link SkriptPattern#match(String)}.
+ * <p>
+ * Whether the rest of the input can still be matched from some point only depends on the node that is matched next,
+ * the position in the input and, for every enclosing optional or choice node, whether its alternative has consumed
+ * any input yet. When only full matches are requested, these states are remembered once no match could be produced
+ * from them, so every state is explored without producing a result at most once. The time this takes is polynomial in
+ * the length of the input, no matter how deeply groups are nested, plus the time it takes to produce the results.
+ *
+ * @since 0.1.0
+ */
+public class CompiledSkriptPattern {
+
+    /**
+     * The sequence of the top-level groups of the pattern
+     */
+    @NotNull
+    private final Sequence sequence;
+
+    /**
+     * The amount of regex nodes in this pattern
+     */
+    private final int regexCount;
+
+    /**
+     * The largest amount of optional and choice nodes any node of this pattern is nested in
+     */
+    private final int maxDepth;
+
+    /**
+     * Creates a new compiled skript pattern from the given pattern
+     *
+     * @param pattern the pattern to compile
+     * @since 0.1.0
+     */
+    CompiledSkriptPattern(@NotNull SkriptPattern pattern) {
+        var counts = new Counts();
+
+        this.sequence = compile(pattern, counts, 0);
+        this.regexCount = counts.regexes;
+        this.maxDepth = counts.maxDepth;
+    }
+
+    /**
+     * Tries to match the given input to this pattern. This returns the same results as
+     * {@link SkriptPattern#match(String)}, including the results which did not match the entire input. The returned
+     * list is mutable.
+     *
+     * @param input the input to match
+     * @return the match results
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<SkriptMatchResult> match(@NotNull String input) {
+        return new Run(input, false).match();
+    }
+
+    /**
+     * Tries to match the given input to this pattern, only returning the results that matched the entire input. This
+     * returns the results of {@link #match(String)} that don't have any unmatched parts, in the same order. Since
+     * partial results don't have to be produced, states from which the end of the input can't be reached are
+     * remembered and not tried again. The returned list is mutable.
+     *
+     * @param input the input to match
+     * @return the match results
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<SkriptMatchResult> matchFully(@NotNull String input) {
+        return new Run(input, true).match();
+    }
+
+    /**
+     * Lowers the given pattern into a sequence
+     *
+     * @param pattern the pattern to lower
+     * @param counts the amounts of nodes created so far
+     * @param depth the amount of optional and choice nodes the pattern is nested in
+     * @return the sequence
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static Sequence compile(@NotNull SkriptPattern pattern, @NotNull Counts counts, int depth) {
+        List<SkriptPatternGroup> groups = pattern.getTopLevelGroups();
+        Node[] nodes = new Node[groups.size()];
+        int firstNode = counts.nodes;
+
+        counts.nodes += nodes.length;
+        counts.maxDepth = Math.max(counts.maxDepth, depth);
+
+        for (int index = 0; index < nodes.length; index++) {
+            SkriptPatternGroup group = groups.get(index);
+            SkriptPatternGroup next = index + 1 < nodes.length ? groups.get(index + 1) : null;
+            boolean beforeSpace = next instanceof SpaceGroup && index + 2 < nodes.length;
+
+            Node node;
+
+            if (group instanceof LiteralGroup) {
+                node = new Node(group, Kind.LITERAL);
+                node.text = ((LiteralGroup) group).getText();
+            } else if (group instanceof SpaceGroup) {
+                node = new Node(group, Kind.SPACE);
+                node.beforeOptional = next instanceof OptionalGroup;
+            } else if (group instanceof OptionalGroup) {
+                node = new Node(group, Kind.OPTIONAL);
+                node.alternatives = compile(((OptionalGroup) group).getPatterns(), counts, depth + 1);
+                node.parseMarks = ((OptionalGroup) group).getParseMarks();
+                node.beforeSpace = beforeSpace;
+            } else if (group instanceof ChoiceGroup) {
+                node = new Node(group, Kind.CHOICE);
+                node.alternatives = compile(((ChoiceGroup) group).getPatterns(), counts, depth + 1);
+                node.parseMarks = ((ChoiceGroup) group).getParseMarks();
+                node.beforeSpace = beforeSpace;
+            } else if (group instanceof TypeGroup) {
+                node = new Node(group, Kind.TYPE);
+            } else if (group instanceof RegexGroup) {
+                node = new Node(group, Kind.REGEX);
+                node.regex = ((RegexGroup) group).getPattern();
+                node.regexIndex = counts.regexes++;
+            } else {
+                throw new IllegalArgumentException("Unknown group type '" + group.getClass().getName() + "'");
+            }
+
+            nodes[index] = node;
+        }
+
+        return new Sequence(nodes, pattern.getRequiredLiterals().toArray(String[]::new), firstNode);
+    }
+
+    /**
+     * Lowers all the given patterns into sequences
+     *
+     * @param patterns the patterns to lower
+     * @param counts the amounts of nodes created so far
+     * @param depth the amount of optional and choice nodes the patterns are nested in
+     * @return the sequences, in the same order as the patterns
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static Sequence @NotNull [] compile(@NotNull SkriptPattern @NotNull [] patterns, @NotNull Counts counts,
+        int depth) {
+        Sequence[] sequences = new Sequence[patterns.length];
+
+        for (int index = 0; index < patterns.length; index++) {
+            sequences[index] = compile(patterns[index], counts, depth);
+        }
+
+        return sequences;
+    }
+
+    /**
+     * The amounts of nodes created while lowering a pattern
+     *
+     * @since 0.1.0
+     */
+    private static class Counts {
+
+        /**
+         * The amount of regex nodes
+         */
+        private int regexes;
+
+        /**
+         * The amount of nodes of any kind
+         */
+        private int nodes;
+
+        /**
+         * The largest amount of optional and choice nodes a sequence is nested in
+         */
+        private int maxDepth;
+    }
+
+    /**
+     * The kinds of nodes, one for each kind of group
+     *
+     * @since 0.1.0
+     */
+    private enum Kind {
+        LITERAL,
+        SPACE,
+        OPTIONAL,
+        CHOICE,
+        TYPE,
+        REGEX
+    }
+
+    /**
+     * A single group of a pattern in its compiled form
+     *
+     * @since 0.1.0
+     */
+    private static class Node {
+
+        /**
+         * The group this node was created from
+         */
+        @NotNull
+        private final SkriptPatternGroup group;
+
+        /**
+         * The kind of this node
+         */
+        @NotNull
+        private final Kind kind;
+
+        /**
+         * The text of a literal node
+         */
+        private String text;
+
+        /**
+         * The sequences of an optional or choice node
+         */
+        private Sequence[] alternatives;
+
+        /**
+         * The parse marks belonging to the alternatives of an optional or choice node
+         */
+        private int[] parseMarks;
+
+        /**
+         * The regular expression of a regex node
+         */
+        private java.util.regex.Pattern regex;
+
+        /**
+         * The index of a regex node among all regex nodes of the pattern
+         */
+        private int regexIndex;
+
+        /**
+         * Whether a space node is followed by an optional node, in which case the space is optional as well
+         */
+        private boolean beforeOptional;
+
+        /**
+         * Whether an optional or choice node is followed by a space node, which is in turn followed by another node. If
+         * the optional or choice node doesn't consume any input, such a space may be skipped.
+         */
+        private boolean beforeSpace;
+
+        /**
+         * Creates a new node
+         *
+         * @param group the group this node was created from
+         * @param kind the kind of this node
+         * @since 0.1.0
+         */
+        private Node(@NotNull SkriptPatternGroup group, @NotNull Kind kind) {
+            this.group = group;
+            this.kind = kind;
+        }
+    }
+
+    /**
+     * The compiled form of a single pattern
+     *
+     * @since 0.1.0
+     */
+    private static class Sequence {
+
+        /**
+         * The nodes of this sequence
+         */
+        @NotNull
+        private final Node[] nodes;
+
+        /**
+         * The literals which must occur in the input for this sequence to be able to match
+         */
+        @NotNull
+        private final String[] requiredLiterals;
+
+        /**
+         * The number of the first node of this sequence among all nodes of the pattern; the other nodes of this
+         * sequence are numbered consecutively
+         */
+        private final int firstNode;
+
+        /**
+         * Creates a new sequence
+         *
+         * @param nodes the nodes
+         * @param requiredLiterals the required literals
+         * @param firstNode the number of the first node
+         * @since 0.1.0
+         */
+        private Sequence(@NotNull Node[] nodes, @NotNull String[] requiredLiterals, int firstNode) {
+            this.nodes = nodes;
+            this.requiredLiterals = requiredLiterals;
+            this.firstNode = firstNode;
+        }
+
+        /**
+         * Checks whether this sequence may match the input starting at the given position
+         *
+         * @param input the input
+         * @param position the position in the input to start matching at
+         * @return true if this sequence may match, false if it certainly won't
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private boolean mayMatch(@NotNull String input, int position) {
+            if (nodes.length == 0) {
+                return false;
+            }
+
+            for (String requiredLiteral : requiredLiterals) {
+                if (input.indexOf(requiredLiteral, position) == -1) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Indicates where to continue once the sequence of an alternative of an optional or choice node has been matched
+     *
+     * @since 0.1.0
+     */
+    private static class Frame {
+
+        /**
+         * The sequence containing the optional or choice node
+         */
+        @NotNull
+        private final Sequence sequence;
+
+        /**
+         * The index of the optional or choice node in the sequence
+         */
+        private final int index;
+
+        /**
+         * The position in the input at which the alternative started matching
+         */
+        private final int start;
+
+        /**
+         * The index on the stack of matched groups at which the optional or choice node was placed
+         */
+        private final int slot;
+
+        /**
+         * Whether the space after the node should be skipped as well, if the alternative didn't consume any input
+         */
+        private final boolean skipSpaceIfEmpty;
+
+        /**
+         * The frame of the sequence containing the optional or choice node, or null if this is the top-level sequence
+         */
+        @Nullable
+        private final Frame parent;
+
+        /**
+         * Creates a new frame
+         *
+         * @param sequence the sequence containing the node
+         * @param index the index of the node
+         * @param start the position at which the alternative started matching
+         * @param slot the index on the stack of matched groups
+         * @param skipSpaceIfEmpty whether the space after the node may be skipped
+         * @param parent the frame of the containing sequence
+         * @since 0.1.0
+         */
+        private Frame(@NotNull Sequence sequence, int index, int start, int slot, boolean skipSpaceIfEmpty,
+            @Nullable Frame parent) {
+            this.sequence = sequence;
+            this.index = index;
+            this.start = start;
+            this.slot = slot;
+            this.skipSpaceIfEmpty = skipSpaceIfEmpty;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * The state of matching a single input
+     *
+     * @since 0.1.0
+     */
+    private class Run {
+
+        /**
+         * The input being matched
+         */
+        @NotNull
+        private final String input;
+
+        /**
+         * Whether only results that match the entire input should be produced
+         */
+        private final boolean fully;
+
+        /**
+         * The results produced so far
+         */
+        @NotNull
+        private final List<SkriptMatchResult> results = new ArrayList<>();
+
+        /**
+         * The states from which no result can be produced, only used when matching fully. See {@link #getState}.
+         */
+        @Nullable
+        private final BitSet dead;
+
+        /**
+         * The matchers for the regex nodes, by their index, created on demand
+         */
+        @Nullable
+        private final Matcher @NotNull [] matchers;
+
+        /**
+         * The groups on the stack of matched groups
+         */
+        @NotNull
+        private SkriptPatternGroup[] groups = new SkriptPatternGroup[8];
+
+        /**
+         * The start and end positions in the input of the matched groups on the stack, with the start of a group at
+         * index {@code 2i} and the end at index {@code 2i + 1}
+         */
+        private int @NotNull [] offsets = new int[16];
+
+        /**
+         * The amount of groups on the stack
+         */
+        private int size;
+
+        /**
+         * Creates a new run
+         *
+         * @param input the input to match
+         * @param fully whether only results matching the entire input should be produced
+         * @since 0.1.0
+         */
+        private Run(@NotNull String input, boolean fully) {
+            this.input = input;
+            this.fully = fully;
+            this.dead = fully ? new BitSet() : null;
+            this.matchers = new Matcher[regexCount];
+        }
+
+        /**
+         * Matches the input
+         *
+         * @return the results
+         * @since 0.1.0
+         */
+        @NotNull
+        private List<SkriptMatchResult> match() {
+            if (sequence.mayMatch(input, 0)) {
+                matchSequence(sequence, 0, 0, 0, null);
+            }
+
+            return results;
+        }
+
+        /**
+         * Matches the nodes of the given sequence, starting at the given index, against the input starting at the given
+         * position.
+         *
+         * @param sequence the sequence to match
+         * @param index the index of the first node to match
+         * @param position the position in the input
+         * @param parseMark the parse mark accumulated so far
+         * @param frame where to continue once the sequence has been matched, or null if this is the top-level sequence
+         * @since 0.1.0
+         */
+        private void matchSequence(@NotNull Sequence sequence, int index, int position, int parseMark,
+            @Nullable Frame frame) {
+            Node[] nodes = sequence.nodes;
+
+            if (index == nodes.length) {
+                complete(position, parseMark, frame);
+                return;
+            }
+
+            int state = dead == null ? -1 : getState(sequence, index, position, frame);
+
+            if (state != -1 && dead.get(state)) {
+                return;
+            }
+
+            int resultCount = results.size();
+            Node node = nodes[index];
+
+            switch (node.kind) {
+                case LITERAL:
+                    if (input.startsWith(node.text, position)) {
+                        int end = position + node.text.length();
+
+                        push(node.group, position, end);
+                        matchSequence(sequence, index + 1, end, parseMark, frame);
+                        size--;
+                    }
+
+                    break;
+                case SPACE:
+                    boolean space = position < input.length() && input.charAt(position) == ' ';
+
+                    if (space) {
+                        push(node.group, position, position + 1);
+                        matchSequence(sequence, index + 1, position + 1, parseMark, frame);
+                        size--;
+                    }
+
+                    if (node.beforeOptional) {
+                        matchSequence(sequence, index + 2, position, parseMark, frame);
+                    }
+
+                    break;
+                case OPTIONAL:
+                    matchAlternatives(sequence, index, position, parseMark, frame, false);
+                    matchSequence(sequence, index + 1, position, parseMark, frame);
+
+                    if (node.beforeSpace) {
+                        matchSequence(sequence, index + 2, position, parseMark, frame);
+                    }
+
+                    break;
+                case CHOICE:
+                    matchAlternatives(sequence, index, position, parseMark, frame, node.beforeSpace);
+                    break;
+                case TYPE:
+                    int lastTypeEnd = lastEnd(sequence, index, position, frame);
+
+                    for (int end = input.length(); end >= lastTypeEnd; end--) {
+                        push(node.group, position, end);
+                        matchSequence(sequence, index + 1, end, parseMark, frame);
+                        size--;
+                    }
+
+                    break;
+                case REGEX:
+                    Matcher matcher = matchers[node.regexIndex];
+
+                    if (matcher == null) {
+                        matcher = matchers[node.regexIndex] = node.regex.matcher(input);
+                    }
+
+                    int lastRegexEnd = lastEnd(sequence, index, position, frame);
+
+                    for (int end = input.length(); end >= lastRegexEnd; end--) {
+                        matcher.region(position, end);
+
+                        if (!matcher.find() || matcher.start() != position) {
+                            continue;
+                        }
+
+                        int matchEnd = matcher.end();
+
+                        push(node.group, position, matchEnd);
+                        matchSequence(sequence, index + 1, matchEnd, parseMark, frame);
+                        size--;
+                    }
+
+                    break;
+            }
+
+            if (state != -1 && results.size() == resultCount) {
+                dead.set(state);
+            }
+        }
+
+        /**
+         * Gets the number of the state in which the node at the given index is about to be matched at the given
+         * position. Besides the node and the position, the state consists of the amount of enclosing optional and
+         * choice nodes whose alternative hasn't consumed any input yet, because these may allow the space following
+         * them to be skipped. Since alternatives start matching at or after the position their enclosing alternative
+         * started at, these are always the innermost enclosing nodes. Everything else that determines whether a
+         * result can be produced, like the nodes which follow the enclosing nodes, is fixed for every node.
+         *
+         * @param sequence the sequence containing the node
+         * @param index the index of the node
+         * @param position the position in the input
+         * @param frame the frame of the sequence containing the node
+         * @return the number of the state, or -1 if there are too many states to number them
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private int getState(@NotNull Sequence sequence, int index, int position, @Nullable Frame frame) {
+            int emptyAlternatives = 0;
+
+            for (Frame current = frame; current != null && current.start == position; current = current.parent) {
+                emptyAlternatives++;
+            }
+
+            long state = ((long) (sequence.firstNode + index) * (maxDepth + 1) + emptyAlternatives)
+                * (input.length() + 1) + position;
+
+            return state > Integer.MAX_VALUE ? -1 : (int) state;
+        }
+
+        /**
+         * Matches every alternative of the optional or choice node at the given index.
+         *
+         * @param sequence the sequence containing the node
+         * @param index the index of the node
+         * @param position the position in the input
+         * @param parseMark the parse mark accumulated so far
+         * @param frame the frame of the sequence containing the node
+         * @param skipSpaceIfEmpty whether the following space may be skipped if an alternative consumes no input
+         * @since 0.1.0
+         */
+        private void matchAlternatives(@NotNull Sequence sequence, int index, int position, int parseMark,
+            @Nullable Frame frame, boolean skipSpaceIfEmpty) {
+            Node node = sequence.nodes[index];
+
+            for (int alternative = 0; alternative < node.alternatives.length; alternative++) {
+                Sequence alternativeSequence = node.alternatives[alternative];
+
+                if (!alternativeSequence.mayMatch(input, position)) {
+                    continue;
+                }
+
+                int slot = push(node.group, position, position);
+                var alternativeFrame = new Frame(sequence, index, position, slot, skipSpaceIfEmpty, frame);
+
+                matchSequence(alternativeSequence, 0, position, parseMark ^ node.parseMarks[alternative],
+                    alternativeFrame);
+
+                size = slot;
+            }
+        }
+
+        /**
+         * Continues matching after a sequence has been matched entirely. If this is the top-level sequence, a result
+         * is produced; otherwise matching continues after the node owning the sequence.
+         *
+         * @param position the position in the input
+         * @param parseMark the parse mark accumulated so far
+         * @param frame where to continue, or null if this is the top-level sequence
+         * @since 0.1.0
+         */
+        private void complete(int position, int parseMark, @Nullable Frame frame) {
+            if (frame == null) {
+                if (!fully || position == input.length()) {
+                    results.add(createResult(position, parseMark));
+                }
+
+                return;
+            }
+
+            offsets[frame.slot * 2 + 1] = position;
+
+            matchSequence(frame.sequence, frame.index + 1, position, parseMark, frame.parent);
+
+            if (frame.skipSpaceIfEmpty && position == frame.start) {
+                matchSequence(frame.sequence, frame.index + 2, position, parseMark, frame.parent);
+            }
+        }
+
+        /**
+         * Gets the lowest position at which a type or regex node at the given index may stop consuming input. A type
+         * or regex node never consumes nothing, unless the input has been consumed entirely already. When matching
+         * fully, the last top-level node has to consume the rest of the input.
+         *
+         * @param sequence the sequence containing the node
+         * @param index the index of the node
+         * @param position the position in the input
+         * @param frame the frame of the sequence containing the node
+         * @return the lowest end position to try
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private int lastEnd(@NotNull Sequence sequence, int index, int position, @Nullable Frame frame) {
+            int length = input.length();
+
+            if (position == length || (fully && frame == null && index == sequence.nodes.length - 1)) {
+                return length;
+            }
+
+            return position + 1;
+        }
+
+        /**
+         * Places a matched group on the stack
+         *
+         * @param group the group that was matched
+         * @param start the position in the input at which the group starts
+         * @param end the position in the input at which the group ends
+         * @return the index on the stack at which the group was placed
+         * @since 0.1.0
+         */
+        private int push(@NotNull SkriptPatternGroup group, int start, int end) {
+            if (size == groups.length) {
+                groups = Arrays.copyOf(groups, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 4);
+            }
+
+            groups[size] = group;
+            offsets[size * 2] = start;
+            offsets[size * 2 + 1] = end;
+
+            return size++;
+        }
+
+        /**
+         * Creates a match result from the groups currently on the stack
+         *
+         * @param position the position in the input up to which the input was matched
+         * @param parseMark the parse mark of the match
+         * @return the match result
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private SkriptMatchResult createResult(int position, int parseMark) {
+            return new SkriptMatchResult(input, Arrays.copyOf(groups, size), Arrays.copyOf(offsets, size * 2), size,
+                parseMark, position);
+        }
+    }
+}
@@ -11,17 +11,48 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
 /**
- * A class holding information about an attempted match
+ * A class holding information about an attempted match. The matched parts are stored as start and end positions in
+ * the text they were matched in, so no substrings have to be created until the text of a matched group is requested.
  *
  * @since 0.1.0
  */
 public class SkriptMatchResult {
 
     /**
-     * An ordered list of all groups that were matched and the exact part that matched
+     * The groups that were matched, in order. Only the first {@link #size} elements are used.
      */
     @NotNull
-    private final List<Pair<SkriptPatternGroup, String>> matchedGroups = new ArrayList<>();
+    private SkriptPatternGroup[] groups;
+
+    /**
+     * The texts in which the groups were matched, by the index of the group. A null element means the group was
+     * matched in the {@link #input}. This is null if all groups were matched in the input.
+     */
+    @Nullable
+    private String @Nullable [] sources;
+
+    /**
+     * The start and end positions of the matched groups, with the start of the group at index {@code 2i} and the end
+     * at index {@code 2i + 1}.
+     */
+    private int @NotNull [] offsets;
+
+    /**
+     * The amount of groups that were matched
+     */
+    private int size;
+
+    /**
+     * The text that was matched against
+     */
+    @NotNull
+    private final String input;
+
+    /**
+     * The matched groups as pairs, created on demand and discarded when the matched groups change
+     */
+    @Nullable
+    private List<Pair<SkriptPatternGroup, String>> matchedGroups;
 
     /**
      * The final parse mark of the match
@@ -29,10 +60,46 @@ public class SkriptMatchResult {
     private int parseMark;
 
     /**
-     * The resting string
+     * The text containing the resting string
      */
     @NotNull
-    private String restingString = "";
+    private String restingSource;
+
+    /**
+     * The position in the {@link #restingSource} at which the resting string starts
+     */
+    private int restingStart;
+
+    /**
+     * Creates a new, empty match result
+     *
+     * @since 0.1.0
+     */
+    public SkriptMatchResult() {
+        this("", new SkriptPatternGroup[0], new int[0], 0, 0, 0);
+    }
+
+    /**
+     * Creates a new match result for groups matched in the given input
+     *
+     * @param input the text that was matched against
+     * @param groups the matched groups, this array is not copied
+     * @param offsets the start and end positions of the matched groups, this array is not copied
+     * @param size the amount of matched groups
+     * @param parseMark the parse mark of the match
+     * @param restingStart the position in the input at which the resting string starts
+     * @since 0.1.0
+     */
+    SkriptMatchResult(@NotNull String input, @NotNull SkriptPatternGroup @NotNull [] groups, int @NotNull [] offsets,
+        int size, int parseMark, int restingStart) {
+        this.input = input;
+        this.groups = groups;
+        this.offsets = offsets;
+        this.size = size;
+        this.parseMark = parseMark;
+        this.restingSource = input;
+        this.restingStart = restingStart;
+    }
 
     /**
      * Adds a group that was successfully matched
@@ -44,7 +111,36 @@ public class SkriptMatchResult {
      * @see #addMatchedGroup(SkriptPatternGroup, String)
      */
     public void addMatchedGroup(@NotNull SkriptPatternGroup group, @NotNull String text, int index) {
-        matchedGroups.add(index, new Pair<>(group, text));
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        if (size == groups.length) {
+            int capacity = Math.max(4, size * 2);
+
+            groups = Arrays.copyOf(groups, capacity);
+            offsets = Arrays.copyOf(offsets, capacity * 2);
+
+            if (sources != null) {
+                sources = Arrays.copyOf(sources, capacity);
+            }
+        }
+
+        if (sources == null) {
+            sources = new String[groups.length];
+        }
+
+        System.arraycopy(groups, index, groups, index + 1, size - index);
+        System.arraycopy(sources, index, sources, index + 1, size - index);
+        System.arraycopy(offsets, index * 2, offsets, index * 2 + 2, (size - index) * 2);
+
+        groups[index] = group;
+        sources[index] = text;
+        offsets[index * 2] = 0;
+        offsets[index * 2 + 1] = text.length();
+
+        size++;
+        matchedGroups = null;
     }
 
     /**
@@ -68,15 +164,15 @@ public class SkriptMatchResult {
     public String getMatchedString() {
         StringBuilder builder = new StringBuilder();
 
-        matchedGroups.forEach(pair -> {
-            SkriptPatternGroup skriptPatternGroup = pair.getX();
+        for (int index = 0; index < size; index++) {
+            SkriptPatternGroup skriptPatternGroup = groups[index];
 
             if (skriptPatternGroup instanceof ChoiceGroup || skriptPatternGroup instanceof OptionalGroup) {
-                return;
+                continue;
             }
 
-            builder.append(pair.getY());
-        });
+            builder.append(getSource(index), offsets[index * 2], offsets[index * 2 + 1]);
+        }
 
         return builder.toString();
     }
@@ -90,10 +186,10 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public SkriptMatchResult shallowCopy() {
-        SkriptMatchResult result = new SkriptMatchResult();
-        result.matchedGroups.addAll(matchedGroups);
-        result.restingString = restingString;
-        result.parseMark = parseMark;
+        var result = new SkriptMatchResult(input, Arrays.copyOf(groups, size), Arrays.copyOf(offsets, size * 2), size,
+            parseMark, restingStart);
+        result.sources = sources == null ? null : Arrays.copyOf(sources, size);
+        result.restingSource = restingSource;
 
         return result;
     }
@@ -108,11 +204,13 @@ public class SkriptMatchResult {
     @Nullable
     @Contract(pure = true)
     public String getMatchedString(@NotNull SkriptPatternGroup group) {
-        return matchedGroups.stream()
-            .filter(pair -> pair.getX().equals(group))
-            .map(Pair::getY)
-            .findAny()
-            .orElse(null);
+        for (int index = 0; index < size; index++) {
+            if (groups[index].equals(group)) {
+                return getMatchedText(index);
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -124,7 +222,7 @@ public class SkriptMatchResult {
      * @see #addMatchedGroup(SkriptPatternGroup, String, int)
      */
     public void addMatchedGroup(@NotNull SkriptPatternGroup group, @NotNull String text) {
-        addMatchedGroup(group, text, matchedGroups.size());
+        addMatchedGroup(group, text, size);
     }
 
     /**
@@ -135,12 +233,13 @@ public class SkriptMatchResult {
      */
     @Contract(pure = true)
     public boolean hasUnmatchedParts() {
-        return !restingString.isEmpty();
+        return restingStart < restingSource.length();
     }
 
     /**
      * Gets a list of the matched groups and the strings that were matched. This is a copy of the original list and is
-     * immutable.
+     * immutable. Prefer {@link #getMatchedGroup(int)} and {@link #getMatchedText(int)} when not all texts are needed,
+     * since this creates the texts of all matched groups.
      *
      * @return the matched groups
      * @since 0.1.0
@@ -148,7 +247,60 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public List<Pair<SkriptPatternGroup, String>> getMatchedGroups() {
-        return Collections.unmodifiableList(matchedGroups);
+        if (matchedGroups == null) {
+            List<Pair<SkriptPatternGroup, String>> pairs = new ArrayList<>(size);
+
+            for (int index = 0; index < size; index++) {
+                pairs.add(new Pair<>(groups[index], getMatchedText(index)));
+            }
+
+            matchedGroups = Collections.unmodifiableList(pairs);
+        }
+
+        return matchedGroups;
+    }
+
+    /**
+     * Gets the amount of groups that were matched
+     *
+     * @return the amount of matched groups
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getMatchedGroupCount() {
+        return size;
+    }
+
+    /**
+     * Gets the matched group at the given index, in the same order as {@link #getMatchedGroups()}
+     *
+     * @param index the index of the matched group
+     * @return the matched group
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than {@link #getMatchedGroupCount()}
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public SkriptPatternGroup getMatchedGroup(int index) {
+        Objects.checkIndex(index, size);
+
+        return groups[index];
+    }
+
+    /**
+     * Gets the text that matched the group at the given index, in the same order as {@link #getMatchedGroups()}
+     *
+     * @param index the index of the matched group
+     * @return the text that matched the group
+     * @throws IndexOutOfBoundsException if the index is negative or not lower than {@link #getMatchedGroupCount()}
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getMatchedText(int index) {
+        Objects.checkIndex(index, size);
+
+        return getSource(index).substring(offsets[index * 2], offsets[index * 2 + 1]);
     }
 
     /**
@@ -158,7 +310,8 @@ public class SkriptMatchResult {
      * @since 0.1.0
      */
     public void setRestingString(@NotNull String restingString) {
-        this.restingString = restingString;
+        this.restingSource = restingString;
+        this.restingStart = 0;
     }
 
     /**
@@ -170,7 +323,12 @@ public class SkriptMatchResult {
     @NotNull
     @Contract(pure = true)
     public String getRestingString() {
-        return restingString;
+        if (restingStart != 0) {
+            restingSource = restingSource.substring(restingStart);
+            restingStart = 0;
+        }
+
+        return restingSource;
     }
 
     /**
@@ -183,4 +341,21 @@ public class SkriptMatchResult {
     public int getParseMark() {
         return parseMark;
     }
+
+    /**
+     * Gets the text in which the group at the given index was matched
+     *
+     * @param index the index of the group
+     * @return the text
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private String getSource(int index) {
+        if (sources == null || sources[index] == null) {
+            return input;
+        }
+
+        return sources[index];
+    }
 }
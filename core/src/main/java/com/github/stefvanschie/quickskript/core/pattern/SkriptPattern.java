@@ -22,12 +22,25 @@ public class SkriptPattern {
      */
     private final List<SkriptPatternGroup> groups;
 
+    /**
+     * The texts of the literal groups that are not nested inside other groups. Every input that matches this pattern
+     * must contain all of these texts.
+     */
+    @NotNull
+    private final String[] requiredLiterals;
+
     /**
      * The cached result of fully unrolling this pattern. This may be null when this pattern hasn't been fully unrolled
      * yet.
      */
     @Nullable
-    private Collection<String> cachedFullUnroll;
+    private volatile Collection<String> cachedFullUnroll;
+
+    /**
+     * The compiled form of this pattern. This may be null when this pattern hasn't been compiled yet.
+     */
+    @Nullable
+    private volatile CompiledSkriptPattern compiled;
 
     /**
      * A set with functions that can parse groups
@@ -50,6 +63,16 @@ public class SkriptPattern {
      */
     private SkriptPattern(List<SkriptPatternGroup> groups) {
         this.groups = groups;
+
+        List<String> requiredLiterals = new ArrayList<>();
+
+        for (SkriptPatternGroup group : groups) {
+            if (group instanceof LiteralGroup) {
+                requiredLiterals.add(((LiteralGroup) group).getText());
+            }
+        }
+
+        this.requiredLiterals = requiredLiterals.toArray(String[]::new);
     }
 
     /**
@@ -100,12 +123,8 @@ public class SkriptPattern {
         }
 
         //exit early if matching will absolutely fail
-        for (SkriptPatternGroup group : groups) {
-            if (!(group instanceof LiteralGroup)) {
-                continue;
-            }
-
-            if (!input.contains(((LiteralGroup) group).getText())) {
+        for (String requiredLiteral : requiredLiterals) {
+            if (!input.contains(requiredLiteral)) {
                 return new ArrayList<>(0);
             }
         }
@@ -113,6 +132,26 @@ public class SkriptPattern {
         return groups.get(0).match(groups.subList(1, groups.size()).toArray(SkriptPatternGroup[]::new), input);
     }
 
+    /**
+     * Gets the compiled form of this pattern, which produces the same match results as {@link #match(String)} without
+     * the intermediate objects created by the groups. The compiled form is created the first time this method is called
+     * and reused afterwards.
+     *
+     * @return the compiled pattern
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public CompiledSkriptPattern compile() {
+        CompiledSkriptPattern compiled = this.compiled;
+
+        if (compiled == null) {
+            compiled = this.compiled = new CompiledSkriptPattern(this);
+        }
+
+        return compiled;
+    }
+
     /**
      * Unrolls this skript pattern returning an array of all possible strings that will fully match this pattern. This
      * method does not work for patterns that contain a type group or regex group. If this method is called on a skript
@@ -125,6 +164,8 @@ public class SkriptPattern {
     @NotNull
     @Contract(pure = true)
     public Collection<String> unrollFully() {
+        Collection<String> cachedFullUnroll = this.cachedFullUnroll;
+
         if (cachedFullUnroll != null) {
             return cachedFullUnroll;
         }
@@ -160,6 +201,31 @@ public class SkriptPattern {
         return patterns;
     }
 
+    /**
+     * Gets the texts which every input matching this pattern must contain. These are the texts of the literal groups
+     * which are not nested inside other groups. The returned list is immutable.
+     *
+     * @return the required literals in the order as they appear in the pattern
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<String> getRequiredLiterals() {
+        return List.of(requiredLiterals);
+    }
+
+    /**
+     * Gets the groups of this pattern, without the groups inside other groups.
+     *
+     * @return an immutable list of the groups in the order as they appear in the pattern
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    List<SkriptPatternGroup> getTopLevelGroups() {
+        return Collections.unmodifiableList(groups);
+    }
+
     /**
      * Gets all groups. This will also return groups inside other groups.
      *
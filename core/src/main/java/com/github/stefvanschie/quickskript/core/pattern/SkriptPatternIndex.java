@@ -0,0 +1,144 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import com.github.stefvanschie.quickskript.core.pattern.group.ChoiceGroup;
+import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * An index over skript patterns, which can quickly find the patterns that may match a given input. Every pattern is
+ * indexed by the longest of its {@link SkriptPattern#getRequiredLiterals()}: when the input doesn't contain this
+ * literal, the pattern can never match it. If a pattern doesn't have any required literals, it is indexed by a choice
+ * group instead, if every choice has a literal of its own; such a pattern can only match if one of these literals
+ * occurs. Patterns for which neither is possible may always match.
+ *
+ * @param <T> the type of values which are associated with the indexed patterns
+ * @since 0.1.0
+ */
+public class SkriptPatternIndex<T> {
+
+    /**
+     * The literals patterns are indexed by, grouped by their first character
+     */
+    @NotNull
+    private final Map<Character, Collection<String>> keysByFirstCharacter = new HashMap<>();
+
+    /**
+     * The values of indexed patterns, by the literal their pattern was indexed by
+     */
+    @NotNull
+    private final Map<String, Collection<T>> valuesByKey = new HashMap<>();
+
+    /**
+     * The values of patterns that don't have any required literals
+     */
+    @NotNull
+    private final Collection<T> unconditionalValues = new ArrayList<>();
+
+    /**
+     * Adds the given pattern with its associated value to this index.
+     *
+     * @param pattern the pattern to index
+     * @param value the value associated with the pattern
+     * @since 0.1.0
+     */
+    public void add(@NotNull SkriptPattern pattern, @NotNull T value) {
+        Collection<String> keys = getKeys(pattern);
+
+        if (keys.isEmpty()) {
+            unconditionalValues.add(value);
+            return;
+        }
+
+        for (String key : keys) {
+            valuesByKey.computeIfAbsent(key, k -> {
+                keysByFirstCharacter.computeIfAbsent(k.charAt(0), character -> new ArrayList<>()).add(k);
+
+                return new ArrayList<>();
+            }).add(value);
+        }
+    }
+
+    /**
+     * Gets the values of all patterns that may match the given input. Patterns that are not returned are guaranteed to
+     * not match the input. The returned set is mutable and compares its values by identity.
+     *
+     * @param input the input to find the candidates for
+     * @return the values of the patterns that may match
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Set<T> getCandidates(@NotNull String input) {
+        Set<T> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> foundKeys = new HashSet<>();
+
+        candidates.addAll(unconditionalValues);
+
+        for (int index = 0; index < input.length(); index++) {
+            Collection<String> keys = keysByFirstCharacter.get(input.charAt(index));
+
+            if (keys == null) {
+                continue;
+            }
+
+            for (String key : keys) {
+                if (input.startsWith(key, index) && foundKeys.add(key)) {
+                    candidates.addAll(valuesByKey.get(key));
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Gets the literals of which at least one has to occur in an input for the given pattern to be able to match it.
+     * If the returned collection is empty, the pattern may match any input.
+     *
+     * @param pattern the pattern to get the literals for
+     * @return the literals, one of which is required
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static Collection<String> getKeys(@NotNull SkriptPattern pattern) {
+        String longestLiteral = "";
+
+        for (String requiredLiteral : pattern.getRequiredLiterals()) {
+            if (requiredLiteral.length() > longestLiteral.length()) {
+                longestLiteral = requiredLiteral;
+            }
+        }
+
+        if (!longestLiteral.isEmpty()) {
+            return Collections.singleton(longestLiteral);
+        }
+
+        choices:
+        for (SkriptPatternGroup group : pattern.getTopLevelGroups()) {
+            if (!(group instanceof ChoiceGroup)) {
+                continue;
+            }
+
+            Collection<String> keys = new HashSet<>();
+
+            for (SkriptPattern choice : ((ChoiceGroup) group).getPatterns()) {
+                Collection<String> choiceKeys = getKeys(choice);
+
+                //this choice can match anything, so the choice group as a whole can as well
+                if (choiceKeys.isEmpty()) {
+                    continue choices;
+                }
+
+                keys.addAll(choiceKeys);
+            }
+
+            return keys;
+        }
+
+        return Collections.emptySet();
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.stefvanschie.quickskript.core.psi;
 
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -20,4 +23,36 @@ public interface PsiConverter<T extends PsiElement<?>> {
      */
     @Nullable
     T convert(@NotNull Object object, int lineNumber);
+
+    /**
+     * Converts the specified object to the value the converted element would have when executed, may return null if
+     * conversion isn't possible. By default, this converts the object into an element and executes it; converters
+     * should override this if they can compute the value without creating an element.
+     *
+     * @param object the object to convert
+     * @param environment the environment to execute the converted element in
+     * @param context the context to execute the converted element in
+     * @param lineNumber the line number of the element that computed this object
+     * @return the converted value
+     * @since 0.1.0
+     */
+    @Nullable
+    default Object convertValue(@NotNull Object object, @Nullable SkriptRunEnvironment environment,
+        @Nullable Context context, int lineNumber) {
+        T element = convert(object, lineNumber);
+
+        return element == null ? null : element.execute(environment, context);
+    }
+
+    /**
+     * Gets whether the value this converter converts an object to only depends on the text of the object, so converted
+     * values may be cached and reused for the same text. By default, this is false.
+     *
+     * @return true if converted values may be cached, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    default boolean isCacheable() {
+        return false;
+    }
 }
@@ -56,6 +56,21 @@ public abstract class PsiElement<T> {
         return isPreComputed() ? preComputed : executeImpl(environment, context);
     }
 
+    /**
+     * Returns the result of this element as a double. This is the same as calling
+     * {@link #execute(SkriptRunEnvironment, Context, Class)} with {@link Number} and unboxing the result, but elements
+     * which compute numbers override this to compute the result without boxing it.
+     *
+     * @param environment the environment this code is being executed in, may be null if the code is expected to be pre computed
+     * @param context the context this code is being executed in, may be null if the code is expected to be pre computed
+     * @return the computed number
+     * @throws ExecutionException if the result is not a number
+     * @since 0.1.0
+     */
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return execute(environment, context, Number.class).doubleValue();
+    }
+
     /**
      * Returns a collection of elements. The elements are the result of executing this element. If the element already
      * returned a {@link MultiResult}, this is returned verbatim. Otherwise, the result is wrapped in such a
@@ -90,15 +105,7 @@ public abstract class PsiElement<T> {
      */
     @NotNull
     public <R> R execute(@Nullable SkriptRunEnvironment environment, @Nullable Context context, @NotNull Class<R> forcedResult) {
-        T result = execute(environment, context);
-
-        if (forcedResult.isInstance(result)) {
-            return forcedResult.cast(result);
-        }
-
-        throw new ExecutionException("Result of " + getClass().getSimpleName() +
-            " should be " + forcedResult.getSimpleName() + ", but it was " +
-            (result == null ? "null" : result.getClass().getSimpleName()), lineNumber);
+        return forceResult(this, execute(environment, context), forcedResult);
     }
 
     /**
@@ -127,9 +134,7 @@ public abstract class PsiElement<T> {
             return new MultiResult<>(forcedResult.cast(element));
         }
 
-        throw new ExecutionException("Result of " + getClass().getSimpleName() +
-            " should be " + forcedResult.getSimpleName() + ", but it was " +
-            (element == null ? "null" : element.getClass().getSimpleName()), lineNumber);
+        throw createForcedResultException(element, forcedResult);
     }
 
     /**
@@ -144,6 +149,45 @@ public abstract class PsiElement<T> {
         throw new UnsupportedOperationException("Cannot execute expression without implementation.");
     }
 
+    /**
+     * Returns the given result of the given element if it is an instance of the specified {@link Class}, otherwise an
+     * {@link ExecutionException} is thrown, just like {@link #execute(SkriptRunEnvironment, Context, Class)} does. This
+     * allows compiled code to check the result of an element it executed itself.
+     *
+     * @param element the element which returned the result
+     * @param result the result to check
+     * @param forcedResult the {@link Class} the result must be an instance of
+     * @param <R> the type the result must be an instance of
+     * @return the result
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    protected static <R> R forceResult(@NotNull PsiElement<?> element, @Nullable Object result,
+        @NotNull Class<R> forcedResult) {
+        if (forcedResult.isInstance(result)) {
+            return forcedResult.cast(result);
+        }
+
+        throw element.createForcedResultException(result, forcedResult);
+    }
+
+    /**
+     * Creates an exception which indicates that the result of this element was not of the specified class
+     *
+     * @param result the result of this element
+     * @param forcedResult the {@link Class} the result should have been an instance of
+     * @return the exception
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ExecutionException createForcedResultException(@Nullable Object result, @NotNull Class<?> forcedResult) {
+        return new ExecutionException("Result of " + getClass().getSimpleName() +
+            " should be " + forcedResult.getSimpleName() + ", but it was " +
+            (result == null ? "null" : result.getClass().getSimpleName()), lineNumber);
+    }
+
     /**
      * Sets the parent of this element
      *
@@ -167,6 +211,17 @@ public abstract class PsiElement<T> {
         return preComputed != null;
     }
 
+    /**
+     * Gets the line number this element belongs to
+     *
+     * @return the line number
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
     /**
      * Gets the parent of this element, or null if this element is the top-level element
      *
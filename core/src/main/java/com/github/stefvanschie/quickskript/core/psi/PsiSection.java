@@ -22,7 +22,7 @@ public abstract class PsiSection extends PsiElement<ExitSectionsPointerMovement>
      * The elements this section contains.
      */
     @NotNull
-    protected final PsiElement<?>[] elements;
+    protected PsiElement<?>[] elements;
 
     /**
      * Creates a new section with the specified contained elements and line number.
@@ -53,6 +53,32 @@ public abstract class PsiSection extends PsiElement<ExitSectionsPointerMovement>
         return null;
     }
 
+    /**
+     * Handles a pointer movement which one of the elements in this section returned, exiting this section. Sections
+     * which can't be exited by certain types of pointer movements should override this to throw an
+     * {@link com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException} for those.
+     *
+     * @param pointerMovement the pointer movement returned by one of the elements in this section
+     * @return the pointer movement which exits the sections around this one, or null if only this section is exited
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    protected ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement) {
+        return pointerMovement.getNext();
+    }
+
+    /**
+     * Replaces the elements in this section. This is meant for passes over the psi tree after it has been parsed and
+     * must not be called once this section may be executed.
+     *
+     * @param elements the new elements of this section
+     * @since 0.1.0
+     */
+    public void setElements(@NotNull PsiElement<?>[] elements) {
+        this.elements = elements;
+    }
+
     /**
      * Gets all elements in this section
      *
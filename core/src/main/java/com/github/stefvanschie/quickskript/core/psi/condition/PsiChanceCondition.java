@@ -52,7 +52,9 @@ public class PsiChanceCondition extends PsiElement<Boolean> {
     @Contract(pure = true)
     @Override
     protected Boolean executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return ThreadLocalRandom.current().nextDouble(asPercentage ? 100 : 1) < number.execute(environment, context, Double.class);
+        double chance = number.executeDouble(environment, context);
+
+        return ThreadLocalRandom.current().nextDouble(asPercentage ? 100 : 1) < chance;
     }
 
     /**
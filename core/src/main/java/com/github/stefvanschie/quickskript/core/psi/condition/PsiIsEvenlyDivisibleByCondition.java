@@ -82,13 +82,13 @@ public class PsiIsEvenlyDivisibleByCondition extends PsiElement<Boolean> {
 
     @Override
     protected Boolean executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        double divisor = this.divisor.execute(environment, context, Number.class).doubleValue();
+        double divisor = this.divisor.executeDouble(environment, context);
 
         if (divisor == 0) {
             return !this.positive;
         }
 
-        double epsilon = this.epsilon.execute(environment, context, Number.class).doubleValue();
+        double epsilon = this.epsilon.executeDouble(environment, context);
 
         return this.positive == this.dividends.executeMulti(environment, context, Number.class)
             .map(number -> Math.abs(number.doubleValue() % divisor))
@@ -3,6 +3,7 @@ package com.github.stefvanschie.quickskript.core.psi.effect;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.group.RegexGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
@@ -63,7 +64,7 @@ public class PsiExitEffect extends PsiPrecomputedHolder<ExitSectionsPointerMovem
         public PsiExitEffect parseInfinite(@NotNull SkriptMatchResult result, int lineNumber) {
             ExitSectionsPointerMovement.Type type = exitTypesByParseMark.get(result.getParseMark());
 
-            return new PsiExitEffect(new ExitSectionsPointerMovement(type), lineNumber);
+            return new PsiExitEffect(ExitSectionsPointerMovement.of(type), lineNumber);
         }
 
         /**
@@ -87,8 +88,19 @@ public class PsiExitEffect extends PsiPrecomputedHolder<ExitSectionsPointerMovem
 
             ExitSectionsPointerMovement.Type type = exitTypesByParseMark.get(result.getParseMark());
 
-            int amount = regexMatch == null ? 1 : Integer.parseInt(regexMatch);
-            return new PsiExitEffect(new ExitSectionsPointerMovement(type, amount), lineNumber);
+            int amount;
+
+            try {
+                amount = regexMatch == null ? 1 : Integer.parseInt(regexMatch);
+            } catch (NumberFormatException exception) {
+                throw new ParseException("Unable to exit " + regexMatch + " sections", lineNumber);
+            }
+
+            if (amount < 1) {
+                throw new ParseException("Unable to exit " + amount + " sections", lineNumber);
+            }
+
+            return new PsiExitEffect(ExitSectionsPointerMovement.of(type, amount), lineNumber);
         }
 
         @Nullable
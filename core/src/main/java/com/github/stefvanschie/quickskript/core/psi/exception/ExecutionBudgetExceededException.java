@@ -0,0 +1,26 @@
+package com.github.stefvanschie.quickskript.core.psi.exception;
+
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An exception thrown when a trigger has been executing for longer than the execution budget of its environment allows,
+ * which aborts the trigger.
+ *
+ * @since 0.1.0
+ */
+public class ExecutionBudgetExceededException extends ExecutionException {
+
+    /**
+     * Creates a new execution budget exceeded exception
+     *
+     * @param skript the script that was being executed
+     * @param budget the execution budget in nanoseconds
+     * @param lineNumber the line number at which the budget was found to be exceeded
+     * @since 0.1.0
+     */
+    public ExecutionBudgetExceededException(@NotNull Skript skript, long budget, int lineNumber) {
+        super(skript, "Trigger was aborted, since it took longer than its execution budget of " +
+            budget / 1_000_000 + " ms", lineNumber);
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.stefvanschie.quickskript.core.psi.exception;
 
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import org.jetbrains.annotations.NotNull;
+
 /**
  * An exception thrown when the psi was unable to execute properly.
  * This {@link RuntimeException} extends {@link ParseException} because
@@ -17,4 +20,16 @@ public class ExecutionException extends ParseException {
     public ExecutionException(Throwable cause, int lineNumber) {
         super(cause, lineNumber);
     }
+
+    /**
+     * Creates a new execution exception for the given script and the line number at which the execution failed.
+     *
+     * @param skript the script that was being executed
+     * @param message the message for this exception
+     * @param lineNumber the line number at which execution failed
+     * @since 0.1.0
+     */
+    public ExecutionException(@NotNull Skript skript, @NotNull String message, int lineNumber) {
+        super(message + System.lineSeparator() + "Skript name: " + skript.getName(), lineNumber);
+    }
 }
@@ -55,8 +55,17 @@ public class PsiArithmeticExpression extends PsiElement<Number> {
     @Contract(pure = true)
     @Override
     protected Number executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        double leftNumber = left.execute(environment, context, Number.class).doubleValue();
-        double rightNumber = right.execute(environment, context, Number.class).doubleValue();
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed.doubleValue();
+        }
+
+        double leftNumber = left.executeDouble(environment, context);
+        double rightNumber = right.executeDouble(environment, context);
 
         switch (operation) {
             case ADDITION:
@@ -74,6 +83,42 @@ public class PsiArithmeticExpression extends PsiElement<Number> {
         throw new ExecutionException("Unknown operation found", lineNumber);
     }
 
+    /**
+     * Gets the left operand of this expression
+     *
+     * @return the left operand, or null if this expression is pre computed
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public PsiElement<?> getLeft() {
+        return left;
+    }
+
+    /**
+     * Gets the right operand of this expression
+     *
+     * @return the right operand, or null if this expression is pre computed
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public PsiElement<?> getRight() {
+        return right;
+    }
+
+    /**
+     * Gets the operation this expression performs
+     *
+     * @return the operation, or null if this expression is pre computed
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Operation getOperation() {
+        return operation;
+    }
+
     /**
      * A factory for creating {@link PsiArithmeticExpression}s
      *
@@ -2,6 +2,7 @@ package com.github.stefvanschie.quickskript.core.psi.expression;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.util.multiresult.MultiResult;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.group.RegexGroup;
@@ -33,12 +34,6 @@ public class PsiFilterExpression extends PsiElement<Object> {
      */
     private final PsiElement<?> predicate;
 
-    /**
-     * The element that is currently being checked
-     */
-    @Nullable
-    private Object currentLoopingElement;
-
     /**
      * Creates a new element with the given line number
      *
@@ -62,26 +57,43 @@ public class PsiFilterExpression extends PsiElement<Object> {
     protected Object executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
         MultiResult<?> objects = collection.executeMulti(environment, context);
 
-        List<Object> list = new ArrayList<>();
-        objects.forEach(e -> {
-            currentLoopingElement = e;
-            if (predicate.execute(environment, context, Boolean.class)) {
-                list.add(e);
+        ExecutionFrame current = ExecutionFrame.current();
+        ExecutionFrame frame = current == null ? ExecutionFrame.enter() : current;
+        int loop = frame.enterLoop(this);
+
+        try {
+            List<Object> list = new ArrayList<>();
+
+            for (Object object : objects) {
+                frame.setLoopValue(loop, object);
+
+                if (predicate.execute(environment, context, Boolean.class)) {
+                    list.add(object);
+                }
             }
-        });
 
-        currentLoopingElement = null;
-        return list;
+            return list;
+        } finally {
+            frame.exitLoop(loop);
+
+            if (current == null) {
+                frame.exit();
+            }
+        }
     }
 
     /**
-     * Gets the element we're currently testing
+     * Gets the element we're currently testing. The element is kept in the {@link ExecutionFrame} of the current
+     * thread, so every thread sees the element it is testing itself.
      *
      * @return the current element
      */
     @NotNull
     @Contract(pure = true)
     public Object getCurrentLoopingElement() {
+        ExecutionFrame frame = ExecutionFrame.current();
+        Object currentLoopingElement = frame == null ? null : frame.getLoopValue(this);
+
         if (currentLoopingElement == null) {
             throw new IllegalStateException("Looping element can only be retrieved when this is being looped over");
         }
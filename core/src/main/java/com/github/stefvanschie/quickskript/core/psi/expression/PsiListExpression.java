@@ -17,6 +17,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -97,145 +98,290 @@ public class PsiListExpression extends PsiElement<MultiResult<Object>> {
                 types = new TypeRegistry.Entry[] {loader.getTypeRegistry().byName("objects")};
             }
 
-            List<String> segments = Arrays.asList(text.split(","));
+            String[] segments = text.split(",");
 
             //don't make singleton lists
-            if (segments.size() <= 1) {
+            if (segments.length <= 1) {
                 return null;
             }
 
-            List<List<String>> partitions = partitions(segments);
-
             for (TypeRegistry.Entry type : types) {
-                outer:
-                for (List<String> partition : partitions) {
-                    Connective connective = Conjunction.INSTANCE;
-                    List<PsiElement<?>> elements = new ArrayList<>();
+                List<Span> partition = new Chart(loader, type, segments, lineNumber).findPartition();
 
-                    for (String segment : partition) {
-                        segment = segment.trim();
+                if (partition == null) {
+                    continue;
+                }
 
-                        int prefixLength = 0;
+                Connective connective = Conjunction.INSTANCE;
+                List<PsiElement<?>> elements = new ArrayList<>(partition.size());
 
-                        if (segment.startsWith("and") || segment.startsWith("nor")) {
-                            prefixLength = 3;
-                        } else if (segment.startsWith("or")) {
-                            prefixLength = 2;
-                        }
+                for (Span span : partition) {
+                    if (span.connective != null) {
+                        connective = span.connective;
+                    }
+
+                    elements.add(span.element);
+                }
 
-                        PsiElement<?> element = null;
+                return create(elements, connective, lineNumber);
+            }
 
-                        if (prefixLength != 0) {
-                            String noDelimiter = segment.substring(prefixLength).trim();
+            return null;
+        }
 
-                            if (!noDelimiter.isEmpty() && noDelimiter.charAt(0) == '(' && noDelimiter.endsWith(")")) {
-                                String noParenthesis = noDelimiter.substring(1, noDelimiter.length() - 1).trim();
-                                element = loader.tryParseElement(noParenthesis, type, lineNumber);
-                            }
+        /**
+         * Creates a new {@link PsiListExpression}.
+         *
+         * @param elements the elements of the list
+         * @param connective the interaction between the list's elements
+         * @param lineNumber the line number
+         * @return the expression
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public PsiListExpression create(
+            @NotNull List<@NotNull PsiElement<?>> elements,
+            @NotNull Connective connective,
+            int lineNumber
+        ) {
+            return new PsiListExpression(elements, connective, lineNumber);
+        }
 
-                            if (element == null) {
-                                element = loader.tryParseElement(noDelimiter, type, lineNumber);
-                            }
+        /**
+         * The ways in which the comma separated segments of a list can be parsed for a single type. Each span of
+         * consecutive segments is parsed at most once and only when it's needed, so finding a partition of the
+         * segments into elements takes a polynomial amount of parse attempts, instead of trying every partition.
+         *
+         * @since 0.1.0
+         */
+        private static final class Chart {
+
+            /**
+             * The skript loader to parse the spans with
+             */
+            @NotNull
+            private final SkriptLoader loader;
+
+            /**
+             * The type to parse the spans for
+             */
+            @NotNull
+            private final TypeRegistry.Entry type;
+
+            /**
+             * The comma separated segments of the list
+             */
+            @NotNull
+            private final String[] segments;
+
+            /**
+             * The line number of the list
+             */
+            private final int lineNumber;
+
+            /**
+             * The spans which have been parsed, indexed by their first segment and the segment after their last one.
+             * Spans which haven't been parsed yet are null.
+             */
+            @NotNull
+            private final Span[][] spans;
+
+            /**
+             * Whether the given amount of leading segments can be partitioned into spans which can all be parsed, or
+             * null if this hasn't been determined yet
+             */
+            @NotNull
+            private final Boolean[] partitionable;
+
+            /**
+             * Creates a new chart
+             *
+             * @param loader the skript loader to parse the spans with
+             * @param type the type to parse the spans for
+             * @param segments the comma separated segments of the list
+             * @param lineNumber the line number of the list
+             * @since 0.1.0
+             */
+            private Chart(@NotNull SkriptLoader loader, @NotNull TypeRegistry.Entry type, @NotNull String[] segments,
+                int lineNumber) {
+                this.loader = loader;
+                this.type = type;
+                this.segments = segments;
+                this.lineNumber = lineNumber;
+                this.spans = new Span[segments.length][segments.length + 1];
+                this.partitionable = new Boolean[segments.length + 1];
+            }
 
-                            if (element != null) {
-                                if (prefixLength == 3) {
-                                    connective = Conjunction.INSTANCE;
-                                } else {
-                                    connective = Disjunction.INSTANCE;
-                                }
-                            }
+            /**
+             * Finds the partition of the segments into at least two spans which can all be parsed. If there are
+             * multiple such partitions, the one which separates the last segments the most is preferred: the last span
+             * is as short as possible, then the span before it and so on. In particular, a list whose segments can all
+             * be parsed on their own is split at every comma.
+             *
+             * @return the spans of the partition in order, or null if there is no such partition
+             * @since 0.1.0
+             */
+            @Nullable
+            private List<Span> findPartition() {
+                List<Span> partition = new ArrayList<>();
+                int end = segments.length;
+
+                while (end > 0) {
+                    Span span = null;
+
+                    //the first segment may only be part of the last span if it isn't the only span
+                    for (int start = end - 1; start >= (end == segments.length ? 1 : 0); start--) {
+                        Span candidate = getSpan(start, end);
+
+                        if (candidate.element != null && isPartitionable(start)) {
+                            span = candidate;
+                            break;
                         }
+                    }
 
-                        if (element == null && !segment.isEmpty() && segment.charAt(0) == '(' && segment.endsWith(")")) {
-                            String noParenthesis = segment.substring(1, segment.length() - 1).trim();
-                            element = loader.tryParseElement(noParenthesis, type, lineNumber);
-                        }
+                    if (span == null) {
+                        return null;
+                    }
 
-                        if (element == null) {
-                            element = loader.tryParseElement(segment, type, lineNumber);
-                        }
+                    partition.add(span);
+                    end = span.start;
+                }
 
-                        if (element == null) {
-                            continue outer;
-                        }
+                Collections.reverse(partition);
 
-                        elements.add(element);
+                return partition;
+            }
+
+            /**
+             * Gets whether the given amount of leading segments can be partitioned into spans which can all be parsed
+             *
+             * @param end the amount of leading segments
+             * @return true if the segments can be partitioned, false otherwise
+             * @since 0.1.0
+             */
+            private boolean isPartitionable(int end) {
+                if (end == 0) {
+                    return true;
+                }
+
+                Boolean partitionable = this.partitionable[end];
+
+                if (partitionable == null) {
+                    partitionable = false;
+
+                    for (int start = end - 1; start >= 0; start--) {
+                        if (getSpan(start, end).element != null && isPartitionable(start)) {
+                            partitionable = true;
+                            break;
+                        }
                     }
 
-                    return create(elements, connective, lineNumber);
+                    this.partitionable[end] = partitionable;
                 }
+
+                return partitionable;
             }
 
-            return null;
-        }
+            /**
+             * Gets the given span, parsing it if it hasn't been parsed yet. A span may start with 'and', 'or' or 'nor',
+             * which decides the connective of the list, and may be surrounded by parentheses.
+             *
+             * @param start the index of the first segment of the span
+             * @param end the index of the segment after the last segment of the span
+             * @return the span
+             * @since 0.1.0
+             */
+            @NotNull
+            private Span getSpan(int start, int end) {
+                Span span = spans[start][end];
+
+                if (span != null) {
+                    return span;
+                }
 
-        /**
-         * Partitions the given list of segments in all possible ways (excluding one large partition). Combined segments
-         * are combined by appending the segments with a ',' in between.
-         *
-         * @param segments the segments to partition
-         * @return a list of all possible partitions
-         * @since 0.1.0
-         */
-        @NotNull
-        @Contract(pure = true)
-        public List<@NotNull List<@NotNull String>> partitions(@NotNull List<@NotNull String> segments) {
-            List<List<String>> partitions = new ArrayList<>();
+                String segment = String.join(",", Arrays.asList(segments).subList(start, end)).trim();
+                Connective connective = null;
+                int prefixLength = 0;
 
-            //cutPoints > 0 : don't generate a singleton partition
-            for (int cutPoints = (1 << (segments.size() - 1)) - 1; cutPoints > 0; cutPoints--) {
-                List<String> result = new ArrayList<>();
-                int lastCut = 0;
+                if (segment.startsWith("and") || segment.startsWith("nor")) {
+                    prefixLength = 3;
+                } else if (segment.startsWith("or")) {
+                    prefixLength = 2;
+                }
 
-                for (int index = 0; index < segments.size() - 1; index++) {
-                    if ((1 << index & cutPoints) != 0) {
-                        StringBuilder combined = new StringBuilder();
-                        List<String> subList = segments.subList(lastCut, index + 1);
+                PsiElement<?> element = null;
 
-                        for (String segment : subList) {
-                            combined.append(segment).append(',');
-                        }
+                if (prefixLength != 0) {
+                    String noDelimiter = segment.substring(prefixLength).trim();
 
-                        combined.setLength(combined.length() - 1);
+                    if (!noDelimiter.isEmpty() && noDelimiter.charAt(0) == '(' && noDelimiter.endsWith(")")) {
+                        String noParenthesis = noDelimiter.substring(1, noDelimiter.length() - 1).trim();
+                        element = loader.tryParseElement(noParenthesis, type, lineNumber);
+                    }
+
+                    if (element == null) {
+                        element = loader.tryParseElement(noDelimiter, type, lineNumber);
+                    }
 
-                        result.add(combined.toString());
-                        lastCut = index + 1;
+                    if (element != null) {
+                        connective = prefixLength == 3 ? Conjunction.INSTANCE : Disjunction.INSTANCE;
                     }
                 }
 
-                StringBuilder combined = new StringBuilder();
-                List<String> subList = segments.subList(lastCut, segments.size());
+                if (element == null && !segment.isEmpty() && segment.charAt(0) == '(' && segment.endsWith(")")) {
+                    String noParenthesis = segment.substring(1, segment.length() - 1).trim();
+                    element = loader.tryParseElement(noParenthesis, type, lineNumber);
+                }
 
-                for (String segment : subList) {
-                    combined.append(segment).append(',');
+                if (element == null) {
+                    element = loader.tryParseElement(segment, type, lineNumber);
                 }
 
-                combined.setLength(combined.length() - 1);
+                span = new Span(start, element, connective);
+                spans[start][end] = span;
 
-                result.add(combined.toString());
-                partitions.add(result);
+                return span;
             }
-
-            return partitions;
         }
 
         /**
-         * Creates a new {@link PsiListExpression}.
+         * A span of consecutive segments of a list, which has been parsed
          *
-         * @param elements the elements of the list
-         * @param connective the interaction between the list's elements
-         * @param lineNumber the line number
-         * @return the expression
          * @since 0.1.0
          */
-        @NotNull
-        @Contract(pure = true)
-        public PsiListExpression create(
-            @NotNull List<@NotNull PsiElement<?>> elements,
-            @NotNull Connective connective,
-            int lineNumber
-        ) {
-            return new PsiListExpression(elements, connective, lineNumber);
+        private static final class Span {
+
+            /**
+             * The index of the first segment of this span
+             */
+            private final int start;
+
+            /**
+             * The element parsed from this span, or null if this span couldn't be parsed
+             */
+            @Nullable
+            private final PsiElement<?> element;
+
+            /**
+             * The connective this span starts with, or null if it doesn't start with one
+             */
+            @Nullable
+            private final Connective connective;
+
+            /**
+             * Creates a new span
+             *
+             * @param start the index of the first segment of this span
+             * @param element the element parsed from this span, or null if this span couldn't be parsed
+             * @param connective the connective this span starts with, or null if it doesn't start with one
+             * @since 0.1.0
+             */
+            private Span(int start, @Nullable PsiElement<?> element, @Nullable Connective connective) {
+                this.start = start;
+                this.element = element;
+                this.connective = connective;
+            }
         }
     }
 }
@@ -23,6 +23,11 @@ import org.jetbrains.annotations.Nullable;
  */
 public class PsiParseExpression extends PsiElement<Object> {
 
+    /**
+     * The amount of converted values each parse expression remembers. Must be a power of two.
+     */
+    private static final int CACHE_SIZE = 16;
+
     /**
      * The value we want to change the type of
      */
@@ -35,6 +40,15 @@ public class PsiParseExpression extends PsiElement<Object> {
     @NotNull
     private final PsiConverter<?> converter;
 
+    /**
+     * The most recently converted values, or null if the converter isn't {@link PsiConverter#isCacheable() cacheable}.
+     * Each text can only be stored at the index derived from its hash code, so a newly converted value replaces the
+     * value of another text with the same index. Entries are immutable, so the cache can be read and written from
+     * multiple threads without locking.
+     */
+    @Nullable
+    private final CacheEntry @Nullable [] cache;
+
     /**
      * Constructs a new parse expression
      *
@@ -48,6 +62,7 @@ public class PsiParseExpression extends PsiElement<Object> {
 
         this.value = value;
         this.converter = converter;
+        this.cache = converter.isCacheable() ? new CacheEntry[CACHE_SIZE] : null;
 
         if (this.value.isPreComputed()) {
             preComputed = executeImpl(null, null);
@@ -63,14 +78,57 @@ public class PsiParseExpression extends PsiElement<Object> {
             return null; //TODO didn't think this through, no idea what should happen, please fix
         }
 
-        PsiElement<?> parsed = converter.convert(toParse.toString(), lineNumber);
+        String text = toParse.toString();
 
         //TODO: if this stuff can't be parsed, the parse error needs to be set
-        if (parsed == null) {
-            return null;
+        if (cache == null) {
+            return converter.convertValue(text, environment, context, lineNumber);
+        }
+
+        int index = text.hashCode() & (CACHE_SIZE - 1);
+        CacheEntry entry = cache[index];
+
+        if (entry != null && entry.text.equals(text)) {
+            return entry.value;
         }
 
-        return parsed.execute(environment, context);
+        Object value = converter.convertValue(text, environment, context, lineNumber);
+
+        cache[index] = new CacheEntry(text, value);
+
+        return value;
+    }
+
+    /**
+     * A text and the value it was converted to
+     *
+     * @since 0.1.0
+     */
+    private static final class CacheEntry {
+
+        /**
+         * The text which was converted
+         */
+        @NotNull
+        private final String text;
+
+        /**
+         * The value the text was converted to, or null if it couldn't be converted
+         */
+        @Nullable
+        private final Object value;
+
+        /**
+         * Creates a new cache entry
+         *
+         * @param text the text which was converted
+         * @param value the value the text was converted to
+         * @since 0.1.0
+         */
+        private CacheEntry(@NotNull String text, @Nullable Object value) {
+            this.text = text;
+            this.value = value;
+        }
     }
 
     /**
@@ -53,15 +53,15 @@ public class PsiRoundExpression extends PsiElement<Integer> {
     @Override
     protected Integer executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
         if (roundMode == RoundMode.DOWN) {
-            return (int) Math.floor(number.execute(environment, context, Number.class).doubleValue());
+            return (int) Math.floor(number.executeDouble(environment, context));
         }
 
         if (roundMode == RoundMode.NEAREST) {
-            return (int) Math.round(number.execute(environment, context, Number.class).doubleValue());
+            return (int) Math.round(number.executeDouble(environment, context));
         }
 
         if (roundMode == RoundMode.UP) {
-            return (int) Math.ceil(number.execute(environment, context, Number.class).doubleValue());
+            return (int) Math.ceil(number.executeDouble(environment, context));
         }
 
         throw new ExecutionException(new UnsupportedOperationException("Unknown rounding mode"), lineNumber);
@@ -1,7 +1,5 @@
 package com.github.stefvanschie.quickskript.core.psi.function;
 
-import com.github.stefvanschie.quickskript.core.context.Context;
-import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
@@ -14,12 +12,7 @@ import org.jetbrains.annotations.Nullable;
  *
  * @since 0.1.0
  */
-public class PsiAbsoluteValueFunction extends PsiElement<Double> {
-
-    /**
-     * The parameter given for this element
-     */
-    private PsiElement<?> parameter;
+public class PsiAbsoluteValueFunction extends PsiUnaryMathFunction {
 
     /**
      * Creates the absolute value function
@@ -29,20 +22,13 @@ public class PsiAbsoluteValueFunction extends PsiElement<Double> {
      * @since 0.1.0
      */
     private PsiAbsoluteValueFunction(@NotNull PsiElement<?> parameter, int lineNumber) {
-        super(lineNumber);
-
-        this.parameter = parameter;
-
-        if (this.parameter.isPreComputed()) {
-            preComputed = executeImpl(null, null);
-            this.parameter = null;
-        }
+        super(parameter, lineNumber);
     }
 
-    @NotNull
+    @Contract(pure = true)
     @Override
-    protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return Math.abs(parameter.execute(environment, context, Number.class).doubleValue());
+    protected double compute(double value) {
+        return Math.abs(value);
     }
 
     /**
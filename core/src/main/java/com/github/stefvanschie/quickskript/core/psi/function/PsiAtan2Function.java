@@ -48,7 +48,16 @@ public class PsiAtan2Function extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return Math.atan2(x.execute(environment, context, Number.class).doubleValue(), y.execute(environment, context, Number.class).doubleValue());
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
+        return Math.atan2(x.executeDouble(environment, context), y.executeDouble(environment, context));
     }
 
     /**
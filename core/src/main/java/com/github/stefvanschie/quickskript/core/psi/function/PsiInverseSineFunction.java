@@ -1,7 +1,5 @@
 package com.github.stefvanschie.quickskript.core.psi.function;
 
-import com.github.stefvanschie.quickskript.core.context.Context;
-import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
@@ -18,12 +16,7 @@ import java.util.regex.Pattern;
  *
  * @since 0.1.0
  */
-public class PsiInverseSineFunction extends PsiElement<Double> {
-
-    /**
-     * The parameter to use for calculating the inverse sine
-     */
-    private PsiElement<?> parameter;
+public class PsiInverseSineFunction extends PsiUnaryMathFunction {
 
     /**
      * Creates a new inverse sine function
@@ -33,20 +26,13 @@ public class PsiInverseSineFunction extends PsiElement<Double> {
      * @since 0.1.0
      */
     private PsiInverseSineFunction(@NotNull PsiElement<?> parameter, int lineNumber) {
-        super(lineNumber);
-
-        this.parameter = parameter;
-
-        if (this.parameter.isPreComputed()) {
-            preComputed = executeImpl(null, null);
-            this.parameter = null;
-        }
+        super(parameter, lineNumber);
     }
 
-    @NotNull
+    @Contract(pure = true)
     @Override
-    protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return Math.asin(parameter.execute(environment, context, Number.class).doubleValue());
+    protected double compute(double value) {
+        return Math.asin(value);
     }
 
     /**
@@ -54,10 +54,19 @@ public class PsiLogarithmFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        double result = Math.log10(value.execute(environment, context, Number.class).doubleValue());
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
+        double result = Math.log10(value.executeDouble(environment, context));
 
         if (base != null) {
-            result /= base.execute(environment, context, Number.class).doubleValue();
+            result /= base.executeDouble(environment, context);
         }
 
         return result;
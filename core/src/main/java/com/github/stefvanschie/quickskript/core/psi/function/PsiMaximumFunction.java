@@ -43,6 +43,15 @@ public class PsiMaximumFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
         return this.element.executeMulti(environment, context).stream().mapToDouble(e -> ((Number) e).doubleValue())
                 .max()
                 .orElseThrow(() -> new ExecutionException("The collection or array was empty", lineNumber));
@@ -44,6 +44,15 @@ public class PsiMinimumFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
         MultiResult<?> object = element.executeMulti(environment, context);
 
         return object.stream().mapToDouble(e -> ((Number) e).doubleValue())
@@ -48,7 +48,16 @@ public class PsiModuloFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return a.execute(environment, context, Number.class).doubleValue() % b.execute(environment, context, Number.class).doubleValue();
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
+        return a.executeDouble(environment, context) % b.executeDouble(environment, context);
     }
 
     /**
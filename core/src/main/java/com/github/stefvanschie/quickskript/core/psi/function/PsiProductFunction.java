@@ -42,6 +42,15 @@ public class PsiProductFunction extends PsiElement<Double> {
     @NotNull
     @Override
     protected Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
         return this.element.executeMulti(environment, context).stream().mapToDouble(e -> ((Number) e).doubleValue())
                 .reduce(1, (a, b) -> a * b);
     }
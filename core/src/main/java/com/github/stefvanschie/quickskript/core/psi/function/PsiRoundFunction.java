@@ -46,7 +46,7 @@ public class PsiRoundFunction extends PsiElement<Long> {
     @NotNull
     @Override
     protected Long executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        return Math.round(parameter.execute(environment, context, Number.class).doubleValue());
+        return Math.round(parameter.executeDouble(environment, context));
     }
 
     /**
@@ -0,0 +1,66 @@
+package com.github.stefvanschie.quickskript.core.psi.function;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A function which computes a number from a single number, such as the sine or the square root of a number. The
+ * parameter is executed without boxing and the function is pre computed if its parameter is.
+ *
+ * @since 0.1.0
+ */
+public abstract class PsiUnaryMathFunction extends PsiElement<Double> {
+
+    /**
+     * The parameter of this function, or null if this function is pre computed
+     */
+    private PsiElement<?> parameter;
+
+    /**
+     * Creates a new unary math function
+     *
+     * @param parameter the parameter
+     * @param lineNumber the line number
+     * @since 0.1.0
+     */
+    protected PsiUnaryMathFunction(@NotNull PsiElement<?> parameter, int lineNumber) {
+        super(lineNumber);
+
+        this.parameter = parameter;
+
+        if (this.parameter.isPreComputed()) {
+            preComputed = executeImpl(null, null);
+            this.parameter = null;
+        }
+    }
+
+    @NotNull
+    @Override
+    protected final Double executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return executeDouble(environment, context);
+    }
+
+    @Override
+    public final double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (isPreComputed()) {
+            return preComputed;
+        }
+
+        return compute(parameter.executeDouble(environment, context));
+    }
+
+    /**
+     * Computes the result of this function for the given value of the parameter. This may be called while this
+     * function is being constructed, so implementations shouldn't depend on their own state.
+     *
+     * @param value the value of the parameter
+     * @return the result
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    protected abstract double compute(double value);
+}
@@ -1,9 +1,11 @@
 package com.github.stefvanschie.quickskript.core.psi.literal;
 
+import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.PsiConverter;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +20,11 @@ import java.util.regex.Pattern;
  */
 public class PsiNumberLiteral extends PsiPrecomputedHolder<Double> {
 
+    /**
+     * The number this psi is wrapping, stored unboxed
+     */
+    private final double number;
+
     /**
      * Creates a new psi number
      *
@@ -27,6 +34,14 @@ public class PsiNumberLiteral extends PsiPrecomputedHolder<Double> {
      */
     private PsiNumberLiteral(double number, int lineNumber) {
         super(number, lineNumber);
+
+        this.number = number;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public double executeDouble(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        return number;
     }
 
     /**
@@ -100,5 +115,19 @@ public class PsiNumberLiteral extends PsiPrecomputedHolder<Double> {
         public PsiNumberLiteral convert(@NotNull Object object, int lineNumber) {
             return new PsiNumberLiteral(Double.parseDouble(object.toString()), lineNumber);
         }
+
+        @NotNull
+        @Contract(pure = true)
+        @Override
+        public Double convertValue(@NotNull Object object, @Nullable SkriptRunEnvironment environment,
+            @Nullable Context context, int lineNumber) {
+            return Double.parseDouble(object.toString());
+        }
+
+        @Contract(pure = true)
+        @Override
+        public boolean isCacheable() {
+            return true;
+        }
     }
 }
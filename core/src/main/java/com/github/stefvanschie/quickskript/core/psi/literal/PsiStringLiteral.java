@@ -1,9 +1,11 @@
 package com.github.stefvanschie.quickskript.core.psi.literal;
 
+import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.psi.PsiConverter;
 import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -100,5 +102,13 @@ public class PsiStringLiteral extends PsiPrecomputedHolder<String> {
         public PsiStringLiteral convert(@NotNull Object object, int lineNumber) {
             return new PsiStringLiteral(object.toString(), lineNumber);
         }
+
+        @NotNull
+        @Contract(pure = true)
+        @Override
+        public String convertValue(@NotNull Object object, @Nullable SkriptRunEnvironment environment,
+            @Nullable Context context, int lineNumber) {
+            return object.toString();
+        }
     }
 }
@@ -0,0 +1,127 @@
+package com.github.stefvanschie.quickskript.core.psi.section;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link PsiBaseSection} which is only parsed once it is needed. This allows entry points which are rarely executed
+ * to not be parsed at all while loading.
+ *
+ * @since 0.1.0
+ */
+public class LazyBaseSection {
+
+    /**
+     * The skript loader to parse with, or null once this section has been parsed
+     */
+    @Nullable
+    private SkriptLoader skriptLoader;
+
+    /**
+     * The Skript which contains this entry point
+     */
+    @NotNull
+    private final Skript skript;
+
+    /**
+     * The section this entry point should be parsed from
+     */
+    @NotNull
+    private final SkriptFileSection section;
+
+    /**
+     * The type of context of this entry point
+     */
+    @NotNull
+    private final Class<? extends Context> contextType;
+
+    /**
+     * The parsed entry point, or null if it hasn't been parsed yet or couldn't be parsed
+     */
+    @Nullable
+    private volatile PsiBaseSection baseSection;
+
+    /**
+     * Creates a new entry point which hasn't been parsed yet.
+     *
+     * @param skriptLoader the skript loader to parse with
+     * @param skript the Skript which contains this entry point
+     * @param section the section this entry point should be parsed from
+     * @param contextType the type of context of this entry point
+     * @since 0.1.0
+     */
+    public LazyBaseSection(@NotNull SkriptLoader skriptLoader, @NotNull Skript skript,
+        @NotNull SkriptFileSection section, @NotNull Class<? extends Context> contextType) {
+        this.skriptLoader = skriptLoader;
+        this.skript = skript;
+        this.section = section;
+        this.contextType = contextType;
+    }
+
+    /**
+     * Gets the parsed entry point, parsing it if that hasn't happened yet. If the entry point can't be parsed, the
+     * {@link ParseException} is thrown by the call which tried to parse it; every call afterwards returns null. This
+     * method may be called from any thread, but if the entry point can't be parsed on the current thread, a
+     * {@link WrongThreadException} is thrown and the entry point is left unparsed.
+     *
+     * @return the parsed entry point, or null if it couldn't be parsed
+     * @throws ParseException if the entry point was parsed by this call and couldn't be parsed
+     * @throws WrongThreadException if the entry point can't be parsed on the current thread
+     * @since 0.1.0
+     */
+    @Nullable
+    public PsiBaseSection get() {
+        PsiBaseSection baseSection = this.baseSection;
+
+        if (baseSection != null) {
+            return baseSection;
+        }
+
+        synchronized (this) {
+            SkriptLoader skriptLoader = this.skriptLoader;
+
+            if (skriptLoader == null) {
+                return this.baseSection;
+            }
+
+            this.skriptLoader = null;
+
+            try {
+                return this.baseSection = new PsiBaseSection(skriptLoader, skript, section, contextType);
+            } catch (WrongThreadException exception) {
+                //this entry point may still be parsed by a thread which is allowed to
+                this.skriptLoader = skriptLoader;
+                throw exception;
+            }
+        }
+    }
+
+    /**
+     * Gets whether an attempt to parse this entry point has been made
+     *
+     * @return true if this entry point was parsed or couldn't be parsed, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public synchronized boolean isParsed() {
+        return this.skriptLoader == null;
+    }
+
+    /**
+     * Gets the section this entry point is parsed from
+     *
+     * @return the section
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public SkriptFileSection getSection() {
+        return section;
+    }
+}
@@ -4,16 +4,24 @@ import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionBudgetExceededException;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.util.compiler.CompiledTrigger;
+import com.github.stefvanschie.quickskript.core.psi.util.compiler.TriggerCompiler;
+import com.github.stefvanschie.quickskript.core.psi.util.instrumentation.PsiInstrumenter;
+import com.github.stefvanschie.quickskript.core.psi.util.optimizer.PsiOptimizer;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Locale;
+import java.util.function.Consumer;
 
 /**
  * A section which acts as the entry point for Skript code.
@@ -41,8 +49,53 @@ public class PsiBaseSection extends PsiSection {
     private final Skript skript;
 
     /**
-     * Creates a new Skript entry point.
+     * The amount of times this section has been executed while it wasn't compiled. This isn't synchronized, since it
+     * doesn't matter if an execution isn't counted.
+     */
+    private int executionCount;
+
+    /**
+     * The compiled elements of this section which don't check the execution budget, or null if they haven't been
+     * compiled
+     */
+    @Nullable
+    private volatile CompiledTrigger compiled;
+
+    /**
+     * The compiled elements of this section which check the execution budget, or null if they haven't been compiled.
+     * These are only compiled once this section is executed in an environment with an execution budget.
+     */
+    @Nullable
+    private volatile CompiledTrigger budgetedCompiled;
+
+    /**
+     * True if compiling the elements of this section failed, in which case they keep being interpreted
+     */
+    private volatile boolean compilationFailed;
+
+    /**
+     * A copy of the elements of this section in which every statement is timed, or null if the statements haven't been
+     * measured yet. This is only created and executed when the profiler measures statements.
+     */
+    @Nullable
+    private volatile PsiElement<?>[] instrumentedElements;
+
+    /**
+     * The amount of times an execution of this section has exceeded the execution budget. Like the execution count,
+     * this isn't synchronized.
+     */
+    private int budgetViolations;
+
+    /**
+     * True if this section has exceeded the execution budget too often, in which case it isn't executed anymore
+     */
+    private volatile boolean disabled;
+
+    /**
+     * Creates a new Skript entry point. The parsed elements are optimized by a {@link PsiOptimizer}, which reports its
+     * optimizations to the optimization listener of the skript loader.
      *
+     * @param skriptLoader the skript loader to parse with
      * @param skript the Skript which contains this entry point
      * @param section the section this entry point should be parsed from
      * @param contextType the type of context of this entry point
@@ -55,49 +108,212 @@ public class PsiBaseSection extends PsiSection {
         this.skript = skript;
         this.contextType = contextType;
 
+        Consumer<? super String> optimizationListener = skriptLoader.getOptimizationListener();
+
+        new PsiOptimizer(message -> {
+            if (optimizationListener != null) {
+                optimizationListener.accept(skript.getName() + ": " + message);
+            }
+        }).optimize(this);
+
         profilerIdentifier = new SkriptProfiler.Identifier(skript, section.getLineNumber());
     }
 
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
-        long startTime = System.nanoTime();
+        if (disabled) {
+            return null;
+        }
 
-        for (PsiElement<?> element : elements) {
-            Object result = element.execute(environment, context);
+        long budget = environment == null ? 0 : environment.getExecutionBudget();
+
+        if (budget == 0) {
+            return executeElements(environment, context);
+        }
+
+        ExecutionFrame current = ExecutionFrame.current();
+        ExecutionFrame frame = current == null ? ExecutionFrame.enter() : current;
+
+        //a section executed in a frame which already has a budget, which only happens when it is executed directly
+        //from another section, shares that budget; executors enter a new frame for every trigger, so a trigger started
+        //by another one, for example by calling an event, gets its own budget
+        if (frame.hasBudget()) {
+            return executeElements(environment, context);
+        }
 
-            if (result == Boolean.FALSE) {
-                break;
+        frame.startBudget(skript, budget);
+
+        try {
+            return executeElements(environment, context);
+        } catch (ExecutionBudgetExceededException exception) {
+            int limit = environment.getBudgetViolationLimit();
+
+            if (limit != 0 && ++budgetViolations >= limit) {
+                disabled = true;
+
+                var disabledException = new ExecutionException(skript, "Trigger was disabled, since it took longer " +
+                    "than its execution budget " + budgetViolations + " times", lineNumber);
+
+                disabledException.initCause(exception);
+
+                throw disabledException;
             }
 
-            if (result instanceof ExitSectionsPointerMovement) {
-                ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                ExitSectionsPointerMovement.Type type = pointerMovement.getType();
+            throw exception;
+        } finally {
+            frame.endBudget();
 
-                if (type != ExitSectionsPointerMovement.Type.EVERYTHING) {
-                    throw new ExecutionException(
-                        "Tried to exit trigger, but found a " + type.name().toLowerCase(Locale.getDefault()), lineNumber
-                    );
-                }
+            if (current == null) {
+                frame.exit();
+            }
+        }
+    }
 
-                Integer amount = pointerMovement.getAmount();
+    /**
+     * Executes the elements of this section, measuring the execution time if the profiler asks for it
+     *
+     * @param environment the environment this section is being executed in
+     * @param context the context this section is being executed in
+     * @return the pointer movement of this section
+     * @since 0.1.0
+     */
+    @Nullable
+    private ExitSectionsPointerMovement executeElements(@Nullable SkriptRunEnvironment environment,
+        @Nullable Context context) {
+        SkriptProfiler<?> profiler = environment == null ? null : environment.getProfiler();
+        boolean measured = profiler != null && profiler.shouldMeasure(contextType, profilerIdentifier);
+        long startTime = measured ? System.nanoTime() : 0;
+        PsiElement<?>[] instrumentedElements = getInstrumentedElements(environment);
+        CompiledTrigger compiled = instrumentedElements == null ? getCompiled(environment) : null;
 
-                if (amount == null) {
-                    return new ExitSectionsPointerMovement(type);
-                }
+        if (compiled != null) {
+            Object result = compiled.execute(environment, context);
+
+            if (result instanceof ExitSectionsPointerMovement) {
+                return exit((ExitSectionsPointerMovement) result);
+            }
+        } else {
+            for (PsiElement<?> element : instrumentedElements == null ? elements : instrumentedElements) {
+                Object result = element.execute(environment, context);
 
-                if (amount > 1) {
-                    return new ExitSectionsPointerMovement(type, amount - 1);
+                if (result == Boolean.FALSE) {
+                    break;
                 }
 
-                return null;
+                if (result instanceof ExitSectionsPointerMovement) {
+                    return exit((ExitSectionsPointerMovement) result);
+                }
             }
         }
 
-        if (environment != null) {
-            environment.getProfiler().onTimeMeasured(contextType, profilerIdentifier,
-                    System.nanoTime() - startTime);
+        if (measured) {
+            profiler.onTimeMeasured(contextType, profilerIdentifier, System.nanoTime() - startTime);
         }
         return null;
     }
+
+    /**
+     * Gets whether the elements of this section have been compiled
+     *
+     * @return true if this section executes compiled elements, false if it interprets them
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isCompiled() {
+        return compiled != null || budgetedCompiled != null;
+    }
+
+    /**
+     * Gets whether this section has been disabled, because it exceeded the execution budget of its environment more
+     * often than the environment allows. Disabled sections do nothing when they are executed.
+     *
+     * @return true if this section is disabled, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * Gets the elements of this section in which every statement is timed, if the profiler of the environment measures
+     * statements. The timed elements are created the first time they are needed.
+     *
+     * @param environment the environment this section is being executed in
+     * @return the timed elements, or null if the elements shouldn't be timed
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?>[] getInstrumentedElements(@Nullable SkriptRunEnvironment environment) {
+        if (environment == null || !environment.getProfiler().isMeasuringStatements()) {
+            return null;
+        }
+
+        PsiElement<?>[] instrumentedElements = this.instrumentedElements;
+
+        if (instrumentedElements == null) {
+            instrumentedElements = new PsiInstrumenter(contextType, profilerIdentifier).instrument(elements);
+            this.instrumentedElements = instrumentedElements;
+        }
+
+        return instrumentedElements;
+    }
+
+    /**
+     * Gets the compiled elements of this section, compiling them once this section has been executed as often as the
+     * compile threshold of the environment specifies. The elements are compiled with budget checks if the environment
+     * has an execution budget and without them otherwise, like the interpreted elements.
+     *
+     * @param environment the environment this section is being executed in
+     * @return the compiled elements, or null if the elements should be interpreted
+     * @since 0.1.0
+     */
+    @Nullable
+    private CompiledTrigger getCompiled(@Nullable SkriptRunEnvironment environment) {
+        boolean checkingBudget = environment != null && environment.getExecutionBudget() != 0;
+        CompiledTrigger compiled = checkingBudget ? this.budgetedCompiled : this.compiled;
+
+        if (compiled != null || environment == null || compilationFailed) {
+            return compiled;
+        }
+
+        int threshold = environment.getCompileThreshold();
+
+        if (threshold == 0 || ++executionCount < threshold) {
+            return null;
+        }
+
+        synchronized (this) {
+            compiled = checkingBudget ? this.budgetedCompiled : this.compiled;
+
+            if (compiled == null && !compilationFailed) {
+                compiled = TriggerCompiler.compile(elements, checkingBudget);
+                compilationFailed = compiled == null;
+
+                if (checkingBudget) {
+                    this.budgetedCompiled = compiled;
+                } else {
+                    this.compiled = compiled;
+                }
+            }
+
+            return compiled;
+        }
+    }
+
+    @Nullable
+    @Contract(pure = true)
+    @Override
+    protected ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement) {
+        ExitSectionsPointerMovement.Type type = pointerMovement.getType();
+
+        if (type != ExitSectionsPointerMovement.Type.EVERYTHING) {
+            throw new ExecutionException(
+                "Tried to exit trigger, but found a " + type.name().toLowerCase(Locale.getDefault()), lineNumber
+            );
+        }
+
+        return super.exit(pointerMovement);
+    }
 }
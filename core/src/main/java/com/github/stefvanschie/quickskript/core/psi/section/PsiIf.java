@@ -69,6 +69,16 @@ public class PsiIf extends PsiSection {
         this.elseSection = elseSection;
     }
 
+    /**
+     * Removes the section which should get executed if the condition is not met, if any. This is meant for passes over
+     * the psi tree after it has been parsed and must not be called once this section may be executed.
+     *
+     * @since 0.1.0
+     */
+    public void removeElseSection() {
+        this.elseSection = null;
+    }
+
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
@@ -90,28 +100,46 @@ public class PsiIf extends PsiSection {
             }
 
             if (result instanceof ExitSectionsPointerMovement) {
-                ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                ExitSectionsPointerMovement.Type type = pointerMovement.getType();
-
-                if (type == ExitSectionsPointerMovement.Type.LOOPS) {
-                    throw new ExecutionException("Tried to exit loop, but found a conditional", lineNumber);
-                }
+                return exit((ExitSectionsPointerMovement) result);
+            }
+        }
 
-                Integer amount = pointerMovement.getAmount();
+        return null;
+    }
 
-                if (amount == null) {
-                    return new ExitSectionsPointerMovement(type);
-                }
+    @Nullable
+    @Contract(pure = true)
+    @Override
+    protected ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement) {
+        if (pointerMovement.getType() == ExitSectionsPointerMovement.Type.LOOPS) {
+            throw new ExecutionException("Tried to exit loop, but found a conditional", lineNumber);
+        }
 
-                if (amount > 1) {
-                    return new ExitSectionsPointerMovement(type, amount - 1);
-                }
+        return super.exit(pointerMovement);
+    }
 
-                return null;
-            }
-        }
+    /**
+     * Gets the condition which decides whether the elements of this section are executed
+     *
+     * @return the condition
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<?> getCondition() {
+        return condition;
+    }
 
-        return null;
+    /**
+     * Gets the section whose elements are executed when the condition doesn't hold
+     *
+     * @return the else section, or null if there is none
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public PsiSection getElseSection() {
+        return elseSection;
     }
 
     /**
@@ -8,6 +8,7 @@ import com.github.stefvanschie.quickskript.core.psi.PsiSectionFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
 import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -18,7 +19,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * A section which continuously executes its contained elements while the condition is met.
+ * A section which continuously executes its contained elements while the condition is met. Every iteration checks the
+ * execution budget of the environment, so a loop whose condition never stops being met can't run forever.
  *
  * @since 0.1.0
  */
@@ -50,8 +52,16 @@ public class PsiWhile extends PsiSection {
     @Nullable
     @Override
     protected ExitSectionsPointerMovement executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        ExecutionFrame frame = environment == null || environment.getExecutionBudget() == 0
+            ? null
+            : ExecutionFrame.current();
+
         outerLoop:
         while (condition.execute(environment, context, Boolean.class)) {
+            if (frame != null) {
+                frame.checkBudget(lineNumber);
+            }
+
             for (PsiElement<?> element : elements) {
                 Object result = element.execute(environment, context);
 
@@ -64,24 +74,7 @@ public class PsiWhile extends PsiSection {
                 }
 
                 if (result instanceof ExitSectionsPointerMovement) {
-                    ExitSectionsPointerMovement pointerMovement = (ExitSectionsPointerMovement) result;
-                    ExitSectionsPointerMovement.Type type = pointerMovement.getType();
-
-                    if (type == ExitSectionsPointerMovement.Type.CONDITIONALS) {
-                        throw new ExecutionException("Tried to exit conditional, but found a loop", lineNumber);
-                    }
-
-                    Integer amount = pointerMovement.getAmount();
-
-                    if (amount == null) {
-                        return new ExitSectionsPointerMovement(type);
-                    }
-
-                    if (amount > 1) {
-                        return new ExitSectionsPointerMovement(type, amount - 1);
-                    }
-
-                    return null;
+                    return exit((ExitSectionsPointerMovement) result);
                 }
             }
         }
@@ -89,6 +82,43 @@ public class PsiWhile extends PsiSection {
         return null;
     }
 
+    @Nullable
+    @Contract(pure = true)
+    @Override
+    protected ExitSectionsPointerMovement exit(@NotNull ExitSectionsPointerMovement pointerMovement) {
+        if (pointerMovement.getType() == ExitSectionsPointerMovement.Type.CONDITIONALS) {
+            throw new ExecutionException("Tried to exit conditional, but found a loop", lineNumber);
+        }
+
+        return super.exit(pointerMovement);
+    }
+
+    /**
+     * Creates a new while section with the same condition and line number as this one, but with different elements.
+     * This is meant for passes which need a changed version of the psi tree while keeping the original one.
+     *
+     * @param elements the elements of the new section
+     * @return the new section
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiWhile copy(@NotNull PsiElement<?>[] elements) {
+        return new PsiWhile(elements, condition, lineNumber);
+    }
+
+    /**
+     * Gets the condition which decides whether the elements of this section are executed again
+     *
+     * @return the condition
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<?> getCondition() {
+        return condition;
+    }
+
     /**
      * A factory for creating while sections.
      *
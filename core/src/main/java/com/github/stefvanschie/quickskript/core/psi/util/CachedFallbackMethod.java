@@ -0,0 +1,108 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.util.registry.TypeRegistry;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * A cached method belonging to a psi element factory, which is annotated with {@link Fallback}
+ *
+ * @since 0.1.0
+ */
+public class CachedFallbackMethod {
+
+    /**
+     * The cached method
+     */
+    @NotNull
+    private final Method method;
+
+    /**
+     * The method as a method handle, accepting the factory and an array with all the arguments
+     */
+    @NotNull
+    private final MethodHandle invoker;
+
+    /**
+     * Whether the method accepts a {@link SkriptLoader} as its first parameter
+     */
+    private final boolean loaderParameter;
+
+    /**
+     * Whether the method accepts the requested types, which is the case for generic factories
+     */
+    private final boolean inputTypesParameter;
+
+    /**
+     * Creates a new cached fallback method by the provided method
+     *
+     * @param method the method to cache
+     * @param inputTypesParameter whether the method belongs to a generic factory and thus accepts the requested types
+     * @since 0.1.0
+     */
+    public CachedFallbackMethod(@NotNull Method method, boolean inputTypesParameter) {
+        if (method.getAnnotation(Fallback.class) == null) {
+            throw new IllegalArgumentException("Method is not annotated with a Fallback annotation");
+        }
+
+        this.method = method;
+        this.loaderParameter = method.getParameterCount() > 0 && method.getParameterTypes()[0] == SkriptLoader.class;
+        this.inputTypesParameter = inputTypesParameter;
+        this.invoker = CachedReflectionMethod.createInvoker(method);
+    }
+
+    /**
+     * Invokes the cached method on the given factory. Any exception thrown by the method is wrapped in an
+     * {@link InvocationTargetException}, like {@link Method#invoke(Object, Object...)} would.
+     *
+     * @param factory the factory to invoke the method on
+     * @param skriptLoader the skript loader that is parsing
+     * @param inputTypes the types requested or null if all types are allowed
+     * @param input the text to parse
+     * @param lineNumber the line number of the element
+     * @return the created element, or null if the method rejected the input
+     * @throws InvocationTargetException if the method threw an exception
+     * @since 0.1.0
+     */
+    @Nullable
+    public PsiElement<?> invoke(@NotNull PsiGenericElementFactory factory, @NotNull SkriptLoader skriptLoader,
+        @NotNull TypeRegistry.Entry @Nullable [] inputTypes, @NotNull String input, int lineNumber)
+        throws InvocationTargetException {
+        Object[] arguments = new Object[method.getParameterCount()];
+        int index = 0;
+
+        if (this.loaderParameter) {
+            arguments[index++] = skriptLoader;
+        }
+
+        if (this.inputTypesParameter) {
+            arguments[index++] = inputTypes;
+        }
+
+        arguments[index++] = input;
+        arguments[index] = lineNumber;
+
+        return CachedReflectionMethod.invoke(this.invoker, factory, arguments);
+    }
+
+    /**
+     * Gets the method that was cached
+     *
+     * @return the method
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Method getMethod() {
+        return method;
+    }
+}
@@ -1,13 +1,23 @@
 package com.github.stefvanschie.quickskript.core.psi.util;
 
+import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.util.registry.TypeRegistry;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 /**
- * A cached method belonging to a psi element factory
+ * A cached method belonging to a psi element factory. Upon creation, the method is turned into a {@link MethodHandle}
+ * and the position of every parameter is determined once, so invoking it during parsing doesn't require any reflection.
  *
  * @since 0.1.0
  */
@@ -31,6 +41,32 @@ public class CachedReflectionMethod {
     @NotNull
     private final Class<?>[] parameterTypes;
 
+    /**
+     * The method as a method handle, accepting the factory and an array with all the arguments
+     */
+    @NotNull
+    private final MethodHandle invoker;
+
+    /**
+     * Whether the method accepts a {@link SkriptLoader} as its first parameter
+     */
+    private final boolean loaderParameter;
+
+    /**
+     * Whether the method accepts a {@link SkriptMatchResult} after the optional {@link SkriptLoader}
+     */
+    private final boolean matchResultParameter;
+
+    /**
+     * Whether the method accepts the requested types, which is the case for generic factories
+     */
+    private final boolean inputTypesParameter;
+
+    /**
+     * The amount of parameters the method has for the types in the pattern
+     */
+    private final int typeParameterCount;
+
     /**
      * Creates a new cached reflection method by the provided method and patterns
      *
@@ -41,6 +77,22 @@ public class CachedReflectionMethod {
     public CachedReflectionMethod(
         @NotNull Method method,
         @NotNull com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern @NotNull [] patterns
+    ) {
+        this(method, patterns, false);
+    }
+
+    /**
+     * Creates a new cached reflection method by the provided method and patterns
+     *
+     * @param method the method to cache
+     * @param patterns the patterns belonging to the method to cache
+     * @param inputTypesParameter whether the method belongs to a generic factory and thus accepts the requested types
+     * @since 0.1.0
+     */
+    public CachedReflectionMethod(
+        @NotNull Method method,
+        @NotNull com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern @NotNull [] patterns,
+        boolean inputTypesParameter
     ) {
         if (patterns.length == 0) {
             throw new IllegalArgumentException("Method is not annotated with a Pattern annotation");
@@ -56,6 +108,127 @@ public class CachedReflectionMethod {
         }
 
         this.parameterTypes = method.getParameterTypes();
+
+        int index = 0;
+
+        this.loaderParameter = parameterTypes.length > index && parameterTypes[index] == SkriptLoader.class;
+
+        if (this.loaderParameter) {
+            index++;
+        }
+
+        this.matchResultParameter = parameterTypes.length > index && parameterTypes[index] == SkriptMatchResult.class;
+
+        if (this.matchResultParameter) {
+            index++;
+        }
+
+        this.inputTypesParameter = inputTypesParameter;
+
+        if (inputTypesParameter) {
+            index++;
+        }
+
+        //the line number is always the last parameter
+        this.typeParameterCount = parameterTypes.length - index - 1;
+
+        if (this.typeParameterCount < 0) {
+            throw new IllegalArgumentException("Method '" + method.getName() + "' has too few parameters");
+        }
+
+        this.invoker = createInvoker(method);
+    }
+
+    /**
+     * Invokes the cached method on the given factory. The arguments are placed in the positions the method expects
+     * them in; arguments that the method doesn't accept are ignored. Any exception thrown by the method is wrapped in
+     * an {@link InvocationTargetException}, like {@link Method#invoke(Object, Object...)} would.
+     *
+     * @param factory the factory to invoke the method on
+     * @param skriptLoader the skript loader that is parsing
+     * @param result the match result of the pattern
+     * @param inputTypes the types requested or null if all types are allowed
+     * @param elements the arguments for the types in the pattern, in the order the method expects them
+     * @param lineNumber the line number of the element
+     * @return the created element, or null if the method rejected the input
+     * @throws InvocationTargetException if the method threw an exception
+     * @since 0.1.0
+     */
+    @Nullable
+    public PsiElement<?> invoke(@NotNull PsiGenericElementFactory factory, @NotNull SkriptLoader skriptLoader,
+        @NotNull SkriptMatchResult result, @NotNull TypeRegistry.Entry @Nullable [] inputTypes,
+        @Nullable Object @NotNull [] elements, int lineNumber) throws InvocationTargetException {
+        if (elements.length != this.typeParameterCount) {
+            throw new IllegalStateException("Method '" + method.getName() + "' accepts " + this.typeParameterCount
+                + " types, but " + elements.length + " were provided");
+        }
+
+        Object[] arguments = new Object[parameterTypes.length];
+        int index = 0;
+
+        if (this.loaderParameter) {
+            arguments[index++] = skriptLoader;
+        }
+
+        if (this.matchResultParameter) {
+            arguments[index++] = result;
+        }
+
+        if (this.inputTypesParameter) {
+            arguments[index++] = inputTypes;
+        }
+
+        System.arraycopy(elements, 0, arguments, index, elements.length);
+
+        arguments[arguments.length - 1] = lineNumber;
+
+        return invoke(this.invoker, factory, arguments);
+    }
+
+    /**
+     * Creates a method handle for the given method. The returned handle accepts the instance to invoke the method on
+     * and an array of the arguments to invoke it with and returns the result of the method.
+     *
+     * @param method the method to create a handle for
+     * @return the method handle
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static MethodHandle createInvoker(@NotNull Method method) {
+        MethodHandle handle;
+
+        try {
+            //factories may be declared in classes which are not accessible to us
+            method.setAccessible(true);
+
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalArgumentException("Method '" + method.getName() + "' can't be accessed", exception);
+        }
+
+        return handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+    }
+
+    /**
+     * Invokes the given method handle, which has been created by {@link #createInvoker(Method)}. Any exception thrown
+     * by the invoked method will be wrapped in an {@link InvocationTargetException}.
+     *
+     * @param invoker the method handle to invoke
+     * @param instance the instance to invoke the method on
+     * @param arguments the arguments to pass to the method
+     * @return the element returned by the method
+     * @throws InvocationTargetException if the method threw an exception
+     * @since 0.1.0
+     */
+    @Nullable
+    static PsiElement<?> invoke(@NotNull MethodHandle invoker, @NotNull Object instance,
+        @Nullable Object @NotNull [] arguments) throws InvocationTargetException {
+        try {
+            return (PsiElement<?>) (Object) invoker.invokeExact(instance, arguments);
+        } catch (Throwable throwable) {
+            throw new InvocationTargetException(throwable);
+        }
     }
 
     /**
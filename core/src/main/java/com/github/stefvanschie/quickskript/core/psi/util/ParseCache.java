@@ -0,0 +1,530 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import com.google.gson.*;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the routes via which elements were parsed, which can be stored on disk. Unlike a {@link ParseMemo}, this
+ * cache outlives the parsing of a single line, so elements can be parsed again later, for example after a restart,
+ * without having to try every factory. A cache is only valid for the set of factories it was created with; this set is
+ * identified by a fingerprint, and a cache stored with a different fingerprint is discarded when it is read. The cache
+ * may be accessed from multiple threads at the same time.
+ *
+ * @since 0.1.0
+ */
+public class ParseCache {
+
+    /**
+     * The version of the format in which caches are stored. Caches stored in another format are discarded.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The routes for each text and types that were parsed successfully
+     */
+    @NotNull
+    private final Map<Key, Route> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Whether routes were added since this cache was created or read
+     */
+    private volatile boolean changed;
+
+    /**
+     * Gets the route that was found for the given text and types, or null if there is none
+     *
+     * @param input the parsed text
+     * @param types the names of the types parsed for, or null if all types were allowed; an element is null for a
+     * type that isn't registered
+     * @return the route or null if there is none
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Route get(@NotNull String input, @Nullable String @Nullable [] types) {
+        return routes.get(new Key(input, types));
+    }
+
+    /**
+     * Stores the route that was found for the given text and types
+     *
+     * @param input the parsed text
+     * @param types the names of the types parsed for, or null if all types were allowed
+     * @param route the route that was found
+     * @since 0.1.0
+     */
+    public void put(@NotNull String input, @Nullable String @Nullable [] types, @NotNull Route route) {
+        if (!route.equals(routes.put(new Key(input, types), route))) {
+            changed = true;
+        }
+    }
+
+    /**
+     * Gets whether routes were added or replaced since this cache was created or read
+     *
+     * @return true if this cache changed, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Writes this cache to the given file, replacing the file if it already exists
+     *
+     * @param file the file to write to
+     * @param fingerprint the fingerprint of the factories the routes in this cache were found with
+     * @throws IOException if the file can't be written
+     * @since 0.1.0
+     */
+    public void write(@NotNull Path file, @NotNull String fingerprint) throws IOException {
+        var entries = new JsonArray();
+
+        for (Map.Entry<Key, Route> entry : routes.entrySet()) {
+            Key key = entry.getKey();
+            Route route = entry.getValue();
+            var object = new JsonObject();
+
+            object.addProperty("input", key.input);
+
+            if (key.types != null) {
+                var types = new JsonArray();
+
+                for (String type : key.types) {
+                    types.add(type);
+                }
+
+                object.add("types", types);
+            }
+
+            object.addProperty("factory", route.factory);
+            object.addProperty("method", route.method);
+
+            if (!route.isFallback()) {
+                object.addProperty("pattern", route.pattern);
+                object.addProperty("match", route.match);
+            }
+
+            entries.add(object);
+        }
+
+        var root = new JsonObject();
+
+        root.addProperty("version", FORMAT_VERSION);
+        root.addProperty("fingerprint", fingerprint);
+        root.add("routes", entries);
+
+        Path parent = file.toAbsolutePath().getParent();
+
+        Files.createDirectories(parent);
+
+        //write to a temporary file first, so a cache which is being written is never read
+        Path temporaryFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write(root.toString());
+            }
+
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+
+        changed = false;
+    }
+
+    /**
+     * Reads a cache from the given file. If the file does not exist, is malformed, or was written with another
+     * fingerprint, an empty cache is returned instead.
+     *
+     * @param file the file to read from
+     * @param fingerprint the fingerprint of the current factories
+     * @return the cache that was read
+     * @throws IOException if the file exists, but can't be read
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ParseCache read(@NotNull Path file, @NotNull String fingerprint) throws IOException {
+        var cache = new ParseCache();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject root = asObject(JsonParser.parseReader(reader));
+
+            if (getInt(root, "version") != FORMAT_VERSION || !getString(root, "fingerprint").equals(fingerprint)) {
+                return cache;
+            }
+
+            for (JsonElement element : getArray(root, "routes")) {
+                JsonObject object = asObject(element);
+                String[] types = null;
+
+                if (object.has("types")) {
+                    JsonArray typesArray = getArray(object, "types");
+
+                    types = new String[typesArray.size()];
+
+                    for (int index = 0; index < types.length; index++) {
+                        JsonElement type = typesArray.get(index);
+
+                        types[index] = type.isJsonNull() ? null : asString(type);
+                    }
+                }
+
+                String factory = getString(object, "factory");
+                String method = getString(object, "method");
+                Route route;
+
+                if (object.has("pattern")) {
+                    route = Route.ofPattern(factory, method, getInt(object, "pattern"), getInt(object, "match"));
+                } else {
+                    route = Route.ofFallback(factory, method);
+                }
+
+                cache.routes.put(new Key(getString(object, "input"), types), route);
+            }
+        } catch (NoSuchFileException exception) {
+            return cache;
+        } catch (JsonIOException exception) {
+            if (exception.getCause() instanceof IOException) {
+                throw (IOException) exception.getCause();
+            }
+
+            cache.routes.clear();
+        } catch (JsonParseException | NumberFormatException exception) {
+            cache.routes.clear();
+        }
+
+        return cache;
+    }
+
+    /**
+     * Gets the given element as an object
+     *
+     * @param element the element
+     * @return the object
+     * @throws JsonParseException if the element isn't an object
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static JsonObject asObject(@NotNull JsonElement element) {
+        if (!element.isJsonObject()) {
+            throw new JsonParseException("Expected an object, but found " + element);
+        }
+
+        return element.getAsJsonObject();
+    }
+
+    /**
+     * Gets the given element as a string
+     *
+     * @param element the element
+     * @return the string
+     * @throws JsonParseException if the element isn't a string
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String asString(@NotNull JsonElement element) {
+        if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+            throw new JsonParseException("Expected a string, but found " + element);
+        }
+
+        return element.getAsString();
+    }
+
+    /**
+     * Gets the member with the given name of the given object as an array
+     *
+     * @param object the object
+     * @param name the name of the member
+     * @return the array
+     * @throws JsonParseException if the member is missing or isn't an array
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static JsonArray getArray(@NotNull JsonObject object, @NotNull String name) {
+        JsonElement element = object.get(name);
+
+        if (element == null || !element.isJsonArray()) {
+            throw new JsonParseException("Expected an array for '" + name + "', but found " + element);
+        }
+
+        return element.getAsJsonArray();
+    }
+
+    /**
+     * Gets the member with the given name of the given object as a string
+     *
+     * @param object the object
+     * @param name the name of the member
+     * @return the string
+     * @throws JsonParseException if the member is missing or isn't a string
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String getString(@NotNull JsonObject object, @NotNull String name) {
+        JsonElement element = object.get(name);
+
+        if (element == null) {
+            throw new JsonParseException("Missing member '" + name + "'");
+        }
+
+        return asString(element);
+    }
+
+    /**
+     * Gets the member with the given name of the given object as an integer
+     *
+     * @param object the object
+     * @param name the name of the member
+     * @return the integer
+     * @throws JsonParseException if the member is missing or isn't a number
+     * @throws NumberFormatException if the number can't be read
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static int getInt(@NotNull JsonObject object, @NotNull String name) {
+        JsonElement element = object.get(name);
+
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isNumber()) {
+            throw new JsonParseException("Expected a number for '" + name + "', but found " + element);
+        }
+
+        return element.getAsInt();
+    }
+
+    /**
+     * A route via which an element was parsed. Factories and methods are identified by name, so routes can be stored
+     * and read in another run.
+     *
+     * @since 0.1.0
+     */
+    public static class Route {
+
+        /**
+         * The name of the class of the factory that created the element
+         */
+        @NotNull
+        private final String factory;
+
+        /**
+         * The string representation of the method that created the element
+         */
+        @NotNull
+        private final String method;
+
+        /**
+         * The index of the pattern of the method that matched, or -1 if a fallback method created the element
+         */
+        private final int pattern;
+
+        /**
+         * The index of the match result of the pattern that was passed to the method, or -1 if a fallback method
+         * created the element
+         */
+        private final int match;
+
+        /**
+         * Creates a new route
+         *
+         * @param factory the name of the class of the factory
+         * @param method the string representation of the method
+         * @param pattern the index of the pattern
+         * @param match the index of the match result
+         * @since 0.1.0
+         */
+        private Route(@NotNull String factory, @NotNull String method, int pattern, int match) {
+            this.factory = factory;
+            this.method = method;
+            this.pattern = pattern;
+            this.match = match;
+        }
+
+        /**
+         * Gets the name of the class of the factory that created the element
+         *
+         * @return the name of the factory class
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getFactory() {
+            return factory;
+        }
+
+        /**
+         * Gets the string representation of the method that created the element, as given by
+         * {@link java.lang.reflect.Method#toString()}
+         *
+         * @return the method
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the index of the pattern of the method that matched
+         *
+         * @return the index of the pattern, or -1 if a fallback method created the element
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getPattern() {
+            return pattern;
+        }
+
+        /**
+         * Gets the index of the match result of the pattern that was passed to the method, in the order in which
+         * the match results are returned by the pattern
+         *
+         * @return the index of the match result, or -1 if a fallback method created the element
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getMatch() {
+            return match;
+        }
+
+        /**
+         * Gets whether a fallback method created the element
+         *
+         * @return true if a fallback method created the element, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isFallback() {
+            return pattern < 0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Route)) {
+                return false;
+            }
+
+            Route other = (Route) obj;
+
+            return factory.equals(other.factory) && method.equals(other.method) && pattern == other.pattern &&
+                match == other.match;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(factory, method, pattern, match);
+        }
+
+        /**
+         * Creates a route for an element that was created by a pattern method
+         *
+         * @param factory the name of the class of the factory
+         * @param method the string representation of the method
+         * @param pattern the index of the pattern that matched
+         * @param match the index of the match result that was passed to the method
+         * @return the route
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(value = "_, _, _, _ -> new", pure = true)
+        public static Route ofPattern(@NotNull String factory, @NotNull String method, int pattern, int match) {
+            if (pattern < 0 || match < 0) {
+                throw new IllegalArgumentException("Pattern and match indices must not be negative");
+            }
+
+            return new Route(factory, method, pattern, match);
+        }
+
+        /**
+         * Creates a route for an element that was created by a fallback method
+         *
+         * @param factory the name of the class of the factory
+         * @param method the string representation of the method
+         * @return the route
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(value = "_, _ -> new", pure = true)
+        public static Route ofFallback(@NotNull String factory, @NotNull String method) {
+            return new Route(factory, method, -1, -1);
+        }
+    }
+
+    /**
+     * The combination of text and types a route is stored for
+     *
+     * @since 0.1.0
+     */
+    private static class Key {
+
+        /**
+         * The parsed text
+         */
+        @NotNull
+        private final String input;
+
+        /**
+         * The names of the types parsed for, or null if all types were allowed
+         */
+        @Nullable
+        private final String @Nullable [] types;
+
+        /**
+         * Creates a new key
+         *
+         * @param input the parsed text
+         * @param types the names of the types parsed for
+         * @since 0.1.0
+         */
+        private Key(@NotNull String input, @Nullable String @Nullable [] types) {
+            this.input = input;
+            this.types = types;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return input.equals(other.input) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(input, Arrays.hashCode(types));
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
+import com.github.stefvanschie.quickskript.core.util.registry.TypeRegistry;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A memo of the parse attempts that were made while parsing a single line. While the patterns of the line backtrack,
+ * the same text is often parsed for the same types many times; this memo ensures the factories only have to be tried
+ * once for every such combination. Since an element can only have a single parent, elements are never stored in this
+ * memo: instead, the route that led to an element is stored, so a new element can be created without having to try
+ * any other factory.
+ *
+ * @since 0.1.0
+ */
+public class ParseMemo {
+
+    /**
+     * The route for each parse attempt that was made
+     */
+    @NotNull
+    private final Map<Key, Route> routes = new HashMap<>();
+
+    /**
+     * Gets the route that was found for the given text and types, or null if this text and types have not been parsed
+     * yet.
+     *
+     * @param input the parsed text
+     * @param types the types parsed for, or null if all types were allowed
+     * @return the route or null if there is none
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Route get(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] types) {
+        return routes.get(new Key(input, types));
+    }
+
+    /**
+     * Stores the route that was found for the given text and types.
+     *
+     * @param input the parsed text
+     * @param types the types parsed for, or null if all types were allowed
+     * @param route the route that was found
+     * @since 0.1.0
+     */
+    public void put(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] types, @NotNull Route route) {
+        routes.put(new Key(input, types), route);
+    }
+
+    /**
+     * A route via which an element was parsed, or via which no element could be parsed
+     *
+     * @since 0.1.0
+     */
+    public static class Route {
+
+        /**
+         * The route for text from which no element could be parsed
+         */
+        @NotNull
+        private static final Route FAILURE = new Route(null, null, null, null, null, null);
+
+        /**
+         * The factory that created the element
+         */
+        @Nullable
+        private final PsiGenericElementFactory factory;
+
+        /**
+         * The pattern method that created the element, or null if another method did
+         */
+        @Nullable
+        private final CachedReflectionMethod method;
+
+        /**
+         * The fallback method that created the element, or null if another method did
+         */
+        @Nullable
+        private final CachedFallbackMethod fallbackMethod;
+
+        /**
+         * The match result that was passed to the pattern method
+         */
+        @Nullable
+        private final SkriptMatchResult matchResult;
+
+        /**
+         * The texts of the arguments of the pattern method, with the same indices as the arguments. An entry is null
+         * if no text was matched for that argument.
+         */
+        @Nullable
+        private final String @Nullable [] texts;
+
+        /**
+         * The types the texts of the arguments were parsed for. An entry is null if the text is passed as is.
+         */
+        @Nullable
+        private final TypeRegistry.Entry @Nullable [] @Nullable [] types;
+
+        /**
+         * Creates a new route
+         *
+         * @param factory the factory that created the element
+         * @param method the pattern method that created the element
+         * @param fallbackMethod the fallback method that created the element
+         * @param matchResult the match result passed to the pattern method
+         * @param texts the texts of the arguments of the pattern method
+         * @param types the types the texts were parsed for
+         * @since 0.1.0
+         */
+        private Route(@Nullable PsiGenericElementFactory factory, @Nullable CachedReflectionMethod method,
+            @Nullable CachedFallbackMethod fallbackMethod, @Nullable SkriptMatchResult matchResult,
+            @Nullable String @Nullable [] texts, @Nullable TypeRegistry.Entry @Nullable [] @Nullable [] types) {
+            this.factory = factory;
+            this.method = method;
+            this.fallbackMethod = fallbackMethod;
+            this.matchResult = matchResult;
+            this.texts = texts;
+            this.types = types;
+        }
+
+        /**
+         * Gets the factory that created the element
+         *
+         * @return the factory, or null if this is a failure
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public PsiGenericElementFactory getFactory() {
+            return factory;
+        }
+
+        /**
+         * Gets the pattern method that created the element
+         *
+         * @return the method, or null if the element wasn't created by a pattern method
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public CachedReflectionMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * Gets the fallback method that created the element
+         *
+         * @return the method, or null if the element wasn't created by a fallback method
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public CachedFallbackMethod getFallbackMethod() {
+            return fallbackMethod;
+        }
+
+        /**
+         * Gets the match result that was passed to the pattern method
+         *
+         * @return the match result, or null if the element wasn't created by a pattern method
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public SkriptMatchResult getMatchResult() {
+            return matchResult;
+        }
+
+        /**
+         * Gets the texts of the arguments of the pattern method
+         *
+         * @return the texts, or null if the element wasn't created by a pattern method
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public String @Nullable [] getTexts() {
+            return texts;
+        }
+
+        /**
+         * Gets the types the texts of the arguments were parsed for
+         *
+         * @return the types, or null if the element wasn't created by a pattern method
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        public TypeRegistry.Entry @Nullable [] @Nullable [] getTypes() {
+            return types;
+        }
+
+        /**
+         * Gets whether this route indicates that no element could be parsed
+         *
+         * @return true if no element could be parsed, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public boolean isFailure() {
+            return this == FAILURE;
+        }
+
+        /**
+         * Gets the route for text from which no element could be parsed
+         *
+         * @return the route
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public static Route failure() {
+            return FAILURE;
+        }
+
+        /**
+         * Creates a route for an element that was created by a pattern method
+         *
+         * @param factory the factory that created the element
+         * @param method the method that created the element
+         * @param matchResult the match result passed to the method
+         * @param texts the texts of the arguments of the method
+         * @param types the types the texts were parsed for
+         * @return the route
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(value = "_, _, _, _, _ -> new", pure = true)
+        public static Route ofPattern(@NotNull PsiGenericElementFactory factory,
+            @NotNull CachedReflectionMethod method, @NotNull SkriptMatchResult matchResult,
+            @Nullable String @NotNull [] texts, @Nullable TypeRegistry.Entry @NotNull [] @Nullable [] types) {
+            return new Route(factory, method, null, matchResult, texts, types);
+        }
+
+        /**
+         * Creates a route for an element that was created by a fallback method
+         *
+         * @param factory the factory that created the element
+         * @param fallbackMethod the method that created the element
+         * @return the route
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(value = "_, _ -> new", pure = true)
+        public static Route ofFallback(@NotNull PsiGenericElementFactory factory,
+            @NotNull CachedFallbackMethod fallbackMethod) {
+            return new Route(factory, null, fallbackMethod, null, null, null);
+        }
+    }
+
+    /**
+     * The combination of text and types a route is stored for
+     *
+     * @since 0.1.0
+     */
+    private static class Key {
+
+        /**
+         * The parsed text
+         */
+        @NotNull
+        private final String input;
+
+        /**
+         * The types parsed for, or null if all types were allowed
+         */
+        @NotNull
+        private final TypeRegistry.Entry @Nullable [] types;
+
+        /**
+         * Creates a new key
+         *
+         * @param input the parsed text
+         * @param types the types parsed for
+         * @since 0.1.0
+         */
+        private Key(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] types) {
+            this.input = input;
+            this.types = types;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return input.equals(other.input) && Arrays.equals(types, other.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(input, Arrays.hashCode(types));
+        }
+    }
+}
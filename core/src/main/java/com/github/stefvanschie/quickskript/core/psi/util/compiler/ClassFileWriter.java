@@ -0,0 +1,598 @@
+package com.github.stefvanschie.quickskript.core.psi.util.compiler;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal writer for class files, which supports exactly what the {@link TriggerCompiler} needs. Classes are written
+ * with version 49, so no stack map frames have to be computed for the code of their methods.
+ *
+ * @since 0.1.0
+ */
+class ClassFileWriter {
+
+    /**
+     * Access flags for classes and members
+     */
+    static final int ACC_PUBLIC = 0x0001, ACC_PRIVATE = 0x0002, ACC_STATIC = 0x0008, ACC_FINAL = 0x0010,
+        ACC_SUPER = 0x0020;
+
+    /**
+     * The opcodes used by the {@link TriggerCompiler}
+     */
+    static final int ACONST_NULL = 0x01, ICONST_0 = 0x03, BIPUSH = 0x10, SIPUSH = 0x11, LDC = 0x12, LDC_W = 0x13,
+        ALOAD = 0x19, AALOAD = 0x32, ASTORE = 0x3A, POP = 0x57, DUP = 0x59,
+        DADD = 0x63, DSUB = 0x67, DMUL = 0x6B, DDIV = 0x6F, IFEQ = 0x99, IFNE = 0x9A, IF_ACMPEQ = 0xA5, GOTO = 0xA7,
+        ARETURN = 0xB0, RETURN = 0xB1, GETSTATIC = 0xB2, PUTSTATIC = 0xB3, INVOKEVIRTUAL = 0xB6, INVOKESPECIAL = 0xB7,
+        INVOKESTATIC = 0xB8, CHECKCAST = 0xC0, INSTANCEOF = 0xC1;
+
+    /**
+     * The tags of the entries in the constant pool
+     */
+    private static final int CONSTANT_UTF8 = 1, CONSTANT_CLASS = 7, CONSTANT_STRING = 8, CONSTANT_FIELDREF = 9,
+        CONSTANT_METHODREF = 10, CONSTANT_NAME_AND_TYPE = 12;
+
+    /**
+     * The entries of the constant pool, as they are written to the class file
+     */
+    @NotNull
+    private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+
+    /**
+     * The index of every entry in the constant pool, by a key which identifies the entry
+     */
+    @NotNull
+    private final Map<String, Integer> constantIndices = new HashMap<>();
+
+    /**
+     * The index the next entry in the constant pool will have
+     */
+    private int constantCount = 1;
+
+    /**
+     * The fields and methods of this class, as they are written to the class file
+     */
+    @NotNull
+    private final ByteArrayOutputStream fields = new ByteArrayOutputStream(), methods = new ByteArrayOutputStream();
+
+    /**
+     * The amount of fields and methods of this class
+     */
+    private int fieldCount, methodCount;
+
+    /**
+     * The access flags of this class
+     */
+    private final int access;
+
+    /**
+     * The internal names of this class, its superclass and the interface it implements
+     */
+    @NotNull
+    private final String name, superName, interfaceName;
+
+    /**
+     * Creates a new writer for a class
+     *
+     * @param access the access flags of the class
+     * @param name the internal name of the class
+     * @param superName the internal name of the superclass
+     * @param interfaceName the internal name of the interface the class implements
+     * @since 0.1.0
+     */
+    ClassFileWriter(int access, @NotNull String name, @NotNull String superName, @NotNull String interfaceName) {
+        this.access = access;
+        this.name = name;
+        this.superName = superName;
+        this.interfaceName = interfaceName;
+    }
+
+    /**
+     * Adds a field to this class
+     *
+     * @param access the access flags of the field
+     * @param name the name of the field
+     * @param descriptor the descriptor of the field
+     * @since 0.1.0
+     */
+    void addField(int access, @NotNull String name, @NotNull String descriptor) {
+        write(fields, access, utf8(name), utf8(descriptor), 0);
+        fieldCount++;
+    }
+
+    /**
+     * Adds a method with the given code to this class
+     *
+     * @param access the access flags of the method
+     * @param name the name of the method
+     * @param descriptor the descriptor of the method
+     * @param code the code of the method
+     * @since 0.1.0
+     */
+    void addMethod(int access, @NotNull String name, @NotNull String descriptor, @NotNull Code code) {
+        byte[] bytes = code.toByteArray();
+
+        write(methods, access, utf8(name), utf8(descriptor), 1, utf8("Code"));
+        writeInt(methods, 12 + bytes.length);
+        write(methods, code.maxStack, code.maxLocals);
+        writeInt(methods, bytes.length);
+        methods.writeBytes(bytes);
+        write(methods, 0, 0);
+        methodCount++;
+    }
+
+    /**
+     * Writes the class file
+     *
+     * @return the bytes of the class file
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    byte[] toByteArray() {
+        int thisIndex = classConstant(name), superIndex = classConstant(superName),
+            interfaceIndex = classConstant(interfaceName);
+        var output = new ByteArrayOutputStream();
+
+        writeInt(output, 0xCAFEBABE);
+        write(output, 0, 49, constantCount);
+        output.writeBytes(constantPool.toByteArray());
+        write(output, access, thisIndex, superIndex, 1, interfaceIndex, fieldCount);
+        output.writeBytes(fields.toByteArray());
+        write(output, methodCount);
+        output.writeBytes(methods.toByteArray());
+        write(output, 0);
+
+        return output.toByteArray();
+    }
+
+    /**
+     * Gets the index of a class in the constant pool, adding it if needed
+     *
+     * @param internalName the internal name of the class, or the descriptor of an array type
+     * @return the index
+     * @since 0.1.0
+     */
+    int classConstant(@NotNull String internalName) {
+        return constant("C" + internalName, CONSTANT_CLASS, utf8(internalName));
+    }
+
+    /**
+     * Gets the index of a string in the constant pool, adding it if needed
+     *
+     * @param value the string
+     * @return the index
+     * @since 0.1.0
+     */
+    int stringConstant(@NotNull String value) {
+        return constant("S" + value, CONSTANT_STRING, utf8(value));
+    }
+
+    /**
+     * Gets the index of a field reference in the constant pool, adding it if needed
+     *
+     * @param owner the internal name of the class which declares the field
+     * @param name the name of the field
+     * @param descriptor the descriptor of the field
+     * @return the index
+     * @since 0.1.0
+     */
+    int fieldConstant(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        return constant("F" + owner + '.' + name + ':' + descriptor, CONSTANT_FIELDREF, classConstant(owner),
+            nameAndType(name, descriptor));
+    }
+
+    /**
+     * Gets the index of a method reference in the constant pool, adding it if needed
+     *
+     * @param owner the internal name of the class which declares the method
+     * @param name the name of the method
+     * @param descriptor the descriptor of the method
+     * @return the index
+     * @since 0.1.0
+     */
+    int methodConstant(@NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+        return constant("M" + owner + '.' + name + descriptor, CONSTANT_METHODREF, classConstant(owner),
+            nameAndType(name, descriptor));
+    }
+
+    /**
+     * Gets the index of a name and type in the constant pool, adding it if needed
+     *
+     * @param name the name
+     * @param descriptor the descriptor
+     * @return the index
+     * @since 0.1.0
+     */
+    private int nameAndType(@NotNull String name, @NotNull String descriptor) {
+        return constant("N" + name + ':' + descriptor, CONSTANT_NAME_AND_TYPE, utf8(name), utf8(descriptor));
+    }
+
+    /**
+     * Gets the index of a string in the constant pool as it is used for names and descriptors, adding it if needed
+     *
+     * @param value the string
+     * @return the index
+     * @since 0.1.0
+     */
+    private int utf8(@NotNull String value) {
+        Integer index = constantIndices.get("U" + value);
+
+        if (index != null) {
+            return index;
+        }
+
+        constantPool.write(CONSTANT_UTF8);
+
+        try {
+            new DataOutputStream(constantPool).writeUTF(value);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        constantIndices.put("U" + value, constantCount);
+        return constantCount++;
+    }
+
+    /**
+     * Gets the index of an entry in the constant pool which refers to other entries, adding it if needed
+     *
+     * @param key the key which identifies the entry
+     * @param tag the tag of the entry
+     * @param references the indices of the entries it refers to
+     * @return the index
+     * @since 0.1.0
+     */
+    private int constant(@NotNull String key, int tag, int... references) {
+        Integer index = constantIndices.get(key);
+
+        if (index != null) {
+            return index;
+        }
+
+        constantPool.write(tag);
+        write(constantPool, references);
+
+        constantIndices.put(key, constantCount);
+        return constantCount++;
+    }
+
+    /**
+     * Writes the given values as unsigned shorts
+     *
+     * @param output the output to write to
+     * @param values the values to write
+     * @since 0.1.0
+     */
+    private static void write(@NotNull ByteArrayOutputStream output, int... values) {
+        for (int value : values) {
+            output.write(value >>> 8);
+            output.write(value);
+        }
+    }
+
+    /**
+     * Writes the given value as an int
+     *
+     * @param output the output to write to
+     * @param value the value to write
+     * @since 0.1.0
+     */
+    private static void writeInt(@NotNull ByteArrayOutputStream output, int value) {
+        write(output, value >>> 16, value & 0xFFFF);
+    }
+
+    /**
+     * The code of a method. The amount of values on the operand stack is tracked while instructions are added, so the
+     * maximum stack size doesn't have to be computed afterwards.
+     *
+     * @since 0.1.0
+     */
+    static class Code {
+
+        /**
+         * The class this code belongs to
+         */
+        @NotNull
+        private final ClassFileWriter owner;
+
+        /**
+         * The instructions written so far
+         */
+        @NotNull
+        private byte[] bytes = new byte[256];
+
+        /**
+         * The amount of bytes written so far
+         */
+        private int length;
+
+        /**
+         * The current and maximum amount of values on the operand stack
+         */
+        private int stack, maxStack;
+
+        /**
+         * The amount of local variables of the method
+         */
+        private final int maxLocals;
+
+        /**
+         * Creates new, empty code
+         *
+         * @param owner the class this code belongs to
+         * @param maxLocals the amount of local variables of the method, including its parameters
+         * @since 0.1.0
+         */
+        Code(@NotNull ClassFileWriter owner, int maxLocals) {
+            this.owner = owner;
+            this.maxLocals = maxLocals;
+        }
+
+        /**
+         * Adds an instruction without operands
+         *
+         * @param opcode the opcode of the instruction
+         * @param stackChange the amount by which the instruction changes the size of the operand stack
+         * @since 0.1.0
+         */
+        void instruction(int opcode, int stackChange) {
+            write(opcode);
+            changeStack(stackChange);
+        }
+
+        /**
+         * Adds an instruction which loads or stores a local variable
+         *
+         * @param opcode either {@link #ALOAD} or {@link #ASTORE}
+         * @param index the index of the local variable
+         * @since 0.1.0
+         */
+        void variable(int opcode, int index) {
+            write(opcode, index);
+            changeStack(opcode == ALOAD ? 1 : -1);
+        }
+
+        /**
+         * Adds an instruction which refers to a class
+         *
+         * @param opcode the opcode of the instruction, which must not change the size of the operand stack
+         * @param internalName the internal name of the class
+         * @since 0.1.0
+         */
+        void type(int opcode, @NotNull String internalName) {
+            writeShort(opcode, owner.classConstant(internalName));
+        }
+
+        /**
+         * Adds an instruction which pushes an int
+         *
+         * @param value the int to push, which must fit in a short
+         * @throws IllegalStateException if the value doesn't fit in a short
+         * @since 0.1.0
+         */
+        void integer(int value) {
+            if (value >= -1 && value <= 5) {
+                write(ICONST_0 + value);
+            } else if (value == (byte) value) {
+                write(BIPUSH, value);
+            } else if (value == (short) value) {
+                writeShort(SIPUSH, value & 0xFFFF);
+            } else {
+                throw new IllegalStateException("Integer too large");
+            }
+
+            changeStack(1);
+        }
+
+        /**
+         * Adds an instruction which pushes a constant from the constant pool
+         *
+         * @param index the index of the constant
+         * @since 0.1.0
+         */
+        void constant(int index) {
+            if (index <= 0xFF) {
+                write(LDC, index);
+            } else {
+                writeShort(LDC_W, index);
+            }
+
+            changeStack(1);
+        }
+
+        /**
+         * Adds an instruction which gets or puts a static field holding a reference
+         *
+         * @param opcode either {@link #GETSTATIC} or {@link #PUTSTATIC}
+         * @param owner the internal name of the class which declares the field
+         * @param name the name of the field
+         * @param descriptor the descriptor of the field
+         * @since 0.1.0
+         */
+        void field(int opcode, @NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+            writeShort(opcode, this.owner.fieldConstant(owner, name, descriptor));
+            changeStack(opcode == GETSTATIC ? 1 : -1);
+        }
+
+        /**
+         * Adds an instruction which invokes a method
+         *
+         * @param opcode the opcode of the instruction, which must not be invokeinterface or invokedynamic
+         * @param owner the internal name of the class which declares the method
+         * @param name the name of the method
+         * @param descriptor the descriptor of the method
+         * @since 0.1.0
+         */
+        void method(int opcode, @NotNull String owner, @NotNull String name, @NotNull String descriptor) {
+            writeShort(opcode, this.owner.methodConstant(owner, name, descriptor));
+
+            int stackChange = opcode == INVOKESTATIC ? 0 : -1;
+            int index = 1;
+
+            while (descriptor.charAt(index) != ')') {
+                char character = descriptor.charAt(index);
+
+                stackChange -= character == 'D' || character == 'J' ? 2 : 1;
+
+                while (descriptor.charAt(index) == '[') {
+                    index++;
+                }
+
+                index = descriptor.charAt(index) == 'L' ? descriptor.indexOf(';', index) + 1 : index + 1;
+            }
+
+            char returnType = descriptor.charAt(index + 1);
+
+            if (returnType != 'V') {
+                stackChange += returnType == 'D' || returnType == 'J' ? 2 : 1;
+            }
+
+            changeStack(stackChange);
+        }
+
+        /**
+         * Adds a jump to the given label. The size of the operand stack is expected to be the same at every jump to a
+         * label, which is the case for all code generated by the {@link TriggerCompiler}.
+         *
+         * @param opcode the opcode of the jump
+         * @param label the label to jump to
+         * @since 0.1.0
+         */
+        void jump(int opcode, @NotNull Label label) {
+            int position = length;
+
+            writeShort(opcode, 0);
+            changeStack(opcode == IF_ACMPEQ ? -2 : opcode == GOTO ? 0 : -1);
+
+            if (label.position >= 0) {
+                patch(position, label.position);
+            } else {
+                label.jumps.add(position);
+            }
+        }
+
+        /**
+         * Places the given label at the current position in the code
+         *
+         * @param label the label to place
+         * @since 0.1.0
+         */
+        void mark(@NotNull Label label) {
+            label.position = length;
+
+            for (int jump : label.jumps) {
+                patch(jump, length);
+            }
+        }
+
+        /**
+         * Gets the amount of bytes written so far
+         *
+         * @return the length of the code
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        int getLength() {
+            return length;
+        }
+
+        /**
+         * Gets the written instructions
+         *
+         * @return the instructions
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        /**
+         * Fills in the offset of a jump
+         *
+         * @param jump the position of the jump
+         * @param target the position the jump goes to
+         * @throws IllegalStateException if the offset doesn't fit in the jump
+         * @since 0.1.0
+         */
+        private void patch(int jump, int target) {
+            int offset = target - jump;
+
+            if (offset != (short) offset) {
+                throw new IllegalStateException("Jump offset too large");
+            }
+
+            bytes[jump + 1] = (byte) (offset >> 8);
+            bytes[jump + 2] = (byte) offset;
+        }
+
+        /**
+         * Changes the current size of the operand stack
+         *
+         * @param change the amount to change it by
+         * @since 0.1.0
+         */
+        private void changeStack(int change) {
+            stack += change;
+            maxStack = Math.max(maxStack, stack);
+        }
+
+        /**
+         * Writes an opcode followed by a two byte operand
+         *
+         * @param opcode the opcode
+         * @param operand the operand
+         * @since 0.1.0
+         */
+        private void writeShort(int opcode, int operand) {
+            write(opcode, operand >>> 8, operand & 0xFF);
+        }
+
+        /**
+         * Writes the given bytes
+         *
+         * @param values the bytes to write
+         * @since 0.1.0
+         */
+        private void write(int... values) {
+            if (length + values.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+
+            for (int value : values) {
+                bytes[length++] = (byte) value;
+            }
+        }
+    }
+
+    /**
+     * A position in the code of a method, which can be jumped to before it is placed
+     *
+     * @since 0.1.0
+     */
+    static class Label {
+
+        /**
+         * The positions of the jumps to this label which haven't been filled in yet
+         */
+        @NotNull
+        private final List<Integer> jumps = new ArrayList<>();
+
+        /**
+         * The position of this label, or -1 if it hasn't been placed yet
+         */
+        private int position = -1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.stefvanschie.quickskript.core.psi.util.compiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The elements of an entry point, compiled into bytecode by the {@link TriggerCompiler}. Executing it behaves exactly
+ * like executing the elements one by one, the way the entry point would do itself.
+ *
+ * @since 0.1.0
+ */
+public interface CompiledTrigger {
+
+    /**
+     * Executes the compiled elements until they are finished, one of them returns false or one of them returns an
+     * {@link ExitSectionsPointerMovement}.
+     *
+     * @param environment the environment this code is being executed in
+     * @param context the context this code is being executed in
+     * @return the pointer movement returned by one of the elements, or null if none was returned
+     * @since 0.1.0
+     */
+    @Nullable
+    Object execute(@Nullable SkriptRunEnvironment environment, @Nullable Context context);
+}
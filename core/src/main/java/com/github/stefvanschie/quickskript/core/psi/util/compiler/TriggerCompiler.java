@@ -0,0 +1,540 @@
+package com.github.stefvanschie.quickskript.core.psi.util.compiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.expression.PsiArithmeticExpression;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.github.stefvanschie.quickskript.core.psi.util.compiler.ClassFileWriter.*;
+
+/**
+ * Compiles the elements of an entry point into a class, so the JIT compiler of the JVM can optimize them as a whole.
+ * Control flow of ifs and whiles and arithmetic are generated as bytecode directly, without boxing intermediate
+ * numbers; every other element is executed by invoking it from a constant, which the JIT compiler can inline. The
+ * compiled code behaves exactly like the interpreted elements, including the exceptions they throw.
+ *
+ * @since 0.1.0
+ */
+public class TriggerCompiler {
+
+    /**
+     * The internal names of the classes referred to by the generated code
+     */
+    private static final String ELEMENT = internalName(PsiElement.class), SECTION = internalName(PsiSection.class),
+        OBJECT = "java/lang/Object", BOOLEAN = "java/lang/Boolean",
+        EXIT = "com/github/stefvanschie/quickskript/core/psi/util/pointermovement/ExitSectionsPointerMovement",
+        LOOP = "com/github/stefvanschie/quickskript/core/psi/util/pointermovement/SimpleInstructionPointerMovement$Loop",
+        FRAME = "com/github/stefvanschie/quickskript/core/skript/ExecutionFrame";
+
+    /**
+     * The descriptors of the fields holding elements and constants
+     */
+    private static final String ELEMENT_DESCRIPTOR = 'L' + ELEMENT + ';', OBJECT_DESCRIPTOR = "Ljava/lang/Object;";
+
+    /**
+     * The descriptor of the methods which execute elements, both {@link PsiElement#execute(SkriptRunEnvironment,
+     * Context)} and {@link CompiledTrigger#execute(SkriptRunEnvironment, Context)}
+     */
+    private static final String EXECUTE_DESCRIPTOR = "(Lcom/github/stefvanschie/quickskript/core/skript/" +
+        "SkriptRunEnvironment;Lcom/github/stefvanschie/quickskript/core/context/Context;)Ljava/lang/Object;";
+
+    /**
+     * The descriptor of {@link PsiElement#executeDouble(SkriptRunEnvironment, Context)}
+     */
+    private static final String EXECUTE_DOUBLE_DESCRIPTOR = "(Lcom/github/stefvanschie/quickskript/core/skript/" +
+        "SkriptRunEnvironment;Lcom/github/stefvanschie/quickskript/core/context/Context;)D";
+
+    /**
+     * The name of the generated classes. The classes are hidden classes, so they don't need unique names, but they
+     * have to be in the same package as the elements, since they call protected methods of them.
+     */
+    private static final String CLASS_NAME = ELEMENT.substring(0, ELEMENT.lastIndexOf('/') + 1) + "CompiledTrigger";
+
+    /**
+     * The maximum size of the code of a method, in bytes
+     */
+    private static final int MAX_CODE_LENGTH = 0xFFFF;
+
+    /**
+     * The local variable holding the result of the last executed element
+     */
+    private static final int RESULT = 3;
+
+    /**
+     * The writer of the generated class
+     */
+    @NotNull
+    private final ClassFileWriter writer = new ClassFileWriter(ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, OBJECT,
+        internalName(CompiledTrigger.class));
+
+    /**
+     * The code of the execute method of the generated class
+     */
+    @NotNull
+    private final Code code = new Code(writer, 4);
+
+    /**
+     * The objects stored in the static fields of the generated class, in the order of their fields
+     */
+    @NotNull
+    private final List<Object> data = new ArrayList<>();
+
+    /**
+     * The descriptors of the static fields of the generated class, in the order of their fields
+     */
+    @NotNull
+    private final List<String> descriptors = new ArrayList<>();
+
+    /**
+     * The name of the static field which holds each element or pre computed value
+     */
+    @NotNull
+    private final Map<Object, String> fieldNames = new IdentityHashMap<>();
+
+    /**
+     * Whether the generated code checks the execution budget in every iteration of a while
+     */
+    private final boolean checkingBudget;
+
+    /**
+     * Creates a new compiler for a single class
+     *
+     * @param checkingBudget whether the generated code should check the execution budget in every iteration of a while
+     * @since 0.1.0
+     */
+    private TriggerCompiler(boolean checkingBudget) {
+        this.checkingBudget = checkingBudget;
+    }
+
+    /**
+     * Compiles the given elements of an entry point. This may fail for elements which result in too much code, in
+     * which case the elements should keep being interpreted. Like the interpreted elements, the compiled elements only
+     * check the execution budget if they are compiled for an environment with an execution budget. Why the elements
+     * couldn't be compiled is written to the standard error stream.
+     *
+     * @param elements the elements to compile
+     * @param checkingBudget whether the compiled elements should check the execution budget in every iteration of a
+     *                       while
+     * @return the compiled elements, or null if they couldn't be compiled
+     * @since 0.1.0
+     */
+    @Nullable
+    public static CompiledTrigger compile(@NotNull PsiElement<?>[] elements, boolean checkingBudget) {
+        try {
+            return new TriggerCompiler(checkingBudget).compileTrigger(elements);
+        } catch (IllegalStateException exception) {
+            //the elements can't be represented as a class, such as when their code is too large
+            System.err.println("Unable to compile trigger, it will be interpreted instead: " + exception.getMessage());
+        } catch (LinkageError | ReflectiveOperationException exception) {
+            //the generated class is invalid, which is a bug in the generated code
+            System.err.println("Unable to load compiled trigger, it will be interpreted instead");
+            exception.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Compiles the elements into a class and instantiates it
+     *
+     * @param elements the elements to compile
+     * @return the compiled elements
+     * @throws IllegalStateException if the generated code is too large
+     * @throws ReflectiveOperationException if the generated class couldn't be defined or instantiated
+     * @since 0.1.0
+     */
+    @NotNull
+    private CompiledTrigger compileTrigger(@NotNull PsiElement<?>[] elements) throws ReflectiveOperationException {
+        var finished = new Label();
+        var exited = new Label();
+
+        emitBody(elements, finished, null, exited);
+
+        code.mark(finished);
+        code.instruction(ACONST_NULL, 1);
+        code.instruction(ARETURN, -1);
+
+        code.mark(exited);
+        code.variable(ALOAD, RESULT);
+        code.instruction(ARETURN, -1);
+
+        if (code.getLength() > MAX_CODE_LENGTH) {
+            throw new IllegalStateException("Generated code is too large");
+        }
+
+        writer.addMethod(ACC_PUBLIC, "execute", EXECUTE_DESCRIPTOR, code);
+
+        var constructor = new Code(writer, 1);
+
+        constructor.variable(ALOAD, 0);
+        constructor.method(INVOKESPECIAL, OBJECT, "<init>", "()V");
+        constructor.instruction(RETURN, 0);
+
+        writer.addMethod(ACC_PUBLIC, "<init>", "()V", constructor);
+        writer.addMethod(ACC_STATIC, "<clinit>", "()V", createInitializer());
+
+        Class<?> compiled = MethodHandles.privateLookupIn(PsiElement.class, MethodHandles.lookup())
+            .defineHiddenClassWithClassData(writer.toByteArray(), data.toArray(), true)
+            .lookupClass();
+
+        return (CompiledTrigger) compiled.getConstructor().newInstance();
+    }
+
+    /**
+     * Creates the static initializer of the generated class, which copies the class data into the static fields
+     *
+     * @return the code of the static initializer
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private Code createInitializer() {
+        var initializer = new Code(writer, 1);
+
+        initializer.method(INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup",
+            "()Ljava/lang/invoke/MethodHandles$Lookup;");
+        initializer.constant(writer.stringConstant("_"));
+        initializer.constant(writer.classConstant("[Ljava/lang/Object;"));
+        initializer.method(INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;");
+        initializer.type(CHECKCAST, "[Ljava/lang/Object;");
+
+        for (int index = 0; index < data.size(); index++) {
+            String descriptor = descriptors.get(index);
+
+            initializer.instruction(DUP, 1);
+            initializer.integer(index);
+            initializer.instruction(AALOAD, -1);
+
+            if (descriptor.equals(ELEMENT_DESCRIPTOR)) {
+                initializer.type(CHECKCAST, ELEMENT);
+            }
+
+            initializer.field(PUTSTATIC, CLASS_NAME, fieldNames.get(data.get(index)), descriptor);
+        }
+
+        initializer.instruction(POP, -1);
+        initializer.instruction(RETURN, 0);
+
+        return initializer;
+    }
+
+    /**
+     * Emits code which executes the given elements one by one, like a section does. After each element its result is
+     * checked: false stops executing the elements, {@link SimpleInstructionPointerMovement.Loop#CONTINUE} jumps to
+     * the next iteration of a loop and an {@link ExitSectionsPointerMovement} exits the section.
+     *
+     * @param elements the elements to execute
+     * @param finished the label to jump to once the elements are finished
+     * @param next the label to jump to when continuing with the next iteration, or null if this isn't a loop
+     * @param exited the label to jump to when an element returned an {@link ExitSectionsPointerMovement}
+     * @since 0.1.0
+     */
+    private void emitBody(@NotNull PsiElement<?>[] elements, @NotNull Label finished, @Nullable Label next,
+        @NotNull Label exited) {
+        for (PsiElement<?> element : elements) {
+            emitStatement(element);
+
+            code.variable(ALOAD, RESULT);
+            code.field(GETSTATIC, BOOLEAN, "FALSE", "Ljava/lang/Boolean;");
+            code.jump(IF_ACMPEQ, finished);
+
+            if (next != null) {
+                code.variable(ALOAD, RESULT);
+                code.field(GETSTATIC, LOOP, "CONTINUE", 'L' + LOOP + ';');
+                code.jump(IF_ACMPEQ, next);
+            }
+
+            code.variable(ALOAD, RESULT);
+            code.type(INSTANCEOF, EXIT);
+            code.jump(IFNE, exited);
+        }
+    }
+
+    /**
+     * Emits code which executes the given element and stores its result in the result variable
+     *
+     * @param element the element to execute
+     * @since 0.1.0
+     */
+    private void emitStatement(@NotNull PsiElement<?> element) {
+        if (!element.isPreComputed() && element.getClass() == PsiIf.class) {
+            emitIf((PsiIf) element);
+        } else if (!element.isPreComputed() && element.getClass() == PsiWhile.class) {
+            emitWhile((PsiWhile) element);
+        } else {
+            emitValue(element);
+            code.variable(ASTORE, RESULT);
+        }
+    }
+
+    /**
+     * Emits code which executes an if and stores its result in the result variable
+     *
+     * @param psiIf the if to execute
+     * @since 0.1.0
+     */
+    private void emitIf(@NotNull PsiIf psiIf) {
+        var otherwise = new Label();
+        var finished = new Label();
+        var exited = new Label();
+        var done = new Label();
+
+        emitCondition(psiIf.getCondition());
+        code.jump(IFEQ, otherwise);
+        emitBody(psiIf.getElements(), finished, null, exited);
+        code.jump(GOTO, finished);
+
+        code.mark(otherwise);
+
+        PsiSection elseSection = psiIf.getElseSection();
+
+        if (elseSection != null) {
+            emitBody(elseSection.getElements(), finished, null, exited);
+        }
+
+        code.jump(GOTO, finished);
+
+        emitExit(psiIf, exited, finished, done);
+    }
+
+    /**
+     * Emits code which executes a while and stores its result in the result variable. Like the interpreted while, every
+     * iteration checks the execution budget if this compiler is {@link #checkingBudget checking the budget}.
+     *
+     * @param psiWhile the while to execute
+     * @since 0.1.0
+     */
+    private void emitWhile(@NotNull PsiWhile psiWhile) {
+        var loop = new Label();
+        var finished = new Label();
+        var exited = new Label();
+        var done = new Label();
+
+        code.mark(loop);
+        emitCondition(psiWhile.getCondition());
+        code.jump(IFEQ, finished);
+
+        if (checkingBudget) {
+            code.integer(psiWhile.getLineNumber());
+            code.method(INVOKESTATIC, FRAME, "checkCurrentBudget", "(I)V");
+        }
+
+        emitBody(psiWhile.getElements(), loop, loop, exited);
+        code.jump(GOTO, loop);
+
+        emitExit(psiWhile, exited, finished, done);
+    }
+
+    /**
+     * Emits the end of a section: the code which exits the section when one of its elements returned an
+     * {@link ExitSectionsPointerMovement}, and the code which clears the result once the section is finished.
+     *
+     * @param section the section
+     * @param exited the label which is jumped to when the section is exited
+     * @param finished the label which is jumped to when the section is finished
+     * @param done the label placed after the section
+     * @since 0.1.0
+     */
+    private void emitExit(@NotNull PsiSection section, @NotNull Label exited, @NotNull Label finished,
+        @NotNull Label done) {
+        code.mark(exited);
+        code.field(GETSTATIC, CLASS_NAME, getFieldName(section), ELEMENT_DESCRIPTOR);
+        code.type(CHECKCAST, SECTION);
+        code.variable(ALOAD, RESULT);
+        code.type(CHECKCAST, EXIT);
+        code.method(INVOKEVIRTUAL, SECTION, "exit", "(L" + EXIT + ";)L" + EXIT + ';');
+        code.variable(ASTORE, RESULT);
+        code.jump(GOTO, done);
+
+        code.mark(finished);
+        code.instruction(ACONST_NULL, 1);
+        code.variable(ASTORE, RESULT);
+
+        code.mark(done);
+    }
+
+    /**
+     * Emits code which executes the given condition and pushes its result as an int
+     *
+     * @param condition the condition to execute
+     * @since 0.1.0
+     */
+    private void emitCondition(@NotNull PsiElement<?> condition) {
+        emitForcedValue(condition, BOOLEAN);
+        code.method(INVOKEVIRTUAL, BOOLEAN, "booleanValue", "()Z");
+    }
+
+    /**
+     * Emits code which executes the given element and pushes its result
+     *
+     * @param element the element to execute
+     * @since 0.1.0
+     */
+    private void emitValue(@NotNull PsiElement<?> element) {
+        if (element.isPreComputed()) {
+            code.field(GETSTATIC, CLASS_NAME, getConstantName(element), OBJECT_DESCRIPTOR);
+        } else if (element.getClass() == PsiArithmeticExpression.class) {
+            emitDouble((PsiArithmeticExpression) element);
+            code.method(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;");
+        } else {
+            code.field(GETSTATIC, CLASS_NAME, getFieldName(element), ELEMENT_DESCRIPTOR);
+            code.variable(ALOAD, 1);
+            code.variable(ALOAD, 2);
+            code.method(INVOKEVIRTUAL, ELEMENT, "execute", EXECUTE_DESCRIPTOR);
+        }
+    }
+
+    /**
+     * Emits code which executes the given element and pushes its result after checking it is an instance of the given
+     * class, the same way {@link PsiElement#execute(SkriptRunEnvironment, Context, Class)} does
+     *
+     * @param element the element to execute
+     * @param internalName the internal name of the class the result must be an instance of
+     * @since 0.1.0
+     */
+    private void emitForcedValue(@NotNull PsiElement<?> element, @NotNull String internalName) {
+        code.field(GETSTATIC, CLASS_NAME, getFieldName(element), ELEMENT_DESCRIPTOR);
+        emitValue(element);
+        code.constant(writer.classConstant(internalName));
+        code.method(INVOKESTATIC, ELEMENT, "forceResult",
+            "(L" + ELEMENT + ";Ljava/lang/Object;Ljava/lang/Class;)Ljava/lang/Object;");
+        code.type(CHECKCAST, internalName);
+    }
+
+    /**
+     * Emits code which computes an arithmetic expression and pushes its result as a double
+     *
+     * @param expression the expression to compute, which isn't pre computed
+     * @since 0.1.0
+     */
+    private void emitDouble(@NotNull PsiArithmeticExpression expression) {
+        emitOperand(expression.getLeft());
+        emitOperand(expression.getRight());
+
+        PsiArithmeticExpression.Operation operation = expression.getOperation();
+
+        if (operation == null) {
+            throw new IllegalStateException("Arithmetic expression without operation");
+        }
+
+        switch (operation) {
+            case ADDITION:
+                code.instruction(DADD, -2);
+                break;
+            case SUBTRACTION:
+                code.instruction(DSUB, -2);
+                break;
+            case MULTIPLICATION:
+                code.instruction(DMUL, -2);
+                break;
+            case DIVISION:
+                code.instruction(DDIV, -2);
+                break;
+            case EXPONENTIATION:
+                code.method(INVOKESTATIC, "java/lang/Math", "pow", "(DD)D");
+                break;
+        }
+    }
+
+    /**
+     * Emits code which executes an operand of an arithmetic expression and pushes its result as a double
+     *
+     * @param operand the operand to execute
+     * @since 0.1.0
+     */
+    private void emitOperand(@Nullable PsiElement<?> operand) {
+        if (operand == null) {
+            throw new IllegalStateException("Arithmetic expression without operand");
+        }
+
+        if (!operand.isPreComputed() && operand.getClass() == PsiArithmeticExpression.class) {
+            emitDouble((PsiArithmeticExpression) operand);
+            return;
+        }
+
+        code.field(GETSTATIC, CLASS_NAME, getFieldName(operand), ELEMENT_DESCRIPTOR);
+        code.variable(ALOAD, 1);
+        code.variable(ALOAD, 2);
+        code.method(INVOKEVIRTUAL, ELEMENT, "executeDouble", EXECUTE_DOUBLE_DESCRIPTOR);
+    }
+
+    /**
+     * Gets the name of the static field holding the given element, adding the field if needed
+     *
+     * @param element the element
+     * @return the name of the field
+     * @since 0.1.0
+     */
+    @NotNull
+    private String getFieldName(@NotNull PsiElement<?> element) {
+        return getFieldName(element, ELEMENT_DESCRIPTOR);
+    }
+
+    /**
+     * Gets the name of the static field holding the pre computed value of the given element, adding the field if
+     * needed
+     *
+     * @param element the pre computed element
+     * @return the name of the field
+     * @since 0.1.0
+     */
+    @NotNull
+    private String getConstantName(@NotNull PsiElement<?> element) {
+        Object value = element.execute(null, null);
+
+        if (value == null) {
+            throw new IllegalStateException("Pre computed element without value");
+        }
+
+        return getFieldName(value, OBJECT_DESCRIPTOR);
+    }
+
+    /**
+     * Gets the name of the static field holding the given object, adding the field if needed
+     *
+     * @param object the object
+     * @param descriptor the descriptor of the field
+     * @return the name of the field
+     * @since 0.1.0
+     */
+    @NotNull
+    private String getFieldName(@NotNull Object object, @NotNull String descriptor) {
+        return fieldNames.computeIfAbsent(object, key -> {
+            String name = "f" + data.size();
+
+            writer.addField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, name, descriptor);
+            data.add(object);
+            descriptors.add(descriptor);
+
+            return name;
+        });
+    }
+
+    /**
+     * Gets the internal name of a class
+     *
+     * @param clazz the class
+     * @return the internal name
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String internalName(@NotNull Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+}
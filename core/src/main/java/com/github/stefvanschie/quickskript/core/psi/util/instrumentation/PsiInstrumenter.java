@@ -0,0 +1,114 @@
+package com.github.stefvanschie.quickskript.core.psi.util.instrumentation;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates a copy of the statements of an entry point in which every statement is wrapped in a {@link PsiTimedElement},
+ * including the statements inside if and while sections. The original statements are left untouched, so an entry
+ * point can keep executing them whenever its statements don't need to be measured.
+ *
+ * @since 0.1.0
+ */
+public class PsiInstrumenter {
+
+    /**
+     * The type of context of the entry point
+     */
+    @NotNull
+    private final Class<? extends Context> contextType;
+
+    /**
+     * The identifier of the entry point
+     */
+    @NotNull
+    private final SkriptProfiler.Identifier identifier;
+
+    /**
+     * Creates a new instrumenter for the statements of an entry point
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @since 0.1.0
+     */
+    public PsiInstrumenter(@NotNull Class<? extends Context> contextType,
+        @NotNull SkriptProfiler.Identifier identifier) {
+        this.contextType = contextType;
+        this.identifier = identifier;
+    }
+
+    /**
+     * Creates a copy of the given statements in which every statement is timed
+     *
+     * @param elements the statements to instrument
+     * @return the instrumented statements
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<?>[] instrument(@NotNull PsiElement<?>[] elements) {
+        PsiElement<?>[] result = new PsiElement<?>[elements.length];
+
+        for (int index = 0; index < elements.length; index++) {
+            result[index] = time(copy(elements[index]));
+        }
+
+        return result;
+    }
+
+    /**
+     * Copies the given statement with instrumented statements inside it, if it's a section whose statements can be
+     * instrumented. Other statements are returned as they are.
+     *
+     * @param element the statement to copy
+     * @return the copied statement
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private PsiElement<?> copy(@NotNull PsiElement<?> element) {
+        if (element.isPreComputed()) {
+            return element;
+        }
+
+        if (element.getClass() == PsiIf.class) {
+            PsiIf psiIf = (PsiIf) element;
+            PsiIf copy = new PsiIf(instrument(psiIf.getElements()), psiIf.getCondition(), psiIf.getLineNumber());
+            PsiSection elseSection = psiIf.getElseSection();
+
+            if (elseSection != null) {
+                copy.setElseSection((PsiSection) copy(elseSection));
+            }
+
+            return copy;
+        }
+
+        if (element.getClass() == PsiWhile.class) {
+            PsiWhile psiWhile = (PsiWhile) element;
+
+            return psiWhile.copy(instrument(psiWhile.getElements()));
+        }
+
+        return element;
+    }
+
+    /**
+     * Wraps the given statement in a {@link PsiTimedElement}
+     *
+     * @param element the statement to wrap
+     * @param <T> the type of result of the statement
+     * @return the timed statement
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private <T> PsiTimedElement<T> time(@NotNull PsiElement<T> element) {
+        return new PsiTimedElement<>(element, contextType, identifier);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.stefvanschie.quickskript.core.psi.util.instrumentation;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Executes a statement and reports how long it took to the profiler of the environment. Statements which contain other
+ * timed statements report the time spent in those separately, so every statement is attributed both the time it took
+ * in total and the time spent in itself.
+ *
+ * @param <T> the type of result of the statement
+ * @since 0.1.0
+ */
+public class PsiTimedElement<T> extends PsiElement<T> {
+
+    /**
+     * For each thread, the time in nanoseconds spent in the timed statements inside the statement which is currently
+     * being executed
+     */
+    @NotNull
+    private static final ThreadLocal<long[]> NESTED_TIME = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * The statement to execute
+     */
+    @NotNull
+    private final PsiElement<T> element;
+
+    /**
+     * The type of context of the entry point the statement is in
+     */
+    @NotNull
+    private final Class<? extends Context> contextType;
+
+    /**
+     * The identifier of the entry point the statement is in
+     */
+    @NotNull
+    private final SkriptProfiler.Identifier identifier;
+
+    /**
+     * Creates a new timed element
+     *
+     * @param element the statement to execute
+     * @param contextType the type of context of the entry point the statement is in
+     * @param identifier the identifier of the entry point the statement is in
+     * @since 0.1.0
+     */
+    PsiTimedElement(@NotNull PsiElement<T> element, @NotNull Class<? extends Context> contextType,
+        @NotNull SkriptProfiler.Identifier identifier) {
+        super(element.getLineNumber());
+
+        this.element = element;
+        this.contextType = contextType;
+        this.identifier = identifier;
+    }
+
+    @Nullable
+    @Override
+    protected T executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+        if (environment == null) {
+            return element.execute(null, context);
+        }
+
+        long[] nestedTime = NESTED_TIME.get();
+        long outerNestedTime = nestedTime[0];
+
+        nestedTime[0] = 0;
+
+        long startTime = System.nanoTime();
+
+        try {
+            return element.execute(environment, context);
+        } finally {
+            long totalTime = System.nanoTime() - startTime;
+            long selfTime = totalTime - nestedTime[0];
+
+            nestedTime[0] = outerNestedTime + totalTime;
+
+            environment.getProfiler().onStatementMeasured(contextType, identifier, lineNumber, totalTime, selfTime);
+        }
+    }
+
+    /**
+     * Gets the statement this element times
+     *
+     * @return the statement
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public PsiElement<T> getElement() {
+        return element;
+    }
+}
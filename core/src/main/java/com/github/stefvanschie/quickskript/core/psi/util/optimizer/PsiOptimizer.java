@@ -0,0 +1,217 @@
+package com.github.stefvanschie.quickskript.core.psi.util.optimizer;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A pass over a parsed psi tree which removes code that can never have an effect. Pre computed statements are
+ * dropped, ifs and whiles whose conditions are always false are removed and the bodies of ifs whose conditions are
+ * always true are moved into the surrounding section, when that doesn't change how the section is exited. The
+ * optimized tree behaves exactly like the original one.
+ *
+ * @since 0.1.0
+ */
+public class PsiOptimizer {
+
+    /**
+     * Whether the elements of each class are declared to always return null, so they can never stop or exit a section
+     */
+    @NotNull
+    private static final ClassValue<Boolean> RETURNS_VOID = new ClassValue<>() {
+        @NotNull
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            for (Class<?> current = type; current != PsiElement.class; current = current.getSuperclass()) {
+                Type superclass = current.getGenericSuperclass();
+
+                if (superclass instanceof ParameterizedType &&
+                    ((ParameterizedType) superclass).getRawType() == PsiElement.class) {
+                    return ((ParameterizedType) superclass).getActualTypeArguments()[0] == Void.class;
+                }
+            }
+
+            return false;
+        }
+    };
+
+    /**
+     * Receives a message for every optimization that was made
+     */
+    @NotNull
+    private final Consumer<? super String> log;
+
+    /**
+     * Creates a new optimizer
+     *
+     * @param log receives a message for every optimization that was made
+     * @since 0.1.0
+     */
+    public PsiOptimizer(@NotNull Consumer<? super String> log) {
+        this.log = log;
+    }
+
+    /**
+     * Optimizes the elements of the given section and of all sections inside it. Only the elements are optimized; the
+     * section itself is left in place.
+     *
+     * @param section the section to optimize
+     * @since 0.1.0
+     */
+    public void optimize(@NotNull PsiSection section) {
+        section.setElements(optimize(section.getElements()));
+    }
+
+    /**
+     * Optimizes the given elements of a section
+     *
+     * @param elements the elements to optimize
+     * @return the optimized elements
+     * @since 0.1.0
+     */
+    @NotNull
+    private PsiElement<?>[] optimize(@NotNull PsiElement<?>[] elements) {
+        List<PsiElement<?>> result = new ArrayList<>(elements.length);
+
+        for (int index = 0; index < elements.length; index++) {
+            PsiElement<?> element = elements[index];
+
+            if (element.isPreComputed()) {
+                Object value = element.execute(null, null);
+
+                if (value == Boolean.FALSE) {
+                    log.accept("Removed " + (elements.length - index) + " statement(s) from line " +
+                        element.getLineNumber() + " onwards, since that statement always stops its section");
+                    break;
+                }
+
+                if (!(value instanceof ExitSectionsPointerMovement) &&
+                    value != SimpleInstructionPointerMovement.Loop.CONTINUE) {
+                    log.accept("Removed statement on line " + element.getLineNumber() +
+                        ", since it is pre computed and has no effect");
+                    continue;
+                }
+            } else if (element.getClass() == PsiIf.class) {
+                PsiIf psiIf = (PsiIf) element;
+                PsiSection elseSection = psiIf.getElseSection();
+
+                optimize(psiIf);
+
+                if (elseSection != null) {
+                    optimize(elseSection);
+                }
+
+                if (optimizeIf(psiIf, result)) {
+                    continue;
+                }
+            } else if (element.getClass() == PsiWhile.class) {
+                PsiWhile psiWhile = (PsiWhile) element;
+
+                optimize(psiWhile);
+
+                PsiElement<?> condition = psiWhile.getCondition();
+
+                if (condition.isPreComputed() && condition.execute(null, null) == Boolean.FALSE) {
+                    log.accept("Removed while section on line " + psiWhile.getLineNumber() +
+                        ", since its condition is always false");
+                    continue;
+                }
+            }
+
+            result.add(element);
+        }
+
+        return result.toArray(PsiElement[]::new);
+    }
+
+    /**
+     * Removes the branch of an if which can never be executed, if its condition is pre computed. The elements of the
+     * other branch are moved to the surrounding section if possible.
+     *
+     * @param psiIf the if to optimize, whose sections have already been optimized
+     * @param result the elements of the surrounding section, to which moved elements are added
+     * @return true if the if itself should be removed, false if it should be kept
+     * @since 0.1.0
+     */
+    private boolean optimizeIf(@NotNull PsiIf psiIf, @NotNull List<PsiElement<?>> result) {
+        PsiElement<?> condition = psiIf.getCondition();
+
+        if (!condition.isPreComputed()) {
+            return false;
+        }
+
+        Object value = condition.execute(null, null);
+        PsiSection elseSection = psiIf.getElseSection();
+
+        if (value == Boolean.TRUE) {
+            if (elseSection != null) {
+                psiIf.removeElseSection();
+                log.accept("Removed else section on line " + elseSection.getLineNumber() +
+                    ", since the condition of its if is always true");
+            }
+
+            if (!canInline(psiIf.getElements())) {
+                return false;
+            }
+
+            result.addAll(Arrays.asList(psiIf.getElements()));
+            log.accept("Inlined if section on line " + psiIf.getLineNumber() + ", since its condition is always true");
+            return true;
+        }
+
+        if (value != Boolean.FALSE) {
+            return false;
+        }
+
+        if (elseSection == null) {
+            log.accept("Removed if section on line " + psiIf.getLineNumber() + ", since its condition is always false");
+            return true;
+        }
+
+        if (psiIf.getElements().length != 0) {
+            psiIf.setElements(new PsiElement<?>[0]);
+            log.accept("Removed the body of the if section on line " + psiIf.getLineNumber() +
+                ", since its condition is always false");
+        }
+
+        if (!canInline(elseSection.getElements())) {
+            return false;
+        }
+
+        result.addAll(Arrays.asList(elseSection.getElements()));
+        log.accept("Inlined else section on line " + elseSection.getLineNumber() +
+            ", since the condition of its if is always false");
+        return true;
+    }
+
+    /**
+     * Gets whether the given elements can be moved from a section into the surrounding section. This is only the case
+     * if none of them can stop or exit a section, since that would stop or exit the surrounding section instead.
+     *
+     * @param elements the elements to move
+     * @return true if the elements can be moved, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static boolean canInline(@NotNull PsiElement<?>[] elements) {
+        for (PsiElement<?> element : elements) {
+            if (!RETURNS_VOID.get(element.getClass())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -5,11 +5,47 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Specifies that the code should exit a certain amount of conditionals or loops.
+ * Specifies that the code should exit a certain amount of conditionals or loops. Instances for common amounts are
+ * shared, see {@link #of(Type)} and {@link #of(Type, int)}, and every instance for a common amount knows the instance
+ * which remains once a single section has been exited, so exiting sections only allocates new instances while more
+ * than {@value #CACHED_AMOUNTS} layers remain. Instances for larger amounts are a single object holding the amount, so
+ * they take constant space regardless of the amount.
  *
  * @since 0.1.0
  */
-public class ExitSectionsPointerMovement {
+public final class ExitSectionsPointerMovement {
+
+    /**
+     * The amount of layers for which shared instances are kept for each type
+     */
+    private static final int CACHED_AMOUNTS = 8;
+
+    /**
+     * The shared instances which exit every layer, indexed by the ordinal of their type
+     */
+    @NotNull
+    private static final ExitSectionsPointerMovement[] INFINITE = new ExitSectionsPointerMovement[Type.values().length];
+
+    /**
+     * The shared instances which exit a finite amount of layers, indexed by the ordinal of their type and the amount
+     * of layers minus one
+     */
+    @NotNull
+    private static final ExitSectionsPointerMovement[][] FINITE =
+        new ExitSectionsPointerMovement[Type.values().length][CACHED_AMOUNTS];
+
+    static {
+        for (Type type : Type.values()) {
+            INFINITE[type.ordinal()] = new ExitSectionsPointerMovement(type, null, null);
+
+            ExitSectionsPointerMovement next = null;
+
+            for (int amount = 1; amount <= CACHED_AMOUNTS; amount++) {
+                next = new ExitSectionsPointerMovement(type, amount, next);
+                FINITE[type.ordinal()][amount - 1] = next;
+            }
+        }
+    }
 
     /**
      * The type of section that should be exited
@@ -21,10 +57,17 @@ public class ExitSectionsPointerMovement {
      * The amount of sections that should be exited from
      */
     @Nullable
-    private Integer amount;
+    private final Integer amount;
+
+    /**
+     * The pointer movement which remains after a single section has been exited, or null if nothing remains or if more
+     * than {@value #CACHED_AMOUNTS} layers remain, see {@link #getNext()}
+     */
+    @Nullable
+    private final ExitSectionsPointerMovement next;
 
     /**
-     * Creates a new instance which will exit everything
+     * Creates a new instance which will exit everything. Prefer {@link #of(Type)}, which doesn't allocate.
      *
      * @since 0.1.0
      */
@@ -33,27 +76,79 @@ public class ExitSectionsPointerMovement {
     }
 
     /**
-     * Creates a new instance which will exit the specified section type(s)
+     * Creates a new instance which will exit the specified section type(s). Prefer {@link #of(Type)}, which doesn't
+     * allocate.
      *
      * @param type the type of section to stop, see {@link #type}
      * @since 0.1.0
      */
     public ExitSectionsPointerMovement(@NotNull Type type) {
-        this.type = type;
+        this(type, null, null);
     }
 
     /**
      * Creates a new instance which will exit the specified section type(s) for the amount of
-     * layers specified
+     * layers specified. Prefer {@link #of(Type, int)}, which doesn't allocate for common amounts.
      *
      * @param type the type of section(s) to exit from
      * @param amount the amount of layers to exit from
      * @since 0.1.0
      */
     public ExitSectionsPointerMovement(@NotNull Type type, int amount) {
-        this(type);
+        this(type, amount, amount > 1 && amount <= CACHED_AMOUNTS + 1 ? of(type, amount - 1) : null);
+    }
 
+    /**
+     * Creates a new instance
+     *
+     * @param type the type of section(s) to exit from
+     * @param amount the amount of layers to exit from, or null to exit every layer
+     * @param next the instance which remains after one layer has been exited, or null to use this instance if every
+     *             layer should be exited
+     * @since 0.1.0
+     */
+    private ExitSectionsPointerMovement(@NotNull Type type, @Nullable Integer amount,
+        @Nullable ExitSectionsPointerMovement next) {
+        this.type = type;
         this.amount = amount;
+        this.next = amount == null ? this : next;
+    }
+
+    /**
+     * Gets a shared instance which will exit the specified section type(s) for every layer
+     *
+     * @param type the type of section(s) to exit from
+     * @return the shared instance
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ExitSectionsPointerMovement of(@NotNull Type type) {
+        return INFINITE[type.ordinal()];
+    }
+
+    /**
+     * Gets an instance which will exit the specified section type(s) for the amount of layers specified. A shared
+     * instance is returned for small amounts; for larger amounts a single new instance is created.
+     *
+     * @param type the type of section(s) to exit from
+     * @param amount the amount of layers to exit from
+     * @return the instance
+     * @throws IllegalArgumentException when the amount is not positive
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public static ExitSectionsPointerMovement of(@NotNull Type type, int amount) {
+        if (amount < 1) {
+            throw new IllegalArgumentException("Amount of layers to exit must be positive, but was " + amount);
+        }
+
+        if (amount <= CACHED_AMOUNTS) {
+            return FINITE[type.ordinal()][amount - 1];
+        }
+
+        return new ExitSectionsPointerMovement(type, amount);
     }
 
     /**
@@ -68,6 +163,24 @@ public class ExitSectionsPointerMovement {
         return amount;
     }
 
+    /**
+     * Gets the pointer movement which remains after a single section has been exited. This is this instance if every
+     * layer should be exited from and null if this was the last layer to exit from. A new instance is created if more
+     * than {@value #CACHED_AMOUNTS} layers remain.
+     *
+     * @return the remaining pointer movement or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public ExitSectionsPointerMovement getNext() {
+        if (amount != null && amount > CACHED_AMOUNTS + 1) {
+            return of(type, amount - 1);
+        }
+
+        return next;
+    }
+
     /**
      * Gets the type(s) of sections which should be exited from
      *
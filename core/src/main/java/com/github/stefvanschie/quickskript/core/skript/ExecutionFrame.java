@@ -0,0 +1,338 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ReusableContext;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionBudgetExceededException;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Holds the state of a single execution of a trigger: the context it runs in, the values of the loops that are
+ * currently being executed and the time by which it should have finished. Psi elements are shared between every
+ * execution of a trigger, so they keep this state in the frame instead of in their own fields, which allows the same
+ * elements to be executed re-entrantly and from multiple threads at once. Frames are pooled per thread and reused
+ * once the execution they were entered for is over.
+ *
+ * @since 0.1.0
+ */
+public final class ExecutionFrame {
+
+    /**
+     * The frames of each thread
+     */
+    @NotNull
+    private static final ThreadLocal<Stack> STACKS = ThreadLocal.withInitial(Stack::new);
+
+    /**
+     * The stack of frames this frame belongs to
+     */
+    @NotNull
+    private final Stack stack;
+
+    /**
+     * The context which is reused for every execution in this frame, or null if no context has been created yet
+     */
+    @Nullable
+    private Context context;
+
+    /**
+     * The elements which own the loops that are currently being executed, from the outermost to the innermost loop
+     */
+    @NotNull
+    private PsiElement<?>[] loopOwners = new PsiElement<?>[4];
+
+    /**
+     * The current value of each loop in {@link #loopOwners}
+     */
+    @NotNull
+    private Object[] loopValues = new Object[4];
+
+    /**
+     * The amount of loops that are currently being executed
+     */
+    private int loops;
+
+    /**
+     * The script of the trigger whose execution budget is being enforced, or null if no budget is being enforced
+     */
+    @Nullable
+    private Skript budgetSkript;
+
+    /**
+     * The execution budget which is being enforced, in nanoseconds
+     */
+    private long budget;
+
+    /**
+     * The value of {@link System#nanoTime()} after which the execution budget is exceeded
+     */
+    private long deadline;
+
+    /**
+     * Creates a new frame
+     *
+     * @param stack the stack of frames this frame belongs to
+     * @since 0.1.0
+     */
+    private ExecutionFrame(@NotNull Stack stack) {
+        this.stack = stack;
+    }
+
+    /**
+     * Enters a new frame on the current thread. The frame must be exited with {@link #exit()} once the execution is
+     * over, after which it may be handed out again.
+     *
+     * @return the entered frame
+     * @since 0.1.0
+     */
+    @NotNull
+    public static ExecutionFrame enter() {
+        return STACKS.get().push();
+    }
+
+    /**
+     * Gets the frame which was entered last on the current thread
+     *
+     * @return the current frame, or null if no frame has been entered
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public static ExecutionFrame current() {
+        return STACKS.get().peek();
+    }
+
+    /**
+     * Exits this frame, clearing its loops, execution budget and, if it is a {@link ReusableContext}, its context so
+     * it can be reused
+     *
+     * @throws IllegalStateException when this frame isn't the frame which was entered last on the current thread
+     * @since 0.1.0
+     */
+    public void exit() {
+        if (stack.peek() != this) {
+            throw new IllegalStateException("Only the frame which was entered last can be exited");
+        }
+
+        Arrays.fill(loopOwners, 0, loops, null);
+        Arrays.fill(loopValues, 0, loops, null);
+        loops = 0;
+        budgetSkript = null;
+
+        if (context instanceof ReusableContext) {
+            ((ReusableContext) context).clear();
+        }
+
+        stack.size--;
+    }
+
+    /**
+     * Starts enforcing an execution budget: from now on, {@link #checkBudget(int)} aborts the execution once the given
+     * amount of time has passed
+     *
+     * @param skript the script of the trigger which is being executed
+     * @param budget the execution budget in nanoseconds
+     * @since 0.1.0
+     */
+    public void startBudget(@NotNull Skript skript, long budget) {
+        this.budgetSkript = skript;
+        this.budget = budget;
+        this.deadline = System.nanoTime() + budget;
+    }
+
+    /**
+     * Stops enforcing the execution budget
+     *
+     * @since 0.1.0
+     */
+    public void endBudget() {
+        budgetSkript = null;
+    }
+
+    /**
+     * Gets whether an execution budget is being enforced
+     *
+     * @return true if a budget is being enforced, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean hasBudget() {
+        return budgetSkript != null;
+    }
+
+    /**
+     * Aborts the execution if it has exceeded its execution budget. This should be called wherever an execution can
+     * keep running for an unbounded amount of time, like at the start of every iteration of a loop.
+     *
+     * @param lineNumber the line number of the element which checks the budget
+     * @throws ExecutionBudgetExceededException when the execution budget is exceeded
+     * @since 0.1.0
+     */
+    public void checkBudget(int lineNumber) {
+        if (budgetSkript != null && System.nanoTime() - deadline > 0) {
+            throw new ExecutionBudgetExceededException(budgetSkript, budget, lineNumber);
+        }
+    }
+
+    /**
+     * Aborts the execution if the frame which was entered last on the current thread has exceeded its execution
+     * budget, see {@link #checkBudget(int)}. Nothing happens if no frame has been entered.
+     *
+     * @param lineNumber the line number of the element which checks the budget
+     * @throws ExecutionBudgetExceededException when the execution budget is exceeded
+     * @since 0.1.0
+     */
+    public static void checkCurrentBudget(int lineNumber) {
+        ExecutionFrame frame = current();
+
+        if (frame != null) {
+            frame.checkBudget(lineNumber);
+        }
+    }
+
+    /**
+     * Gets the context which is reused for every execution in this frame, if it is of the given type. The returned
+     * context should be reset before it is used.
+     *
+     * @param type the type of context
+     * @param <C> the type of context
+     * @return the context, or null if this frame doesn't have a context of the given type
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public <C extends Context> C getContext(@NotNull Class<C> type) {
+        return type.isInstance(context) ? type.cast(context) : null;
+    }
+
+    /**
+     * Sets the context which is reused for every execution in this frame. If the context is a
+     * {@link ReusableContext}, it is cleared whenever this frame is exited.
+     *
+     * @param context the context
+     * @since 0.1.0
+     */
+    public void setContext(@NotNull Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts a loop owned by the given element. The value of the loop is null until it is set.
+     *
+     * @param owner the element which executes the loop
+     * @return the index of the loop, to be passed to {@link #setLoopValue(int, Object)} and {@link #exitLoop(int)}
+     * @since 0.1.0
+     */
+    public int enterLoop(@NotNull PsiElement<?> owner) {
+        if (loops == loopOwners.length) {
+            loopOwners = Arrays.copyOf(loopOwners, loops * 2);
+            loopValues = Arrays.copyOf(loopValues, loops * 2);
+        }
+
+        loopOwners[loops] = owner;
+
+        return loops++;
+    }
+
+    /**
+     * Sets the current value of a loop
+     *
+     * @param index the index of the loop, as returned by {@link #enterLoop(PsiElement)}
+     * @param value the current value
+     * @since 0.1.0
+     */
+    public void setLoopValue(int index, @Nullable Object value) {
+        loopValues[index] = value;
+    }
+
+    /**
+     * Ends a loop, together with any loops which were started after it and haven't been ended
+     *
+     * @param index the index of the loop, as returned by {@link #enterLoop(PsiElement)}
+     * @since 0.1.0
+     */
+    public void exitLoop(int index) {
+        Arrays.fill(loopOwners, index, loops, null);
+        Arrays.fill(loopValues, index, loops, null);
+        loops = index;
+    }
+
+    /**
+     * Gets the current value of the innermost loop owned by the given element
+     *
+     * @param owner the element which executes the loop
+     * @return the current value, or null if the element isn't executing a loop or the value hasn't been set
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Object getLoopValue(@NotNull PsiElement<?> owner) {
+        for (int index = loops - 1; index >= 0; index--) {
+            if (loopOwners[index] == owner) {
+                return loopValues[index];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * The frames of a single thread. Frames are kept once they have been created, so entering a frame only allocates
+     * when the thread executes more triggers inside each other than it has done before.
+     *
+     * @since 0.1.0
+     */
+    private static final class Stack {
+
+        /**
+         * The frames of this stack, of which the first {@link #size} are entered
+         */
+        @NotNull
+        private ExecutionFrame[] frames = new ExecutionFrame[4];
+
+        /**
+         * The amount of entered frames
+         */
+        private int size;
+
+        /**
+         * Enters the next frame of this stack
+         *
+         * @return the entered frame
+         * @since 0.1.0
+         */
+        @NotNull
+        private ExecutionFrame push() {
+            if (size == frames.length) {
+                frames = Arrays.copyOf(frames, size * 2);
+            }
+
+            ExecutionFrame frame = frames[size];
+
+            if (frame == null) {
+                frame = new ExecutionFrame(this);
+                frames[size] = frame;
+            }
+
+            size++;
+
+            return frame;
+        }
+
+        /**
+         * Gets the frame which was entered last
+         *
+         * @return the frame, or null if no frame is entered
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        private ExecutionFrame peek() {
+            return size == 0 ? null : frames[size - 1];
+        }
+    }
+}
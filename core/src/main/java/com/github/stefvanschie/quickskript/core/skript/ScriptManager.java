@@ -2,6 +2,7 @@ package com.github.stefvanschie.quickskript.core.skript;
 
 import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.util.ParseCache;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,11 +10,19 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * A script manager keeps track of loaded script files.
@@ -22,6 +31,12 @@ import java.util.HashSet;
  */
 public class ScriptManager {
 
+    /**
+     * The extension of the files in which parse caches are stored
+     */
+    @NotNull
+    private static final String CACHE_FILE_EXTENSION = ".json";
+
     /**
      * The script loader with which to load scripts
      */
@@ -34,6 +49,18 @@ public class ScriptManager {
     @NotNull
     private final Collection<FileSkript> loadedScripts = new HashSet<>();
 
+    /**
+     * The folder in which the parse caches of the scripts are stored, or null if parse caches shouldn't be used
+     */
+    @Nullable
+    private volatile Path cacheFolder;
+
+    /**
+     * The parse cache files of the scripts that have been loaded
+     */
+    @NotNull
+    private final Set<Path> usedCacheFiles = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new manager for scripts with the given script loader.
      *
@@ -55,19 +82,370 @@ public class ScriptManager {
      */
     @NotNull
     public FileSkript loadScript(@NotNull Path path) throws IOException {
+        FileSkript scriptFile = readScript(path);
+        ParseCacheFile parseCacheFile = readParseCache(path);
+
+        parseWithCache(parseCacheFile, () -> scriptFile.registerAll(this.loader));
+        writeParseCache(parseCacheFile);
+
+        this.loadedScripts.add(scriptFile);
+
+        return scriptFile;
+    }
+
+    /**
+     * Reloads the skript at the given path. If a script with the same name was loaded by this manager, that script is
+     * updated with the new contents of the file and only the sections that changed are registered again, as described
+     * by {@link FileSkript#reload(SkriptLoader, FileSkript)}. Otherwise, the script is loaded like
+     * {@link #loadScript(Path)} does. This throws an {@link IOException} if the path does not exist or does not point
+     * to a file. If the script can't be parsed, a {@link ParseException} will be thrown and the previously loaded
+     * script stays registered as it was.
+     *
+     * @param path the path where the script file resides
+     * @return the reloaded script file, which is the previously loaded script file if there was one
+     * @throws IOException if the path does not exist or does not point to a file, or the file can't be read
+     * @since 0.1.0
+     */
+    @NotNull
+    public FileSkript reloadScript(@NotNull Path path) throws IOException {
+        String scriptName = FileSkript.getName(path.toFile());
+        FileSkript loadedScript = null;
+
+        for (FileSkript script : this.loadedScripts) {
+            if (script.getName().equals(scriptName)) {
+                loadedScript = script;
+                break;
+            }
+        }
+
+        if (loadedScript == null) {
+            return loadScript(path);
+        }
+
+        FileSkript scriptFile = loadedScript;
+        FileSkript updatedScriptFile = readScript(path);
+        ParseCacheFile parseCacheFile = readParseCache(path);
+
+        parseWithCache(parseCacheFile, () -> scriptFile.reload(this.loader, updatedScriptFile));
+        writeParseCache(parseCacheFile);
+
+        return scriptFile;
+    }
+
+    /**
+     * Reloads the script with the given name from the given folder, like {@link #reloadScript(Path)} does. The name may
+     * be given with or without the .sk extension. If there is no file for the name, but a script with the name was
+     * loaded by this manager, that script is unloaded instead. Names which refer to a file outside the given folder are
+     * rejected.
+     *
+     * @param scriptFolder the folder in which the scripts reside
+     * @param name the name of the script
+     * @return what happened to the script
+     * @throws IOException if the file of the script can't be read
+     * @since 0.1.0
+     */
+    @NotNull
+    public ScriptReloadResult reloadScript(@NotNull Path scriptFolder, @NotNull String name) throws IOException {
+        Path folder = scriptFolder.normalize();
+        Path path = folder.resolve(name.endsWith(".sk") ? name : name + ".sk").normalize();
+
+        if (!path.startsWith(folder)) {
+            return new ScriptReloadResult(ScriptReloadResult.Status.OUTSIDE_FOLDER, null, 0);
+        }
+
+        if (!Files.isRegularFile(path)) {
+            String scriptName = FileSkript.getName(path.toFile());
+
+            for (FileSkript script : this.loadedScripts) {
+                if (script.getName().equals(scriptName)) {
+                    unloadScript(script);
+
+                    return new ScriptReloadResult(ScriptReloadResult.Status.UNLOADED, script, 0);
+                }
+            }
+
+            return new ScriptReloadResult(ScriptReloadResult.Status.NOT_FOUND, null, 0);
+        }
+
+        long startTime = System.nanoTime();
+        FileSkript script = reloadScript(path);
+
+        return new ScriptReloadResult(ScriptReloadResult.Status.RELOADED, script, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Unloads the given script, unregistering everything that was registered for it. Returns true if the script was
+     * loaded by this manager and has been unloaded, or false if the script wasn't loaded by this manager.
+     *
+     * @param script the script to unload
+     * @return whether the script was unloaded
+     * @since 0.1.0
+     */
+    public boolean unloadScript(@NotNull FileSkript script) {
+        if (!this.loadedScripts.remove(script)) {
+            return false;
+        }
+
+        script.unregisterAll(this.loader);
+
+        return true;
+    }
+
+    /**
+     * Loads the skripts at the given paths, like {@link #loadScripts(Collection, ForkJoinPool, Consumer, BiConsumer)}
+     * does, using the common pool.
+     *
+     * @param paths the paths where the script files reside
+     * @param onLoad the action to perform for every script after it has been registered
+     * @param onError the action to perform for every path of which the script couldn't be loaded
+     * @return the loaded script files, in the order of the paths
+     * @since 0.1.0
+     */
+    @NotNull
+    public List<FileSkript> loadScripts(@NotNull Collection<? extends Path> paths,
+        @NotNull Consumer<? super FileSkript> onLoad, @NotNull BiConsumer<? super Path, ? super Exception> onError) {
+        return loadScripts(paths, ForkJoinPool.commonPool(), onLoad, onError);
+    }
+
+    /**
+     * Loads the skripts at the given paths. The files are read and, unless the loader parses lazily, the contents of
+     * their events and commands are parsed concurrently on the given pool. Elements which may only be parsed on the
+     * calling thread, see {@link SkriptLoader#canParseOnCurrentThread}, are parsed while registering instead. Once all
+     * files have been read, the scripts are registered one by one, in the order of the paths, on the calling thread.
+     * After a script has been registered, the given action is performed on the calling thread as well.
+     * <p>
+     * Every script is loaded independently of the others. If a path does not exist, does not point to a file or can't
+     * be read, the {@link IOException} is passed to the given error action together with the path. If a script can't
+     * be parsed, everything which was registered for it is unregistered again and the {@link ParseException} is passed
+     * to the error action. The other scripts are loaded regardless. Symbolic links will be followed.
+     *
+     * @param paths the paths where the script files reside
+     * @param pool the pool to read and parse the files on
+     * @param onLoad the action to perform for every script after it has been registered
+     * @param onError the action to perform for every path of which the script couldn't be loaded
+     * @return the loaded script files, in the order of the paths
+     * @since 0.1.0
+     */
+    @NotNull
+    public List<FileSkript> loadScripts(@NotNull Collection<? extends Path> paths, @NotNull ForkJoinPool pool,
+        @NotNull Consumer<? super FileSkript> onLoad, @NotNull BiConsumer<? super Path, ? super Exception> onError) {
+        Map<Path, ForkJoinTask<FileSkript>> tasks = new LinkedHashMap<>();
+        Map<Path, ParseCacheFile> parseCacheFiles = new ConcurrentHashMap<>();
+
+        for (Path path : paths) {
+            tasks.put(path, pool.submit(() -> {
+                FileSkript scriptFile = readScript(path);
+                ParseCacheFile parseCacheFile = readParseCache(path);
+
+                if (parseCacheFile != null) {
+                    parseCacheFiles.put(path, parseCacheFile);
+                }
+
+                if (!this.loader.isLazyParsing()) {
+                    parseWithCache(parseCacheFile, () -> scriptFile.preParse(this.loader));
+                }
+
+                return scriptFile;
+            }));
+        }
+
+        Map<Path, FileSkript> scriptFiles = new LinkedHashMap<>();
+
+        for (Map.Entry<Path, ForkJoinTask<FileSkript>> task : tasks.entrySet()) {
+            try {
+                scriptFiles.put(task.getKey(), task.getValue().get());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+
+                onError.accept(task.getKey(), new InterruptedIOException("Interrupted while loading scripts"));
+            } catch (ExecutionException exception) {
+                Throwable cause = exception.getCause();
+
+                //the pool wraps checked exceptions thrown by tasks, possibly more than once
+                for (Throwable wrapped = cause; wrapped != null; wrapped = wrapped.getCause()) {
+                    if (wrapped instanceof IOException) {
+                        cause = wrapped;
+                        break;
+                    }
+                }
+
+                if (cause instanceof Exception) {
+                    onError.accept(task.getKey(), (Exception) cause);
+                    continue;
+                }
+
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        pruneCacheFolder();
+
+        List<FileSkript> loadedScripts = new ArrayList<>(scriptFiles.size());
+
+        for (Map.Entry<Path, FileSkript> scriptFile : scriptFiles.entrySet()) {
+            FileSkript script = scriptFile.getValue();
+
+            try {
+                parseWithCache(parseCacheFiles.get(scriptFile.getKey()), () -> script.registerAll(this.loader));
+            } catch (ParseException exception) {
+                script.unregisterAll(this.loader);
+
+                onError.accept(scriptFile.getKey(), exception);
+                continue;
+            }
+
+            this.loadedScripts.add(script);
+            loadedScripts.add(script);
+
+            onLoad.accept(script);
+        }
+
+        List<ForkJoinTask<?>> writes = new ArrayList<>(parseCacheFiles.size());
+
+        for (ParseCacheFile parseCacheFile : parseCacheFiles.values()) {
+            writes.add(pool.submit(() -> writeParseCache(parseCacheFile)));
+        }
+
+        for (ForkJoinTask<?> write : writes) {
+            write.join();
+        }
+
+        return loadedScripts;
+    }
+
+    /**
+     * Sets the folder in which the parse caches of scripts are stored. A parse cache stores how the elements of a
+     * script were parsed, so the script can be parsed again more quickly when it is loaded again, for example after a
+     * restart. Parse caches are stored per script contents and are discarded when the registered factories change. When
+     * multiple scripts are loaded at once, the parse caches of scripts that weren't loaded by this manager are removed.
+     * Entry points which are parsed lazily, see {@link SkriptLoader#setLazyParsing(boolean)}, are parsed without a
+     * parse cache. By default, no parse caches are used.
+     *
+     * @param cacheFolder the folder to store parse caches in, or null to not use parse caches
+     * @since 0.1.0
+     */
+    public void setCacheFolder(@Nullable Path cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Reads the parse cache for the contents of the script at the given path. If no cache folder is set, this returns
+     * null.
+     *
+     * @param path the path where the script file resides
+     * @return the parse cache file, or null if parse caches aren't used
+     * @throws IOException if the script or its parse cache can't be read
+     * @since 0.1.0
+     */
+    @Nullable
+    private ParseCacheFile readParseCache(@NotNull Path path) throws IOException {
+        Path cacheFolder = this.cacheFolder;
+
+        if (cacheFolder == null) {
+            return null;
+        }
+
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest(Files.readAllBytes(path)));
+        Path cacheFile = cacheFolder.resolve(hash + CACHE_FILE_EXTENSION);
+        String fingerprint = this.loader.getFingerprint();
+
+        this.usedCacheFiles.add(cacheFile);
+
+        return new ParseCacheFile(cacheFile, fingerprint, ParseCache.read(cacheFile, fingerprint));
+    }
+
+    /**
+     * Performs the given action, which parses a script, with the given parse cache. If the parse cache is null, the
+     * action is performed without a parse cache.
+     *
+     * @param parseCacheFile the parse cache of the script, or null if parse caches aren't used
+     * @param action the action which parses the script
+     * @since 0.1.0
+     */
+    private void parseWithCache(@Nullable ParseCacheFile parseCacheFile, @NotNull Runnable action) {
+        if (parseCacheFile == null) {
+            action.run();
+            return;
+        }
+
+        this.loader.parseWith(parseCacheFile.parseCache, action);
+    }
+
+    /**
+     * Writes the given parse cache back to its file if it changed. If the parse cache is null, nothing happens.
+     *
+     * @param parseCacheFile the parse cache of a script, or null if parse caches aren't used
+     * @since 0.1.0
+     */
+    private static void writeParseCache(@Nullable ParseCacheFile parseCacheFile) {
+        if (parseCacheFile == null || !parseCacheFile.parseCache.isChanged()) {
+            return;
+        }
+
+        try {
+            parseCacheFile.parseCache.write(parseCacheFile.file, parseCacheFile.fingerprint);
+        } catch (IOException exception) {
+            //the cache only speeds up parsing, so the script can still be loaded
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Removes the parse caches in the cache folder which don't belong to any of the scripts loaded by this manager. If
+     * no cache folder is set, nothing happens.
+     *
+     * @since 0.1.0
+     */
+    private void pruneCacheFolder() {
+        Path cacheFolder = this.cacheFolder;
+
+        if (cacheFolder == null || !Files.isDirectory(cacheFolder)) {
+            return;
+        }
+
+        try (Stream<Path> files = Files.list(cacheFolder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(CACHE_FILE_EXTENSION) && !usedCacheFiles.contains(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the skript at the given path, without registering it. This throws an {@link IOException} if the path does
+     * not exist or does not point to a file. Symbolic links will be followed.
+     *
+     * @param path the path where the script file resides
+     * @return the script file
+     * @throws IOException if the path does not exist or does not point to a file, or the file can't be read
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static FileSkript readScript(@NotNull Path path) throws IOException {
         if (!Files.isRegularFile(path)) {
             throw new FileNotFoundException();
         }
 
         File file = path.toFile();
         String scriptName = FileSkript.getName(file);
-        FileSkript scriptFile = FileSkript.load(scriptName, file);
 
-        scriptFile.registerAll(this.loader);
-
-        this.loadedScripts.add(scriptFile);
-
-        return scriptFile;
+        return FileSkript.load(scriptName, file);
     }
 
     /**
@@ -93,4 +471,44 @@ public class ScriptManager {
     public boolean isScriptLoaded(@Nullable Object script) {
         return this.loadedScripts.contains(script);
     }
+
+    /**
+     * The parse cache of a script together with the file it is stored in
+     *
+     * @since 0.1.0
+     */
+    private static final class ParseCacheFile {
+
+        /**
+         * The file the parse cache is stored in
+         */
+        @NotNull
+        private final Path file;
+
+        /**
+         * The fingerprint of the factories at the time the parse cache was read
+         */
+        @NotNull
+        private final String fingerprint;
+
+        /**
+         * The parse cache
+         */
+        @NotNull
+        private final ParseCache parseCache;
+
+        /**
+         * Creates a new parse cache file
+         *
+         * @param file the file the parse cache is stored in
+         * @param fingerprint the fingerprint of the factories at the time the parse cache was read
+         * @param parseCache the parse cache
+         * @since 0.1.0
+         */
+        private ParseCacheFile(@NotNull Path file, @NotNull String fingerprint, @NotNull ParseCache parseCache) {
+            this.file = file;
+            this.fingerprint = fingerprint;
+            this.parseCache = parseCache;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of reloading a script by its name, see {@link ScriptManager#reloadScript(Path, String)}.
+ *
+ * @since 0.1.0
+ */
+public class ScriptReloadResult {
+
+    /**
+     * What happened to the script
+     */
+    @NotNull
+    private final Status status;
+
+    /**
+     * The script which was reloaded or unloaded, or null if no script was reloaded or unloaded
+     */
+    @Nullable
+    private final FileSkript script;
+
+    /**
+     * The time it took to reload the script, in nanoseconds
+     */
+    private final long elapsedTime;
+
+    /**
+     * Creates a new result
+     *
+     * @param status what happened to the script
+     * @param script the script which was reloaded or unloaded, or null if no script was reloaded or unloaded
+     * @param elapsedTime the time it took to reload the script, in nanoseconds
+     * @since 0.1.0
+     */
+    ScriptReloadResult(@NotNull Status status, @Nullable FileSkript script, long elapsedTime) {
+        this.status = status;
+        this.script = script;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Gets what happened to the script
+     *
+     * @return the status
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the script which was reloaded or unloaded. This is only null if the status is {@link Status#NOT_FOUND} or
+     * {@link Status#OUTSIDE_FOLDER}.
+     *
+     * @return the script or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public FileSkript getScript() {
+        return script;
+    }
+
+    /**
+     * Gets the time it took to reload the script, in nanoseconds. This is zero unless the status is
+     * {@link Status#RELOADED}.
+     *
+     * @return the elapsed time
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * What can happen to a script when it is reloaded by its name
+     *
+     * @since 0.1.0
+     */
+    public enum Status {
+
+        /**
+         * The script was loaded or reloaded from its file
+         *
+         * @since 0.1.0
+         */
+        RELOADED,
+
+        /**
+         * The file of the script no longer exists, so the script was unloaded
+         *
+         * @since 0.1.0
+         */
+        UNLOADED,
+
+        /**
+         * There is neither a file nor a loaded script with the name
+         *
+         * @since 0.1.0
+         */
+        NOT_FOUND,
+
+        /**
+         * The name refers to a file outside the folder of the scripts, so nothing happened
+         *
+         * @since 0.1.0
+         */
+        OUTSIDE_FOLDER
+    }
+}
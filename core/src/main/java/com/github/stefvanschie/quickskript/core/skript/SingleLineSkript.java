@@ -17,6 +17,11 @@ public class SingleLineSkript implements Skript {
     @Nullable
     private final PsiElement<?> element;
 
+    /**
+     * The amount of nanoseconds it took to parse the input
+     */
+    private final long parseTime;
+
     /**
      * Creates and attempts to parse a new single line Skript instance
      *
@@ -24,7 +29,10 @@ public class SingleLineSkript implements Skript {
      * @param input the Skript line to parse
      */
     public SingleLineSkript(@NotNull SkriptLoader skriptLoader, @NotNull String input) {
+        long startTime = System.nanoTime();
+
         element = skriptLoader.tryParseElement(input, 1);
+        parseTime = System.nanoTime() - startTime;
     }
 
     @NotNull
@@ -44,6 +52,16 @@ public class SingleLineSkript implements Skript {
         return element;
     }
 
+    /**
+     * Gets the amount of nanoseconds it took to parse the input, regardless of whether the parsing succeeded.
+     *
+     * @return the parse time in nanoseconds
+     * @since 0.1.0
+     */
+    public long getParseTime() {
+        return parseTime;
+    }
+
     /**
      * Executes the {@link #getParsedElement()} and returns the result.
      * Returns null if {@link #getParsedElement()} is null.
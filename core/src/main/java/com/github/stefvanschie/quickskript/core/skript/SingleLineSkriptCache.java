@@ -0,0 +1,217 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the {@link SingleLineSkript}s that were parsed most recently, so the same line doesn't have to be parsed
+ * again every time it is executed. Lines are normalized before they are looked up: leading and trailing whitespace is
+ * removed and whitespace outside of strings is collapsed into single spaces, so lines which only differ in their
+ * whitespace share the same entry. Once the cache is full, the line which was used least recently is removed. The
+ * cache is cleared when the elements registered to the skript loader change, which is detected through the
+ * {@link SkriptLoader#getFingerprint() fingerprint} of the loader. The cache may be accessed from multiple threads at
+ * the same time.
+ *
+ * @since 0.1.0
+ */
+public class SingleLineSkriptCache {
+
+    /**
+     * The skript loader which parses the lines
+     */
+    @NotNull
+    private final SkriptLoader skriptLoader;
+
+    /**
+     * The maximum amount of lines which are cached
+     */
+    private final int capacity;
+
+    /**
+     * The parsed lines by their normalized text, in the order from least to most recently used
+     */
+    @NotNull
+    private final Map<String, SingleLineSkript> skripts;
+
+    /**
+     * The fingerprint of the skript loader at the time the cached lines were parsed, or null if nothing was parsed yet
+     */
+    @Nullable
+    private String fingerprint;
+
+    /**
+     * The amount of lines which were found in the cache
+     */
+    private long hits;
+
+    /**
+     * The amount of lines which had to be parsed
+     */
+    private long misses;
+
+    /**
+     * Creates a new cache
+     *
+     * @param skriptLoader the skript loader to parse the lines with
+     * @param capacity the maximum amount of lines to cache, or 0 to always parse lines again
+     * @throws IllegalArgumentException if the capacity is negative
+     * @since 0.1.0
+     */
+    public SingleLineSkriptCache(@NotNull SkriptLoader skriptLoader, int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+
+        this.skriptLoader = skriptLoader;
+        this.capacity = capacity;
+        this.skripts = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SingleLineSkript> eldest) {
+                return size() > SingleLineSkriptCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the parsed version of the given line, parsing it if it isn't cached. Lines which couldn't be parsed are
+     * cached as well, see {@link SingleLineSkript#getParsedElement()}.
+     *
+     * @param input the line to get
+     * @return the parsed line
+     * @since 0.1.0
+     */
+    @NotNull
+    public synchronized SingleLineSkript get(@NotNull String input) {
+        String fingerprint = skriptLoader.getFingerprint();
+
+        if (!fingerprint.equals(this.fingerprint)) {
+            skripts.clear();
+
+            this.fingerprint = fingerprint;
+        }
+
+        String normalized = normalize(input);
+        SingleLineSkript skript = skripts.get(normalized);
+
+        if (skript != null) {
+            hits++;
+            return skript;
+        }
+
+        misses++;
+        skript = new SingleLineSkript(skriptLoader, normalized);
+
+        skripts.put(normalized, skript);
+
+        return skript;
+    }
+
+    /**
+     * Removes all cached lines. The hit and miss counts are kept.
+     *
+     * @since 0.1.0
+     */
+    public synchronized void clear() {
+        skripts.clear();
+    }
+
+    /**
+     * Gets the amount of lines which are currently cached
+     *
+     * @return the amount of cached lines
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public synchronized int getSize() {
+        return skripts.size();
+    }
+
+    /**
+     * Gets the maximum amount of lines which are cached
+     *
+     * @return the capacity
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets how often a line was found in the cache
+     *
+     * @return the amount of hits
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets how often a line had to be parsed, because it wasn't in the cache
+     *
+     * @return the amount of misses
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the fraction of lines which were found in the cache, between 0 and 1
+     *
+     * @return the hit rate, or 0 if no lines were requested yet
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Normalizes the given line by removing leading and trailing whitespace and collapsing all whitespace outside of
+     * strings into single spaces
+     *
+     * @param input the line to normalize
+     * @return the normalized line
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    static String normalize(@NotNull String input) {
+        String stripped = input.strip();
+        var builder = new StringBuilder(stripped.length());
+        boolean inString = false;
+        boolean whitespace = false;
+
+        for (int index = 0; index < stripped.length(); index++) {
+            char character = stripped.charAt(index);
+
+            if (!inString && Character.isWhitespace(character)) {
+                whitespace = true;
+                continue;
+            }
+
+            if (whitespace) {
+                builder.append(' ');
+                whitespace = false;
+            }
+
+            if (character == '"') {
+                inString = !inString;
+            }
+
+            builder.append(character);
+        }
+
+        return builder.toString();
+    }
+}
@@ -1,29 +1,41 @@
 package com.github.stefvanschie.quickskript.core.skript;
 
+import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.pattern.SkriptPatternIndex;
 import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
 import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
 import com.github.stefvanschie.quickskript.core.psi.*;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.section.LazyBaseSection;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.util.CachedFallbackMethod;
 import com.github.stefvanschie.quickskript.core.psi.util.CachedReflectionMethod;
+import com.github.stefvanschie.quickskript.core.psi.util.ParseCache;
+import com.github.stefvanschie.quickskript.core.psi.util.ParseMemo;
+import com.github.stefvanschie.quickskript.core.psi.util.optimizer.PsiOptimizer;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.Fallback;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.exception.IllegalFallbackAnnotationAmountException;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
 import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.exception.ParsingAnnotationInvalidValueException;
+import com.github.stefvanschie.quickskript.core.util.ApplicationInfo;
 import com.github.stefvanschie.quickskript.core.util.literal.Enchantment;
 import com.github.stefvanschie.quickskript.core.util.registry.*;
-import com.github.stefvanschie.quickskript.core.util.Pair;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -32,6 +44,7 @@ import java.util.function.Supplier;
  * all Skripts have been loaded (in order to save memory).
  * This means that the static modifier should only be used when the data is required
  * to also be present when the Skripts are being ran, not only when they are being loaded.
+ * Once constructed, elements may be parsed from multiple threads at the same time.
  *
  * @since 0.1.0
  */
@@ -56,6 +69,90 @@ public abstract class SkriptLoader {
     @NotNull
     private final Map<PsiGenericElementFactory, Set<CachedReflectionMethod>> elementsCached = new HashMap<>();
 
+    /**
+     * The fallback method of each factory, for the factories which have one.
+     */
+    @NotNull
+    private final Map<PsiGenericElementFactory, CachedFallbackMethod> fallbacks = new HashMap<>();
+
+    /**
+     * An index over the patterns of all cached methods, used to skip patterns whose literals don't occur in the input.
+     */
+    @NotNull
+    private final SkriptPatternIndex<CachedReflectionMethod.Pattern> patternIndex = new SkriptPatternIndex<>();
+
+    /**
+     * The parse attempts made for the line that is currently being parsed by each thread, or null if the thread isn't
+     * parsing a line. The memo is created by the outermost call to
+     * {@link #tryParseElement(String, TypeRegistry.Entry[], int)} and discarded once that call returns.
+     */
+    @NotNull
+    private final ThreadLocal<ParseMemo> parseMemo = new ThreadLocal<>();
+
+    /**
+     * The parse cache in which the routes found by each thread are stored, or null if the thread has no parse cache.
+     * See {@link #parseWith(ParseCache, Runnable)}.
+     */
+    @NotNull
+    private final ThreadLocal<ParseCache> parseCache = new ThreadLocal<>();
+
+    /**
+     * The factories by the names of their classes, used to find the factories of routes in a parse cache.
+     */
+    @NotNull
+    private final Map<String, PsiGenericElementFactory> factoriesByName = new HashMap<>();
+
+    /**
+     * The descriptions of all factories and their methods, from which the fingerprint is created. Factories are
+     * described in the order in which they were registered, because the first factory which can parse a text is the
+     * one that parses it; the methods of a factory are described in alphabetical order.
+     */
+    @NotNull
+    private final List<String> fingerprintParts = new ArrayList<>();
+
+    /**
+     * The amount of factories which were registered, including factories which were registered more than once
+     */
+    private int registeredFactoryCount;
+
+    /**
+     * The fingerprint of the registered factories, or null if it has to be created again.
+     */
+    @Nullable
+    private volatile String fingerprint;
+
+    /**
+     * Whether entry points should only be parsed once they are needed, see
+     * {@link #createBaseSection(Skript, SkriptFileSection, Class)}.
+     */
+    private volatile boolean lazyParsing;
+
+    /**
+     * Receives a message for every optimization made to a parsed entry point, or null if these aren't reported
+     */
+    @Nullable
+    private volatile Consumer<? super String> optimizationListener;
+
+    /**
+     * The minimum amount of pending entry points before the pending entry points are purged
+     */
+    private static final int MIN_PENDING_PURGE_THRESHOLD = 64;
+
+    /**
+     * The entry points which were created while parsing lazily, in the order in which they were created. Entry points
+     * which are no longer registered anywhere may be collected; references to them, and to entry points which were
+     * already parsed, are purged once {@link #pendingPurgeThreshold} is reached. Access is guarded by this deque.
+     */
+    @NotNull
+    private final Deque<WeakReference<LazyBaseSection>> pendingBaseSections = new ArrayDeque<>();
+
+    /**
+     * The amount of pending entry points at which the pending entry points are purged. This is doubled relative to the
+     * amount of entry points which remain after purging, so purging takes amortized constant time per entry point.
+     * Guarded by {@link #pendingBaseSections}.
+     */
+    private int pendingPurgeThreshold = MIN_PENDING_PURGE_THRESHOLD;
+
     /**
      * A list of all psi section factories.
      */
@@ -150,6 +247,269 @@ public abstract class SkriptLoader {
     public PsiElement<?> tryParseElement(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] inputTypes, int lineNumber) {
         input = input.trim();
 
+        ParseMemo parseMemo = this.parseMemo.get();
+        boolean outermost = parseMemo == null;
+
+        if (outermost) {
+            parseMemo = new ParseMemo();
+
+            this.parseMemo.set(parseMemo);
+        }
+
+        try {
+            ParseMemo.Route route = parseMemo.get(input, inputTypes);
+
+            if (route != null) {
+                PsiElement<?> element = followRoute(route, input, inputTypes, lineNumber);
+
+                if (element != null || route.isFailure()) {
+                    return element;
+                }
+            } else {
+                PsiElement<?> element = followStoredRoute(input, inputTypes, lineNumber, parseMemo);
+
+                if (element != null) {
+                    return element;
+                }
+            }
+
+            return parseElement(input, inputTypes, lineNumber, parseMemo);
+        } finally {
+            if (outermost) {
+                this.parseMemo.remove();
+            }
+        }
+    }
+
+    /**
+     * Performs the given action with the given parse cache. While the action is performed, elements parsed on this
+     * thread are first looked up in the parse cache, and the routes via which new elements are found are stored in
+     * it. Routes in the cache are only followed if they still lead to an element, so a cache never causes an element
+     * to be parsed differently, except when the same text may be parsed in multiple ways.
+     *
+     * @param parseCache the parse cache to use, or null to use none
+     * @param action the action to perform
+     * @since 0.1.0
+     */
+    public void parseWith(@Nullable ParseCache parseCache, @NotNull Runnable action) {
+        ParseCache previous = this.parseCache.get();
+
+        this.parseCache.set(parseCache);
+
+        try {
+            action.run();
+        } finally {
+            if (previous == null) {
+                this.parseCache.remove();
+            } else {
+                this.parseCache.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Gets the fingerprint of the factories registered to this loader. The fingerprint changes when factories, their
+     * methods or their patterns change, when factories are registered in another order, or when the version of core
+     * or of the platform changes, since factories may parse differently afterwards without any of their methods or
+     * patterns changing. This way, a {@link ParseCache} can be discarded if the routes in it may no longer be valid.
+     *
+     * @return the fingerprint
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public String getFingerprint() {
+        String fingerprint = this.fingerprint;
+
+        if (fingerprint != null) {
+            return fingerprint;
+        }
+
+        MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not supported", exception);
+        }
+
+        digest.update(("core " + ApplicationInfo.getVersion() + '\n').getBytes(StandardCharsets.UTF_8));
+        digest.update(("platform " + getPlatformVersion() + '\n').getBytes(StandardCharsets.UTF_8));
+
+        for (String part : this.fingerprintParts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+
+        return this.fingerprint = HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Creates an entry point for the given section. If this loader parses lazily, the entry point is only parsed once
+     * it is needed or once {@link #parsePendingBaseSections(Consumer)} is called; otherwise it is parsed immediately.
+     *
+     * @param skript the Skript which contains the entry point
+     * @param section the section the entry point should be parsed from
+     * @param contextType the type of context of the entry point
+     * @return the entry point
+     * @throws ParseException if this loader doesn't parse lazily and the entry point can't be parsed
+     * @since 0.1.0
+     */
+    @NotNull
+    public LazyBaseSection createBaseSection(@NotNull Skript skript, @NotNull SkriptFileSection section,
+        @NotNull Class<? extends Context> contextType) {
+        var baseSection = new LazyBaseSection(this, skript, section, contextType);
+
+        if (this.lazyParsing) {
+            synchronized (this.pendingBaseSections) {
+                this.pendingBaseSections.add(new WeakReference<>(baseSection));
+
+                if (this.pendingBaseSections.size() >= this.pendingPurgeThreshold) {
+                    this.pendingBaseSections.removeIf(reference -> {
+                        LazyBaseSection pending = reference.get();
+
+                        return pending == null || pending.isParsed();
+                    });
+
+                    this.pendingPurgeThreshold = Math.max(MIN_PENDING_PURGE_THRESHOLD,
+                        2 * this.pendingBaseSections.size());
+                }
+            }
+        } else {
+            baseSection.get();
+        }
+
+        return baseSection;
+    }
+
+    /**
+     * Parses all entry points created by {@link #createBaseSection(Skript, SkriptFileSection, Class)} which haven't
+     * been parsed yet. This may be called from any thread, for example to parse the entry points in the background
+     * after loading lazily. Entry points which can't be parsed on the current thread, see
+     * {@link #canParseOnCurrentThread(PsiGenericElementFactory)}, stay pending, so calling this again from a thread
+     * which may parse them, such as the main thread of the platform, parses them as well.
+     *
+     * @param onError the action to perform for every entry point which can't be parsed
+     * @return the amount of entry points which couldn't be parsed on the current thread
+     * @since 0.1.0
+     */
+    public int parsePendingBaseSections(@NotNull Consumer<? super ParseException> onError) {
+        List<WeakReference<LazyBaseSection>> skipped = new ArrayList<>();
+
+        while (true) {
+            WeakReference<LazyBaseSection> reference;
+
+            synchronized (this.pendingBaseSections) {
+                reference = this.pendingBaseSections.poll();
+            }
+
+            if (reference == null) {
+                break;
+            }
+
+            LazyBaseSection baseSection = reference.get();
+
+            if (baseSection == null || baseSection.isParsed()) {
+                continue;
+            }
+
+            try {
+                baseSection.get();
+            } catch (ParseException exception) {
+                onError.accept(exception);
+            } catch (WrongThreadException exception) {
+                //the entry point is parsed by a call from another thread, or once it is needed
+                skipped.add(reference);
+            }
+        }
+
+        if (!skipped.isEmpty()) {
+            synchronized (this.pendingBaseSections) {
+                this.pendingBaseSections.addAll(skipped);
+            }
+        }
+
+        return skipped.size();
+    }
+
+    /**
+     * Gets the amount of entry points created while parsing lazily which weren't parsed by
+     * {@link #parsePendingBaseSections(Consumer)} yet, including the ones it couldn't parse on its thread. This may
+     * include entry points which were collected or already parsed, but not yet purged.
+     *
+     * @return the amount of pending entry points
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getPendingBaseSectionCount() {
+        synchronized (this.pendingBaseSections) {
+            return this.pendingBaseSections.size();
+        }
+    }
+
+    /**
+     * Sets whether entry points should only be parsed once they are needed. By default, entry points are parsed
+     * immediately, so errors are found while loading.
+     *
+     * @param lazyParsing true to parse lazily, false to parse immediately
+     * @since 0.1.0
+     * @see #createBaseSection(Skript, SkriptFileSection, Class)
+     */
+    public void setLazyParsing(boolean lazyParsing) {
+        this.lazyParsing = lazyParsing;
+    }
+
+    /**
+     * Gets whether entry points are only parsed once they are needed
+     *
+     * @return true if entry points are parsed lazily, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isLazyParsing() {
+        return lazyParsing;
+    }
+
+    /**
+     * Sets the listener which receives a message for every optimization made to an entry point after it has been
+     * parsed, see {@link PsiOptimizer}. By default, optimizations aren't reported.
+     *
+     * @param optimizationListener the listener, or null to not report optimizations
+     * @since 0.1.0
+     */
+    public void setOptimizationListener(@Nullable Consumer<? super String> optimizationListener) {
+        this.optimizationListener = optimizationListener;
+    }
+
+    /**
+     * Gets the listener which receives a message for every optimization made to an entry point
+     *
+     * @return the listener, or null if optimizations aren't reported
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Consumer<? super String> getOptimizationListener() {
+        return optimizationListener;
+    }
+
+    /**
+     * Parses text into psi elements by trying every factory for the given types. The route via which the element was
+     * found, or the fact that no element could be found, is stored in the parse memo. The input must already be
+     * trimmed.
+     *
+     * @param input the text to be parsed
+     * @param inputTypes the input types to parse for or null if all types are allowed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @param parseMemo the parse memo of the line that is being parsed
+     * @return the parsed psi element, or null if none were found
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> parseElement(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] inputTypes,
+        int lineNumber, @NotNull ParseMemo parseMemo) {
+        Set<CachedReflectionMethod.Pattern> candidates = patternIndex.getCandidates(input);
+
         for (PsiGenericElementFactory factory : getFactories(inputTypes)) {
             Set<CachedReflectionMethod> methods = elementsCached.get(factory);
 
@@ -161,12 +521,15 @@ public abstract class SkriptLoader {
                 Method method = cachedReflectionMethod.getMethod();
                 CachedReflectionMethod.Pattern[] patterns = cachedReflectionMethod.getPatterns();
 
-                for (CachedReflectionMethod.Pattern pattern : patterns) {
-                    SkriptPattern skriptPattern = pattern.getSkriptPattern();
-                    int[] order = pattern.getOrder();
+                for (int patternIndex = 0; patternIndex < patterns.length; patternIndex++) {
+                    CachedReflectionMethod.Pattern pattern = patterns[patternIndex];
 
-                    List<TypeGroup> typeGroups = skriptPattern.getGroups(TypeGroup.class);
-                    int typeGroupAmount = typeGroups.size();
+                    if (!candidates.contains(pattern)) {
+                        continue;
+                    }
+
+                    SkriptPattern skriptPattern = pattern.getSkriptPattern();
+                    int typeGroupAmount = skriptPattern.getGroups(TypeGroup.class).size();
 
                     if (method.getParameterCount() < typeGroupAmount + 1) {
                         throw new IllegalStateException("Method '" + method.getName() + "' has "
@@ -174,166 +537,406 @@ public abstract class SkriptLoader {
                             (typeGroupAmount + 1) + " parameters");
                     }
 
-                    results:
-                    for (SkriptMatchResult result : skriptPattern.match(input)) {
-                        if (result.hasUnmatchedParts()) {
-                            continue;
+                    List<SkriptMatchResult> results = skriptPattern.compile().matchFully(input);
+
+                    for (int matchIndex = 0; matchIndex < results.size(); matchIndex++) {
+                        PsiElement<?> element = createElement(factory, cachedReflectionMethod, patternIndex,
+                            results.get(matchIndex), matchIndex, input, inputTypes, lineNumber, parseMemo);
+
+                        if (element != null) {
+                            return element;
                         }
+                    }
+                }
+            }
 
-                        Collection<Pair<SkriptPatternGroup, String>> matchedGroups = result.getMatchedGroups();
+            CachedFallbackMethod fallbackMethod = fallbacks.get(factory);
 
-                        List<TypeGroup> groups = new ArrayList<>();
-                        List<String> matchedTypeTexts = new ArrayList<>();
+            if (fallbackMethod != null) {
+                checkParsingThread(factory);
 
-                        for (Pair<SkriptPatternGroup, String> matchedGroup : matchedGroups) {
-                            SkriptPatternGroup group = matchedGroup.getX();
+                try {
+                    PsiElement<?> result = fallbackMethod.invoke(factory, this, inputTypes, input, lineNumber);
 
-                            if (group instanceof TypeGroup) {
-                                groups.add((TypeGroup) group);
-                                matchedTypeTexts.add(matchedGroup.getY());
-                            }
-                        }
+                    if (result != null) {
+                        parseMemo.put(input, inputTypes, ParseMemo.Route.ofFallback(factory, fallbackMethod));
+                        storeRoute(input, inputTypes, ParseCache.Route.ofFallback(factory.getClass().getName(),
+                            fallbackMethod.getMethod().toString()));
 
-                        Object[] elements = new Object[typeGroupAmount];
-
-                        for (int i = 0; i < elements.length && i < groups.size(); i++) {
-                            TypeGroup typeGroup = groups.get(i);
-                            int elementIndex = -1;
-
-                            //find the position of the matched group in the original pattern
-                            for (int index = 0; index < typeGroups.size(); index++) {
-                                //reference comparison is intentional
-                                if (typeGroups.get(index) == typeGroup) {
-                                    elementIndex = index;
-                                    break;
-                                }
-                            }
-
-                            if (elementIndex == -1) {
-                                throw new ParseException("Unable to find matched group in pattern", lineNumber);
-                            }
-
-                            if (order.length > 0) {
-                                elementIndex = order[i];
-
-                                if (elements[elementIndex] != null) {
-                                    throw new ParsingAnnotationInvalidValueException(
-                                        "Type order of PatternMetadata contains duplicate number '" + elementIndex + "'"
-                                    );
-                                }
-                            }
-
-                            String matchedTypeText = matchedTypeTexts.get(i);
-
-                            if (typeGroup.getConstraint() == TypeGroup.Constraint.LITERAL) {
-                                elements[elementIndex] = matchedTypeText;
-                            } else {
-                                String[] types = typeGroup.getTypes();
-                                TypeRegistry.Entry[] typeEntries = new TypeRegistry.Entry[types.length];
-
-                                for (int index = 0; index < types.length; index++) {
-                                    typeEntries[index] = this.typeRegistry.byName(types[index]);
-                                }
-
-                                elements[elementIndex] = tryParseElement(matchedTypeText, typeEntries, lineNumber);
-                            }
-
-                            //recursive retry
-                            if (elements[elementIndex] == null) {
-                                continue results;
-                            }
-                        }
+                        return result;
+                    }
+                } catch (InvocationTargetException exception) {
+                    rethrowWrongThread(exception);
+                    exception.printStackTrace();
+                }
+            }
+        }
 
-                        try {
-                            method.setAccessible(true);
+        parseMemo.put(input, inputTypes, ParseMemo.Route.failure());
 
-                            Class<?>[] parameterTypes = cachedReflectionMethod.getParameterTypes();
-                            List<Object> parameters = new ArrayList<>(Arrays.asList(elements));
+        return null;
+    }
 
-                            //allow an optional SkriptLoader in front
-                            if (parameterTypes[parameters.size() - elements.length] == SkriptLoader.class) {
-                                parameters.add(parameters.size() - elements.length, this);
-                            }
-                            //allow an optional SkriptMatchResult in front
-                            if (parameterTypes[parameters.size() - elements.length] == SkriptMatchResult.class) {
-                                parameters.add(parameters.size() - elements.length, result);
-                            }
+    /**
+     * Creates an element from a match result of one of the patterns of the given method. The texts matched by the type
+     * groups are parsed into elements first; if one of them can't be parsed, no element is created. The route via which
+     * the element was created is stored in the parse memo.
+     *
+     * @param factory the factory the method belongs to
+     * @param cachedReflectionMethod the method to create the element with
+     * @param patternIndex the index of the pattern that matched in the patterns of the method
+     * @param result the match result of the pattern
+     * @param matchIndex the index of the match result in the match results of the pattern
+     * @param input the text to be parsed
+     * @param inputTypes the input types to parse for or null if all types are allowed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @param parseMemo the parse memo of the line that is being parsed
+     * @return the created element, or null if none was created
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> createElement(@NotNull PsiGenericElementFactory factory,
+        @NotNull CachedReflectionMethod cachedReflectionMethod, int patternIndex, @NotNull SkriptMatchResult result,
+        int matchIndex, @NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] inputTypes, int lineNumber,
+        @NotNull ParseMemo parseMemo) {
+        CachedReflectionMethod.Pattern pattern = cachedReflectionMethod.getPatterns()[patternIndex];
+        int[] order = pattern.getOrder();
 
-                            if (!(factory instanceof PsiElementFactory)) {
-                                parameters.add(parameters.size() - elements.length, inputTypes);
-                            }
+        List<TypeGroup> typeGroups = pattern.getSkriptPattern().getGroups(TypeGroup.class);
+        int typeGroupAmount = typeGroups.size();
 
-                            parameters.add(lineNumber);
+        List<TypeGroup> groups = new ArrayList<>();
+        List<String> matchedTypeTexts = new ArrayList<>();
 
-                            Object[] parameterArray = parameters.toArray(Object[]::new);
-                            PsiElement<?> element = (PsiElement<?>) method.invoke(factory, parameterArray);
+        for (int index = 0; index < result.getMatchedGroupCount(); index++) {
+            SkriptPatternGroup group = result.getMatchedGroup(index);
 
-                            if (element == null) {
-                                continue;
-                            }
+            if (group instanceof TypeGroup) {
+                groups.add((TypeGroup) group);
+                matchedTypeTexts.add(result.getMatchedText(index));
+            }
+        }
 
-                            for (Object child : elements) {
-                                if (child instanceof PsiElement<?>) {
-                                    ((PsiElement<?>) child).setParent(element);
-                                }
-                            }
+        Object[] elements = new Object[typeGroupAmount];
+        String[] texts = new String[typeGroupAmount];
+        TypeRegistry.Entry[][] types = new TypeRegistry.Entry[typeGroupAmount][];
 
-                            return element;
-                        } catch (IllegalAccessException | InvocationTargetException exception) {
-                            exception.printStackTrace();
-                        }
-                    }
+        for (int i = 0; i < elements.length && i < groups.size(); i++) {
+            TypeGroup typeGroup = groups.get(i);
+            int elementIndex = -1;
+
+            //find the position of the matched group in the original pattern
+            for (int index = 0; index < typeGroups.size(); index++) {
+                //reference comparison is intentional
+                if (typeGroups.get(index) == typeGroup) {
+                    elementIndex = index;
+                    break;
                 }
             }
 
-            Set<Method> fallbackMethods = new HashSet<>();
+            if (elementIndex == -1) {
+                throw new ParseException("Unable to find matched group in pattern", lineNumber);
+            }
+
+            if (order.length > 0) {
+                elementIndex = order[i];
 
-            for (Method method : factory.getClass().getMethods()) {
-                if (method.getAnnotation(Fallback.class) != null) {
-                    fallbackMethods.add(method);
+                if (elements[elementIndex] != null) {
+                    throw new ParsingAnnotationInvalidValueException(
+                        "Type order of PatternMetadata contains duplicate number '" + elementIndex + "'"
+                    );
                 }
             }
 
-            int size = fallbackMethods.size();
+            String matchedTypeText = matchedTypeTexts.get(i);
+
+            texts[elementIndex] = matchedTypeText;
 
-            if (size > 1) {
-                throw new IllegalFallbackAnnotationAmountException(
-                    "Illegal amount of fallback annotations detected. Maximum is 1, but there were '" + size + "'."
-                );
+            if (typeGroup.getConstraint() == TypeGroup.Constraint.LITERAL) {
+                elements[elementIndex] = matchedTypeText;
+            } else {
+                String[] typeNames = typeGroup.getTypes();
+                TypeRegistry.Entry[] typeEntries = new TypeRegistry.Entry[typeNames.length];
+
+                for (int index = 0; index < typeNames.length; index++) {
+                    typeEntries[index] = this.typeRegistry.byName(typeNames[index]);
+                }
+
+                types[elementIndex] = typeEntries;
+                elements[elementIndex] = tryParseElement(matchedTypeText, typeEntries, lineNumber);
             }
 
-            if (size == 1) {
-                //will only loop once
-                for (Method method : fallbackMethods) {
-                    try {
-                        List<Object> parameters = new ArrayList<>();
+            //recursive retry
+            if (elements[elementIndex] == null) {
+                return null;
+            }
+        }
 
-                        if (method.getParameterTypes()[0] == SkriptLoader.class) {
-                            parameters.add(this);
-                        }
+        checkParsingThread(factory);
 
-                        if (!(factory instanceof PsiElementFactory)) {
-                            parameters.add(inputTypes);
-                        }
+        try {
+            PsiElement<?> element = cachedReflectionMethod.invoke(
+                factory, this, result, inputTypes, elements, lineNumber
+            );
 
-                        parameters.add(input);
-                        parameters.add(lineNumber);
+            if (element == null) {
+                return null;
+            }
 
-                        Object result = method.invoke(factory, parameters.toArray(Object[]::new));
+            adopt(element, elements);
 
-                        if (result != null) {
-                            return (PsiElement<?>) result;
-                        }
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        e.printStackTrace();
+            parseMemo.put(input, inputTypes,
+                ParseMemo.Route.ofPattern(factory, cachedReflectionMethod, result, texts, types));
+            storeRoute(input, inputTypes, ParseCache.Route.ofPattern(factory.getClass().getName(),
+                cachedReflectionMethod.getMethod().toString(), patternIndex, matchIndex));
+
+            return element;
+        } catch (InvocationTargetException exception) {
+            rethrowWrongThread(exception);
+            exception.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a new element by following a route that was stored in the parse cache of this thread, without trying
+     * any other factory. Returns null if there is no parse cache, if no route was stored for the given input and
+     * types, or if the stored route no longer leads to an element.
+     *
+     * @param input the text to be parsed
+     * @param inputTypes the input types to parse for or null if all types are allowed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @param parseMemo the parse memo of the line that is being parsed
+     * @return the parsed psi element, or null if none was created
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> followStoredRoute(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] inputTypes,
+        int lineNumber, @NotNull ParseMemo parseMemo) {
+        ParseCache parseCache = this.parseCache.get();
+
+        if (parseCache == null) {
+            return null;
+        }
+
+        ParseCache.Route route = parseCache.get(input, getTypeNames(inputTypes));
+
+        if (route == null) {
+            return null;
+        }
+
+        PsiGenericElementFactory factory = this.factoriesByName.get(route.getFactory());
+
+        if (factory == null) {
+            return null;
+        }
+
+        if (route.isFallback()) {
+            CachedFallbackMethod fallbackMethod = fallbacks.get(factory);
+
+            if (fallbackMethod == null || !fallbackMethod.getMethod().toString().equals(route.getMethod())) {
+                return null;
+            }
+
+            checkParsingThread(factory);
+
+            try {
+                PsiElement<?> element = fallbackMethod.invoke(factory, this, inputTypes, input, lineNumber);
+
+                if (element != null) {
+                    parseMemo.put(input, inputTypes, ParseMemo.Route.ofFallback(factory, fallbackMethod));
+                }
+
+                return element;
+            } catch (InvocationTargetException exception) {
+                rethrowWrongThread(exception);
+                exception.printStackTrace();
+            }
+
+            return null;
+        }
+
+        for (CachedReflectionMethod cachedReflectionMethod : elementsCached.get(factory)) {
+            if (!cachedReflectionMethod.getMethod().toString().equals(route.getMethod())) {
+                continue;
+            }
+
+            CachedReflectionMethod.Pattern[] patterns = cachedReflectionMethod.getPatterns();
+
+            if (route.getPattern() >= patterns.length) {
+                return null;
+            }
+
+            List<SkriptMatchResult> results = patterns[route.getPattern()].getSkriptPattern().compile()
+                .matchFully(input);
+
+            if (route.getMatch() >= results.size()) {
+                return null;
+            }
+
+            return createElement(factory, cachedReflectionMethod, route.getPattern(), results.get(route.getMatch()),
+                route.getMatch(), input, inputTypes, lineNumber, parseMemo);
+        }
+
+        return null;
+    }
+
+    /**
+     * Stores the given route in the parse cache of this thread, if there is one.
+     *
+     * @param input the parsed text
+     * @param inputTypes the input types parsed for or null if all types were allowed
+     * @param route the route that was found
+     * @since 0.1.0
+     */
+    private void storeRoute(@NotNull String input, @NotNull TypeRegistry.Entry @Nullable [] inputTypes,
+        @NotNull ParseCache.Route route) {
+        ParseCache parseCache = this.parseCache.get();
+
+        if (parseCache != null) {
+            parseCache.put(input, getTypeNames(inputTypes), route);
+        }
+    }
+
+    /**
+     * Gets the names of the given types, by which they are identified in a parse cache.
+     *
+     * @param types the types, or null if all types are allowed
+     * @return the names of the types, or null if the given types are null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(value = "null -> null; !null -> !null", pure = true)
+    private static String @Nullable [] getTypeNames(@Nullable TypeRegistry.Entry @Nullable [] types) {
+        if (types == null) {
+            return null;
+        }
+
+        String[] names = new String[types.length];
+
+        for (int index = 0; index < types.length; index++) {
+            TypeRegistry.Entry type = types[index];
+
+            names[index] = type == null ? null : type.getName();
+        }
+
+        return names;
+    }
+
+    /**
+     * Creates a new element by following a route that was found earlier for the same input and types. The elements for
+     * the arguments are parsed again, which will in turn follow their own routes, so every element created is a new
+     * one. Returns null if the route is a failure, or if the route unexpectedly did not lead to an element.
+     *
+     * @param route the route to follow
+     * @param input the text to be parsed
+     * @param inputTypes the input types to parse for or null if all types are allowed
+     * @param lineNumber the line number of the element which will potentially be parsed
+     * @return the parsed psi element, or null if none was created
+     * @since 0.1.0
+     */
+    @Nullable
+    private PsiElement<?> followRoute(@NotNull ParseMemo.Route route, @NotNull String input,
+        @NotNull TypeRegistry.Entry @Nullable [] inputTypes, int lineNumber) {
+        if (route.isFailure()) {
+            return null;
+        }
+
+        PsiGenericElementFactory factory = Objects.requireNonNull(route.getFactory());
+
+        checkParsingThread(factory);
+
+        try {
+            CachedFallbackMethod fallbackMethod = route.getFallbackMethod();
+
+            if (fallbackMethod != null) {
+                return fallbackMethod.invoke(factory, this, inputTypes, input, lineNumber);
+            }
+
+            String[] texts = Objects.requireNonNull(route.getTexts());
+            TypeRegistry.Entry[][] types = Objects.requireNonNull(route.getTypes());
+            Object[] elements = new Object[texts.length];
+
+            for (int index = 0; index < texts.length; index++) {
+                if (texts[index] == null) {
+                    continue;
+                }
+
+                if (types[index] == null) {
+                    elements[index] = texts[index];
+                } else {
+                    elements[index] = tryParseElement(texts[index], types[index], lineNumber);
+
+                    if (elements[index] == null) {
+                        return null;
                     }
                 }
             }
+
+            PsiElement<?> element = Objects.requireNonNull(route.getMethod()).invoke(
+                factory, this, Objects.requireNonNull(route.getMatchResult()), inputTypes, elements, lineNumber
+            );
+
+            if (element != null) {
+                adopt(element, elements);
+            }
+
+            return element;
+        } catch (InvocationTargetException exception) {
+            rethrowWrongThread(exception);
+            exception.printStackTrace();
         }
 
         return null;
     }
 
+    /**
+     * Checks whether the given factory may parse on the current thread, see
+     * {@link #canParseOnCurrentThread(PsiGenericElementFactory)}.
+     *
+     * @param factory the factory which is about to parse
+     * @throws WrongThreadException if the factory may not parse on the current thread
+     * @since 0.1.0
+     */
+    private void checkParsingThread(@NotNull PsiGenericElementFactory factory) {
+        if (!canParseOnCurrentThread(factory)) {
+            throw new WrongThreadException(factory.getClass().getName() + " can't parse on thread " +
+                Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Throws the cause of the given exception if the factory method threw it because it tried to parse on a thread on
+     * which this isn't allowed, so the entire parse attempt is aborted instead of only this method.
+     *
+     * @param exception the exception thrown by a factory method
+     * @throws WrongThreadException if the cause of the exception is a {@link WrongThreadException}
+     * @since 0.1.0
+     */
+    private static void rethrowWrongThread(@NotNull InvocationTargetException exception) {
+        Throwable cause = exception.getCause();
+
+        if (cause instanceof WrongThreadException) {
+            throw (WrongThreadException) cause;
+        }
+    }
+
+    /**
+     * Sets the given element as the parent of all the given children which are elements.
+     *
+     * @param element the parent element
+     * @param children the children, which may contain objects that aren't elements
+     * @since 0.1.0
+     */
+    private static void adopt(@NotNull PsiElement<?> element, @Nullable Object @NotNull [] children) {
+        for (Object child : children) {
+            if (child instanceof PsiElement<?>) {
+                ((PsiElement<?>) child).setParent(element);
+            }
+        }
+    }
+
     /**
      * Parses text into psi elements.
      * Returns null if no element was found.
@@ -492,19 +1095,7 @@ public abstract class SkriptLoader {
 
         this.elements.computeIfAbsent(entry, k -> new ArrayList<>()).add(factory);
 
-        Set<CachedReflectionMethod> methods = new HashSet<>();
-
-        for (Method method : factory.getClass().getMethods()) {
-            Pattern[] patterns = method.getAnnotationsByType(Pattern.class);
-
-            if (patterns.length == 0) {
-                continue;
-            }
-
-            methods.add(new CachedReflectionMethod(method, patterns));
-        }
-
-        this.elementsCached.put(factory, methods);
+        cacheMethods(factory, false);
     }
 
     /**
@@ -516,19 +1107,68 @@ public abstract class SkriptLoader {
     protected void registerElement(@NotNull PsiGenericElementFactory factory) {
         this.genericFactories.add(factory);
 
+        cacheMethods(factory, true);
+    }
+
+    /**
+     * Caches the methods annotated with {@link Pattern} and the method annotated with {@link Fallback} of the given
+     * factory, so they can be invoked without further reflection during parsing.
+     *
+     * @param factory the factory to cache the methods of
+     * @param generic whether the factory is a generic factory
+     * @since 0.1.0
+     */
+    private void cacheMethods(@NotNull PsiGenericElementFactory factory, boolean generic) {
         Set<CachedReflectionMethod> methods = new HashSet<>();
+        Set<Method> fallbackMethods = new HashSet<>();
+        SortedSet<String> methodDescriptions = new TreeSet<>();
 
         for (Method method : factory.getClass().getMethods()) {
+            if (method.getAnnotation(Fallback.class) != null) {
+                fallbackMethods.add(method);
+            }
+
             Pattern[] patterns = method.getAnnotationsByType(Pattern.class);
 
             if (patterns.length == 0) {
                 continue;
             }
 
-            methods.add(new CachedReflectionMethod(method, patterns));
+            var cachedReflectionMethod = new CachedReflectionMethod(method, patterns, generic);
+
+            for (Pattern pattern : patterns) {
+                methodDescriptions.add(method + " " + pattern.value() + " " + Arrays.toString(pattern.typeOrder()));
+            }
+
+            for (CachedReflectionMethod.Pattern pattern : cachedReflectionMethod.getPatterns()) {
+                this.patternIndex.add(pattern.getSkriptPattern(), pattern);
+            }
+
+            methods.add(cachedReflectionMethod);
+        }
+
+        int size = fallbackMethods.size();
+
+        if (size > 1) {
+            throw new IllegalFallbackAnnotationAmountException(
+                "Illegal amount of fallback annotations detected. Maximum is 1, but there were '" + size + "'."
+            );
         }
 
+        for (Method method : fallbackMethods) {
+            this.fallbacks.put(factory, new CachedFallbackMethod(method, generic));
+
+            methodDescriptions.add(method.toString());
+        }
+
+        String type = generic ? "generic" : ((PsiElementFactory) factory).getType();
+
+        this.fingerprintParts.add(this.registeredFactoryCount++ + " " + factory.getClass().getName() + " " + type);
+        this.fingerprintParts.addAll(methodDescriptions);
+
         this.elementsCached.put(factory, methods);
+        this.factoriesByName.put(factory.getClass().getName(), factory);
+        this.fingerprint = null;
     }
 
     /**
@@ -671,6 +1311,35 @@ public abstract class SkriptLoader {
      */
     protected abstract void registerDefaultConverters();
 
+    /**
+     * Gets the version of the platform this loader belongs to, such as the version of the plugin which created it. The
+     * version is part of the {@link #getFingerprint() fingerprint}. By default, there is no platform version.
+     *
+     * @return the version of the platform, or null if there is none
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    protected String getPlatformVersion() {
+        return null;
+    }
+
+    /**
+     * Checks whether the given factory may parse elements on the current thread. Factories which read the state of the
+     * platform while parsing may only do so on the thread which owns that state. When a factory may not parse on the
+     * current thread, parsing throws a {@link WrongThreadException}. Parsing ahead of time, like
+     * {@link #parsePendingBaseSections(Consumer)} does, then leaves the element to be parsed on the right thread once
+     * it is needed. By default, every factory may parse on every thread.
+     *
+     * @param factory the factory which is about to parse
+     * @return true if the factory may parse on the current thread, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    protected boolean canParseOnCurrentThread(@NotNull PsiGenericElementFactory factory) {
+        return true;
+    }
+
     /**
      * Register the default events to be used by this parser.
      *
@@ -697,4 +1366,37 @@ public abstract class SkriptLoader {
      * @since 0.1.0
      */
     public abstract void tryRegisterEvent(Skript skript, SkriptFileSection section);
+
+    /**
+     * Checks whether the given text is the text of an event which can be registered by
+     * {@link #tryRegisterEvent(Skript, SkriptFileSection)}. This does not register anything.
+     *
+     * @param text the text of the section
+     * @return true if the text is the text of an event, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public abstract boolean isEvent(@NotNull String text);
+
+    /**
+     * Unregisters the command that was registered from the given section by
+     * {@link #tryRegisterCommand(Skript, SkriptFileSection)}. If no command was registered from this section, this
+     * will do nothing.
+     *
+     * @param skript the skript this command belongs to
+     * @param section the section the command was registered from
+     * @since 0.1.0
+     */
+    public abstract void tryUnregisterCommand(Skript skript, SkriptFileSection section);
+
+    /**
+     * Unregisters the events that were registered from the given section by
+     * {@link #tryRegisterEvent(Skript, SkriptFileSection)}. If no events were registered from this section, this will
+     * do nothing.
+     *
+     * @param skript the skript this event belongs to
+     * @param section the section the events were registered from
+     * @since 0.1.0
+     */
+    public abstract void tryUnregisterEvent(Skript skript, SkriptFileSection section);
 }
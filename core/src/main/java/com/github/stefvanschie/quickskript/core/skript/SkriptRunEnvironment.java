@@ -16,6 +16,23 @@ public class SkriptRunEnvironment {
     @NotNull
     private SkriptProfiler<?> profiler = new NoOpSkriptProfiler();
 
+    /**
+     * The amount of executions after which an entry point gets compiled, or zero if entry points are never compiled.
+     */
+    private int compileThreshold;
+
+    /**
+     * The time in nanoseconds a single execution of a trigger may take before it is aborted, or zero if executions are
+     * never aborted.
+     */
+    private long executionBudget;
+
+    /**
+     * The amount of times a trigger may exceed the execution budget before it is disabled, or zero if triggers are
+     * never disabled.
+     */
+    private int budgetViolationLimit;
+
     /**
      * Creates and initializes a new instance.
      */
@@ -45,4 +62,78 @@ public class SkriptRunEnvironment {
         this.profiler = profiler;
         return previous;
     }
+
+    /**
+     * Gets the amount of executions after which an entry point gets compiled.
+     *
+     * @return the compile threshold, or zero if entry points are never compiled
+     */
+    @Contract(pure = true)
+    public final int getCompileThreshold() {
+        return compileThreshold;
+    }
+
+    /**
+     * Sets the amount of executions after which an entry point gets compiled. Entry points which have already been
+     * compiled stay compiled.
+     *
+     * @param compileThreshold the compile threshold, or zero if entry points should never be compiled
+     */
+    public void setCompileThreshold(int compileThreshold) {
+        if (compileThreshold < 0) {
+            throw new IllegalArgumentException("Compile threshold can't be negative");
+        }
+
+        this.compileThreshold = compileThreshold;
+    }
+
+    /**
+     * Gets the time a single execution of a trigger may take before it is aborted. The budget is checked at the start
+     * of every iteration of a loop, so only triggers which keep looping are aborted.
+     *
+     * @return the execution budget in nanoseconds, or zero if executions are never aborted
+     */
+    @Contract(pure = true)
+    public final long getExecutionBudget() {
+        return executionBudget;
+    }
+
+    /**
+     * Sets the time a single execution of a trigger may take before it is aborted. Executions which are aborted throw
+     * an {@link com.github.stefvanschie.quickskript.core.psi.exception.ExecutionBudgetExceededException}.
+     *
+     * @param executionBudget the execution budget in nanoseconds, or zero if executions should never be aborted
+     */
+    public void setExecutionBudget(long executionBudget) {
+        if (executionBudget < 0) {
+            throw new IllegalArgumentException("Execution budget can't be negative");
+        }
+
+        this.executionBudget = executionBudget;
+    }
+
+    /**
+     * Gets the amount of times a trigger may exceed the execution budget before it is disabled. Disabled triggers
+     * aren't executed anymore until they are loaded again.
+     *
+     * @return the budget violation limit, or zero if triggers are never disabled
+     */
+    @Contract(pure = true)
+    public final int getBudgetViolationLimit() {
+        return budgetViolationLimit;
+    }
+
+    /**
+     * Sets the amount of times a trigger may exceed the execution budget before it is disabled. Triggers which have
+     * already been disabled stay disabled.
+     *
+     * @param budgetViolationLimit the budget violation limit, or zero if triggers should never be disabled
+     */
+    public void setBudgetViolationLimit(int budgetViolationLimit) {
+        if (budgetViolationLimit < 0) {
+            throw new IllegalArgumentException("Budget violation limit can't be negative");
+        }
+
+        this.budgetViolationLimit = budgetViolationLimit;
+    }
 }
@@ -9,9 +9,10 @@ import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
 import com.github.stefvanschie.quickskript.core.psi.expression.*;
 import com.github.stefvanschie.quickskript.core.psi.function.*;
 import com.github.stefvanschie.quickskript.core.psi.literal.*;
-import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.LazyBaseSection;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -31,12 +32,12 @@ public class StandaloneSkriptLoader extends SkriptLoader {
     /**
      * A map to hold all commands
      */
-    private final Map<String, PsiBaseSection> commands = new HashMap<>();
+    private final Map<String, LazyBaseSection> commands = new HashMap<>();
 
     /**
      * A map to hold all events
      */
-    private final Map<String, PsiBaseSection> events = new HashMap<>();
+    private final Map<String, LazyBaseSection> events = new HashMap<>();
 
     private final Set<Pattern> registeredEvents = Set.of(
         //TODO: Add all events
@@ -365,7 +366,7 @@ public class StandaloneSkriptLoader extends SkriptLoader {
             throw new ParseException("Unable to find a trigger for the command", section.getLineNumber());
         }
 
-        PsiBaseSection baseSection = new PsiBaseSection(this, skript, trigger, CommandContext.class);
+        LazyBaseSection baseSection = createBaseSection(skript, trigger, CommandContext.class);
 
         commands.put(command, baseSection);
     }
@@ -375,7 +376,27 @@ public class StandaloneSkriptLoader extends SkriptLoader {
         String event = section.getText();
 
         if (registeredEvents.stream().anyMatch(pattern -> pattern.matcher(event).matches())) {
-            events.put(event, new PsiBaseSection(this, skript, section, EventContext.class));
+            events.put(event, createBaseSection(skript, section, EventContext.class));
         }
     }
+
+    @Override
+    public boolean isEvent(@NotNull String text) {
+        return registeredEvents.stream().anyMatch(pattern -> pattern.matcher(text).matches());
+    }
+
+    @SuppressWarnings("HardcodedFileSeparator")
+    @Override
+    public void tryUnregisterCommand(Skript skript, SkriptFileSection section) {
+        if (!section.getText().startsWith("command /")) {
+            return;
+        }
+
+        commands.remove(section.getText().substring("command /".length()));
+    }
+
+    @Override
+    public void tryUnregisterEvent(Skript skript, SkriptFileSection section) {
+        events.remove(section.getText());
+    }
 }
@@ -39,6 +39,24 @@ public class BasicSkriptProfiler extends SkriptProfiler<BasicSkriptProfiler.Entr
         return entries == null ? Collections.emptySet() : entries.keySet();
     }
 
+    @NotNull
+    @Override
+    public Collection<Class<? extends Context>> getContextTypes() {
+        return storage.keySet();
+    }
+
+    @Override
+    public long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getCalledCount();
+    }
+
+    @Override
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getTotalElapsedTime();
+    }
+
     /**
      * The entry {@link BasicSkriptProfiler} uses.
      */
@@ -0,0 +1,459 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A profiler which can be used from multiple threads at once: stores the call counts, the total and maximum elapsed
+ * times and a histogram of the elapsed times, from which percentiles can be estimated. Every entry uses the same
+ * amount of memory, no matter how often it is called. The entry of an entry point is kept in the slot of its identifier,
+ * so measuring a time doesn't look anything up in a map as long as this is the only profiler measuring the entry point.
+ * Optionally, the execution times of the individual statements inside entry points are measured as well.
+ *
+ * @since 0.1.0
+ */
+public class ConcurrentSkriptProfiler extends SkriptProfiler<ConcurrentSkriptProfiler.Entry> {
+
+    /**
+     * The storage of the profiler entries
+     */
+    @NotNull
+    private final Map<Class<? extends Context>, Map<Identifier, Entry>> storage = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of entries which have been created, which is the index given to the next entry
+     */
+    @NotNull
+    private final AtomicInteger entryCount = new AtomicInteger();
+
+    /**
+     * Whether the execution times of the individual statements inside entry points are measured
+     */
+    private final boolean measuringStatements;
+
+    /**
+     * Creates a new profiler which only measures the execution times of entire entry points
+     *
+     * @since 0.1.0
+     */
+    public ConcurrentSkriptProfiler() {
+        this(false);
+    }
+
+    /**
+     * Creates a new profiler
+     *
+     * @param measuringStatements whether the execution times of the individual statements inside entry points should
+     *                            be measured as well
+     * @since 0.1.0
+     */
+    public ConcurrentSkriptProfiler(boolean measuringStatements) {
+        this.measuringStatements = measuringStatements;
+    }
+
+    @Override
+    public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier,
+        long elapsedTime) {
+        getOrRegister(contextType, identifier).add(elapsedTime);
+    }
+
+    @Contract(pure = true)
+    @Override
+    public boolean isMeasuringStatements() {
+        return measuringStatements;
+    }
+
+    @Override
+    public void onStatementMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier,
+        int lineNumber, long totalTime, long selfTime) {
+        getOrRegister(contextType, identifier).getStatement(lineNumber).add(totalTime, selfTime);
+    }
+
+    /**
+     * Gets the entry for the given entry point, creating it if it doesn't exist yet. The entry is taken from the slot
+     * of the identifier if it is there; otherwise it is looked up in, or added to, the storage and put in the slot.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the entry
+     * @since 0.1.0
+     */
+    @NotNull
+    Entry getOrRegister(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Object slot = identifier.getSlot();
+
+        if (slot instanceof Entry) {
+            Entry entry = (Entry) slot;
+
+            if (entry.profiler == this && entry.contextType == contextType) {
+                return entry;
+            }
+        }
+
+        Entry entry = storage.computeIfAbsent(contextType, type -> new ConcurrentHashMap<>())
+            .computeIfAbsent(identifier, id -> new Entry(this, entryCount.getAndIncrement(), contextType,
+                id.getLineNumber()));
+
+        identifier.setSlot(entry);
+
+        return entry;
+    }
+
+    @Nullable
+    @Override
+    public Entry getEntry(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Map<Identifier, Entry> entries = storage.get(contextType);
+        return entries == null ? null : entries.get(identifier);
+    }
+
+    @NotNull
+    @Override
+    public Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType) {
+        Map<Identifier, Entry> entries = storage.get(contextType);
+        return entries == null ? Collections.emptySet() : Collections.unmodifiableSet(entries.keySet());
+    }
+
+    @NotNull
+    @Override
+    public Collection<Class<? extends Context>> getContextTypes() {
+        return Collections.unmodifiableSet(storage.keySet());
+    }
+
+    @Override
+    public long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getCalledCount();
+    }
+
+    @Override
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getTotalElapsedTime();
+    }
+
+    /**
+     * The entry {@link ConcurrentSkriptProfiler} uses.
+     *
+     * @since 0.1.0
+     */
+    public static class Entry {
+
+        /**
+         * The profiler this entry belongs to
+         */
+        @NotNull
+        private final ConcurrentSkriptProfiler profiler;
+
+        /**
+         * A number which is unique to this entry among the entries of its profiler, counting up from zero
+         */
+        private final int index;
+
+        /**
+         * The type of context of the entry point associated with this entry
+         */
+        @NotNull
+        private final Class<? extends Context> contextType;
+
+        /**
+         * The line number of the entry point associated with this entry
+         */
+        private final int lineNumber;
+
+        /**
+         * The entries of the statements inside the entry point, by their line number
+         */
+        @NotNull
+        private final Map<Integer, StatementEntry> statementsByLine = new ConcurrentSkipListMap<>();
+
+        /**
+         * The entries of the statements inside the entry point, indexed by how many lines after the entry point they
+         * are. Entries are added while holding the lock of this entry, so a thread which doesn't find an entry here
+         * looks for it again while holding the lock.
+         */
+        @NotNull
+        private volatile StatementEntry[] statements = new StatementEntry[16];
+
+        /**
+         * The number of times the elapsed time was recorded
+         */
+        @NotNull
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The sum of the elapsed times, in nanoseconds
+         */
+        @NotNull
+        private final LongAdder totalTime = new LongAdder();
+
+        /**
+         * The largest elapsed time, in nanoseconds
+         */
+        @NotNull
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+        /**
+         * The histogram of the elapsed times
+         */
+        @NotNull
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        /**
+         * Creates a new entry
+         *
+         * @param profiler the profiler this entry belongs to
+         * @param index a number which is unique to this entry among the entries of its profiler
+         * @param contextType the type of context of the entry point associated with this entry
+         * @param lineNumber the line number of the entry point associated with this entry
+         * @since 0.1.0
+         */
+        private Entry(@NotNull ConcurrentSkriptProfiler profiler, int index,
+            @NotNull Class<? extends Context> contextType, int lineNumber) {
+            this.profiler = profiler;
+            this.index = index;
+            this.contextType = contextType;
+            this.lineNumber = lineNumber;
+        }
+
+        /**
+         * Gets the entry for the statement on the given line, creating it if it doesn't exist yet
+         *
+         * @param lineNumber the line number of the statement
+         * @return the statement entry
+         * @since 0.1.0
+         */
+        @NotNull
+        private StatementEntry getStatement(int lineNumber) {
+            StatementEntry[] statements = this.statements;
+            int index = lineNumber - this.lineNumber;
+            StatementEntry statement = index >= 0 && index < statements.length ? statements[index] : null;
+
+            return statement == null ? registerStatement(lineNumber) : statement;
+        }
+
+        /**
+         * Gets the entry for the statement on the given line, creating it if it doesn't exist yet, and stores it under
+         * the amount of lines the statement is after the entry point
+         *
+         * @param lineNumber the line number of the statement
+         * @return the statement entry
+         * @since 0.1.0
+         */
+        @NotNull
+        private synchronized StatementEntry registerStatement(int lineNumber) {
+            StatementEntry statement = statementsByLine.computeIfAbsent(lineNumber, StatementEntry::new);
+            int index = lineNumber - this.lineNumber;
+
+            if (index < 0) {
+                return statement;
+            }
+
+            StatementEntry[] statements = this.statements;
+
+            if (index >= statements.length) {
+                statements = Arrays.copyOf(statements, Math.max(statements.length * 2, index + 1));
+            }
+
+            statements[index] = statement;
+            this.statements = statements;
+
+            return statement;
+        }
+
+        /**
+         * Gets a number which is unique to this entry among the entries of its profiler. Entries are numbered from zero
+         * in the order in which they are created, so the profiler can keep data for its entries in arrays.
+         *
+         * @return the index of this entry
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        int getIndex() {
+            return index;
+        }
+
+        /**
+         * Stores one more execution of the entry point associated with this entry.
+         *
+         * @param elapsedTime the time in nanoseconds which elapsed during execution this time
+         * @since 0.1.0
+         */
+        void add(long elapsedTime) {
+            count.increment();
+            totalTime.add(elapsedTime);
+            maxTime.accumulate(elapsedTime);
+            histogram.record(elapsedTime);
+        }
+
+        /**
+         * Gets the number of times the elapsed time was recorded.
+         *
+         * @return the number of times the elapsed time was recorded
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getCalledCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the sum of all recorded elapsed times in nanoseconds.
+         *
+         * @return the elapsed time sum in nanoseconds
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getTotalElapsedTime() {
+            return totalTime.sum();
+        }
+
+        /**
+         * Gets the largest recorded elapsed time in nanoseconds.
+         *
+         * @return the largest elapsed time in nanoseconds, or 0 if no time was recorded
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getMaxElapsedTime() {
+            return maxTime.get();
+        }
+
+        /**
+         * Gets an estimate of the elapsed time in nanoseconds below which the given fraction of the recorded elapsed
+         * times lie, see {@link LatencyHistogram#getPercentile(double)}. The estimate is never larger than
+         * {@link #getMaxElapsedTime()}.
+         *
+         * @param fraction the fraction of elapsed times, from 0 to 1; for example 0.99 for the 99th percentile
+         * @return the estimated percentile in nanoseconds
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getPercentile(double fraction) {
+            return Math.min(histogram.getPercentile(fraction), getMaxElapsedTime());
+        }
+
+        /**
+         * Gets the entries of the statements inside the entry point associated with this entry, ordered by their line
+         * number. This is empty unless the profiler measures statements.
+         *
+         * @return the statement entries
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public Collection<StatementEntry> getStatements() {
+            return Collections.unmodifiableCollection(statementsByLine.values());
+        }
+    }
+
+    /**
+     * The entry {@link ConcurrentSkriptProfiler} uses for a single statement inside an entry point.
+     *
+     * @since 0.1.0
+     */
+    public static class StatementEntry {
+
+        /**
+         * The line number of the statement
+         */
+        private final int lineNumber;
+
+        /**
+         * The number of times the statement was executed
+         */
+        @NotNull
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The sum of the elapsed times, in nanoseconds
+         */
+        @NotNull
+        private final LongAdder totalTime = new LongAdder();
+
+        /**
+         * The sum of the elapsed times excluding the statements inside the statement, in nanoseconds
+         */
+        @NotNull
+        private final LongAdder selfTime = new LongAdder();
+
+        /**
+         * Creates a new entry
+         *
+         * @param lineNumber the line number of the statement
+         * @since 0.1.0
+         */
+        private StatementEntry(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        /**
+         * Stores one more execution of the statement associated with this entry.
+         *
+         * @param totalTime the time in nanoseconds which elapsed during execution this time
+         * @param selfTime the time in nanoseconds which elapsed during execution this time, excluding the statements
+         *                 inside the statement
+         * @since 0.1.0
+         */
+        void add(long totalTime, long selfTime) {
+            count.increment();
+            this.totalTime.add(totalTime);
+            this.selfTime.add(selfTime);
+        }
+
+        /**
+         * Gets the line number of the statement associated with this entry.
+         *
+         * @return the line number
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the number of times the statement was executed.
+         *
+         * @return the number of times the statement was executed
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getCalledCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the sum of all elapsed times in nanoseconds, including the statements inside the statement.
+         *
+         * @return the elapsed time sum in nanoseconds
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getTotalElapsedTime() {
+            return totalTime.sum();
+        }
+
+        /**
+         * Gets the sum of all elapsed times in nanoseconds, excluding the statements inside the statement.
+         *
+         * @return the elapsed self time sum in nanoseconds
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public long getSelfElapsedTime() {
+            return selfTime.sum();
+        }
+    }
+}
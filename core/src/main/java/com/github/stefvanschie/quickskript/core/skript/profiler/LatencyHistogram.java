@@ -0,0 +1,127 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of elapsed times which can be recorded into from multiple threads at once without locking. Times are
+ * counted in buckets whose width grows with the times they hold: every power of two is split into
+ * {@value #SUB_BUCKETS} buckets, so each recorded time is known with a precision of about 12.5%, while the histogram
+ * always uses the same small amount of memory, no matter how many times are recorded or how large they are.
+ *
+ * @since 0.1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * The binary logarithm of {@link #SUB_BUCKETS}
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The amount of buckets every power of two is split into
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The amount of buckets needed to hold every non-negative long
+     */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The amount of times recorded in each bucket
+     */
+    @NotNull
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a single time
+     *
+     * @param elapsedTime the time to record, negative times are recorded as zero
+     * @since 0.1.0
+     */
+    public void record(long elapsedTime) {
+        counts.incrementAndGet(getBucket(Math.max(elapsedTime, 0)));
+    }
+
+    /**
+     * Gets an estimate of the time below which the given fraction of the recorded times lie. The estimate is the
+     * largest time of the bucket which holds the percentile, so it is never lower than the actual percentile.
+     *
+     * @param fraction the fraction of times, from 0 to 1; for example 0.99 for the 99th percentile
+     * @return the estimated percentile, or 0 if no times have been recorded
+     * @throws IllegalArgumentException when the fraction is not between 0 and 1
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public long getPercentile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1, but was " + fraction);
+        }
+
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = this.counts.get(bucket);
+            total += counts[bucket];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max((long) Math.ceil(fraction * total), 1);
+        long seen = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+
+            if (seen >= rank) {
+                return getHighestValue(bucket);
+            }
+        }
+
+        return getHighestValue(BUCKETS - 1);
+    }
+
+    /**
+     * Gets the bucket the given time is recorded in
+     *
+     * @param value the non-negative time
+     * @return the index of the bucket
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest time which is recorded in the given bucket
+     *
+     * @param bucket the index of the bucket
+     * @return the largest time
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    private static long getHighestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.stefvanschie.quickskript.core.skript.profiler;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -17,6 +18,12 @@ public class NoOpSkriptProfiler extends SkriptProfiler<Object> {
     @Override
     public void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime) {}
 
+    @Contract(value = "_, _ -> false", pure = true)
+    @Override
+    public boolean shouldMeasure(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return false;
+    }
+
     @Nullable
     @Override
     public Object getEntry(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
@@ -28,4 +35,22 @@ public class NoOpSkriptProfiler extends SkriptProfiler<Object> {
     public Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType) {
         return Collections.emptySet();
     }
+
+    @NotNull
+    @Override
+    public Collection<Class<? extends Context>> getContextTypes() {
+        return Collections.emptySet();
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return 0;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return 0;
+    }
 }
@@ -0,0 +1,328 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exports the data a profiler has gathered, so it can be inspected outside of the server. Two formats are supported:
+ * <ul>
+ *     <li>
+ *         Collapsed stacks, which can be loaded into flame graph tools. Every line holds a stack of the form
+ *         {@code script;line 12;line 14 1500}, where the first frame is the name of the script, the second frame the
+ *         line of the entry point and the optional third frame the line of a statement inside the entry point, followed
+ *         by the time in nanoseconds spent in that frame itself. Statements are only present if the profiler measures
+ *         them.
+ *     </li>
+ *     <li>
+ *         A JSON summary, which lists every entry point with its call count and elapsed times, ordered from the entry
+ *         point which took the most time to the one which took the least.
+ *     </li>
+ * </ul>
+ *
+ * @since 0.1.0
+ */
+public class ProfileExporter {
+
+    /**
+     * The fractions of the percentiles which are included in the JSON summary
+     */
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99};
+
+    /**
+     * The profiler whose data is exported
+     */
+    @NotNull
+    private final SkriptProfiler<?> profiler;
+
+    /**
+     * Creates a new exporter
+     *
+     * @param profiler the profiler whose data should be exported
+     * @since 0.1.0
+     */
+    public ProfileExporter(@NotNull SkriptProfiler<?> profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Writes the data of the profiler as collapsed stacks
+     *
+     * @param output the output to write to
+     * @throws IOException if the output can't be written to
+     * @since 0.1.0
+     */
+    public void writeCollapsedStacks(@NotNull Appendable output) throws IOException {
+        for (EntryPoint entryPoint : getEntryPoints(Comparator.comparing(EntryPoint::getScript)
+            .thenComparingInt(EntryPoint::getLineNumber))) {
+            String frame = escape(entryPoint.getScript()) + ";line " + entryPoint.getLineNumber();
+            long selfTime = entryPoint.totalTime;
+
+            for (ConcurrentSkriptProfiler.StatementEntry statement : getStatements(entryPoint)) {
+                selfTime -= statement.getSelfElapsedTime();
+
+                writeStack(output, frame + ";line " + statement.getLineNumber(), statement.getSelfElapsedTime());
+            }
+
+            writeStack(output, frame, selfTime);
+        }
+    }
+
+    /**
+     * Creates a JSON summary of the data of the profiler
+     *
+     * @return the summary
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public JsonObject toJson() {
+        var entries = new JsonArray();
+
+        for (EntryPoint entryPoint : getEntryPoints(Comparator.comparingLong((EntryPoint point) -> point.totalTime)
+            .reversed())) {
+            var object = new JsonObject();
+
+            object.addProperty("script", entryPoint.getScript());
+            object.addProperty("line", entryPoint.getLineNumber());
+            object.addProperty("context", entryPoint.contextType.getSimpleName());
+            object.addProperty("calls", entryPoint.calledCount);
+            object.addProperty("totalTime", entryPoint.totalTime);
+
+            Object entry = profiler.getEntry(entryPoint.contextType, entryPoint.identifier);
+
+            if (entry instanceof ConcurrentSkriptProfiler.Entry) {
+                var concurrentEntry = (ConcurrentSkriptProfiler.Entry) entry;
+
+                object.addProperty("maxTime", concurrentEntry.getMaxElapsedTime());
+
+                for (double percentile : PERCENTILES) {
+                    object.addProperty("p" + Math.round(percentile * 100), concurrentEntry.getPercentile(percentile));
+                }
+
+                var statements = new JsonArray();
+
+                for (ConcurrentSkriptProfiler.StatementEntry statement : concurrentEntry.getStatements()) {
+                    var statementObject = new JsonObject();
+
+                    statementObject.addProperty("line", statement.getLineNumber());
+                    statementObject.addProperty("calls", statement.getCalledCount());
+                    statementObject.addProperty("totalTime", statement.getTotalElapsedTime());
+                    statementObject.addProperty("selfTime", statement.getSelfElapsedTime());
+
+                    statements.add(statementObject);
+                }
+
+                if (statements.size() != 0) {
+                    object.add("statements", statements);
+                }
+            }
+
+            entries.add(object);
+        }
+
+        var root = new JsonObject();
+
+        root.addProperty("profiler", profiler.getClass().getSimpleName());
+
+        if (profiler instanceof SamplingSkriptProfiler) {
+            root.addProperty("sampleInterval", ((SamplingSkriptProfiler) profiler).getSampleInterval());
+        }
+
+        root.addProperty("timeUnit", "nanoseconds");
+        root.add("entries", entries);
+
+        return root;
+    }
+
+    /**
+     * Writes a JSON summary of the data of the profiler, see {@link #toJson()}
+     *
+     * @param output the output to write to
+     * @throws IOException if the output can't be written to
+     * @since 0.1.0
+     */
+    public void writeJson(@NotNull Appendable output) throws IOException {
+        try {
+            new GsonBuilder().setPrettyPrinting().create().toJson(toJson(), output);
+        } catch (JsonIOException exception) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Writes the data of the profiler to a file with collapsed stacks, named {@code <name>.collapsed}, and a file with
+     * a JSON summary, named {@code <name>.json}, replacing the files if they already exist
+     *
+     * @param directory the directory to write the files in, which is created if it doesn't exist
+     * @param name the name of the files, without extension
+     * @throws IOException if the files can't be written
+     * @since 0.1.0
+     */
+    public void export(@NotNull Path directory, @NotNull String name) throws IOException {
+        Files.createDirectories(directory);
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(name + ".collapsed"), StandardCharsets.UTF_8)) {
+            writeCollapsedStacks(writer);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(directory.resolve(name + ".json"), StandardCharsets.UTF_8)) {
+            writeJson(writer);
+        }
+    }
+
+    /**
+     * Gets every entry point the profiler has data of, for every type of context
+     *
+     * @param order the order in which the entry points should be returned
+     * @return the entry points
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private List<EntryPoint> getEntryPoints(@NotNull Comparator<EntryPoint> order) {
+        List<EntryPoint> entryPoints = new ArrayList<>();
+
+        for (Class<? extends Context> contextType : profiler.getContextTypes()) {
+            for (SkriptProfiler.Identifier identifier : profiler.getEntryIdentifiers(contextType)) {
+                entryPoints.add(new EntryPoint(contextType, identifier, profiler.getCalledCount(contextType, identifier),
+                    profiler.getTotalElapsedTime(contextType, identifier)));
+            }
+        }
+
+        entryPoints.sort(order);
+
+        return entryPoints;
+    }
+
+    /**
+     * Gets the entries of the statements inside the given entry point
+     *
+     * @param entryPoint the entry point
+     * @return the statement entries, or an empty list if the profiler doesn't have any
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private Iterable<ConcurrentSkriptProfiler.StatementEntry> getStatements(@NotNull EntryPoint entryPoint) {
+        Object entry = profiler.getEntry(entryPoint.contextType, entryPoint.identifier);
+
+        if (!(entry instanceof ConcurrentSkriptProfiler.Entry)) {
+            return List.of();
+        }
+
+        return ((ConcurrentSkriptProfiler.Entry) entry).getStatements();
+    }
+
+    /**
+     * Writes a single line of collapsed stacks, unless the value is not positive
+     *
+     * @param output the output to write to
+     * @param stack the frames of the stack, separated by semicolons
+     * @param value the value of the stack
+     * @throws IOException if the output can't be written to
+     * @since 0.1.0
+     */
+    private static void writeStack(@NotNull Appendable output, @NotNull String stack, long value) throws IOException {
+        if (value > 0) {
+            output.append(stack).append(' ').append(Long.toString(value)).append('\n');
+        }
+    }
+
+    /**
+     * Makes the given text usable as a single frame of a stack, by replacing the characters which separate frames and
+     * lines
+     *
+     * @param text the text to escape
+     * @return the escaped text
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private static String escape(@NotNull String text) {
+        return text.replace(';', '_').replace('\n', '_').replace('\r', '_');
+    }
+
+    /**
+     * The data of a single entry point, as reported by the profiler
+     *
+     * @since 0.1.0
+     */
+    private static final class EntryPoint {
+
+        /**
+         * The type of context of the entry point
+         */
+        @NotNull
+        private final Class<? extends Context> contextType;
+
+        /**
+         * The identifier of the entry point
+         */
+        @NotNull
+        private final SkriptProfiler.Identifier identifier;
+
+        /**
+         * How often the entry point was executed
+         */
+        private final long calledCount;
+
+        /**
+         * The sum of the execution times of the entry point in nanoseconds
+         */
+        private final long totalTime;
+
+        /**
+         * Creates a new entry point
+         *
+         * @param contextType the type of context of the entry point
+         * @param identifier the identifier of the entry point
+         * @param calledCount how often the entry point was executed
+         * @param totalTime the sum of the execution times of the entry point in nanoseconds
+         * @since 0.1.0
+         */
+        private EntryPoint(@NotNull Class<? extends Context> contextType, @NotNull SkriptProfiler.Identifier identifier,
+            long calledCount, long totalTime) {
+            this.contextType = contextType;
+            this.identifier = identifier;
+            this.calledCount = calledCount;
+            this.totalTime = totalTime;
+        }
+
+        /**
+         * Gets the name of the script the entry point is in
+         *
+         * @return the name of the script
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private String getScript() {
+            return identifier.getSkript().getName();
+        }
+
+        /**
+         * Gets the line number of the entry point
+         *
+         * @return the line number
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private int getLineNumber() {
+            return identifier.getLineNumber();
+        }
+    }
+}
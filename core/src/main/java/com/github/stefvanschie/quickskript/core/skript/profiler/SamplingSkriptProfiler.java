@@ -0,0 +1,115 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A profiler which only measures one in every so many executions of each entry point, so it adds almost no overhead to
+ * entry points which are executed very often. Which executions are measured is decided per thread, without any
+ * synchronization. The gaps between measured executions vary randomly around the sample interval, so entry points
+ * which are executed in a regular pattern are still sampled fairly.
+ * <p>
+ * The entries of this profiler only hold the measured executions. Their counts and times have to be multiplied by the
+ * sample interval to estimate the counts and times of all executions, which {@link #getCalledCount(Class, Identifier)}
+ * and {@link #getTotalElapsedTime(Class, Identifier)} of this profiler do. Percentiles and maximums of the entries are
+ * estimates of those of all executions as they are.
+ *
+ * @since 0.1.0
+ */
+public class SamplingSkriptProfiler extends ConcurrentSkriptProfiler {
+
+    /**
+     * On average, one in this many executions of each entry point is measured
+     */
+    private final int sampleInterval;
+
+    /**
+     * For each thread, the amount of executions of each entry point until the next one which is measured, indexed by
+     * the index of the entry of the entry point. Zero if the entry point hasn't been executed on the thread yet. Entries
+     * are only created once for every entry point, so this doesn't grow when scripts are reloaded.
+     */
+    @NotNull
+    private final ThreadLocal<int[]> countdowns = ThreadLocal.withInitial(() -> new int[64]);
+
+    /**
+     * Creates a new sampling profiler
+     *
+     * @param sampleInterval on average, one in this many executions of each entry point is measured
+     * @throws IllegalArgumentException when the sample interval is not positive
+     * @since 0.1.0
+     */
+    public SamplingSkriptProfiler(int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be positive, but was " + sampleInterval);
+        }
+
+        this.sampleInterval = sampleInterval;
+    }
+
+    @Override
+    public boolean shouldMeasure(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        int[] countdowns = this.countdowns.get();
+        int index = getOrRegister(contextType, identifier).getIndex();
+
+        if (index >= countdowns.length) {
+            countdowns = Arrays.copyOf(countdowns, Math.max(countdowns.length * 2, index + 1));
+            this.countdowns.set(countdowns);
+        }
+
+        int countdown = countdowns[index] - 1;
+
+        if (countdown > 0) {
+            countdowns[index] = countdown;
+            return false;
+        }
+
+        countdowns[index] = ThreadLocalRandom.current().nextInt(1, 2 * sampleInterval);
+
+        return countdown == 0;
+    }
+
+    /**
+     * Estimates how often the given entry point has been executed, by scaling the amount of measured executions by the
+     * sample interval
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the estimated amount of executions
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    @Override
+    public long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return super.getCalledCount(contextType, identifier) * sampleInterval;
+    }
+
+    /**
+     * Estimates the sum of the execution times of the given entry point, by scaling the sum of the measured execution
+     * times by the sample interval
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the estimated total execution time in nanoseconds
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    @Override
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return super.getTotalElapsedTime(contextType, identifier) * sampleInterval;
+    }
+
+    /**
+     * Gets the sample interval of this profiler
+     *
+     * @return on average, one in this many executions of each entry point is measured
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+}
@@ -2,6 +2,7 @@ package com.github.stefvanschie.quickskript.core.skript.profiler;
 
 import com.github.stefvanschie.quickskript.core.context.Context;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -26,6 +27,49 @@ public abstract class SkriptProfiler<T> {
      */
     public abstract void onTimeMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier, long elapsedTime);
 
+    /**
+     * Gets whether the execution of the given entry point which is about to start should be measured. The entry point
+     * only measures its execution time and reports it to {@link #onTimeMeasured(Class, Identifier, long)} if this
+     * returns true, so profilers which don't need every execution can avoid the cost of measuring them.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return true if the execution should be measured, false otherwise
+     * @since 0.1.0
+     */
+    public boolean shouldMeasure(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        return true;
+    }
+
+    /**
+     * Gets whether this profiler measures the execution times of the individual statements inside entry points. Only
+     * if this is true, entry points execute statements which measure their own execution times and report them to
+     * {@link #onStatementMeasured(Class, Identifier, int, long, long)}; otherwise statements aren't measured at all.
+     *
+     * @return true if statements should be measured, false otherwise
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean isMeasuringStatements() {
+        return false;
+    }
+
+    /**
+     * Called whenever a statement inside an entry point was executed, if this profiler
+     * {@link #isMeasuringStatements() measures statements}. Statements which contain other statements, like if and
+     * while sections, are measured themselves as well as the statements inside them.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point the statement is in
+     * @param lineNumber the line number of the statement
+     * @param totalTime the time in nanoseconds it took to execute the statement
+     * @param selfTime the time in nanoseconds it took to execute the statement, excluding the time it took to execute
+     *                 the statements inside it
+     * @since 0.1.0
+     */
+    public void onStatementMeasured(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier,
+        int lineNumber, long totalTime, long selfTime) {}
+
     /**
      * Gets the entry associated with the specified entry point.
      *
@@ -47,6 +91,57 @@ public abstract class SkriptProfiler<T> {
     @NotNull
     public abstract Collection<Identifier> getEntryIdentifiers(@NotNull Class<? extends Context> contextType);
 
+    /**
+     * Gets all types of context which have entries associated with them.
+     *
+     * @return the types of context
+     * @since 0.1.0
+     */
+    @NotNull
+    public abstract Collection<Class<? extends Context>> getContextTypes();
+
+    /**
+     * Gets how often the specified entry point has been executed, as far as this profiler can tell.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the amount of executions, or 0 if the entry point has no entry
+     * @since 0.1.0
+     */
+    public abstract long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier);
+
+    /**
+     * Gets the sum of the execution times of the specified entry point, as far as this profiler can tell.
+     *
+     * @param contextType the type of context of the entry point
+     * @param identifier the identifier of the entry point
+     * @return the total execution time in nanoseconds, or 0 if the entry point has no entry
+     * @since 0.1.0
+     */
+    public abstract long getTotalElapsedTime(@NotNull Class<? extends Context> contextType,
+        @NotNull Identifier identifier);
+
+    /**
+     * Gets the sum of the execution times of every entry point of the specified skript with the specified type of
+     * context, as far as this profiler can tell, see {@link #getTotalElapsedTime(Class, Identifier)}.
+     *
+     * @param contextType the type of context of the entry points
+     * @param skript the skript
+     * @return the total execution time in nanoseconds
+     * @since 0.1.0
+     */
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Skript skript) {
+        long totalTime = 0;
+
+        for (Identifier identifier : getEntryIdentifiers(contextType)) {
+            if (identifier.getSkript() == skript) {
+                totalTime += getTotalElapsedTime(contextType, identifier);
+            }
+        }
+
+        return totalTime;
+    }
+
     /**
      * An identifier which is given to each Skript code entry point.
      * Two identifiers are viewed as equal if they both point to the
@@ -67,6 +162,14 @@ public abstract class SkriptProfiler<T> {
          */
         private final int lineNumber;
 
+        /**
+         * The data a profiler keeps for this entry point, or null if no profiler has stored any. Identifiers are
+         * created along with their entry point and are discarded with it, so data kept here doesn't outlive the entry
+         * point.
+         */
+        @Nullable
+        private volatile Object slot;
+
         /**
          * Creates a new instance for the specified entry point.
          *
@@ -79,6 +182,53 @@ public abstract class SkriptProfiler<T> {
             this.lineNumber = lineNumber;
         }
 
+        /**
+         * Gets the container of the entry point
+         *
+         * @return the skript
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public Skript getSkript() {
+            return skript;
+        }
+
+        /**
+         * Gets the location of the entry point
+         *
+         * @return the line number
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * Gets the data a profiler stored for this entry point with {@link #setSlot(Object)}. The slot is shared by all
+         * profilers, so profilers should check whether the data is theirs and fall back to looking up their data
+         * otherwise.
+         *
+         * @return the data, or null if no profiler has stored any
+         * @since 0.1.0
+         */
+        @Nullable
+        @Contract(pure = true)
+        Object getSlot() {
+            return slot;
+        }
+
+        /**
+         * Stores data of a profiler for this entry point, replacing the data stored before, so the profiler can find it
+         * without a lookup, see {@link #getSlot()}
+         *
+         * @param slot the data
+         * @since 0.1.0
+         */
+        void setSlot(@Nullable Object slot) {
+            this.slot = slot;
+        }
 
         @Override
         public boolean equals(Object other) {
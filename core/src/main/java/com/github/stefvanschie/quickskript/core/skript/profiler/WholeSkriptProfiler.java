@@ -39,6 +39,24 @@ public class WholeSkriptProfiler extends SkriptProfiler<WholeSkriptProfiler.Entr
         return entries == null ? Collections.emptySet() : entries.keySet();
     }
 
+    @NotNull
+    @Override
+    public Collection<Class<? extends Context>> getContextTypes() {
+        return storage.keySet();
+    }
+
+    @Override
+    public long getCalledCount(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getTimes().size();
+    }
+
+    @Override
+    public long getTotalElapsedTime(@NotNull Class<? extends Context> contextType, @NotNull Identifier identifier) {
+        Entry entry = getEntry(contextType, identifier);
+        return entry == null ? 0 : entry.getTimes().stream().mapToLong(Long::longValue).sum();
+    }
+
     /**
      * The entry {@link WholeSkriptProfiler} uses.
      */
@@ -0,0 +1,178 @@
+package com.github.stefvanschie.quickskript.core.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * A table of handlers registered for classes, which resolves the handlers of a class once and caches them as an
+ * array. Looking up the handlers of a class it has already seen doesn't allocate or walk the class hierarchy. Handlers
+ * may be registered and looked up from multiple threads at the same time; registering a handler invalidates every
+ * cached array.
+ *
+ * @param <T> the type of handlers
+ * @since 0.1.0
+ */
+public class ClassDispatchTable<T> {
+
+    /**
+     * The handlers registered for each class, in the order they were registered
+     */
+    @NotNull
+    private final Map<Class<?>, List<T>> handlers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates arrays of handlers with the given length
+     */
+    @NotNull
+    private final IntFunction<T[]> arrayCreator;
+
+    /**
+     * True if the handlers of all superclasses apply to a class, false if only the handlers of the closest class with
+     * registered handlers apply
+     */
+    private final boolean inherited;
+
+    /**
+     * The cached handlers of each class that has been looked up. This is replaced as a whole whenever the registered
+     * handlers change, since a {@link ClassValue} can't be cleared.
+     */
+    @NotNull
+    private volatile ClassValue<T[]> table = createTable();
+
+    /**
+     * Creates a new, empty dispatch table
+     *
+     * @param arrayCreator creates arrays of handlers with the given length
+     * @param inherited true if the handlers of all superclasses apply to a class, from the class itself up to
+     * {@link Object}; false if only the handlers of the closest class for which handlers were ever registered apply
+     * @since 0.1.0
+     */
+    public ClassDispatchTable(@NotNull IntFunction<T[]> arrayCreator, boolean inherited) {
+        this.arrayCreator = arrayCreator;
+        this.inherited = inherited;
+    }
+
+    /**
+     * Registers a handler for the given class
+     *
+     * @param clazz the class to register the handler for
+     * @param handler the handler to register
+     * @return true if this is the first time a handler was registered for this class, false otherwise
+     * @since 0.1.0
+     */
+    public boolean add(@NotNull Class<?> clazz, @NotNull T handler) {
+        var added = new boolean[1];
+
+        handlers.computeIfAbsent(clazz, key -> {
+            added[0] = true;
+            return new CopyOnWriteArrayList<>();
+        }).add(handler);
+
+        table = createTable();
+
+        return added[0];
+    }
+
+    /**
+     * Removes all handlers which match the given filter. Classes for which all handlers were removed stay registered.
+     *
+     * @param filter the filter which returns true for handlers that should be removed
+     * @return true if any handler was removed, false otherwise
+     * @since 0.1.0
+     */
+    public boolean removeIf(@NotNull Predicate<? super T> filter) {
+        boolean found = false;
+
+        for (List<T> handlers : this.handlers.values()) {
+            found |= handlers.removeIf(filter);
+        }
+
+        if (found) {
+            table = createTable();
+        }
+
+        return found;
+    }
+
+    /**
+     * Gets the handlers which apply to the given class. The returned array must not be modified.
+     *
+     * @param clazz the class to get the handlers of
+     * @return the handlers
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public T[] get(@NotNull Class<?> clazz) {
+        return table.get(clazz);
+    }
+
+    /**
+     * Gets the handlers which were registered for exactly the given class, without considering its superclasses. The
+     * returned list can't be modified.
+     *
+     * @param clazz the class to get the handlers of
+     * @return the handlers
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public List<T> getDeclared(@NotNull Class<?> clazz) {
+        return Collections.unmodifiableList(handlers.getOrDefault(clazz, Collections.emptyList()));
+    }
+
+    /**
+     * Resolves the handlers which apply to the given class by walking its class hierarchy
+     *
+     * @param clazz the class to resolve the handlers of
+     * @return the handlers
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private T[] resolve(@NotNull Class<?> clazz) {
+        List<T> resolved = new ArrayList<>();
+
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            List<T> handlers = this.handlers.get(current);
+
+            if (handlers == null) {
+                continue;
+            }
+
+            resolved.addAll(handlers);
+
+            if (!inherited) {
+                break;
+            }
+        }
+
+        return resolved.toArray(arrayCreator.apply(0));
+    }
+
+    /**
+     * Creates a new table which resolves the handlers of each class the first time it is looked up
+     *
+     * @return the new table
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    private ClassValue<T[]> createTable() {
+        return new ClassValue<>() {
+            @Override
+            protected T[] computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+}
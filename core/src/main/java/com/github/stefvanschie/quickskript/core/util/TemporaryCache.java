@@ -4,11 +4,11 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * A cache for storing objects
+ * A cache for storing objects. The cache may be accessed from multiple threads at the same time.
  *
  * @since 0.1.0
  */
@@ -17,7 +17,7 @@ public class TemporaryCache {
     /**
      * A map which stores all objects with an identifier
      */
-    private static final Map<String, Object> CACHE = new HashMap<>();
+    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
 
     /**
      * Adds a key value pair to the cache
@@ -143,6 +143,12 @@ public class TypeRegistry implements Registry<TypeRegistry.Entry> {
         @NotNull
         private final Collection<String> names;
 
+        /**
+         * The name which identifies this entry, which is the first of the names in alphabetical order
+         */
+        @NotNull
+        private final String name;
+
         /**
          * The parent type, if it exists.
          */
@@ -159,9 +165,23 @@ public class TypeRegistry implements Registry<TypeRegistry.Entry> {
          */
         public Entry(@NotNull SkriptPattern pattern, @NotNull Entry... parents) {
             this.names = pattern.unrollFully();
+            this.name = Collections.min(this.names);
             this.parents = parents;
         }
 
+        /**
+         * Gets the name which identifies this entry. This is one of the names this entry can be found by and is the
+         * same every time this entry is created.
+         *
+         * @return the name
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        public String getName() {
+            return this.name;
+        }
+
         /**
          * Gets the parent type, or null if this type does not have a parent.
          *
@@ -0,0 +1,92 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import com.github.stefvanschie.quickskript.core.SkriptPatternConverter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.converter.ConvertWith;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.FieldSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+class CompiledSkriptPatternTest {
+
+    /**
+     * A collection containing skript patterns and inputs for which the compiled pattern should produce the same results
+     */
+    private static final Collection<Arguments> PATTERNS = new HashSet<>();
+
+    @BeforeAll
+    static void init() {
+        String[] inputs = {"", " ", "x", "y", "xy", "x y", "x  y", "x y z", "xyz", "w x [z]", "1 + 2 * 3", "a c", "c"};
+
+        PATTERNS.add(Arguments.of("x", inputs));
+        PATTERNS.add(Arguments.of("x [y]", inputs));
+        PATTERNS.add(Arguments.of("[x] [y]", inputs));
+        PATTERNS.add(Arguments.of("x [y|z]", inputs));
+        PATTERNS.add(Arguments.of("(w|x) (y|z)", inputs));
+        PATTERNS.add(Arguments.of("(x|) y", inputs));
+        PATTERNS.add(Arguments.of("([x]|y) [z]", inputs));
+        PATTERNS.add(Arguments.of("[1¦w|2¦x][3¦y|4¦z]", inputs));
+        PATTERNS.add(Arguments.of("%object% [y]", inputs));
+        PATTERNS.add(Arguments.of("%object% %object%", inputs));
+        PATTERNS.add(Arguments.of("%number% (+|-|*) %number%", inputs));
+        PATTERNS.add(Arguments.of("<.+> <\\d*>", inputs));
+        //noinspection HardcodedFileSeparator
+        PATTERNS.add(Arguments.of("%object% (x|y) \\[<.+>\\]", inputs));
+        PATTERNS.add(Arguments.of("[%*object%] input", inputs));
+        PATTERNS.add(Arguments.of("([a]|[b]) c", inputs));
+        PATTERNS.add(Arguments.of("(x [y]|[w] [x]) [y] z", inputs));
+        PATTERNS.add(Arguments.of("[(x|[w] x) [y]] [z]", inputs));
+        PATTERNS.add(Arguments.of("x ([y] (z|[y])|%object%) z", inputs));
+    }
+
+    @ParameterizedTest
+    @FieldSource("PATTERNS")
+    void testSameResults(@ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern, String[] inputs) {
+        for (String input : inputs) {
+            List<SkriptMatchResult> expected = new ArrayList<>(pattern.match(input));
+
+            assertResultsEqual(expected, pattern.compile().match(input));
+
+            expected.removeIf(SkriptMatchResult::hasUnmatchedParts);
+
+            assertResultsEqual(expected, pattern.compile().matchFully(input));
+        }
+    }
+
+    @Test
+    void testNestedBacktracking() {
+        CompiledSkriptPattern pattern = SkriptPattern.parse("(x|" + "[a]".repeat(40) + ") b").compile();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertTrue(pattern.matchFully("a".repeat(20) + " b c").isEmpty());
+            assertEquals(1, pattern.matchFully("x b").size());
+        });
+    }
+
+    private static void assertResultsEqual(List<SkriptMatchResult> expected, List<SkriptMatchResult> actual) {
+        assertEquals(expected.size(), actual.size());
+
+        for (int index = 0; index < expected.size(); index++) {
+            SkriptMatchResult expectedResult = expected.get(index);
+            SkriptMatchResult actualResult = actual.get(index);
+
+            assertEquals(expectedResult.getMatchedGroups(), actualResult.getMatchedGroups());
+            assertEquals(expectedResult.getParseMark(), actualResult.getParseMark());
+            assertEquals(expectedResult.getRestingString(), actualResult.getRestingString());
+        }
+    }
+}
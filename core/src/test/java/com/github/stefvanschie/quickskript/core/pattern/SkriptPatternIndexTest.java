@@ -0,0 +1,88 @@
+package com.github.stefvanschie.quickskript.core.pattern;
+
+import com.github.stefvanschie.quickskript.core.SkriptPatternConverter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.converter.ConvertWith;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.FieldSource;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Execution(ExecutionMode.CONCURRENT)
+class SkriptPatternIndexTest {
+
+    /**
+     * A collection containing skript patterns and inputs for which the pattern should be a candidate
+     */
+    private static final Collection<Arguments> CANDIDATE_PATTERNS = new HashSet<>();
+
+    /**
+     * A collection containing skript patterns and inputs for which the pattern shouldn't be a candidate
+     */
+    private static final Collection<Arguments> NON_CANDIDATE_PATTERNS = new HashSet<>();
+
+    @BeforeAll
+    static void init() {
+        //candidates
+        CANDIDATE_PATTERNS.add(Arguments.of("set %objects% to %objects%", new String[] {
+            "set x to y", "xsetx"
+        }));
+        CANDIDATE_PATTERNS.add(Arguments.of("hash[ed] with MD5", new String[] {
+            "hash x with MD5", "hashed with MD5", "hash with"
+        }));
+        CANDIDATE_PATTERNS.add(Arguments.of("(x|y) %object%", new String[] {
+            "x z", "y z", "z x"
+        }));
+        CANDIDATE_PATTERNS.add(Arguments.of("([x]|y) %object%", new String[] {
+            "z", ""
+        }));
+        CANDIDATE_PATTERNS.add(Arguments.of("[x] %object%", new String[] {
+            "z", ""
+        }));
+        CANDIDATE_PATTERNS.add(Arguments.of("%object%", new String[] {
+            "z", ""
+        }));
+
+        //non-candidates
+        NON_CANDIDATE_PATTERNS.add(Arguments.of("set %objects% to %objects%", new String[] {
+            "", "se x to y", "SET x to y"
+        }));
+        NON_CANDIDATE_PATTERNS.add(Arguments.of("hash[ed] with MD5", new String[] {
+            "has x with MD5", "with MD5"
+        }));
+        NON_CANDIDATE_PATTERNS.add(Arguments.of("(x|y) %object%", new String[] {
+            "z", ""
+        }));
+    }
+
+    @ParameterizedTest
+    @FieldSource("CANDIDATE_PATTERNS")
+    void testCandidates(@ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern, String[] inputs) {
+        var index = new SkriptPatternIndex<SkriptPattern>();
+        index.add(pattern, pattern);
+
+        for (String input : inputs) {
+            assertTrue(index.getCandidates(input).contains(pattern));
+        }
+    }
+
+    @ParameterizedTest
+    @FieldSource("NON_CANDIDATE_PATTERNS")
+    void testNonCandidates(@ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern, String[] inputs) {
+        var index = new SkriptPatternIndex<SkriptPattern>();
+        index.add(pattern, pattern);
+
+        for (String input : inputs) {
+            assertFalse(index.getCandidates(input).contains(pattern));
+            assertTrue(pattern.match(input).stream().allMatch(SkriptMatchResult::hasUnmatchedParts));
+        }
+    }
+}
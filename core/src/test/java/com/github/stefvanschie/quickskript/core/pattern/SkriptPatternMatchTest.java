@@ -282,4 +282,42 @@ class SkriptPatternMatchTest {
     void testParseMarks(@ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern, String input, int parseMark) {
         assertTrue(pattern.match(input).stream().anyMatch(match -> match.getParseMark() == parseMark));
     }
+
+    @ParameterizedTest
+    @FieldSource("CORRECT_PATTERNS")
+    void testCompiledCorrectPatternMatching(
+        @ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern,
+        String[] correct
+    ) {
+        CompiledSkriptPattern compiled = pattern.compile();
+
+        for (String string : correct) {
+            assertTrue(compiled.match(string).stream().anyMatch(match -> !match.hasUnmatchedParts()));
+            assertFalse(compiled.matchFully(string).isEmpty());
+        }
+    }
+
+    @ParameterizedTest
+    @FieldSource("INCORRECT_PATTERNS")
+    void testCompiledFailingPatternMatching(
+        @ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern,
+        String[] correct
+    ) {
+        CompiledSkriptPattern compiled = pattern.compile();
+
+        for (String string : correct) {
+            assertTrue(compiled.match(string).stream().allMatch(SkriptMatchResult::hasUnmatchedParts));
+            assertTrue(compiled.matchFully(string).isEmpty());
+        }
+    }
+
+    @ParameterizedTest
+    @FieldSource("PARSE_MARKS_PATTERNS")
+    void testCompiledParseMarks(
+        @ConvertWith(SkriptPatternConverter.class) SkriptPattern pattern,
+        String input,
+        int parseMark
+    ) {
+        assertTrue(pattern.compile().matchFully(input).stream().anyMatch(match -> match.getParseMark() == parseMark));
+    }
 }
@@ -0,0 +1,243 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionBudgetExceededException;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.expression.PsiArithmeticExpression;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiWhile;
+import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import com.github.stefvanschie.quickskript.core.psi.util.compiler.CompiledTrigger;
+import com.github.stefvanschie.quickskript.core.psi.util.compiler.TriggerCompiler;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.SimpleInstructionPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether compiled elements behave the same as interpreted ones.
+ */
+class PsiCompilationTest extends TestClassBase {
+
+    @Test
+    void testArithmetic() {
+        var factory = new PsiArithmeticExpression.Factory();
+        List<String> executed = new ArrayList<>();
+        var left = new Dynamic<>(() -> executed.add("left") ? 6.0 : 0);
+        var right = new Dynamic<>(() -> executed.add("right") ? 4 : 0);
+
+        List<PsiArithmeticExpression> expressions = List.of(
+            factory.parseAddition(left, right, -1),
+            factory.parseSubtraction(left, right, -1),
+            factory.parseMultiplication(left, factory.parseDivision(left, right, -1), -1),
+            factory.parseExponentiation(left, right, -1),
+            factory.parseAddition(new PsiPrecomputedHolder<>(1, -1), new PsiPrecomputedHolder<>(2, -1), -1)
+        );
+
+        assertNull(compile(expressions.toArray(PsiElement<?>[]::new)).execute(null, null));
+        assertEquals(List.of("left", "right", "left", "right", "left", "left", "right", "left", "right"), executed);
+
+        PsiArithmeticExpression invalid = factory.parseAddition(left, new Dynamic<>(() -> "text"), -1);
+        CompiledTrigger compiled = compile(new PsiElement<?>[] {invalid});
+
+        assertEquals(
+            assertThrows(ExecutionException.class, () -> invalid.execute(null, null)).getMessage(),
+            assertThrows(ExecutionException.class, () -> compiled.execute(null, null)).getMessage()
+        );
+    }
+
+    @Test
+    void testIf() {
+        var counter = new Counter();
+        var condition = new Dynamic<>(() -> counter.count < 2);
+        var exit = new Dynamic<>(() ->
+            new ExitSectionsPointerMovement(ExitSectionsPointerMovement.Type.CONDITIONALS, 1));
+        var psiIf = new PsiIf(new PsiElement<?>[] {counter, counter, exit, counter}, condition, -1);
+        var otherwise = new Counter();
+
+        psiIf.setElseSection(new PsiIf(new PsiElement<?>[] {otherwise}, condition, -1));
+
+        CompiledTrigger compiled = compile(new PsiElement<?>[] {psiIf, counter});
+
+        assertNull(compiled.execute(null, null));
+        assertEquals(3, counter.count);
+        assertEquals(0, otherwise.count);
+        assertNull(compiled.execute(null, null));
+        assertEquals(4, counter.count);
+        assertEquals(1, otherwise.count);
+
+        var exitAll = new Dynamic<>(() -> new ExitSectionsPointerMovement(ExitSectionsPointerMovement.Type.EVERYTHING));
+        Object result = compile(new PsiElement<?>[] {new PsiIf(new PsiElement<?>[] {exitAll}, new Dynamic<>(() -> true),
+            -1), counter}).execute(null, null);
+
+        assertInstanceOf(ExitSectionsPointerMovement.class, result);
+        assertNull(((ExitSectionsPointerMovement) result).getAmount());
+        assertEquals(4, counter.count);
+
+        var exitLoop = new Dynamic<>(() -> new ExitSectionsPointerMovement(ExitSectionsPointerMovement.Type.LOOPS));
+
+        assertThrows(ExecutionException.class, () -> compile(new PsiElement<?>[] {
+            new PsiIf(new PsiElement<?>[] {exitLoop}, new Dynamic<>(() -> true), -1)
+        }).execute(null, null));
+        assertThrows(ExecutionException.class, () -> compile(new PsiElement<?>[] {
+            new PsiIf(new PsiElement<?>[0], new Dynamic<>(() -> 1), -1)
+        }).execute(null, null));
+    }
+
+    @Test
+    void testWhile() throws ReflectiveOperationException {
+        var counter = new Counter();
+        var skip = new Dynamic<>(() -> counter.count % 2 == 0 ? SimpleInstructionPointerMovement.Loop.CONTINUE : null);
+        var condition = new Dynamic<>(() -> counter.count < 10);
+        var after = new Counter();
+
+        assertNull(compile(new PsiElement<?>[] {createWhile(new PsiElement<?>[] {counter, skip, counter}, condition),
+            after}).execute(null, null));
+        assertEquals(10, counter.count);
+        assertEquals(1, after.count);
+
+        counter.count = 0;
+
+        var exit = new Dynamic<>(() -> counter.count == 3
+            ? new ExitSectionsPointerMovement(ExitSectionsPointerMovement.Type.EVERYTHING, 2)
+            : null);
+        Object result = compile(new PsiElement<?>[] {createWhile(new PsiElement<?>[] {counter, exit}, condition),
+            after}).execute(null, null);
+
+        assertEquals(3, counter.count);
+        assertEquals(1, after.count);
+        assertInstanceOf(ExitSectionsPointerMovement.class, result);
+        assertEquals(1, ((ExitSectionsPointerMovement) result).getAmount());
+    }
+
+    @Test
+    void testBudget() throws ReflectiveOperationException {
+        var counter = new Counter();
+        PsiElement<?>[] elements = {createWhile(new PsiElement<?>[] {counter}, new Dynamic<>(() -> counter.count < 3))};
+        ExecutionFrame frame = ExecutionFrame.enter();
+
+        try {
+            frame.startBudget(FileSkript.load("budget", List.of()), 1);
+
+            assertNull(TriggerCompiler.compile(elements, false).execute(null, null));
+            assertEquals(3, counter.count);
+
+            counter.count = 0;
+
+            assertThrows(ExecutionBudgetExceededException.class,
+                () -> TriggerCompiler.compile(elements, true).execute(null, null));
+            assertEquals(0, counter.count);
+        } finally {
+            frame.endBudget();
+            frame.exit();
+        }
+    }
+
+    @Test
+    void testFalse() {
+        var counter = new Counter();
+
+        assertNull(compile(new PsiElement<?>[] {counter, new Dynamic<>(() -> false), counter}).execute(null, null));
+        assertEquals(1, counter.count);
+    }
+
+    @Test
+    void testTiered() {
+        FileSkript skript = FileSkript.load("compilation", List.of(
+            "on command:",
+            "    if 1 + 2 is 3:",
+            "        stop"
+        ));
+        var section = new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+        var environment = new SkriptRunEnvironment();
+
+        assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(environment, null));
+        assertFalse(section.isCompiled());
+
+        environment.setCompileThreshold(2);
+
+        assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(environment, null));
+        assertFalse(section.isCompiled());
+        assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(environment, null));
+        assertTrue(section.isCompiled());
+        assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(environment, null));
+
+        assertThrows(IllegalArgumentException.class, () -> environment.setCompileThreshold(-1));
+    }
+
+    @NotNull
+    private static CompiledTrigger compile(@NotNull PsiElement<?>[] elements) {
+        CompiledTrigger compiled = TriggerCompiler.compile(elements, true);
+
+        assertNotNull(compiled);
+
+        return compiled;
+    }
+
+    @NotNull
+    private static PsiWhile createWhile(@NotNull PsiElement<?>[] elements, @NotNull PsiElement<?> condition)
+        throws ReflectiveOperationException {
+        Constructor<PsiWhile> constructor = PsiWhile.class.getDeclaredConstructor(PsiElement[].class,
+            PsiElement.class, int.class);
+
+        constructor.setAccessible(true);
+
+        return constructor.newInstance(elements, condition, -1);
+    }
+
+    /**
+     * An element which is never pre computed and returns the value of a supplier.
+     */
+    private static class Dynamic<T> extends PsiElement<T> {
+
+        private final Supplier<T> supplier;
+
+        private Dynamic(@NotNull Supplier<T> supplier) {
+            super(-1);
+
+            this.supplier = supplier;
+        }
+
+        @Nullable
+        @Override
+        protected T executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+            return supplier.get();
+        }
+    }
+
+    /**
+     * An element which counts the amount of times it was executed.
+     */
+    private static class Counter extends PsiElement<Void> {
+
+        private int count;
+
+        private Counter() {
+            super(-1);
+        }
+
+        @Nullable
+        @Override
+        protected Void executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+            count++;
+            return null;
+        }
+    }
+}
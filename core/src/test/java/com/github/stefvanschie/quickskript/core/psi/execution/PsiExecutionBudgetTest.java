@@ -0,0 +1,115 @@
+package com.github.stefvanschie.quickskript.core.psi.execution;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionBudgetExceededException;
+import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests whether triggers which run for too long are aborted and eventually disabled.
+ */
+class PsiExecutionBudgetTest extends TestClassBase {
+
+    @Test
+    void testInterpreted() {
+        PsiBaseSection section = parseInfiniteLoop();
+        var environment = new SkriptRunEnvironment();
+
+        environment.setExecutionBudget(TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            ExecutionException exception = assertThrows(ExecutionBudgetExceededException.class,
+                () -> section.execute(environment, null));
+
+            assertTrue(exception.getMessage().contains("Skript name: budget"));
+            assertTrue(exception.getMessage().contains("Line number: 2"));
+            assertNull(ExecutionFrame.current());
+        });
+
+        assertFalse(section.isCompiled());
+        assertFalse(section.isDisabled());
+    }
+
+    @Test
+    void testCompiled() {
+        PsiBaseSection section = parseInfiniteLoop();
+        var environment = new SkriptRunEnvironment();
+
+        environment.setCompileThreshold(1);
+        environment.setExecutionBudget(TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> assertThrows(ExecutionBudgetExceededException.class, () -> section.execute(environment, null)));
+        assertTrue(section.isCompiled());
+    }
+
+    @Test
+    void testDisabled() {
+        PsiBaseSection section = parseInfiniteLoop();
+        var environment = new SkriptRunEnvironment();
+
+        environment.setExecutionBudget(TimeUnit.MILLISECONDS.toNanos(20));
+        environment.setBudgetViolationLimit(2);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(ExecutionBudgetExceededException.class, () -> section.execute(environment, null));
+            assertFalse(section.isDisabled());
+
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> section.execute(environment, null));
+
+            assertInstanceOf(ExecutionBudgetExceededException.class, exception.getCause());
+            assertTrue(section.isDisabled());
+            assertNull(section.execute(environment, null));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> environment.setExecutionBudget(-1));
+        assertThrows(IllegalArgumentException.class, () -> environment.setBudgetViolationLimit(-1));
+    }
+
+    @Test
+    void testWithinBudget() {
+        FileSkript skript = FileSkript.load("budget", List.of(
+            "on command:",
+            "    if 1 + 2 is 3:",
+            "        stop"
+        ));
+        var section = new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+        var environment = new SkriptRunEnvironment();
+
+        environment.setExecutionBudget(TimeUnit.SECONDS.toNanos(10));
+
+        ExecutionFrame frame = ExecutionFrame.enter();
+
+        try {
+            assertNotNull(section.execute(environment, null));
+            assertFalse(frame.hasBudget());
+        } finally {
+            frame.exit();
+        }
+    }
+
+    private PsiBaseSection parseInfiniteLoop() {
+        FileSkript skript = FileSkript.load("budget", List.of(
+            "on command:",
+            "    while 1 is 1:",
+            "        1 + 2 is 3"
+        ));
+
+        return new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+    }
+}
@@ -137,7 +137,13 @@ class PsiNumberExecutabilityTest extends TestClassBase {
             RunContext context = new RunContext(supplier);
             PsiElement<Number> result = next(context);
             assertEquals(precomputed, result.isPreComputed());
-            result.execute(null, null, Number.class);
+            Number number = result.execute(null, null, Number.class);
+
+            if (precomputed) {
+                assertEquals(number.doubleValue(), result.executeDouble(null, null));
+            } else {
+                result.executeDouble(null, null);
+            }
         } catch (ExecutionException e) {
             System.out.println("Acceptable exception was thrown");
         }
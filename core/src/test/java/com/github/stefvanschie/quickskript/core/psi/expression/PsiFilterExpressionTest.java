@@ -0,0 +1,56 @@
+package com.github.stefvanschie.quickskript.core.psi.expression;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PsiFilterExpressionTest {
+
+    @Test
+    void test() throws Exception {
+        var skriptLoader = new StandaloneSkriptLoader();
+        PsiElement<?> psiElement = new PsiFilterExpression.Factory().create(
+            skriptLoader.forceParseElement("1, 2, 3, 4", -1),
+            skriptLoader.forceParseElement("input is 2", -1),
+            -1
+        );
+
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+
+        for (int task = 0; task < 8; task++) {
+            tasks.add(() -> {
+                for (int execution = 0; execution < 1000; execution++) {
+                    List<?> list = (List<?>) psiElement.execute(null, null);
+
+                    if (list.size() != 1 || ((Number) list.get(0)).intValue() != 2) {
+                        return false;
+                    }
+                }
+
+                return true;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertNull(ExecutionFrame.current());
+    }
+}
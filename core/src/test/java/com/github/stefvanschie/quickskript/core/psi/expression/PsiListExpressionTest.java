@@ -4,8 +4,10 @@ import com.github.stefvanschie.quickskript.core.psi.PsiElement;
 import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.StringJoiner;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +35,46 @@ class PsiListExpressionTest {
 
         assertFalse(numbers.hasNext());
     }
+
+    @Test
+    void testConnective() {
+        var skriptLoader = new StandaloneSkriptLoader();
+
+        PsiElement<?> disjunction = skriptLoader.tryParseElement("1, 2, or 3", -1);
+        PsiElement<?> conjunction = skriptLoader.tryParseElement("1, 2, and (3)", -1);
+
+        assertInstanceOf(PsiListExpression.class, disjunction);
+        assertInstanceOf(PsiListExpression.class, conjunction);
+        assertEquals(3, disjunction.executeMulti(null, null).getSize());
+        assertEquals(3, conjunction.executeMulti(null, null).getSize());
+        assertTrue(disjunction.executeMulti(null, null).test(number -> ((Number) number).intValue() == 3));
+        assertFalse(conjunction.executeMulti(null, null).test(number -> ((Number) number).intValue() == 3));
+    }
+
+    @Test
+    void testLongLists() {
+        var skriptLoader = new StandaloneSkriptLoader();
+        var numbers = new StringJoiner(", ");
+
+        for (int number = 0; number < 200; number++) {
+            numbers.add(String.valueOf(number));
+        }
+
+        PsiElement<?> list = assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> skriptLoader.tryParseElement(numbers.toString(), -1));
+
+        assertInstanceOf(PsiListExpression.class, list);
+        assertEquals(200, list.executeMulti(null, null).getSize());
+
+        var invalid = new StringJoiner(", ");
+
+        for (int number = 0; number < 25; number++) {
+            invalid.add(String.valueOf(number));
+        }
+
+        invalid.add(")");
+
+        assertNull(assertTimeoutPreemptively(Duration.ofSeconds(30),
+            () -> skriptLoader.tryParseElement(invalid.toString(), -1)));
+    }
 }
@@ -0,0 +1,109 @@
+package com.github.stefvanschie.quickskript.core.psi.expression;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.psi.PsiConverter;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.literal.PsiNumberLiteral;
+import com.github.stefvanschie.quickskript.core.psi.literal.PsiStringLiteral;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PsiParseExpressionTest {
+
+    @Test
+    void test() {
+        var skriptLoader = new StandaloneSkriptLoader();
+
+        assertEquals(12.5, skriptLoader.forceParseElement("\"12.5\" parsed as number", -1).execute(null, null));
+        assertEquals("7", skriptLoader.forceParseElement("\"7\" parsed as text", -1).execute(null, null));
+    }
+
+    @Test
+    void testCache() {
+        var converter = new CountingConverter(true);
+        var text = new Text("1");
+        PsiElement<?> expression = new PsiParseExpression.Factory().create(text, converter, -1);
+
+        assertEquals(1.0, expression.execute(null, null));
+        assertEquals(1.0, expression.execute(null, null));
+        assertEquals(1, converter.count);
+
+        text.value = "2";
+
+        assertEquals(2.0, expression.execute(null, null));
+        assertEquals(2, converter.count);
+
+        text.value = "1";
+
+        assertEquals(1.0, expression.execute(null, null));
+        assertEquals(2, converter.count);
+
+        for (int number = 0; number < 100; number++) {
+            text.value = String.valueOf(number);
+
+            assertEquals((double) number, expression.execute(null, null));
+        }
+
+        assertTrue(converter.count <= 102);
+    }
+
+    @Test
+    void testUncacheable() {
+        var converter = new CountingConverter(false);
+        PsiElement<?> expression = new PsiParseExpression.Factory().create(new Text("3"), converter, -1);
+
+        assertEquals(3.0, expression.execute(null, null));
+        assertEquals(3.0, expression.execute(null, null));
+        assertEquals(2, converter.count);
+        assertEquals("3", new PsiStringLiteral.Converter().convertValue(3, null, null, -1));
+    }
+
+    private static class Text extends PsiElement<String> {
+
+        private String value;
+
+        private Text(@NotNull String value) {
+            super(-1);
+
+            this.value = value;
+        }
+
+        @NotNull
+        @Override
+        protected String executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
+            return value;
+        }
+    }
+
+    /**
+     * A converter which counts the amount of values it converted.
+     */
+    private static class CountingConverter implements PsiConverter<PsiNumberLiteral> {
+
+        private final boolean cacheable;
+
+        private int count;
+
+        private CountingConverter(boolean cacheable) {
+            this.cacheable = cacheable;
+        }
+
+        @Nullable
+        @Override
+        public PsiNumberLiteral convert(@NotNull Object object, int lineNumber) {
+            count++;
+
+            return new PsiNumberLiteral.Converter().convert(object, lineNumber);
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return cacheable;
+        }
+    }
+}
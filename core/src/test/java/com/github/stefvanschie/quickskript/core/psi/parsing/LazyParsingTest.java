@@ -0,0 +1,138 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.section.LazyBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A test which asserts that entry points are parsed at the right moment when parsing lazily or eagerly.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LazyParsingTest {
+
+    private static final FileSkript SKRIPT = FileSkript.load("lazy", List.of(
+        "on command:",
+        "    message \"valid\" to the console",
+        "",
+        "on command:",
+        "    this is not valid skript code"
+    ));
+
+    private SkriptLoader eagerLoader;
+
+    private SkriptLoader lazyLoader;
+
+    @BeforeAll
+    void initialize() {
+        eagerLoader = new StandaloneSkriptLoader();
+        lazyLoader = new StandaloneSkriptLoader();
+        lazyLoader.setLazyParsing(true);
+    }
+
+    @Test
+    void testEager() {
+        LazyBaseSection baseSection = eagerLoader.createBaseSection(SKRIPT, getSection(0), EventContext.class);
+
+        assertTrue(baseSection.isParsed());
+        assertNotNull(baseSection.get());
+        assertThrows(ParseException.class,
+            () -> eagerLoader.createBaseSection(SKRIPT, getSection(1), EventContext.class));
+    }
+
+    @Test
+    void testLazy() {
+        LazyBaseSection valid = lazyLoader.createBaseSection(SKRIPT, getSection(0), EventContext.class);
+        LazyBaseSection invalid = lazyLoader.createBaseSection(SKRIPT, getSection(1), EventContext.class);
+
+        assertFalse(valid.isParsed());
+        assertFalse(invalid.isParsed());
+
+        assertNotNull(valid.get());
+        assertSame(valid.get(), valid.get());
+        assertTrue(valid.isParsed());
+
+        assertThrows(ParseException.class, invalid::get);
+        assertNull(invalid.get());
+        assertTrue(invalid.isParsed());
+    }
+
+    @Test
+    void testPending() {
+        LazyBaseSection valid = lazyLoader.createBaseSection(SKRIPT, getSection(0), EventContext.class);
+        LazyBaseSection invalid = lazyLoader.createBaseSection(SKRIPT, getSection(1), EventContext.class);
+        List<ParseException> errors = new ArrayList<>();
+
+        lazyLoader.parsePendingBaseSections(errors::add);
+
+        assertTrue(valid.isParsed());
+        assertTrue(invalid.isParsed());
+        assertEquals(1, errors.size());
+        assertNotNull(valid.get());
+        assertNull(invalid.get());
+    }
+
+    @Test
+    void testPendingPurged() {
+        SkriptLoader loader = new StandaloneSkriptLoader();
+        loader.setLazyParsing(true);
+
+        for (int index = 0; index < 1000; index++) {
+            loader.createBaseSection(SKRIPT, getSection(0), EventContext.class).get();
+        }
+
+        assertTrue(loader.getPendingBaseSectionCount() < 100);
+
+        LazyBaseSection pending = loader.createBaseSection(SKRIPT, getSection(0), EventContext.class);
+
+        loader.parsePendingBaseSections(exception -> fail());
+
+        assertTrue(pending.isParsed());
+        assertEquals(0, loader.getPendingBaseSectionCount());
+    }
+
+    @Test
+    void testPendingWrongThread() throws InterruptedException {
+        Thread mainThread = Thread.currentThread();
+        var loader = new StandaloneSkriptLoader() {
+            @Override
+            protected boolean canParseOnCurrentThread(@NotNull PsiGenericElementFactory factory) {
+                return Thread.currentThread() == mainThread;
+            }
+        };
+        loader.setLazyParsing(true);
+
+        LazyBaseSection pending = loader.createBaseSection(SKRIPT, getSection(0), EventContext.class);
+        var skipped = new AtomicInteger();
+        var thread = new Thread(() -> skipped.set(loader.parsePendingBaseSections(exception -> fail())));
+
+        thread.start();
+        thread.join();
+
+        assertEquals(1, skipped.get());
+        assertFalse(pending.isParsed());
+        assertEquals(1, loader.getPendingBaseSectionCount());
+
+        assertEquals(0, loader.parsePendingBaseSections(exception -> fail()));
+        assertTrue(pending.isParsed());
+        assertNotNull(pending.get());
+    }
+
+    private static SkriptFileSection getSection(int index) {
+        return (SkriptFileSection) SKRIPT.getNodes().get(index);
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A test which tests whether nested expressions, in which the same text is parsed many times, are parsed correctly.
+ */
+class PsiNestedParseTest extends TestClassBase {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "1 + 1",
+        "2 * 2 * 2",
+        "1 + 2 * 3 - 4",
+        "1 + 2 + 3 + 4 + 5 + 6",
+        "1 + 2 * 3 - 4 / 5 + 6 * 7 - 8"
+    })
+    void test(String input) {
+        PsiElement<?> first = getSkriptLoader().forceParseElement(input, -1);
+        PsiElement<?> second = getSkriptLoader().forceParseElement(input, -1);
+
+        assertNotSame(first, second);
+        assertNull(first.getParent());
+        assertNull(second.getParent());
+        assertEquals(first.getClass(), second.getClass());
+    }
+}
@@ -4,14 +4,21 @@ import com.github.stefvanschie.quickskript.core.TestClassBase;
 import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileLine;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileNode;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.ScriptManager;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A test which asserts that all specified skript files
@@ -35,6 +42,55 @@ class SkriptFileParseTest extends TestClassBase {
         });
     }
 
+    @Test
+    void testParallelValidSamples() throws Exception {
+        var manager = new ScriptManager(getSkriptLoader());
+        List<FileSkript> loaded = new ArrayList<>();
+        List<FileSkript> skripts = manager.loadScripts(List.of(
+            getSkriptPath("Basic-sections"),
+            getSkriptPath("Dynamic-indentation"),
+            getSkriptPath("Simple-with-comments")
+        ), loaded::add, (path, exception) -> Assertions.fail(exception));
+
+        Assertions.assertEquals(skripts, loaded);
+        Assertions.assertEquals(List.of("Basic-sections", "Dynamic-indentation", "Simple-with-comments"),
+            skripts.stream().map(FileSkript::getName).toList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Invalid-command", "Invalid-content"})
+    void testParallelInvalidSamples(String file) throws Exception {
+        var manager = new ScriptManager(getSkriptLoader());
+        Path invalidPath = getSkriptPath(file);
+        Path missingPath = invalidPath.resolveSibling("Missing.sk");
+        Map<Path, Exception> errors = new HashMap<>();
+        List<FileSkript> skripts = manager.loadScripts(List.of(getSkriptPath("Basic-sections"), missingPath,
+            invalidPath), skript -> {}, errors::put);
+
+        Assertions.assertEquals(List.of("Basic-sections"), skripts.stream().map(FileSkript::getName).toList());
+        Assertions.assertEquals(Set.of(invalidPath, missingPath), errors.keySet());
+        Assertions.assertInstanceOf(ParseException.class, errors.get(invalidPath));
+        Assertions.assertInstanceOf(IOException.class, errors.get(missingPath));
+    }
+
+    @Test
+    void testParallelThreadConfinedFactories() throws Exception {
+        Thread loadingThread = Thread.currentThread();
+        var loader = new StandaloneSkriptLoader() {
+            @Override
+            protected boolean canParseOnCurrentThread(@NotNull PsiGenericElementFactory factory) {
+                return Thread.currentThread() == loadingThread;
+            }
+        };
+        var manager = new ScriptManager(loader);
+        List<FileSkript> skripts = manager.loadScripts(List.of(getSkriptPath("Simple-with-comments")), skript -> {},
+            (path, exception) -> Assertions.fail(exception));
+
+        Assertions.assertEquals(1, skripts.size());
+        Assertions.assertThrows(WrongThreadException.class, () -> ForkJoinPool.commonPool().submit(() ->
+            loader.forceParseElement("1 + 2", -1)).join());
+    }
+
     @Test
     void testTabCharacterHandling() {
         String tabReplacement = "    ";
@@ -55,4 +111,9 @@ class SkriptFileParseTest extends TestClassBase {
             Assertions.assertEquals(expected.get(i), node.getText());
         }
     }
+
+    private Path getSkriptPath(String filename) throws URISyntaxException {
+        //noinspection ConstantConditions
+        return Path.of(getClass().getClassLoader().getResource("sample-skript-files/" + filename + ".sk").toURI());
+    }
 }
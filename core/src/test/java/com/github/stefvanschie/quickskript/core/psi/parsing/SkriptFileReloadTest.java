@@ -0,0 +1,178 @@
+package com.github.stefvanschie.quickskript.core.psi.parsing;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileNode;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.ScriptManager;
+import com.github.stefvanschie.quickskript.core.skript.ScriptReloadResult;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A test which asserts that reloading a skript file only replaces the sections that changed.
+ */
+class SkriptFileReloadTest extends TestClassBase {
+
+    private static final List<String> ORIGINAL = List.of(
+        "on command:",
+        "    message \"first\" to the console",
+        "",
+        "command /test:",
+        "    trigger:",
+        "        message \"test\" to the console",
+        "",
+        "on command:",
+        "    message \"second\" to the console"
+    );
+
+    @Test
+    void testUnchanged() {
+        FileSkript skript = FileSkript.load("reload", ORIGINAL);
+        skript.registerAll(getSkriptLoader());
+
+        List<SkriptFileNode> nodes = skript.getNodes();
+
+        assertEquals(0, skript.reload(getSkriptLoader(), FileSkript.load("reload", ORIGINAL)));
+        assertIterableEquals(nodes, skript.getNodes());
+    }
+
+    @Test
+    void testChanged() {
+        FileSkript skript = FileSkript.load("reload", ORIGINAL);
+        skript.registerAll(getSkriptLoader());
+
+        List<SkriptFileNode> nodes = skript.getNodes();
+
+        assertEquals(1, skript.reload(getSkriptLoader(), FileSkript.load("reload", List.of(
+            "on command:",
+            "    message \"first\" to the console",
+            "",
+            "command /test:",
+            "    trigger:",
+            "        message \"test\" to the console",
+            "",
+            "",
+            "on command:",
+            "    message \"second\" to the console"
+        ))));
+
+        List<SkriptFileNode> reloadedNodes = skript.getNodes();
+
+        assertEquals(3, reloadedNodes.size());
+        assertSame(nodes.get(0), reloadedNodes.get(0));
+        assertSame(nodes.get(1), reloadedNodes.get(1));
+        assertNotSame(nodes.get(2), reloadedNodes.get(2));
+        assertEquals(nodes.get(2).getLineNumber() + 1, reloadedNodes.get(2).getLineNumber());
+
+        assertEquals(1, skript.reload(getSkriptLoader(), FileSkript.load("reload", ORIGINAL)));
+        assertEquals(nodes.get(2).getLineNumber(), skript.getNodes().get(2).getLineNumber());
+    }
+
+    @Test
+    void testFailedRegistration() {
+        var loader = new StandaloneSkriptLoader() {
+            private final Set<String> commands = new HashSet<>();
+
+            @Override
+            public void tryRegisterCommand(Skript skript, SkriptFileSection section) {
+                if (section.getText().equals("command /fail")) {
+                    throw new IllegalStateException("Unable to register " + section.getText());
+                }
+
+                super.tryRegisterCommand(skript, section);
+                commands.add(section.getText());
+            }
+
+            @Override
+            public void tryUnregisterCommand(Skript skript, SkriptFileSection section) {
+                super.tryUnregisterCommand(skript, section);
+                commands.remove(section.getText());
+            }
+        };
+        FileSkript skript = FileSkript.load("reload", ORIGINAL);
+        skript.registerAll(loader);
+
+        List<SkriptFileNode> nodes = skript.getNodes();
+
+        assertThrows(IllegalStateException.class, () -> skript.reload(loader, FileSkript.load("reload", List.of(
+            "command /other:",
+            "    trigger:",
+            "        message \"other\" to the console",
+            "command /fail:",
+            "    trigger:",
+            "        message \"fail\" to the console"
+        ))));
+        assertSame(nodes, skript.getNodes());
+        assertEquals(Set.of("command /test"), loader.commands);
+    }
+
+    @Test
+    void testInvalid() {
+        FileSkript skript = FileSkript.load("reload", ORIGINAL);
+        skript.registerAll(getSkriptLoader());
+
+        List<SkriptFileNode> nodes = skript.getNodes();
+
+        assertThrows(ParseException.class, () -> skript.reload(getSkriptLoader(), FileSkript.load("reload", List.of(
+            "command /test:",
+            "    trigger:",
+            "        this is not valid skript code"
+        ))));
+        assertSame(nodes, skript.getNodes());
+    }
+
+    @Test
+    void testManager(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("reload.sk");
+        var manager = new ScriptManager(getSkriptLoader());
+
+        Files.write(file, ORIGINAL);
+
+        FileSkript skript = manager.loadScript(file);
+
+        Files.write(file, ORIGINAL.subList(0, 2));
+
+        assertSame(skript, manager.reloadScript(file));
+        assertEquals(1, skript.getNodes().size());
+        assertTrue(manager.unloadScript(skript));
+        assertFalse(manager.isScriptLoaded(skript));
+        assertFalse(manager.unloadScript(skript));
+    }
+
+    @Test
+    void testManagerByName(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("reload.sk");
+        var manager = new ScriptManager(getSkriptLoader());
+
+        Files.write(file, ORIGINAL);
+
+        ScriptReloadResult loaded = manager.reloadScript(folder, "reload");
+
+        assertEquals(ScriptReloadResult.Status.RELOADED, loaded.getStatus());
+        assertTrue(manager.isScriptLoaded(loaded.getScript()));
+        assertSame(loaded.getScript(), manager.reloadScript(folder, "reload.sk").getScript());
+        assertEquals(ScriptReloadResult.Status.OUTSIDE_FOLDER, manager.reloadScript(folder, "../reload").getStatus());
+        assertEquals(ScriptReloadResult.Status.NOT_FOUND, manager.reloadScript(folder, "missing").getStatus());
+
+        Files.delete(file);
+
+        ScriptReloadResult unloaded = manager.reloadScript(folder, "reload");
+
+        assertEquals(ScriptReloadResult.Status.UNLOADED, unloaded.getStatus());
+        assertSame(loaded.getScript(), unloaded.getScript());
+        assertFalse(manager.isScriptLoaded(unloaded.getScript()));
+    }
+}
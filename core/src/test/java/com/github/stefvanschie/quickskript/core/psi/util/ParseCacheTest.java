@@ -0,0 +1,201 @@
+package com.github.stefvanschie.quickskript.core.psi.util;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
+import com.github.stefvanschie.quickskript.core.skript.ScriptManager;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.skript.StandaloneSkriptLoader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseCacheTest extends TestClassBase {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "1 + 2 * 3 - 4",
+        "message \"Hello, world!\" to the console",
+        "1 + 2 * 3 - 4 / 5 + 6 * 7 - 8"
+    })
+    void testRoundTrip(String input, @TempDir Path folder) throws IOException {
+        Path file = folder.resolve("cache.json");
+        String fingerprint = getSkriptLoader().getFingerprint();
+
+        var cache = new ParseCache();
+        PsiElement<?> first = parse(cache, input);
+
+        assertTrue(cache.isChanged());
+        assertNotNull(cache.get(input, null));
+
+        cache.write(file, fingerprint);
+
+        assertFalse(cache.isChanged());
+
+        ParseCache readCache = ParseCache.read(file, fingerprint);
+
+        assertEquals(cache.get(input, null), readCache.get(input, null));
+
+        PsiElement<?> second = parse(readCache, input);
+
+        assertFalse(readCache.isChanged());
+        assertNotSame(first, second);
+        assertNull(second.getParent());
+        assertEquals(first.getClass(), second.getClass());
+    }
+
+    @Test
+    void testFingerprintMismatch(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("cache.json");
+        var cache = new ParseCache();
+
+        parse(cache, "1 + 1");
+        cache.write(file, "other");
+
+        assertNull(ParseCache.read(file, getSkriptLoader().getFingerprint()).get("1 + 1", null));
+    }
+
+    @Test
+    void testMalformedFile(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("cache.json");
+
+        Files.writeString(file, "{\"version\": 1, \"fingerprint\": ");
+
+        assertFalse(ParseCache.read(file, "").isChanged());
+        assertNull(ParseCache.read(folder.resolve("missing.json"), "").get("", null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "[]",
+        "{\"version\": \"one\", \"fingerprint\": \"f\", \"routes\": []}",
+        "{\"version\": 1, \"fingerprint\": \"f\", \"routes\": {}}",
+        "{\"version\": 1, \"fingerprint\": \"f\", \"routes\": [{\"input\": \"a\", \"factory\": 1}]}",
+        "{\"version\": 1, \"fingerprint\": \"f\", \"routes\": [{\"input\": \"a\", \"factory\": \"b\", " +
+            "\"method\": \"c\", \"pattern\": 0}]}",
+        "{\"version\": 1, \"fingerprint\": \"f\", \"routes\": [{\"input\": \"a\", \"factory\": \"b\", " +
+            "\"method\": \"c\", \"types\": [1]}]}"
+    })
+    void testMalformedMembers(String contents, @TempDir Path folder) throws IOException {
+        Path file = folder.resolve("cache.json");
+
+        Files.writeString(file, contents);
+
+        assertNull(ParseCache.read(file, "f").get("a", null));
+    }
+
+    @Test
+    void testFingerprintOrder() {
+        PsiElementFactory first = new AnswerFactory();
+        PsiElementFactory second = new OtherAnswerFactory();
+        String fingerprint = new OrderedSkriptLoader(first, second).getFingerprint();
+
+        assertEquals(fingerprint, new OrderedSkriptLoader(first, second).getFingerprint());
+        assertNotEquals(fingerprint, new OrderedSkriptLoader(second, first).getFingerprint());
+        assertNotEquals(fingerprint, new OrderedSkriptLoader(first, second, first).getFingerprint());
+    }
+
+    @Test
+    void testFingerprintVersion() {
+        String fingerprint = new VersionedSkriptLoader(null).getFingerprint();
+
+        assertEquals(fingerprint, new StandaloneSkriptLoader().getFingerprint());
+        assertNotEquals(fingerprint, new VersionedSkriptLoader("1.0").getFingerprint());
+        assertNotEquals(new VersionedSkriptLoader("1.0").getFingerprint(),
+            new VersionedSkriptLoader("1.1").getFingerprint());
+    }
+
+    @Test
+    void testManager(@TempDir Path folder) throws IOException {
+        Path cacheFolder = folder.resolve("cache");
+        Path file = folder.resolve("cached.sk");
+        var manager = new ScriptManager(getSkriptLoader());
+
+        Files.write(file, List.of("command /cached:", "    trigger:", "        1 + 2 is 3"));
+        manager.setCacheFolder(cacheFolder);
+        manager.loadScripts(List.of(file), skript -> {}, (path, exception) -> fail(exception));
+
+        try (Stream<Path> files = Files.list(cacheFolder)) {
+            List<Path> cacheFiles = files.toList();
+
+            assertEquals(1, cacheFiles.size());
+            ParseCache cache = ParseCache.read(cacheFiles.get(0), getSkriptLoader().getFingerprint());
+
+            assertNotNull(cache.get("1 + 2 is 3", null));
+        }
+    }
+
+    @Test
+    void testStaleRoute() {
+        var cache = new ParseCache();
+
+        cache.put("1 + 1", null, ParseCache.Route.ofPattern("does.not.Exist", "method", 0, 0));
+
+        assertNotNull(parse(cache, "1 + 1"));
+        assertNotEquals("does.not.Exist", cache.get("1 + 1", null).getFactory());
+    }
+
+    private PsiElement<?> parse(ParseCache cache, String input) {
+        var element = new AtomicReference<PsiElement<?>>();
+
+        getSkriptLoader().parseWith(cache, () -> element.set(getSkriptLoader().forceParseElement(input, -1)));
+
+        return element.get();
+    }
+
+    private static class OrderedSkriptLoader extends StandaloneSkriptLoader {
+
+        private OrderedSkriptLoader(PsiElementFactory @NotNull ... factories) {
+            for (PsiElementFactory factory : factories) {
+                registerElement(factory);
+            }
+        }
+    }
+
+    private static class VersionedSkriptLoader extends StandaloneSkriptLoader {
+
+        @Nullable
+        private final String version;
+
+        private VersionedSkriptLoader(@Nullable String version) {
+            this.version = version;
+        }
+
+        @Nullable
+        @Override
+        protected String getPlatformVersion() {
+            return version;
+        }
+    }
+
+    private static class AnswerFactory implements PsiElementFactory {
+
+        @NotNull
+        @Pattern("the cached answer")
+        public PsiElement<?> parse(@NotNull SkriptLoader skriptLoader, int lineNumber) {
+            return skriptLoader.forceParseElement("42", lineNumber);
+        }
+
+        @Nullable
+        @Override
+        public String getType() {
+            return null;
+        }
+    }
+
+    private static class OtherAnswerFactory extends AnswerFactory {
+    }
+}
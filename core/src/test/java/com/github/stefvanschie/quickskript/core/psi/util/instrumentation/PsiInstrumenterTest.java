@@ -0,0 +1,91 @@
+package com.github.stefvanschie.quickskript.core.psi.util.instrumentation;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import com.github.stefvanschie.quickskript.core.skript.profiler.ConcurrentSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SkriptProfiler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PsiInstrumenterTest extends TestClassBase {
+
+    @Test
+    void testInstrument() {
+        FileSkript skript = FileSkript.load("instrumentation", List.of(
+            "on command:",
+            "    if 1 + 2 is 3:",
+            "        stop"
+        ));
+        var section = new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+        PsiElement<?>[] elements = section.getElements();
+        PsiElement<?>[] instrumented = new PsiInstrumenter(EventContext.class,
+            new SkriptProfiler.Identifier(skript, 1)).instrument(elements);
+
+        assertEquals(1, instrumented.length);
+        assertInstanceOf(PsiTimedElement.class, instrumented[0]);
+
+        PsiElement<?> psiIf = ((PsiTimedElement<?>) instrumented[0]).getElement();
+
+        assertInstanceOf(PsiIf.class, psiIf);
+        assertNotSame(elements[0], psiIf);
+        assertInstanceOf(PsiTimedElement.class, ((PsiIf) psiIf).getElements()[0]);
+        assertFalse(((PsiIf) elements[0]).getElements()[0] instanceof PsiTimedElement);
+    }
+
+    @Test
+    void testProfile() {
+        FileSkript skript = FileSkript.load("instrumentation", List.of(
+            "on command:",
+            "    if 1 + 2 is 3:",
+            "        stop"
+        ));
+        var section = new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+            EventContext.class);
+        var environment = new SkriptRunEnvironment();
+        var profiler = new ConcurrentSkriptProfiler(true);
+
+        environment.setProfiler(profiler);
+        environment.setCompileThreshold(1);
+
+        for (int execution = 0; execution < 3; execution++) {
+            assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(environment, null));
+        }
+
+        assertFalse(section.isCompiled());
+
+        SkriptProfiler.Identifier identifier = profiler.getEntryIdentifiers(EventContext.class).iterator().next();
+        List<ConcurrentSkriptProfiler.StatementEntry> statements =
+            new ArrayList<>(profiler.getEntry(EventContext.class, identifier).getStatements());
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).getLineNumber() < statements.get(1).getLineNumber());
+
+        for (ConcurrentSkriptProfiler.StatementEntry statement : statements) {
+            assertEquals(3, statement.getCalledCount());
+            assertTrue(statement.getSelfElapsedTime() <= statement.getTotalElapsedTime());
+        }
+
+        ConcurrentSkriptProfiler.StatementEntry psiIf = statements.get(0);
+        ConcurrentSkriptProfiler.StatementEntry stop = statements.get(1);
+
+        assertEquals(psiIf.getTotalElapsedTime() - stop.getTotalElapsedTime(), psiIf.getSelfElapsedTime());
+        assertEquals(stop.getTotalElapsedTime(), stop.getSelfElapsedTime());
+
+        environment.setProfiler(new ConcurrentSkriptProfiler());
+        section.execute(environment, null);
+
+        assertTrue(section.isCompiled());
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.stefvanschie.quickskript.core.psi.util.optimizer;
+
+import com.github.stefvanschie.quickskript.core.TestClassBase;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.effect.PsiMessageEffect;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.psi.section.PsiIf;
+import com.github.stefvanschie.quickskript.core.psi.util.pointermovement.ExitSectionsPointerMovement;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PsiOptimizerTest extends TestClassBase {
+
+    @Test
+    void testDeadCode() {
+        List<String> messages = new ArrayList<>();
+        PsiBaseSection section = parse(messages,
+            "on command:",
+            "    if 1 is 2:",
+            "        message \"removed\" to the console",
+            "    if 1 is 1:",
+            "        message \"inlined\" to the console",
+            "        if 2 is 2:",
+            "            message \"inlined\" to the console",
+            "    else if 1 is 1:",
+            "        message \"removed\" to the console",
+            "    while 1 is 2:",
+            "        message \"removed\" to the console",
+            "    3",
+            "    message \"kept\" to the console"
+        );
+
+        assertArrayEquals(new Class<?>[] {PsiMessageEffect.class, PsiMessageEffect.class, PsiMessageEffect.class},
+            classes(section.getElements()));
+        assertEquals(6, messages.size());
+        assertTrue(messages.stream().allMatch(message -> message.startsWith("optimizer: ")));
+    }
+
+    @Test
+    void testExits() {
+        PsiBaseSection section = parse(new ArrayList<>(),
+            "on command:",
+            "    if 1 is 1:",
+            "        stop",
+            "    message \"unreachable\" to the console"
+        );
+        PsiElement<?>[] elements = section.getElements();
+
+        assertArrayEquals(new Class<?>[] {PsiIf.class, PsiMessageEffect.class}, classes(elements));
+        assertNull(((PsiIf) elements[0]).getElseSection());
+        assertInstanceOf(ExitSectionsPointerMovement.class, section.execute(new SkriptRunEnvironment(), null));
+    }
+
+    @Test
+    void testStop() {
+        PsiBaseSection section = parse(new ArrayList<>(),
+            "on command:",
+            "    message \"kept\" to the console",
+            "    1 is 2",
+            "    message \"removed\" to the console"
+        );
+
+        assertArrayEquals(new Class<?>[] {PsiMessageEffect.class}, classes(section.getElements()));
+    }
+
+    private PsiBaseSection parse(List<String> messages, String... lines) {
+        FileSkript skript = FileSkript.load("optimizer", Arrays.asList(lines));
+
+        getSkriptLoader().setOptimizationListener(messages::add);
+
+        try {
+            return new PsiBaseSection(getSkriptLoader(), skript, (SkriptFileSection) skript.getNodes().get(0),
+                EventContext.class);
+        } finally {
+            getSkriptLoader().setOptimizationListener(null);
+        }
+    }
+
+    private static Class<?>[] classes(PsiElement<?>[] elements) {
+        return Arrays.stream(elements).map(Object::getClass).toArray(Class<?>[]::new);
+    }
+}
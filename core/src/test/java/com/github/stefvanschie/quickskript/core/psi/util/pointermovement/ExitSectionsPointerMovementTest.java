@@ -0,0 +1,61 @@
+package com.github.stefvanschie.quickskript.core.psi.util.pointermovement;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExitSectionsPointerMovementTest {
+
+    @Test
+    void testShared() {
+        for (ExitSectionsPointerMovement.Type type : ExitSectionsPointerMovement.Type.values()) {
+            ExitSectionsPointerMovement infinite = ExitSectionsPointerMovement.of(type);
+
+            assertSame(infinite, ExitSectionsPointerMovement.of(type));
+            assertSame(infinite, infinite.getNext());
+            assertNull(infinite.getAmount());
+            assertSame(ExitSectionsPointerMovement.of(type, 3), ExitSectionsPointerMovement.of(type, 3));
+        }
+
+        assertThrows(IllegalArgumentException.class,
+            () -> ExitSectionsPointerMovement.of(ExitSectionsPointerMovement.Type.LOOPS, 0));
+    }
+
+    @Test
+    void testNext() {
+        for (int amount : new int[] {1, 8, 20}) {
+            ExitSectionsPointerMovement pointerMovement =
+                ExitSectionsPointerMovement.of(ExitSectionsPointerMovement.Type.CONDITIONALS, amount);
+
+            for (int remaining = amount; remaining > 0; remaining--) {
+                assertNotNull(pointerMovement);
+                assertEquals(remaining, pointerMovement.getAmount());
+                assertEquals(ExitSectionsPointerMovement.Type.CONDITIONALS, pointerMovement.getType());
+
+                pointerMovement = pointerMovement.getNext();
+            }
+
+            assertNull(pointerMovement);
+        }
+
+        ExitSectionsPointerMovement.Type loops = ExitSectionsPointerMovement.Type.LOOPS;
+        ExitSectionsPointerMovement created = new ExitSectionsPointerMovement(loops, 2);
+
+        assertSame(ExitSectionsPointerMovement.of(loops, 1), created.getNext());
+        assertSame(ExitSectionsPointerMovement.of(loops, 8), new ExitSectionsPointerMovement(loops, 9).getNext());
+    }
+
+    @Test
+    void testLarge() {
+        ExitSectionsPointerMovement pointerMovement =
+            ExitSectionsPointerMovement.of(ExitSectionsPointerMovement.Type.EVERYTHING, Integer.MAX_VALUE);
+
+        assertEquals(Integer.MAX_VALUE, pointerMovement.getAmount());
+
+        ExitSectionsPointerMovement next = pointerMovement.getNext();
+
+        assertNotNull(next);
+        assertEquals(Integer.MAX_VALUE - 1, next.getAmount());
+        assertEquals(ExitSectionsPointerMovement.Type.EVERYTHING, next.getType());
+    }
+}
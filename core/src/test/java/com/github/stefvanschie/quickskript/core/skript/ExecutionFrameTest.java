@@ -0,0 +1,136 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.context.Context;
+import com.github.stefvanschie.quickskript.core.context.ReusableContext;
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.util.PsiPrecomputedHolder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionFrameTest {
+
+    @Test
+    void testPooled() {
+        assertNull(ExecutionFrame.current());
+
+        ExecutionFrame outer = ExecutionFrame.enter();
+        ExecutionFrame inner = ExecutionFrame.enter();
+
+        assertNotSame(outer, inner);
+        assertSame(inner, ExecutionFrame.current());
+        assertThrows(IllegalStateException.class, outer::exit);
+
+        inner.exit();
+        assertSame(outer, ExecutionFrame.current());
+        outer.exit();
+        assertNull(ExecutionFrame.current());
+
+        ExecutionFrame reused = ExecutionFrame.enter();
+
+        try {
+            assertSame(outer, reused);
+        } finally {
+            reused.exit();
+        }
+    }
+
+    @Test
+    void testContext() {
+        ExecutionFrame frame = ExecutionFrame.enter();
+
+        try {
+            Context context = () -> null;
+
+            assertNull(frame.getContext(Context.class));
+
+            frame.setContext(context);
+
+            assertSame(context, frame.getContext(Context.class));
+            assertNull(frame.getContext(TestContext.class));
+        } finally {
+            frame.exit();
+        }
+    }
+
+    @Test
+    void testClearedContext() throws InterruptedException {
+        var context = new TestReusableContext();
+        var reused = new AtomicReference<TestReusableContext>();
+        //frames are pooled per thread, so use a new thread to not leave the context behind for other tests
+        var thread = new Thread(() -> {
+            ExecutionFrame frame = ExecutionFrame.enter();
+
+            frame.setContext(context);
+            frame.exit();
+
+            frame = ExecutionFrame.enter();
+            reused.set(frame.getContext(TestReusableContext.class));
+            frame.exit();
+        });
+
+        thread.start();
+        thread.join();
+
+        assertSame(context, reused.get());
+        assertEquals(2, context.clears);
+    }
+
+    @Test
+    void testLoops() {
+        PsiElement<?> owner = new PsiPrecomputedHolder<>(0, -1);
+        PsiElement<?> other = new PsiPrecomputedHolder<>(1, -1);
+        ExecutionFrame frame = ExecutionFrame.enter();
+
+        try {
+            int outer = frame.enterLoop(owner);
+
+            frame.setLoopValue(outer, "outer");
+
+            int inner = frame.enterLoop(owner);
+
+            frame.setLoopValue(inner, "inner");
+
+            for (int index = 0; index < 10; index++) {
+                frame.setLoopValue(frame.enterLoop(other), index);
+            }
+
+            assertEquals("inner", frame.getLoopValue(owner));
+            assertEquals(9, frame.getLoopValue(other));
+
+            frame.exitLoop(inner);
+
+            assertEquals("outer", frame.getLoopValue(owner));
+            assertNull(frame.getLoopValue(other));
+        } finally {
+            frame.exit();
+        }
+
+        ExecutionFrame reused = ExecutionFrame.enter();
+
+        try {
+            assertNull(reused.getLoopValue(owner));
+        } finally {
+            reused.exit();
+        }
+    }
+
+    private interface TestContext extends Context {}
+
+    private static class TestReusableContext implements ReusableContext {
+
+        private int clears;
+
+        @Override
+        public void clear() {
+            clears++;
+        }
+
+        @Override
+        public Skript getSkript() {
+            return null;
+        }
+    }
+}
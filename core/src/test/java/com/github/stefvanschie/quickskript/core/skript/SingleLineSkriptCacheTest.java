@@ -0,0 +1,83 @@
+package com.github.stefvanschie.quickskript.core.skript;
+
+import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiElementFactory;
+import com.github.stefvanschie.quickskript.core.psi.util.parsing.pattern.Pattern;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleLineSkriptCacheTest {
+
+    @Test
+    void testHits() {
+        var cache = new SingleLineSkriptCache(new StandaloneSkriptLoader(), 4);
+        SingleLineSkript skript = cache.get("1 + 2");
+
+        assertNotNull(skript.getParsedElement());
+        assertSame(skript, cache.get("  1   +  2 "));
+        assertNull(cache.get("not a valid line").getParsedElement());
+        assertSame(cache.get("not a valid line"), cache.get("not a valid line"));
+        assertEquals(3, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0.6, cache.getHitRate(), 0.0001);
+        assertThrows(IllegalArgumentException.class, () -> new SingleLineSkriptCache(new StandaloneSkriptLoader(), -1));
+    }
+
+    @Test
+    void testEviction() {
+        var cache = new SingleLineSkriptCache(new StandaloneSkriptLoader(), 2);
+        SingleLineSkript first = cache.get("1");
+
+        cache.get("2");
+        cache.get("1");
+        cache.get("3");
+
+        assertEquals(2, cache.getSize());
+        assertSame(first, cache.get("1"));
+        assertEquals(3, cache.getMisses());
+
+        cache.get("2");
+
+        assertEquals(4, cache.getMisses());
+        assertEquals(0, new SingleLineSkriptCache(new StandaloneSkriptLoader(), 0).getSize());
+    }
+
+    @Test
+    void testInvalidation() {
+        var loader = new StandaloneSkriptLoader();
+        var cache = new SingleLineSkriptCache(loader, 4);
+        SingleLineSkript number = cache.get("1");
+
+        assertNull(cache.get("the cached answer").getParsedElement());
+
+        loader.registerElement(new AnswerFactory());
+
+        assertNotNull(cache.get("the cached answer").getParsedElement());
+        assertNotSame(number, cache.get("1"));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("1 + 2", SingleLineSkriptCache.normalize(" 1 \t+  2  "));
+        assertEquals("\"a  b\" and \"\"\"  \"", SingleLineSkriptCache.normalize("\"a  b\"   and  \"\"\"  \""));
+    }
+
+    private static class AnswerFactory implements PsiElementFactory {
+
+        @NotNull
+        @Pattern("the cached answer")
+        public PsiElement<?> parse(@NotNull SkriptLoader skriptLoader, int lineNumber) {
+            return skriptLoader.forceParseElement("42", lineNumber);
+        }
+
+        @Nullable
+        @Override
+        public String getType() {
+            return null;
+        }
+    }
+}
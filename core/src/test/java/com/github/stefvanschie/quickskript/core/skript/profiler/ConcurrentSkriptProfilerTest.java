@@ -0,0 +1,94 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentSkriptProfilerTest {
+
+    @Test
+    void testConcurrent() throws InterruptedException {
+        var profiler = new ConcurrentSkriptProfiler();
+        var skript = FileSkript.load("profiler", List.of());
+        var first = new SkriptProfiler.Identifier(skript, 1);
+        var second = new SkriptProfiler.Identifier(skript, 2);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (long time = 1; time <= 1000; time++) {
+                    profiler.onTimeMeasured(EventContext.class, first, time);
+                    profiler.onTimeMeasured(EventContext.class, second, 1);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ConcurrentSkriptProfiler.Entry entry = profiler.getEntry(EventContext.class,
+            new SkriptProfiler.Identifier(skript, 1));
+
+        assertNotNull(entry);
+        assertEquals(4000, entry.getCalledCount());
+        assertEquals(4 * 500500, entry.getTotalElapsedTime());
+        assertEquals(1000, entry.getMaxElapsedTime());
+        assertEquals(500, entry.getPercentile(0.5), 500 * 0.125);
+        assertEquals(990, entry.getPercentile(0.99), 990 * 0.125);
+        assertEquals(1000, entry.getPercentile(1));
+        assertEquals(1, profiler.getEntry(EventContext.class, second).getPercentile(0.99));
+
+        assertEquals(Set.of(first, second), Set.copyOf(profiler.getEntryIdentifiers(EventContext.class)));
+        assertNull(profiler.getEntry(CommandContext.class, first));
+        assertTrue(profiler.getEntryIdentifiers(CommandContext.class).isEmpty());
+    }
+
+    @Test
+    void testSharedIdentifier() {
+        var profiler = new ConcurrentSkriptProfiler();
+        var other = new ConcurrentSkriptProfiler();
+        var skript = FileSkript.load("profiler", List.of());
+        var identifier = new SkriptProfiler.Identifier(skript, 1);
+
+        for (int execution = 0; execution < 3; execution++) {
+            profiler.onTimeMeasured(EventContext.class, identifier, 1);
+            other.onTimeMeasured(EventContext.class, identifier, 2);
+            profiler.onTimeMeasured(CommandContext.class, identifier, 4);
+        }
+
+        profiler.onTimeMeasured(EventContext.class, new SkriptProfiler.Identifier(skript, 1), 8);
+
+        assertEquals(4, profiler.getCalledCount(EventContext.class, identifier));
+        assertEquals(11, profiler.getTotalElapsedTime(EventContext.class, identifier));
+        assertEquals(12, profiler.getTotalElapsedTime(CommandContext.class, identifier));
+        assertEquals(6, other.getTotalElapsedTime(EventContext.class, identifier));
+        assertEquals(0, other.getCalledCount(CommandContext.class, identifier));
+    }
+
+    @Test
+    void testHistogram() {
+        var histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getPercentile(0.5));
+
+        histogram.record(-5);
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(7, histogram.getPercentile(0.5));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentile(Double.NaN));
+    }
+}
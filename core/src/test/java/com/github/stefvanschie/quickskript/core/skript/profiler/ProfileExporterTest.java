@@ -0,0 +1,92 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileExporterTest {
+
+    @Test
+    void testCollapsedStacks() throws IOException {
+        var profiler = new ConcurrentSkriptProfiler(true);
+        var skript = FileSkript.load("exported;script", List.of());
+        var trigger = new SkriptProfiler.Identifier(skript, 1);
+
+        profiler.onTimeMeasured(EventContext.class, trigger, 100);
+        profiler.onStatementMeasured(EventContext.class, trigger, 2, 60, 20);
+        profiler.onStatementMeasured(EventContext.class, trigger, 3, 40, 40);
+        profiler.onTimeMeasured(CommandContext.class, new SkriptProfiler.Identifier(skript, 5), 30);
+
+        var output = new StringBuilder();
+
+        new ProfileExporter(profiler).writeCollapsedStacks(output);
+
+        assertEquals(List.of(
+            "exported_script;line 1;line 2 20",
+            "exported_script;line 1;line 3 40",
+            "exported_script;line 1 40",
+            "exported_script;line 5 30"
+        ), output.toString().lines().toList());
+    }
+
+    @Test
+    void testJson() {
+        var profiler = new BasicSkriptProfiler();
+        var skript = FileSkript.load("exported", List.of());
+        var slow = new SkriptProfiler.Identifier(skript, 8);
+
+        profiler.onTimeMeasured(EventContext.class, new SkriptProfiler.Identifier(skript, 1), 10);
+        profiler.onTimeMeasured(EventContext.class, slow, 500);
+        profiler.onTimeMeasured(EventContext.class, slow, 700);
+
+        JsonObject json = new ProfileExporter(profiler).toJson();
+        JsonArray entries = json.getAsJsonArray("entries");
+
+        assertEquals("BasicSkriptProfiler", json.get("profiler").getAsString());
+        assertEquals(2, entries.size());
+
+        JsonObject first = entries.get(0).getAsJsonObject();
+
+        assertEquals("exported", first.get("script").getAsString());
+        assertEquals(8, first.get("line").getAsInt());
+        assertEquals("EventContext", first.get("context").getAsString());
+        assertEquals(2, first.get("calls").getAsLong());
+        assertEquals(1200, first.get("totalTime").getAsLong());
+        assertFalse(first.has("maxTime"));
+        assertEquals(1, entries.get(1).getAsJsonObject().get("line").getAsInt());
+    }
+
+    @Test
+    void testExport(@TempDir Path directory) throws IOException {
+        var profiler = new SamplingSkriptProfiler(10);
+        var identifier = new SkriptProfiler.Identifier(FileSkript.load("exported", List.of()), 1);
+
+        profiler.onTimeMeasured(EventContext.class, identifier, 50);
+        new ProfileExporter(profiler).export(directory.resolve("profiles"), "profile");
+
+        assertEquals("exported;line 1 500\n",
+            Files.readString(directory.resolve("profiles").resolve("profile.collapsed")));
+
+        JsonObject json = JsonParser.parseString(Files.readString(directory.resolve("profiles")
+            .resolve("profile.json"))).getAsJsonObject();
+        JsonObject entry = json.getAsJsonArray("entries").get(0).getAsJsonObject();
+
+        assertEquals(10, json.get("sampleInterval").getAsInt());
+        assertEquals(10, entry.get("calls").getAsLong());
+        assertEquals(50, entry.get("maxTime").getAsLong());
+        assertEquals(50, entry.get("p99").getAsLong());
+        assertFalse(entry.has("statements"));
+    }
+}
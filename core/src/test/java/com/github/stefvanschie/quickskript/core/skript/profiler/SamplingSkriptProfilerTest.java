@@ -0,0 +1,81 @@
+package com.github.stefvanschie.quickskript.core.skript.profiler;
+
+import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingSkriptProfilerTest {
+
+    @Test
+    void testSampleRate() {
+        var profiler = new SamplingSkriptProfiler(100);
+        var identifier = new SkriptProfiler.Identifier(FileSkript.load("sampling", List.of()), 1);
+        int measured = 0;
+
+        for (int execution = 0; execution < 100_000; execution++) {
+            if (profiler.shouldMeasure(EventContext.class, identifier)) {
+                measured++;
+            }
+        }
+
+        assertEquals(1000, measured, 200);
+    }
+
+    @Test
+    void testEveryExecution() {
+        var profiler = new SamplingSkriptProfiler(1);
+        var identifier = new SkriptProfiler.Identifier(FileSkript.load("sampling", List.of()), 1);
+
+        profiler.shouldMeasure(EventContext.class, identifier);
+
+        for (int execution = 0; execution < 100; execution++) {
+            assertTrue(profiler.shouldMeasure(EventContext.class, identifier));
+        }
+
+        assertFalse(new NoOpSkriptProfiler().shouldMeasure(EventContext.class, identifier));
+        assertThrows(IllegalArgumentException.class, () -> new SamplingSkriptProfiler(0));
+    }
+
+    @Test
+    void testReloaded() {
+        var profiler = new SamplingSkriptProfiler(10);
+        var skript = FileSkript.load("sampling", List.of());
+
+        for (int reload = 0; reload < 1000; reload++) {
+            profiler.shouldMeasure(EventContext.class, new SkriptProfiler.Identifier(skript, 1));
+        }
+
+        var identifier = new SkriptProfiler.Identifier(skript, 2);
+
+        profiler.shouldMeasure(EventContext.class, identifier);
+
+        assertEquals(0, profiler.getEntry(EventContext.class, new SkriptProfiler.Identifier(skript, 1)).getIndex());
+        assertEquals(1, profiler.getEntry(EventContext.class, identifier).getIndex());
+    }
+
+    @Test
+    void testEstimates() {
+        var profiler = new SamplingSkriptProfiler(10);
+        var skript = FileSkript.load("sampling", List.of());
+        var other = FileSkript.load("other", List.of());
+        var first = new SkriptProfiler.Identifier(skript, 1);
+        var second = new SkriptProfiler.Identifier(skript, 2);
+
+        profiler.onTimeMeasured(EventContext.class, first, 5);
+        profiler.onTimeMeasured(EventContext.class, first, 7);
+        profiler.onTimeMeasured(EventContext.class, second, 3);
+        profiler.onTimeMeasured(EventContext.class, new SkriptProfiler.Identifier(other, 1), 100);
+
+        assertEquals(20, profiler.getCalledCount(EventContext.class, first));
+        assertEquals(120, profiler.getTotalElapsedTime(EventContext.class, first));
+        assertEquals(150, profiler.getTotalElapsedTime(EventContext.class, skript));
+        assertEquals(0, profiler.getTotalElapsedTime(CommandContext.class, skript));
+        assertEquals(0, profiler.getCalledCount(CommandContext.class, first));
+        assertEquals(7, profiler.getEntry(EventContext.class, first).getMaxElapsedTime());
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.stefvanschie.quickskript.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassDispatchTableTest {
+
+    @Test
+    void testInherited() {
+        var table = new ClassDispatchTable<String>(String[]::new, true);
+
+        assertTrue(table.add(Base.class, "base"));
+        assertTrue(table.add(Derived.class, "derived"));
+        assertFalse(table.add(Derived.class, "derived two"));
+
+        assertArrayEquals(new String[] {"derived", "derived two", "base"}, table.get(Leaf.class));
+        assertArrayEquals(new String[] {"base"}, table.get(Base.class));
+        assertArrayEquals(new String[0], table.get(Object.class));
+        assertSame(table.get(Leaf.class), table.get(Leaf.class));
+    }
+
+    @Test
+    void testClosest() {
+        var table = new ClassDispatchTable<String>(String[]::new, false);
+
+        table.add(Base.class, "base");
+
+        assertArrayEquals(new String[] {"base"}, table.get(Leaf.class));
+
+        table.add(Derived.class, "derived");
+
+        assertArrayEquals(new String[] {"derived"}, table.get(Leaf.class));
+        assertArrayEquals(new String[] {"base"}, table.get(Base.class));
+    }
+
+    @Test
+    void testRemove() {
+        var table = new ClassDispatchTable<String>(String[]::new, false);
+
+        table.add(Base.class, "base");
+        table.add(Derived.class, "derived");
+
+        assertArrayEquals(new String[] {"derived"}, table.get(Leaf.class));
+        assertTrue(table.removeIf("derived"::equals));
+        assertFalse(table.removeIf("derived"::equals));
+
+        //the class stays registered, so the handlers of its superclasses still don't apply
+        assertArrayEquals(new String[0], table.get(Leaf.class));
+        assertTrue(table.getDeclared(Derived.class).isEmpty());
+        assertEquals(1, table.getDeclared(Base.class).size());
+        assertFalse(table.add(Derived.class, "derived"));
+    }
+
+    private static class Base {}
+
+    private static class Derived extends Base {}
+
+    private static class Leaf extends Derived {}
+}
@@ -1,6 +1,8 @@
 package com.github.stefvanschie.quickskript.paper.context;
 
 import com.github.stefvanschie.quickskript.core.context.CommandContext;
+import com.github.stefvanschie.quickskript.core.context.ReusableContext;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Contract;
@@ -11,19 +13,17 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
-public class CommandContextImpl implements ContextImpl, CommandContext {
+public class CommandContextImpl implements ContextImpl, CommandContext, ReusableContext {
 
     /**
-     * The skript that is executing this code
+     * The skript that is executing this code, only null once this context has been cleared
      */
-    @NotNull
-    private final Skript skript;
+    private Skript skript;
 
     /**
-     * The executor of the command
+     * The executor of the command, only null once this context has been cleared
      */
-    @NotNull
-    private final CommandSender sender;
+    private CommandSender sender;
 
     /**
      * Constructs a new command context.
@@ -37,6 +37,38 @@ public class CommandContextImpl implements ContextImpl, CommandContext {
         this.sender = sender;
     }
 
+    /**
+     * Gets the command context of the given frame, which is reset to the given skript and sender. A new context is
+     * only created if the frame doesn't have a command context yet.
+     *
+     * @param frame the frame the context is used in
+     * @param skript the skript file the context belongs to
+     * @param sender the executor of the command
+     * @return the command context
+     * @since 0.1.0
+     */
+    @NotNull
+    public static CommandContextImpl reuse(@NotNull ExecutionFrame frame, @NotNull Skript skript,
+        @NotNull CommandSender sender) {
+        CommandContextImpl context = frame.getContext(CommandContextImpl.class);
+
+        if (context == null) {
+            context = new CommandContextImpl(skript, sender);
+            frame.setContext(context);
+        } else {
+            context.skript = skript;
+            context.sender = sender;
+        }
+
+        return context;
+    }
+
+    @Override
+    public void clear() {
+        skript = null;
+        sender = null;
+    }
+
     @NotNull
     @Contract(pure = true)
     @Override
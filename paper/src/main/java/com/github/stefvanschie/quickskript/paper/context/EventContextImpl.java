@@ -1,6 +1,8 @@
 package com.github.stefvanschie.quickskript.paper.context;
 
 import com.github.stefvanschie.quickskript.core.context.EventContext;
+import com.github.stefvanschie.quickskript.core.context.ReusableContext;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.Contract;
@@ -18,19 +20,17 @@ import org.jetbrains.annotations.NotNull;
  *
  * @since 0.1.0
  */
-public class EventContextImpl implements ContextImpl, EventContext {
+public class EventContextImpl implements ContextImpl, EventContext, ReusableContext {
 
     /**
-     * The skript that is executing this code
+     * The skript that is executing this code, only null once this context has been cleared
      */
-    @NotNull
-    private final Skript skript;
+    private Skript skript;
 
     /**
-     * The event that was being executed
+     * The event that was being executed, only null once this context has been cleared
      */
-    @NotNull
-    private final Event event;
+    private Event event;
 
     /**
      * Constructs a new event context
@@ -44,6 +44,38 @@ public class EventContextImpl implements ContextImpl, EventContext {
         this.event = event;
     }
 
+    /**
+     * Gets the event context of the given frame, which is reset to the given skript and event. A new context is only
+     * created if the frame doesn't have an event context yet.
+     *
+     * @param frame the frame the context is used in
+     * @param skript the skript file the context belongs to
+     * @param event the event that was executed
+     * @return the event context
+     * @since 0.1.0
+     */
+    @NotNull
+    public static EventContextImpl reuse(@NotNull ExecutionFrame frame, @NotNull Skript skript,
+        @NotNull Event event) {
+        EventContextImpl context = frame.getContext(EventContextImpl.class);
+
+        if (context == null) {
+            context = new EventContextImpl(skript, event);
+            frame.setContext(context);
+        } else {
+            context.skript = skript;
+            context.event = event;
+        }
+
+        return context;
+    }
+
+    @Override
+    public void clear() {
+        skript = null;
+        event = null;
+    }
+
     /**
      * Gets the {@link #event}
      *
@@ -1,6 +1,8 @@
 package com.github.stefvanschie.quickskript.paper.event;
 
 import com.github.stefvanschie.quickskript.paper.skript.SkriptEventExecutor;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 
@@ -27,4 +29,24 @@ public abstract class EventProxyFactory {
      * @since 0.1.0
      */
     public abstract boolean tryRegister(@NotNull String text, @NotNull Supplier<SkriptEventExecutor> toRegisterSupplier);
+
+    /**
+     * Checks whether the given text matches one of the events of this factory which is available on this platform,
+     * without registering anything.
+     *
+     * @param text the text to be matched
+     * @return whether the text matches an event of this factory
+     * @since 0.1.0
+     */
+    public abstract boolean matches(@NotNull String text);
+
+    /**
+     * Unregisters all {@link SkriptEventExecutor}s of the given skript which were loaded from the given section.
+     *
+     * @param skript the skript the executors belong to
+     * @param section the section the executors were loaded from
+     * @return whether one or more executors were unregistered
+     * @since 0.1.0
+     */
+    public abstract boolean unregister(@NotNull Skript skript, @NotNull SkriptFileSection section);
 }
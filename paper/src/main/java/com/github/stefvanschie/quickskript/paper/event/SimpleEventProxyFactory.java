@@ -1,8 +1,12 @@
 package com.github.stefvanschie.quickskript.paper.event;
 
+import com.destroystokyo.paper.event.server.PaperServerListPingEvent;
 import com.github.stefvanschie.quickskript.paper.plugin.QuickSkript;
 import com.github.stefvanschie.quickskript.paper.skript.SkriptEventExecutor;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import com.github.stefvanschie.quickskript.core.util.ClassDispatchTable;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
@@ -21,10 +25,24 @@ import java.util.function.Supplier;
 public class SimpleEventProxyFactory extends EventProxyFactory {
 
     /**
-     * The storage of registered event handlers.
+     * The storage of registered event handlers. Handlers may be registered while events are being handled. Each event
+     * is handled by the handlers of its own class and of all its superclasses.
      */
     @NotNull
-    private final Map<Class<? extends Event>, List<SkriptEventExecutor>> REGISTERED_HANDLERS = new HashMap<>();
+    private final ClassDispatchTable<SkriptEventExecutor> REGISTERED_HANDLERS =
+        new ClassDispatchTable<>(SkriptEventExecutor[]::new, true);
+
+    /**
+     * Whether a class is Paper's custom implementation of the {@link PaperServerListPingEvent}
+     */
+    @NotNull
+    private static final ClassValue<Boolean> IS_PING_EVENT_IMPLEMENTATION = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return "com.destroystokyo.paper.network.StandardPaperServerListPingEventImpl"
+                .equals(type.getCanonicalName());
+        }
+    };
 
     /**
      * The executor which handles the execution of all event handlers in the storage.
@@ -35,16 +53,9 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
         Paper has a custom implementation of the PaperServerListPingEvent which will be returned in here, so we need to
         accommodate for that.
          */
-        if (event.getClass().getCanonicalName()
-            .equals("com.destroystokyo.paper.network.StandardPaperServerListPingEventImpl")) {
-            for (Map.Entry<Class<? extends Event>, List<SkriptEventExecutor>> entry : REGISTERED_HANDLERS.entrySet()) {
-                if (!entry.getKey().getCanonicalName()
-                    .equals("com.destroystokyo.paper.event.server.PaperServerListPingEvent")) {
-                    continue;
-                }
-
-                entry.getValue().forEach(handler -> handler.execute(event));
-                break;
+        if (IS_PING_EVENT_IMPLEMENTATION.get(event.getClass())) {
+            for (SkriptEventExecutor handler : REGISTERED_HANDLERS.getDeclared(PaperServerListPingEvent.class)) {
+                handler.execute(event);
             }
         }
 
@@ -53,17 +64,11 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
         every type and parent of an event is properly called.
          */
 
-        Class<?> clazz = event.getClass();
+        SkriptEventExecutor[] handlers = REGISTERED_HANDLERS.get(event.getClass());
 
-        do {
-            List<SkriptEventExecutor> handlers = REGISTERED_HANDLERS.get(clazz);
-
-            if (handlers != null) {
-                handlers.forEach(handler -> handler.execute(event));
-            }
-
-            clazz = clazz.getSuperclass();
-        } while (clazz != null);
+        for (int index = 0; index < handlers.length; index++) {
+            handlers[index].execute(event);
+        }
 
         //Which other surprises will be found in the event system? Find out the next time this file gets changed.
     };
@@ -90,11 +95,10 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
                 continue;
             }
 
-            REGISTERED_HANDLERS.computeIfAbsent(eventPattern.getKey(), event -> {
-                Bukkit.getPluginManager().registerEvent(event, EMPTY_LISTENER,
+            if (REGISTERED_HANDLERS.add(eventPattern.getKey(), toRegisterSupplier.get())) {
+                Bukkit.getPluginManager().registerEvent(eventPattern.getKey(), EMPTY_LISTENER,
                     EventPriority.NORMAL, HANDLER_EXECUTOR, QuickSkript.getInstance());
-                return new ArrayList<>();
-            }).add(toRegisterSupplier.get());
+            }
 
             found = true;
         }
@@ -102,6 +106,23 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
         return found;
     }
 
+    @Override
+    public boolean matches(@NotNull String text) {
+        for (Map.Entry<Class<? extends Event>, Collection<String>> eventPattern : eventPatterns) {
+            if (eventPattern.getKey() != null && eventPattern.getValue().contains(text)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean unregister(@NotNull Skript skript, @NotNull SkriptFileSection section) {
+        return REGISTERED_HANDLERS.removeIf(handler ->
+            handler.getScript() == skript && handler.getSection() == section);
+    }
+
     /**
      * Maps the specified regex to the specified Bukkit event.
      *
@@ -3,6 +3,7 @@ package com.github.stefvanschie.quickskript.paper.plugin;
 import com.github.stefvanschie.quickskript.paper.context.ExecuteContextImpl;
 import com.github.stefvanschie.quickskript.paper.util.CommandMapWrapper;
 import com.github.stefvanschie.quickskript.core.skript.SingleLineSkript;
+import com.github.stefvanschie.quickskript.core.skript.SingleLineSkriptCache;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import net.md_5.bungee.api.chat.ComponentBuilder;
@@ -15,15 +16,19 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Locale;
+
 /**
- * A command that lets {@link CommandSender}s execute single-line Skript code from the chat/console.
+ * A command that lets {@link CommandSender}s execute single-line Skript code from the chat/console. Parsed lines are
+ * kept in a {@link SingleLineSkriptCache}, so lines which are executed repeatedly only have to be parsed once.
  */
 public class ExecuteCommand implements CommandExecutor {
 
     /**
-     * The skript loader
+     * The cache of the parsed lines
      */
-    private final SkriptLoader skriptLoader;
+    @NotNull
+    private final SingleLineSkriptCache cache;
 
     /**
      * The skript run environment
@@ -33,13 +38,13 @@ public class ExecuteCommand implements CommandExecutor {
     /**
      * Creates a new execute command
      *
-     * @param skriptLoader the associated skript loader
+     * @param cache the cache of the parsed lines
      * @param environment the associated run environment
      * @since 0.1.0
      */
-    private ExecuteCommand(@NotNull SkriptLoader skriptLoader,
+    private ExecuteCommand(@NotNull SingleLineSkriptCache cache,
             @NotNull SkriptRunEnvironment environment) {
-        this.skriptLoader = skriptLoader;
+        this.cache = cache;
         this.environment = environment;
     }
 
@@ -47,14 +52,17 @@ public class ExecuteCommand implements CommandExecutor {
      * Registers this {@link CommandExecutor} into Bukkit's command system.
      *
      * @param skriptLoader the skript loader to parse with
+     * @param environment the run environment to execute in
+     * @param cacheSize the maximum amount of parsed lines to cache
      */
     public static void register(@NotNull SkriptLoader skriptLoader,
-            @NotNull SkriptRunEnvironment environment) {
+            @NotNull SkriptRunEnvironment environment, int cacheSize) {
         var wrapper = new CommandMapWrapper();
         PluginCommand command = wrapper.create("skexec");
         command.setPermission("quickskript.exec");
         command.setDescription("Allows the execution of single line Skripts from the chat.");
-        command.setExecutor(new ExecuteCommand(skriptLoader, environment));
+        command.setExecutor(new ExecuteCommand(new SingleLineSkriptCache(skriptLoader, cacheSize),
+                environment));
         wrapper.register(command);
     }
 
@@ -63,12 +71,15 @@ public class ExecuteCommand implements CommandExecutor {
             @NotNull String label, @NotNull String[] args) {
         String input = String.join(" ", args);
 
+        long misses = cache.getMisses();
+        SingleLineSkript skript = cache.get(input);
+        boolean cached = cache.getMisses() == misses;
+
         long startTime = System.nanoTime();
-        var skript = new SingleLineSkript(skriptLoader, input);
         Object result = skript.getParsedElement() == null
                 ? null
                 : skript.execute(environment, new ExecuteContextImpl(skript, sender));
-        long deltaMillis = (System.nanoTime() - startTime) / 1000000;
+        long evaluationTime = System.nanoTime() - startTime;
 
         String output = ChatColor.YELLOW + "Output: " + (skript.getParsedElement() == null
                 ? ChatColor.RED + "ERROR: Parsing failed."
@@ -77,11 +88,28 @@ public class ExecuteCommand implements CommandExecutor {
         TextComponent text = new TextComponent(output);
         text.setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new ComponentBuilder("")
                 .append(ChatColor.YELLOW + "Input: " + ChatColor.WHITE + input)
-                .append(ChatColor.YELLOW + "Evaluation took: " + ChatColor.WHITE
-                        + deltaMillis + ChatColor.GRAY + " ms")
+                .append("\n" + ChatColor.YELLOW + "Parsing took: " + ChatColor.WHITE + formatMillis(skript.getParseTime())
+                        + ChatColor.GRAY + " ms" + (cached ? " (cached)" : ""))
+                .append("\n" + ChatColor.YELLOW + "Evaluation took: " + ChatColor.WHITE
+                        + formatMillis(evaluationTime) + ChatColor.GRAY + " ms")
+                .append("\n" + ChatColor.YELLOW + "Cache hit rate: " + ChatColor.WHITE
+                        + Math.round(cache.getHitRate() * 100) + ChatColor.GRAY + "% of "
+                        + (cache.getHits() + cache.getMisses()) + " executions")
                 .create()));
         sender.spigot().sendMessage(text);
 
         return true;
     }
+
+    /**
+     * Formats the given amount of nanoseconds as milliseconds with two decimals
+     *
+     * @param nanos the amount of nanoseconds
+     * @return the formatted amount of milliseconds
+     * @since 0.1.0
+     */
+    @NotNull
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
 }
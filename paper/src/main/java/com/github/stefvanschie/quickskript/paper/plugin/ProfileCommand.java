@@ -0,0 +1,96 @@
+package com.github.stefvanschie.quickskript.paper.plugin;
+
+import com.github.stefvanschie.quickskript.paper.util.CommandMapWrapper;
+import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import com.github.stefvanschie.quickskript.core.skript.profiler.ProfileExporter;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+
+/**
+ * A command that lets {@link CommandSender}s export the data the profiler has gathered, as collapsed stacks which can
+ * be loaded into flame graph tools and as a JSON summary. See {@link ProfileExporter} for the formats.
+ *
+ * @since 0.1.0
+ */
+public class ProfileCommand implements CommandExecutor {
+
+    /**
+     * The format of the names of the exported files
+     */
+    @NotNull
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("'profile'-yyyyMMdd-HHmmss");
+
+    /**
+     * The skript run environment whose profiler is exported
+     */
+    @NotNull
+    private final SkriptRunEnvironment environment;
+
+    /**
+     * The folder in which the exported files are written
+     */
+    @NotNull
+    private final Path profileFolder;
+
+    /**
+     * Creates a new profile command
+     *
+     * @param environment the skript run environment whose profiler should be exported
+     * @param profileFolder the folder in which the exported files should be written
+     * @since 0.1.0
+     */
+    private ProfileCommand(@NotNull SkriptRunEnvironment environment, @NotNull Path profileFolder) {
+        this.environment = environment;
+        this.profileFolder = profileFolder;
+    }
+
+    /**
+     * Registers this {@link CommandExecutor} into Bukkit's command system.
+     *
+     * @param environment the skript run environment whose profiler should be exported
+     * @param profileFolder the folder in which the exported files should be written
+     * @since 0.1.0
+     */
+    public static void register(@NotNull SkriptRunEnvironment environment, @NotNull Path profileFolder) {
+        var wrapper = new CommandMapWrapper();
+        PluginCommand command = wrapper.create("skprofile");
+        command.setPermission("quickskript.profile");
+        command.setDescription("Exports the data of the profiler as collapsed stacks and a JSON summary.");
+        command.setUsage("/skprofile");
+        command.setExecutor(new ProfileCommand(environment, profileFolder));
+        wrapper.register(command);
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+            @NotNull String label, @NotNull String[] args) {
+        if (args.length != 0) {
+            return false;
+        }
+
+        String name = LocalDateTime.now().format(FILE_NAME_FORMAT);
+
+        try {
+            new ProfileExporter(environment.getProfiler()).export(profileFolder, name);
+        } catch (IOException exception) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Unable to write profile.", exception);
+            sender.sendMessage(ChatColor.RED + "Unable to write profile.");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.YELLOW + "Exported the profiler data to " + profileFolder.resolve(name) +
+            ".collapsed and .json.");
+
+        return true;
+    }
+}
@@ -35,6 +35,7 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
 import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.condition.*;
 import com.github.stefvanschie.quickskript.core.psi.effect.PsiChangeEffect;
 import com.github.stefvanschie.quickskript.core.psi.effect.PsiContinueEffect;
@@ -118,6 +119,12 @@ public class PaperSkriptLoader extends SkriptLoader {
     @NotNull
     private final CommandMapWrapper commandMapWrapper = new CommandMapWrapper();
 
+    /**
+     * The commands that were registered, by the section they were registered from
+     */
+    @NotNull
+    private final Map<SkriptFileSection, PluginCommand> registeredCommands = new HashMap<>();
+
     /**
      * Creates a new Bukkit skript loader.
      *
@@ -578,13 +585,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getItem();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -639,7 +646,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                     Collection<BlockData> blockData = new HashSet<>();
 
                     for (String entry : ((ItemType) object).getItemTypeEntries()) {
-                        blockData.add(Bukkit.createBlockData(entry));
+                        blockData.add(ItemDescriptor.of(entry).getBlockData());
                     }
 
                     return event -> {
@@ -729,13 +736,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getRecipe().getResult();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -833,7 +840,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getCurrentItem();
@@ -842,8 +849,8 @@ public class PaperSkriptLoader extends SkriptLoader {
                                 return false;
                             }
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -873,13 +880,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getEntity().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -909,13 +916,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getEntity().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -944,13 +951,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getEntity().getItemStack();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -1019,13 +1026,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getItemDrop().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -1078,13 +1085,13 @@ public class PaperSkriptLoader extends SkriptLoader {
                                 continue;
                             }
 
-                            Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                            List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                             return event -> {
                                 ItemStack item = event.getItem();
 
-                                for (String entry : entries) {
-                                    if (ItemComparisonUtil.compare(item, entry)) {
+                                for (ItemDescriptor entry : entries) {
+                                    if (entry.matches(item)) {
                                         return true;
                                     }
                                 }
@@ -1204,7 +1211,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             Recipe recipe = event.getRecipe();
@@ -1215,8 +1222,8 @@ public class PaperSkriptLoader extends SkriptLoader {
 
                             ItemStack item = recipe.getResult();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -1372,15 +1379,15 @@ public class PaperSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> keys = ((ItemType) itemType).getItemTypeEntries();
+                        List<ItemDescriptor> keys = ItemDescriptor.allOf((ItemType) itemType);
 
                         return event -> {
                             if (match.getParseMark() == 1 && !(event.getEntity() instanceof Player)) {
                                 return false;
                             }
 
-                            for (String key : keys) {
-                                if (ItemComparisonUtil.compare(event.getItem().getItemStack(), key)) {
+                            for (ItemDescriptor key : keys) {
+                                if (key.matches(event.getItem().getItemStack())) {
                                     return true;
                                 }
                             }
@@ -1443,7 +1450,7 @@ public class PaperSkriptLoader extends SkriptLoader {
 
                         EnumSet<Action> allowedActions = EnumSet.allOf(Action.class);
                         Collection<BlockData> targets = new HashSet<>();
-                        Collection<String> holding = new HashSet<>();
+                        Collection<ItemDescriptor> holding = new HashSet<>();
 
                         if ((parseMark & 1) > 0) {
                             allowedActions = EnumSet.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK);
@@ -1468,9 +1475,9 @@ public class PaperSkriptLoader extends SkriptLoader {
 
                             for (String entry : ((ItemType) object).getItemTypeEntries()) {
                                 if ((parseMark & 16) > 0) {
-                                    holding.add(entry);
+                                    holding.add(ItemDescriptor.of(entry));
                                 } else {
-                                    targets.add(Bukkit.createBlockData(entry));
+                                    targets.add(ItemDescriptor.of(entry).getBlockData());
                                 }
                             }
 
@@ -1486,9 +1493,9 @@ public class PaperSkriptLoader extends SkriptLoader {
 
                             for (String entry : ((ItemType) object).getItemTypeEntries()) {
                                 if ((parseMark & 16) > 0) {
-                                    targets.add(Bukkit.createBlockData(entry));
+                                    targets.add(ItemDescriptor.of(entry).getBlockData());
                                 } else {
-                                    holding.add(entry);
+                                    holding.add(ItemDescriptor.of(entry));
                                 }
                             }
                         }
@@ -1517,8 +1524,8 @@ public class PaperSkriptLoader extends SkriptLoader {
                             ItemStack item = event.getItem();
 
                             if (item != null) {
-                                for (String data : holding) {
-                                    if (!ItemComparisonUtil.compare(item, data)) {
+                                for (ItemDescriptor data : holding) {
+                                    if (!data.matches(item)) {
                                         return false;
                                     }
                                 }
@@ -1546,7 +1553,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                         //we have to differentiate between this not being specified, being null and being actual text, so here's a nullable optional
                         //noinspection OptionalAssignedToNull
                         Optional<String> entityTypeKey = null;
-                        Collection<String> holding = new HashSet<>();
+                        Collection<ItemDescriptor> holding = new HashSet<>();
 
                         if ((parseMark & 2) > 0) {
                             return event -> false;
@@ -1569,7 +1576,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                                     continue;
                                 }
 
-                                holding.addAll(((ItemType) itemType).getItemTypeEntries());
+                                holding.addAll(ItemDescriptor.allOf((ItemType) itemType));
 
                                 elementIndex++;
                             }
@@ -1606,7 +1613,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                                     continue;
                                 }
 
-                                holding.addAll(((ItemType) itemType).getItemTypeEntries());
+                                holding.addAll(ItemDescriptor.allOf((ItemType) itemType));
                             }
                         }
 
@@ -1645,8 +1652,8 @@ public class PaperSkriptLoader extends SkriptLoader {
                             }
 
                             if (item.getType() != Material.AIR) {
-                                for (String data : holding) {
-                                    if (!ItemComparisonUtil.compare(item, data)) {
+                                for (ItemDescriptor data : holding) {
+                                    if (!data.matches(item)) {
                                         return false;
                                     }
                                 }
@@ -1705,7 +1712,7 @@ public class PaperSkriptLoader extends SkriptLoader {
                     Collection<BlockData> blockData = new HashSet<>();
 
                     for (String entry : ((ItemType) itemType).getItemTypeEntries()) {
-                        blockData.add(Bukkit.createBlockData(entry));
+                        blockData.add(ItemDescriptor.of(entry).getBlockData());
                     }
 
                     return event -> {
@@ -1946,6 +1953,8 @@ public class PaperSkriptLoader extends SkriptLoader {
         command.setExecutor(new SkriptCommandExecutor(this, environment, skript, trigger, target));
 
         commandMapWrapper.register(command);
+
+        registeredCommands.put(section, command);
     }
 
     @Override
@@ -1961,6 +1970,48 @@ public class PaperSkriptLoader extends SkriptLoader {
         }
     }
 
+    @Override
+    public boolean isEvent(@NotNull String text) {
+        String input = text.trim();
+
+        for (EventProxyFactory factory : events) {
+            if (factory.matches(input)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @NotNull
+    @Override
+    protected String getPlatformVersion() {
+        return QuickSkript.getInstance().getPluginMeta().getVersion();
+    }
+
+    @Override
+    protected boolean canParseOnCurrentThread(@NotNull PsiGenericElementFactory factory) {
+        //only the factories of core are known not to query the server while parsing
+        return Bukkit.isPrimaryThread() ||
+            factory.getClass().getName().startsWith("com.github.stefvanschie.quickskript.core.");
+    }
+
+    @Override
+    public void tryUnregisterCommand(Skript skript, SkriptFileSection section) {
+        PluginCommand command = registeredCommands.remove(section);
+
+        if (command != null) {
+            commandMapWrapper.unregister(command);
+        }
+    }
+
+    @Override
+    public void tryUnregisterEvent(Skript skript, SkriptFileSection section) {
+        for (EventProxyFactory factory : events) {
+            factory.unregister(skript, section);
+        }
+    }
+
     /**
      * Creates a default predicate which takes in a block event, comparing the block data to the provided item type,
      * returning true if any of the block data matches and false otherwise.
@@ -1975,7 +2026,7 @@ public class PaperSkriptLoader extends SkriptLoader {
         Collection<BlockData> blockData = new HashSet<>();
 
         for (String entry : itemType.getItemTypeEntries()) {
-            blockData.add(Bukkit.createBlockData(entry));
+            blockData.add(ItemDescriptor.of(entry).getBlockData());
         }
 
         return event -> {
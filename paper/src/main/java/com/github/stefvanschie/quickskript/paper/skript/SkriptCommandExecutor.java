@@ -6,7 +6,10 @@ import com.github.stefvanschie.quickskript.paper.skript.util.ExecutionTarget;
 import com.github.stefvanschie.quickskript.core.context.CommandContext;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.section.LazyBaseSection;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
@@ -38,10 +41,10 @@ public class SkriptCommandExecutor implements CommandExecutor {
     private final SkriptRunEnvironment environment;
 
     /**
-     * The elements that should get executed
+     * The elements that should get executed, which may not have been parsed yet
      */
     @NotNull
-    private final PsiBaseSection elements;
+    private final LazyBaseSection elements;
 
     /**
      * Specifies the execution target. When null, everything/everyone can use this command.
@@ -64,7 +67,7 @@ public class SkriptCommandExecutor implements CommandExecutor {
         this.skript = skript;
         this.environment = environment;
         this.executionTarget = executionTarget;
-        elements = new PsiBaseSection(skriptLoader, skript, section, CommandContext.class);
+        elements = skriptLoader.createBaseSection(skript, section, CommandContext.class);
     }
 
     @Override
@@ -73,10 +76,27 @@ public class SkriptCommandExecutor implements CommandExecutor {
             return false;
         }
 
+        PsiBaseSection elements;
+
+        try {
+            elements = this.elements.get();
+        } catch (ParseException e) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while parsing skript:", e);
+            return true;
+        }
+
+        if (elements == null) {
+            return true;
+        }
+
+        ExecutionFrame frame = ExecutionFrame.enter();
+
         try {
-            elements.execute(environment, new CommandContextImpl(skript, sender));
+            elements.execute(environment, CommandContextImpl.reuse(frame, skript, sender));
         } catch (ExecutionException e) {
             QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while executing skript:", e);
+        } finally {
+            frame.exit();
         }
         return true;
     }
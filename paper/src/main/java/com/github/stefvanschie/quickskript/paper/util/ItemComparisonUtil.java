@@ -1,6 +1,5 @@
 package com.github.stefvanschie.quickskript.paper.util;
 
-import org.bukkit.NamespacedKey;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.PotionMeta;
@@ -8,8 +7,8 @@ import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiPredicate;
@@ -33,7 +32,7 @@ public class ItemComparisonUtil {
 
     /**
      * Compares the specified item with the given data. This returns true if the item and data matches and false
-     * otherwise.
+     * otherwise. The data is only parsed the first time it is compared with, see {@link ItemDescriptor}.
      *
      * @param item the item to compare with
      * @param data the data to compare with
@@ -42,54 +41,20 @@ public class ItemComparisonUtil {
      */
     @Contract(pure = true)
     public static boolean compare(ItemStack item, String data) {
-        int openingBracket = data.indexOf('[');
-        int closingBracket = data.indexOf(']');
-
-        if (openingBracket < closingBracket && openingBracket != -1) {
-            data = data.substring(0, openingBracket) + data.substring(closingBracket + 1);
-        }
-
-        int openingCurly = data.indexOf('{');
-        int closingCurly = data.indexOf('}');
-
-        if (openingCurly < closingCurly && openingCurly != -1) {
-            String extraData = data.substring(openingCurly + 1, closingCurly);
-
-            var dataStack = new ArrayDeque<String>();
-            int comma = extraData.indexOf(',');
-
-            while (comma != -1) {
-                dataStack.add(extraData.substring(0, comma));
-
-                extraData = extraData.substring(comma + 1);
-                comma = extraData.indexOf(',');
-            }
-
-            //above loop doesn't add last data to the stack
-            dataStack.add(extraData);
-
-            for (String dataPiece : dataStack) {
-                int colon = dataPiece.indexOf(':');
-
-                if (colon == -1) {
-                    throw new IllegalArgumentException("Specified data is malformed, missing colon in extra data");
-                }
-
-                BiPredicate<ItemStack, String> comparator = EXTRA_DATA_COMPARATORS.get(dataPiece.substring(0, colon));
-
-                if (!comparator.test(item, dataPiece.substring(colon + 1))) {
-                    return false;
-                }
-            }
-        }
-
-        if (openingCurly != -1) {
-            data = data.substring(0, openingCurly);
-        }
-
-        NamespacedKey key = item.getType().getKey();
+        return ItemDescriptor.of(data).matches(item);
+    }
 
-        return data.trim().equals(key.getNamespace() + ':' + key.getKey());
+    /**
+     * Gets the comparator for the extra data with the given name
+     *
+     * @param name the name of the extra data
+     * @return the comparator, or null if there is no extra data with this name
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    static BiPredicate<ItemStack, String> getExtraDataComparator(@NotNull String name) {
+        return EXTRA_DATA_COMPARATORS.get(name);
     }
 
     /**
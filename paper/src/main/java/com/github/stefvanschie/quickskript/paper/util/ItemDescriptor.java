@@ -0,0 +1,297 @@
+package com.github.stefvanschie.quickskript.paper.util;
+
+import com.github.stefvanschie.quickskript.core.util.literal.ItemType;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * The parsed form of an item type entry, such as {@code minecraft:oak_stairs[facing=north]} or
+ * {@code minecraft:potion{Potion:minecraft:water}}. Parsing an entry requires creating block data and splitting the
+ * entry into its parts, so entries should only be parsed once: code which compares with the same entries repeatedly,
+ * like event filters, should get their descriptors once and keep them. Descriptors are also kept in a cache which is
+ * shared by the entire process and filled the first time an entry is requested; once the cache holds
+ * {@value #MAX_CACHED_DESCRIPTORS} descriptors, further entries are parsed every time they are requested. Descriptors
+ * are immutable and may be used from multiple threads at the same time.
+ *
+ * @since 0.1.0
+ */
+public final class ItemDescriptor {
+
+    /**
+     * The maximum amount of descriptors kept in {@link #DESCRIPTORS}
+     */
+    private static final int MAX_CACHED_DESCRIPTORS = 4096;
+
+    /**
+     * The descriptors of the entries which were requested so far, until the cache is full
+     */
+    @NotNull
+    private static final Map<String, ItemDescriptor> DESCRIPTORS = new ConcurrentHashMap<>();
+
+    /**
+     * The entry this descriptor was parsed from
+     */
+    @NotNull
+    private final String entry;
+
+    /**
+     * The block data of the entry, or null if the entry doesn't represent block data
+     */
+    @Nullable
+    private final BlockData blockData;
+
+    /**
+     * The material of the entry, taken from the block data if there is any, or null if the entry doesn't represent a
+     * material
+     */
+    @Nullable
+    private final Material material;
+
+    /**
+     * The material of the items which match the entry, or null if no item matches the entry. Unlike
+     * {@link #material}, this is only present if the entry, without its block states and extra data, is exactly the
+     * namespaced key of the material.
+     */
+    @Nullable
+    private final Material comparedMaterial;
+
+    /**
+     * The comparators of the extra data of the entry, with the value they should compare items with
+     */
+    @NotNull
+    private final List<ExtraData> extraData = new ArrayList<>();
+
+    /**
+     * The reason the extra data of the entry can't be parsed, or null if it can. Only the extra data before the
+     * malformed piece is in {@link #extraData}.
+     */
+    @Nullable
+    private final String malformation;
+
+    /**
+     * Parses the given entry
+     *
+     * @param entry the entry to parse
+     * @since 0.1.0
+     */
+    private ItemDescriptor(@NotNull String entry) {
+        this.entry = entry;
+
+        BlockData blockData;
+
+        try {
+            blockData = Bukkit.createBlockData(entry);
+        } catch (IllegalArgumentException exception) {
+            blockData = null;
+        }
+
+        this.blockData = blockData;
+        this.material = blockData == null ? Material.matchMaterial(entry) : blockData.getMaterial();
+
+        String data = entry;
+        int openingBracket = data.indexOf('[');
+        int closingBracket = data.indexOf(']');
+
+        if (openingBracket < closingBracket && openingBracket != -1) {
+            data = data.substring(0, openingBracket) + data.substring(closingBracket + 1);
+        }
+
+        int openingCurly = data.indexOf('{');
+        int closingCurly = data.indexOf('}');
+
+        this.malformation = openingCurly < closingCurly && openingCurly != -1
+            ? parseExtraData(data.substring(openingCurly + 1, closingCurly))
+            : null;
+
+        if (openingCurly != -1) {
+            data = data.substring(0, openingCurly);
+        }
+
+        String key = data.trim();
+        Material comparedMaterial = Material.matchMaterial(key);
+
+        if (comparedMaterial != null) {
+            NamespacedKey materialKey = comparedMaterial.getKey();
+
+            if (!key.equals(materialKey.getNamespace() + ':' + materialKey.getKey())) {
+                comparedMaterial = null;
+            }
+        }
+
+        this.comparedMaterial = comparedMaterial;
+    }
+
+    /**
+     * Checks whether the given item matches this entry. The item matches if its extra data is the same as the extra
+     * data of this entry and it has the material of this entry; block states are ignored. The pieces of extra data are
+     * compared in order before the material, so an item which doesn't match a piece of extra data in front of a
+     * malformed piece doesn't match, instead of causing an exception.
+     *
+     * @param item the item to compare with
+     * @return true if the item matches this entry, false otherwise
+     * @throws IllegalArgumentException if the extra data of this entry is malformed and the item matches the extra
+     *                                  data in front of the malformed piece
+     * @since 0.1.0
+     */
+    @Contract(pure = true)
+    public boolean matches(@NotNull ItemStack item) {
+        for (ExtraData extraData : this.extraData) {
+            if (!extraData.comparator.test(item, extraData.value)) {
+                return false;
+            }
+        }
+
+        if (malformation != null) {
+            throw new IllegalArgumentException(malformation);
+        }
+
+        return comparedMaterial != null && item.getType() == comparedMaterial;
+    }
+
+    /**
+     * Gets a copy of the block data of this entry, like {@link Bukkit#createBlockData(String)} but without parsing the
+     * entry again
+     *
+     * @return the block data
+     * @throws IllegalArgumentException if this entry doesn't represent block data
+     * @since 0.1.0
+     */
+    @NotNull
+    @Contract(pure = true)
+    public BlockData getBlockData() {
+        if (blockData == null) {
+            throw new IllegalArgumentException("Entry '" + entry + "' doesn't represent block data");
+        }
+
+        return blockData.clone();
+    }
+
+    /**
+     * Gets the material of this entry. This is the material of the block data if this entry represents block data, or
+     * otherwise the material matching the name of this entry. Returns null if this entry doesn't represent a material.
+     *
+     * @return the material or null
+     * @since 0.1.0
+     */
+    @Nullable
+    @Contract(pure = true)
+    public Material getMaterial() {
+        return material;
+    }
+
+    /**
+     * Gets the descriptor of the given entry, parsing the entry if it wasn't requested before
+     *
+     * @param entry the entry to get the descriptor of
+     * @return the descriptor
+     * @since 0.1.0
+     */
+    @NotNull
+    public static ItemDescriptor of(@NotNull String entry) {
+        ItemDescriptor descriptor = DESCRIPTORS.get(entry);
+
+        if (descriptor != null) {
+            return descriptor;
+        }
+
+        if (DESCRIPTORS.size() >= MAX_CACHED_DESCRIPTORS) {
+            return new ItemDescriptor(entry);
+        }
+
+        return DESCRIPTORS.computeIfAbsent(entry, ItemDescriptor::new);
+    }
+
+    /**
+     * Gets the descriptors of all entries of the given item type, see {@link #of(String)}
+     *
+     * @param itemType the item type
+     * @return the descriptors, in the order of the entries
+     * @since 0.1.0
+     */
+    @NotNull
+    public static List<ItemDescriptor> allOf(@NotNull ItemType itemType) {
+        Collection<? extends String> entries = itemType.getItemTypeEntries();
+        List<ItemDescriptor> descriptors = new ArrayList<>(entries.size());
+
+        for (String entry : entries) {
+            descriptors.add(of(entry));
+        }
+
+        return descriptors;
+    }
+
+    /**
+     * Parses the comma separated pieces of extra data of the form {@code name:value} and adds them to
+     * {@link #extraData}
+     *
+     * @param extraData the extra data to parse
+     * @return the reason the extra data is malformed, or null if it isn't
+     * @since 0.1.0
+     */
+    @Nullable
+    private String parseExtraData(@NotNull String extraData) {
+        for (String dataPiece : extraData.split(",", -1)) {
+            int colon = dataPiece.indexOf(':');
+
+            if (colon == -1) {
+                return "Specified data is malformed, missing colon in extra data";
+            }
+
+            String name = dataPiece.substring(0, colon);
+            BiPredicate<ItemStack, String> comparator = ItemComparisonUtil.getExtraDataComparator(name);
+
+            if (comparator == null) {
+                return "Specified data is malformed, unknown extra data '" + name + "'";
+            }
+
+            this.extraData.add(new ExtraData(comparator, dataPiece.substring(colon + 1)));
+        }
+
+        return null;
+    }
+
+    /**
+     * A single piece of extra data of an entry
+     *
+     * @since 0.1.0
+     */
+    private static final class ExtraData {
+
+        /**
+         * The comparator of the extra data
+         */
+        @NotNull
+        private final BiPredicate<ItemStack, String> comparator;
+
+        /**
+         * The value the comparator should compare items with
+         */
+        @NotNull
+        private final String value;
+
+        /**
+         * Creates a new piece of extra data
+         *
+         * @param comparator the comparator of the extra data
+         * @param value the value the comparator should compare items with
+         * @since 0.1.0
+         */
+        private ExtraData(@NotNull BiPredicate<ItemStack, String> comparator, @NotNull String value) {
+            this.comparator = comparator;
+            this.value = value;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.github.stefvanschie.quickskript.paper.util;
 
 import com.github.stefvanschie.quickskript.core.util.literal.EnchantmentType;
 import com.github.stefvanschie.quickskript.core.util.literal.ItemType;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
@@ -52,15 +51,7 @@ public class ItemTypeUtil {
             return null;
         }
 
-        String itemTypeEntry = optionalItemTypeEntry.get();
-
-        Material material;
-
-        try {
-            material = Bukkit.createBlockData(itemTypeEntry).getMaterial();
-        } catch (IllegalArgumentException ignored) {
-            material = Material.matchMaterial(itemTypeEntry);
-        }
+        Material material = ItemDescriptor.of(optionalItemTypeEntry.get()).getMaterial();
 
         if (material == null) {
             return null;
@@ -155,11 +146,7 @@ public class ItemTypeUtil {
         List<Material> materials = new ArrayList<>();
 
         for (String itemTypeEntry : itemType.getItemTypeEntries()) {
-            try {
-                materials.add(Bukkit.createBlockData(itemTypeEntry).getMaterial());
-            } catch (IllegalArgumentException ignored) {
-                materials.add(Material.matchMaterial(itemTypeEntry));
-            }
+            materials.add(ItemDescriptor.of(itemTypeEntry).getMaterial());
         }
 
         return materials;
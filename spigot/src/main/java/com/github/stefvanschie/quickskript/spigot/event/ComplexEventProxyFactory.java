@@ -2,10 +2,12 @@ package com.github.stefvanschie.quickskript.spigot.event;
 
 import com.github.stefvanschie.quickskript.spigot.plugin.QuickSkript;
 import com.github.stefvanschie.quickskript.spigot.skript.SkriptEventExecutor;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
+import com.github.stefvanschie.quickskript.core.util.ClassDispatchTable;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
@@ -30,33 +32,27 @@ import java.util.regex.Matcher;
 public class ComplexEventProxyFactory extends EventProxyFactory {
 
     /**
-     * The storage of registered event handlers.
+     * The storage of registered event handlers. Handlers may be registered while events are being handled. Each event
+     * is only handled by the handlers of its closest class for which handlers were registered.
      */
     @NotNull
-    private final Map<Class<? extends Event>, List<Map.Entry<SkriptEventExecutor,
-        BiPredicate<Skript, Event>>>> REGISTERED_HANDLERS = new HashMap<>();
+    private final ClassDispatchTable<RegisteredHandler> REGISTERED_HANDLERS =
+        new ClassDispatchTable<>(RegisteredHandler[]::new, false);
 
     /**
      * The executor which handles the execution of all event handlers in the storage.
      */
     @NotNull
     private final EventExecutor HANDLER_EXECUTOR = (listener, event) -> {
-        Class<?> clazz = event.getClass();
-        List<Map.Entry<SkriptEventExecutor, BiPredicate<Skript, Event>>> handlers = REGISTERED_HANDLERS.get(clazz);
+        RegisteredHandler[] handlers = REGISTERED_HANDLERS.get(event.getClass());
 
-        while (handlers == null) {
-            clazz = clazz.getSuperclass();
+        for (int index = 0; index < handlers.length; index++) {
+            RegisteredHandler handler = handlers[index];
 
-            if (clazz == null) {
-                return;
+            if (handler.getFilter().test(handler.getExecutor().getScript(), event)) {
+                handler.getExecutor().execute(event);
             }
-
-            handlers = REGISTERED_HANDLERS.get(clazz);
         }
-
-        handlers.stream()
-            .filter(handler -> handler.getValue().test(handler.getKey().getScript(), event))
-            .forEach(handler -> handler.getKey().execute(event));
     };
 
     /**
@@ -118,11 +114,13 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
                     continue;
                 }
 
-                REGISTERED_HANDLERS.computeIfAbsent(eventFilter.getEvent(), event -> {
+                Class<? extends Event> event = eventFilter.getEvent();
+                var handler = new RegisteredHandler(toRegisterSupplier.get(), (BiPredicate<Skript, Event>) predicate);
+
+                if (REGISTERED_HANDLERS.add(event, handler)) {
                     Bukkit.getPluginManager().registerEvent(event, EMPTY_LISTENER,
                         EventPriority.NORMAL, HANDLER_EXECUTOR, QuickSkript.getInstance());
-                    return new ArrayList<>();
-                }).add(Map.entry(toRegisterSupplier.get(), (BiPredicate<Skript, Event>) predicate));
+                }
 
                 found = true;
             }
@@ -131,6 +129,29 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
         return found;
     }
 
+    @Override
+    public boolean matches(@NotNull String text) {
+        for (EventPattern eventPattern : eventPatterns) {
+            if (eventPattern.getEventFilters().isEmpty()) {
+                continue;
+            }
+
+            for (SkriptMatchResult match : eventPattern.getPattern().match(text)) {
+                if (!match.hasUnmatchedParts()) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean unregister(@NotNull Skript skript, @NotNull SkriptFileSection section) {
+        return REGISTERED_HANDLERS.removeIf(handler ->
+            handler.getExecutor().getScript() == skript && handler.getExecutor().getSection() == section);
+    }
+
     /**
      * Maps the specified regex to the specified Bukkit event.
      *
@@ -334,4 +355,60 @@ public class ComplexEventProxyFactory extends EventProxyFactory {
             return filterCreator;
         }
     }
+
+    /**
+     * An event handler together with the filter that decides whether it should handle an event.
+     *
+     * @since 0.1.0
+     */
+    private static class RegisteredHandler {
+
+        /**
+         * The executor which handles the event
+         */
+        @NotNull
+        private final SkriptEventExecutor executor;
+
+        /**
+         * The filter which must match in order for the executor to handle the event
+         */
+        @NotNull
+        private final BiPredicate<Skript, Event> filter;
+
+        /**
+         * Creates a new registered handler.
+         *
+         * @param executor the executor which handles the event
+         * @param filter the filter which must match in order for the executor to handle the event
+         * @since 0.1.0
+         */
+        private RegisteredHandler(@NotNull SkriptEventExecutor executor, @NotNull BiPredicate<Skript, Event> filter) {
+            this.executor = executor;
+            this.filter = filter;
+        }
+
+        /**
+         * Gets the executor which handles the event
+         *
+         * @return the executor
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private SkriptEventExecutor getExecutor() {
+            return executor;
+        }
+
+        /**
+         * Gets the filter which must match in order for the executor to handle the event
+         *
+         * @return the filter
+         * @since 0.1.0
+         */
+        @NotNull
+        @Contract(pure = true)
+        private BiPredicate<Skript, Event> getFilter() {
+            return filter;
+        }
+    }
 }
@@ -2,7 +2,10 @@ package com.github.stefvanschie.quickskript.spigot.event;
 
 import com.github.stefvanschie.quickskript.spigot.plugin.QuickSkript;
 import com.github.stefvanschie.quickskript.spigot.skript.SkriptEventExecutor;
+import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.pattern.SkriptPattern;
+import com.github.stefvanschie.quickskript.core.skript.Skript;
+import com.github.stefvanschie.quickskript.core.util.ClassDispatchTable;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventPriority;
@@ -21,10 +24,12 @@ import java.util.function.Supplier;
 public class SimpleEventProxyFactory extends EventProxyFactory {
 
     /**
-     * The storage of registered event handlers.
+     * The storage of registered event handlers. Handlers may be registered while events are being handled. Each event
+     * is handled by the handlers of its own class and of all its superclasses.
      */
     @NotNull
-    private final Map<Class<? extends Event>, List<SkriptEventExecutor>> REGISTERED_HANDLERS = new HashMap<>();
+    private final ClassDispatchTable<SkriptEventExecutor> REGISTERED_HANDLERS =
+        new ClassDispatchTable<>(SkriptEventExecutor[]::new, true);
 
     /**
      * The executor which handles the execution of all event handlers in the storage.
@@ -36,17 +41,11 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
         of an event is properly called.
          */
 
-        Class<?> clazz = event.getClass();
+        SkriptEventExecutor[] handlers = REGISTERED_HANDLERS.get(event.getClass());
 
-        do {
-            List<SkriptEventExecutor> handlers = REGISTERED_HANDLERS.get(clazz);
-
-            if (handlers != null) {
-                handlers.forEach(handler -> handler.execute(event));
-            }
-
-            clazz = clazz.getSuperclass();
-        } while (clazz != null);
+        for (int index = 0; index < handlers.length; index++) {
+            handlers[index].execute(event);
+        }
     };
 
     /**
@@ -71,11 +70,10 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
                 continue;
             }
 
-            REGISTERED_HANDLERS.computeIfAbsent(eventPattern.getKey(), event -> {
-                Bukkit.getPluginManager().registerEvent(event, EMPTY_LISTENER,
+            if (REGISTERED_HANDLERS.add(eventPattern.getKey(), toRegisterSupplier.get())) {
+                Bukkit.getPluginManager().registerEvent(eventPattern.getKey(), EMPTY_LISTENER,
                     EventPriority.NORMAL, HANDLER_EXECUTOR, QuickSkript.getInstance());
-                return new ArrayList<>();
-            }).add(toRegisterSupplier.get());
+            }
 
             found = true;
         }
@@ -83,6 +81,23 @@ public class SimpleEventProxyFactory extends EventProxyFactory {
         return found;
     }
 
+    @Override
+    public boolean matches(@NotNull String text) {
+        for (Map.Entry<Class<? extends Event>, Collection<String>> eventPattern : eventPatterns) {
+            if (eventPattern.getKey() != null && eventPattern.getValue().contains(text)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public boolean unregister(@NotNull Skript skript, @NotNull SkriptFileSection section) {
+        return REGISTERED_HANDLERS.removeIf(handler ->
+            handler.getScript() == skript && handler.getSection() == section);
+    }
+
     /**
      * Maps the specified regex to the specified Bukkit event.
      *
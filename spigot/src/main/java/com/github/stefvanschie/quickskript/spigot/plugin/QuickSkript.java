@@ -11,9 +11,12 @@ import com.github.stefvanschie.quickskript.spigot.util.event.script.ScriptUnload
 import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
 import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
 import com.github.stefvanschie.quickskript.core.skript.ScriptManager;
+import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.skript.profiler.BasicSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.ConcurrentSkriptProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.NoOpSkriptProfiler;
+import com.github.stefvanschie.quickskript.core.skript.profiler.SamplingSkriptProfiler;
 import com.github.stefvanschie.quickskript.core.skript.profiler.WholeSkriptProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
@@ -29,6 +32,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -98,15 +104,49 @@ public class QuickSkript extends JavaPlugin implements Listener {
 
         var environment = new SkriptRunEnvironment();
         updateProfilerImplementation(environment);
+        updateCompileThreshold(environment);
+        updateExecutionBudget(environment);
 
         var skriptLoader = new SpigotSkriptLoader(environment);
 
         this.manager = new ScriptManager(skriptLoader);
 
+        if (getConfig().getBoolean("enable-parse-cache")) {
+            this.manager.setCacheFolder(getDataFolder().toPath().resolve("cache"));
+        }
+
+        if (getConfig().getBoolean("log-optimizations")) {
+            skriptLoader.setOptimizationListener(getLogger()::info);
+        }
+
+        boolean warmUp = updateTriggerParsing(skriptLoader);
+
         loadScripts();
 
+        if (warmUp) {
+            Consumer<ParseException> onError = exception ->
+                getLogger().log(Level.SEVERE, "Error while parsing.", exception);
+
+            Bukkit.getScheduler().runTaskAsynchronously(this, () -> {
+                //triggers which query the server while parsing can only be parsed on the main thread
+                if (skriptLoader.parsePendingBaseSections(onError) > 0) {
+                    Bukkit.getScheduler().runTask(this, () -> skriptLoader.parsePendingBaseSections(onError));
+                }
+            });
+        }
+
         if (getConfig().getBoolean("enable-execute-command")) {
-            ExecuteCommand.register(skriptLoader, environment);
+            int cacheSize = Math.max(getConfig().getInt("execute-cache-size", 64), 0);
+
+            ExecuteCommand.register(skriptLoader, environment, cacheSize);
+        }
+
+        if (getConfig().getBoolean("enable-reload-command")) {
+            ReloadCommand.register(this.manager, getDataFolder().toPath().resolve("skripts"));
+        }
+
+        if (getConfig().getBoolean("enable-profile-command")) {
+            ProfileCommand.register(environment, getDataFolder().toPath().resolve("profiles"));
         }
 
         ServerTickEvent serverTickEvent = new ServerTickEvent();
@@ -150,12 +190,81 @@ public class QuickSkript extends JavaPlugin implements Listener {
             case "whole":
                 environment.setProfiler(new WholeSkriptProfiler());
                 break;
+            case "concurrent":
+                environment.setProfiler(new ConcurrentSkriptProfiler(getConfig().getBoolean("profile-statements")));
+                break;
+            case "sampling":
+                int sampleInterval = getConfig().getInt("profiler-sample-interval", 100);
+
+                environment.setProfiler(new SamplingSkriptProfiler(sampleInterval));
+                break;
             default:
                 getLogger().severe("Invalid profiler implementation in config.yml, using default one.");
                 break;
         }
     }
 
+    /**
+     * Sets the amount of executions after which entry points get compiled, according to the config.
+     *
+     * @param environment the environment to configure
+     * @since 0.1.0
+     */
+    private void updateCompileThreshold(@NotNull SkriptRunEnvironment environment) {
+        int compileThreshold = getConfig().getInt("compile-threshold", 0);
+
+        if (compileThreshold < 0) {
+            getLogger().severe("Invalid compile threshold in config.yml, using default one.");
+            return;
+        }
+
+        environment.setCompileThreshold(compileThreshold);
+    }
+
+    /**
+     * Sets how long triggers may run and how often they may run too long before they are disabled, according to the
+     * config.
+     *
+     * @param environment the environment to configure
+     * @since 0.1.0
+     */
+    private void updateExecutionBudget(@NotNull SkriptRunEnvironment environment) {
+        long executionBudget = getConfig().getLong("execution-budget", 0);
+        int budgetViolationLimit = getConfig().getInt("budget-violation-limit", 0);
+
+        if (executionBudget < 0 || budgetViolationLimit < 0) {
+            getLogger().severe("Invalid execution budget in config.yml, using default one.");
+            return;
+        }
+
+        environment.setExecutionBudget(TimeUnit.MILLISECONDS.toNanos(executionBudget));
+        environment.setBudgetViolationLimit(budgetViolationLimit);
+    }
+
+    /**
+     * Sets whether the skript loader should parse entry points lazily, according to the config.
+     *
+     * @param skriptLoader the skript loader to configure
+     * @return true if the entry points should be parsed in the background after loading, false otherwise
+     * @since 0.1.0
+     */
+    private boolean updateTriggerParsing(@NotNull SkriptLoader skriptLoader) {
+        switch (getConfig().getString("trigger-parsing", "eager").toLowerCase()) {
+            case "eager":
+                skriptLoader.setLazyParsing(false);
+                return false;
+            case "lazy":
+                skriptLoader.setLazyParsing(true);
+                return false;
+            case "warm-up":
+                skriptLoader.setLazyParsing(true);
+                return true;
+            default:
+                getLogger().severe("Invalid trigger parsing mode in config.yml, using default one.");
+                return false;
+        }
+    }
+
     /**
      * Loads all available scripts
      *
@@ -178,21 +287,17 @@ public class QuickSkript extends JavaPlugin implements Listener {
                 .filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(".sk"))) {
             Collection<Path> scripts = files.collect(Collectors.toUnmodifiableSet());
 
-            for (Path scriptPath : scripts) {
-                try {
-                    FileSkript script = this.manager.loadScript(scriptPath);
-
-                    Bukkit.getPluginManager().callEvent(new ScriptLoadEvent(script));
-                } catch (IOException exception) {
-                    getLogger().severe("Unable to read script file.");
-                    exception.printStackTrace();
-                    return;
-                } catch (ParseException exception) {
-                    getLogger().severe("Error while parsing.");
-                    exception.printStackTrace();
-                    return;
-                }
-            }
+            PluginManager pluginManager = Bukkit.getPluginManager();
+
+            this.manager.loadScripts(scripts, script -> pluginManager.callEvent(new ScriptLoadEvent(script)),
+                (path, exception) -> {
+                    if (exception instanceof ParseException) {
+                        getLogger().log(Level.SEVERE, "Error while parsing " + path.getFileName() + ".", exception);
+                    } else {
+                        getLogger().log(Level.SEVERE, "Unable to read script file " + path.getFileName() + ".",
+                            exception);
+                    }
+                });
         } catch (IOException exception) {
             getLogger().severe("Unable to read skripts folder.");
             exception.printStackTrace();
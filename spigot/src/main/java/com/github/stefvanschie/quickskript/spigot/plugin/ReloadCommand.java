@@ -0,0 +1,115 @@
+package com.github.stefvanschie.quickskript.spigot.plugin;
+
+import com.github.stefvanschie.quickskript.spigot.util.CommandMapWrapper;
+import com.github.stefvanschie.quickskript.spigot.util.event.script.ScriptLoadEvent;
+import com.github.stefvanschie.quickskript.spigot.util.event.script.ScriptUnloadEvent;
+import com.github.stefvanschie.quickskript.core.file.skript.FileSkript;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.skript.ScriptManager;
+import com.github.stefvanschie.quickskript.core.skript.ScriptReloadResult;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.logging.Level;
+
+/**
+ * A command that lets {@link CommandSender}s reload a single script without restarting the server. Only the sections
+ * of the script that changed are parsed and registered again.
+ *
+ * @since 0.1.0
+ */
+public class ReloadCommand implements CommandExecutor {
+
+    /**
+     * The script manager which loaded the scripts
+     */
+    @NotNull
+    private final ScriptManager manager;
+
+    /**
+     * The folder in which the scripts reside
+     */
+    @NotNull
+    private final Path scriptFolder;
+
+    /**
+     * Creates a new reload command
+     *
+     * @param manager the script manager which loaded the scripts
+     * @param scriptFolder the folder in which the scripts reside
+     * @since 0.1.0
+     */
+    private ReloadCommand(@NotNull ScriptManager manager, @NotNull Path scriptFolder) {
+        this.manager = manager;
+        this.scriptFolder = scriptFolder;
+    }
+
+    /**
+     * Registers this {@link CommandExecutor} into Bukkit's command system.
+     *
+     * @param manager the script manager which loaded the scripts
+     * @param scriptFolder the folder in which the scripts reside
+     * @since 0.1.0
+     */
+    public static void register(@NotNull ScriptManager manager, @NotNull Path scriptFolder) {
+        var wrapper = new CommandMapWrapper();
+        PluginCommand command = wrapper.create("skreload");
+        command.setPermission("quickskript.reload");
+        command.setDescription("Reloads a single script without restarting the server.");
+        command.setUsage("/skreload <script>");
+        command.setExecutor(new ReloadCommand(manager, scriptFolder));
+        wrapper.register(command);
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+            @NotNull String label, @NotNull String[] args) {
+        if (args.length != 1) {
+            return false;
+        }
+
+        ScriptReloadResult result;
+
+        try {
+            result = manager.reloadScript(scriptFolder, args[0]);
+        } catch (IOException exception) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Unable to read script file.", exception);
+            sender.sendMessage(ChatColor.RED + "Unable to read script file.");
+            return true;
+        } catch (ParseException exception) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while parsing.", exception);
+            sender.sendMessage(ChatColor.RED + "Error while parsing: " + exception.getMessage());
+            return true;
+        }
+
+        FileSkript script = result.getScript();
+
+        switch (result.getStatus()) {
+            case RELOADED:
+                Bukkit.getPluginManager().callEvent(new ScriptLoadEvent(script));
+                sender.sendMessage(ChatColor.YELLOW + "Reloaded " + script.getName() + " in " +
+                    result.getElapsedTime() / 1000000 + " ms.");
+                break;
+            case UNLOADED:
+                Bukkit.getPluginManager().callEvent(new ScriptUnloadEvent(script));
+                sender.sendMessage(ChatColor.YELLOW + "Unloaded " + script.getName() + ", since its file no " +
+                    "longer exists.");
+                break;
+            case NOT_FOUND:
+                sender.sendMessage(ChatColor.RED + "No script named " + args[0] + " exists.");
+                break;
+            case OUTSIDE_FOLDER:
+                sender.sendMessage(ChatColor.RED + "Scripts can only be reloaded from the skripts folder.");
+                break;
+        }
+
+        return true;
+    }
+}
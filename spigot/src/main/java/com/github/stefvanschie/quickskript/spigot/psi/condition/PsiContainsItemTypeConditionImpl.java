@@ -7,14 +7,15 @@ import com.github.stefvanschie.quickskript.core.psi.condition.PsiContainsItemTyp
 import com.github.stefvanschie.quickskript.core.psi.util.multiresult.MultiResult;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
 import com.github.stefvanschie.quickskript.core.util.literal.ItemType;
+import org.bukkit.Material;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Checks whether a given inventory contains a given item type.
@@ -23,6 +24,12 @@ import java.util.Iterator;
  */
 public class PsiContainsItemTypeConditionImpl extends PsiContainsItemTypeCondition {
 
+    /**
+     * The requirements of the item types, if the item types are pre computed; null otherwise
+     */
+    @Nullable
+    private final MultiResult<Requirement> preComputedRequirements;
+
     /**
      * Creates a new element with the given line number.
      *
@@ -39,6 +46,12 @@ public class PsiContainsItemTypeConditionImpl extends PsiContainsItemTypeConditi
         int lineNumber
     ) {
         super(inventory, itemType, positive, lineNumber);
+
+        if (itemType.isPreComputed()) {
+            this.preComputedRequirements = itemType.executeMulti(null, null, ItemType.class).map(Requirement::new);
+        } else {
+            this.preComputedRequirements = null;
+        }
     }
 
     @NotNull
@@ -46,39 +59,100 @@ public class PsiContainsItemTypeConditionImpl extends PsiContainsItemTypeConditi
     @Override
     protected Boolean executeImpl(@Nullable SkriptRunEnvironment environment, @Nullable Context context) {
         MultiResult<Inventory> inventories = super.inventory.executeMulti(environment, context, Inventory.class);
-        MultiResult<ItemType> itemTypes = super.itemType.executeMulti(environment, context, ItemType.class);
+        MultiResult<Requirement> requirements = preComputedRequirements == null
+            ? super.itemType.executeMulti(environment, context, ItemType.class).map(Requirement::new)
+            : preComputedRequirements;
+
+        return inventories.test(inventory -> requirements.test(requirement -> requirement.isMetBy(inventory)));
+    }
+
+    /**
+     * The item stacks an item type requires an inventory to contain. The item stacks are indexed by their material;
+     * since all item stacks of an item type have the same amount and enchantments, there is at most one item stack for
+     * every material. Requirements are immutable, so they can be created once and checked from multiple threads.
+     *
+     * @since 0.1.0
+     */
+    private static final class Requirement {
+
+        /**
+         * The item stacks which are required, including the amount that is required of them
+         */
+        @NotNull
+        private final ItemStack @NotNull [] itemStacks;
+
+        /**
+         * The index of the item stack of every material in {@link #itemStacks}
+         */
+        @NotNull
+        private final Map<Material, Integer> indices = new EnumMap<>(Material.class);
 
-        return inventories.test(inventory -> itemTypes.test(itemType -> {
-            Collection<? extends ItemStack> itemStacks = ItemTypeUtil.convertToItemStacks(itemType);
+        /**
+         * If true, all item stacks are required; otherwise one of them suffices
+         */
+        private final boolean all;
+
+        /**
+         * Creates the requirement of the given item type
+         *
+         * @param itemType the item type
+         * @since 0.1.0
+         */
+        private Requirement(@NotNull ItemType itemType) {
+            this.itemStacks = ItemTypeUtil.convertToItemStacks(itemType).toArray(new ItemStack[0]);
+            this.all = itemType.isAll();
+
+            for (int index = 0; index < itemStacks.length; index++) {
+                indices.put(itemStacks[index].getType(), index);
+            }
+        }
+
+        /**
+         * Checks whether the given inventory contains the required item stacks. The inventory is scanned once; the
+         * amounts in every slot are subtracted from the amount that remains required of the item stack of the same
+         * material.
+         *
+         * @param inventory the inventory to check
+         * @return true if the inventory contains the required item stacks, false otherwise
+         * @since 0.1.0
+         */
+        @Contract(pure = true)
+        private boolean isMetBy(@NotNull Inventory inventory) {
+            int[] remaining = new int[itemStacks.length];
+            int unmet = itemStacks.length;
+
+            for (int index = 0; index < itemStacks.length; index++) {
+                remaining[index] = itemStacks[index].getAmount();
+            }
 
             for (ItemStack inventoryItem : inventory.getStorageContents()) {
+                if (unmet == 0) {
+                    break;
+                }
+
                 if (inventoryItem == null) {
                     continue;
                 }
 
-                for (Iterator<? extends ItemStack> iterator = itemStacks.iterator(); iterator.hasNext();) {
-                    ItemStack itemStack = iterator.next();
-
-                    if (!inventoryItem.isSimilar(itemStack)) {
-                        continue;
-                    }
+                Integer index = indices.get(inventoryItem.getType());
 
-                    int remaining = itemStack.getAmount() - inventoryItem.getAmount();
+                if (index == null || remaining[index] <= 0 || !inventoryItem.isSimilar(itemStacks[index])) {
+                    continue;
+                }
 
-                    if (remaining <= 0) {
-                        if (!itemType.isAll()) {
-                            return true;
-                        }
+                remaining[index] -= inventoryItem.getAmount();
 
-                        iterator.remove();
-                    } else {
-                        itemStack.setAmount(remaining);
+                if (remaining[index] <= 0) {
+                    if (!all) {
+                        return true;
                     }
+
+                    unmet--;
                 }
             }
 
-            return itemStacks.isEmpty();
-        }));
+            return unmet == 0;
+        }
     }
 
     /**
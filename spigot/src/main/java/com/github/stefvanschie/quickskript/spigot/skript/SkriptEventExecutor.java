@@ -5,13 +5,18 @@ import com.github.stefvanschie.quickskript.spigot.context.EventContextImpl;
 import com.github.stefvanschie.quickskript.core.context.EventContext;
 import com.github.stefvanschie.quickskript.core.file.skript.SkriptFileSection;
 import com.github.stefvanschie.quickskript.core.psi.exception.ExecutionException;
+import com.github.stefvanschie.quickskript.core.psi.exception.ParseException;
+import com.github.stefvanschie.quickskript.core.psi.section.LazyBaseSection;
 import com.github.stefvanschie.quickskript.core.psi.section.PsiBaseSection;
+import com.github.stefvanschie.quickskript.core.skript.ExecutionFrame;
 import com.github.stefvanschie.quickskript.core.skript.Skript;
 import com.github.stefvanschie.quickskript.core.skript.SkriptLoader;
 import com.github.stefvanschie.quickskript.core.skript.SkriptRunEnvironment;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 
 /**
@@ -34,10 +39,23 @@ public class SkriptEventExecutor {
     private final SkriptRunEnvironment environment;
 
     /**
-     * The elements that should get executed
+     * The elements that should get executed, which may not have been parsed yet
      */
     @NotNull
-    private final PsiBaseSection elements;
+    private final LazyBaseSection elements;
+
+    /**
+     * The file section the elements were loaded from
+     */
+    @NotNull
+    private final SkriptFileSection section;
+
+    /**
+     * Whether the elements are being parsed on the main thread, because they couldn't be parsed on the thread which
+     * fired the event
+     */
+    @NotNull
+    private final AtomicBoolean parsingOnMainThread = new AtomicBoolean();
 
     /**
      * Constructs a new skript event.
@@ -51,7 +69,8 @@ public class SkriptEventExecutor {
             @NotNull Skript skript, @NotNull SkriptFileSection section) {
         this.skript = skript;
         this.environment = environment;
-        elements = new PsiBaseSection(skriptLoader, skript, section, EventContext.class);
+        this.section = section;
+        elements = skriptLoader.createBaseSection(skript, section, EventContext.class);
     }
 
     /**
@@ -61,10 +80,50 @@ public class SkriptEventExecutor {
      * @since 0.1.0
      */
     public void execute(@NotNull Event event) {
+        PsiBaseSection elements;
+
+        try {
+            elements = this.elements.get();
+        } catch (ParseException e) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while parsing", e);
+            return;
+        } catch (WrongThreadException e) {
+            //events fired on other threads are skipped until the elements are parsed on the main thread
+            if (parsingOnMainThread.compareAndSet(false, true)) {
+                QuickSkript.getInstance().getLogger().warning("Trigger on line " + section.getLineNumber() +
+                    " of " + skript.getName() + " can't be parsed on thread " + Thread.currentThread().getName() +
+                    ", it will be parsed on the main thread instead: " + e.getMessage());
+                Bukkit.getScheduler().runTask(QuickSkript.getInstance(), this::parse);
+            }
+
+            return;
+        }
+
+        if (elements == null) {
+            return;
+        }
+
+        ExecutionFrame frame = ExecutionFrame.enter();
+
         try {
-            elements.execute(environment, new EventContextImpl(skript, event));
+            elements.execute(environment, EventContextImpl.reuse(frame, skript, event));
         } catch (ExecutionException e) {
             QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while executing", e);
+        } finally {
+            frame.exit();
+        }
+    }
+
+    /**
+     * Parses the elements, if they haven't been parsed yet. This must be called on the main thread.
+     *
+     * @since 0.1.0
+     */
+    private void parse() {
+        try {
+            this.elements.get();
+        } catch (ParseException e) {
+            QuickSkript.getInstance().getLogger().log(Level.SEVERE, "Error while parsing", e);
         }
     }
 
@@ -78,4 +137,15 @@ public class SkriptEventExecutor {
     public Skript getScript() {
         return this.skript;
     }
+
+    /**
+     * Gets the file section this event executor was loaded from.
+     *
+     * @return the file section
+     * @since 0.1.0
+     */
+    @NotNull
+    public SkriptFileSection getSection() {
+        return this.section;
+    }
 }
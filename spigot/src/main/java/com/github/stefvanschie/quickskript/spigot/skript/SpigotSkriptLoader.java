@@ -26,6 +26,7 @@ import com.github.stefvanschie.quickskript.core.pattern.SkriptMatchResult;
 import com.github.stefvanschie.quickskript.core.pattern.group.SkriptPatternGroup;
 import com.github.stefvanschie.quickskript.core.pattern.group.TypeGroup;
 import com.github.stefvanschie.quickskript.core.psi.PsiElement;
+import com.github.stefvanschie.quickskript.core.psi.PsiGenericElementFactory;
 import com.github.stefvanschie.quickskript.core.psi.condition.*;
 import com.github.stefvanschie.quickskript.core.psi.effect.*;
 import com.github.stefvanschie.quickskript.core.psi.expression.*;
@@ -47,7 +48,7 @@ import com.github.stefvanschie.quickskript.core.util.registry.EntityTypeRegistry
 import com.github.stefvanschie.quickskript.spigot.psi.condition.*;
 import com.github.stefvanschie.quickskript.spigot.psi.expression.*;
 import com.github.stefvanschie.quickskript.spigot.util.CommandMapWrapper;
-import com.github.stefvanschie.quickskript.spigot.util.ItemComparisonUtil;
+import com.github.stefvanschie.quickskript.spigot.util.ItemDescriptor;
 import com.github.stefvanschie.quickskript.spigot.util.ResourcePackStatusUtil;
 import com.github.stefvanschie.quickskript.spigot.util.TreeTypeUtil;
 import org.bukkit.*;
@@ -112,6 +113,12 @@ public class SpigotSkriptLoader extends SkriptLoader {
     @NotNull
     private final CommandMapWrapper commandMapWrapper = new CommandMapWrapper();
 
+    /**
+     * The commands that were registered, by the section they were registered from
+     */
+    @NotNull
+    private final Map<SkriptFileSection, PluginCommand> registeredCommands = new HashMap<>();
+
     /**
      * Creates a new Bukkit skript loader.
      *
@@ -564,13 +571,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getItem();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -625,7 +632,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                     Collection<BlockData> blockData = new HashSet<>();
 
                     for (String entry : ((ItemType) object).getItemTypeEntries()) {
-                        blockData.add(Bukkit.createBlockData(entry));
+                        blockData.add(ItemDescriptor.of(entry).getBlockData());
                     }
 
                     return event -> {
@@ -715,13 +722,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getRecipe().getResult();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -788,7 +795,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getCurrentItem();
@@ -797,8 +804,8 @@ public class SpigotSkriptLoader extends SkriptLoader {
                                 return false;
                             }
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -828,13 +835,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getEntity().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -864,13 +871,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getEntity().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -899,13 +906,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                         continue;
                     }
 
-                    Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                    List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                     return event -> {
                         ItemStack item = event.getEntity().getItemStack();
 
-                        for (String entry : entries) {
-                            if (ItemComparisonUtil.compare(item, entry)) {
+                        for (ItemDescriptor entry : entries) {
+                            if (entry.matches(item)) {
                                 return true;
                             }
                         }
@@ -974,13 +981,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             ItemStack item = event.getItemDrop().getItemStack();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -1033,13 +1040,13 @@ public class SpigotSkriptLoader extends SkriptLoader {
                                 continue;
                             }
 
-                            Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                            List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                             return event -> {
                                 ItemStack item = event.getItem();
 
-                                for (String entry : entries) {
-                                    if (ItemComparisonUtil.compare(item, entry)) {
+                                for (ItemDescriptor entry : entries) {
+                                    if (entry.matches(item)) {
                                         return true;
                                     }
                                 }
@@ -1072,7 +1079,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> entries = ((ItemType) object).getItemTypeEntries();
+                        List<ItemDescriptor> entries = ItemDescriptor.allOf((ItemType) object);
 
                         return event -> {
                             Recipe recipe = event.getRecipe();
@@ -1083,8 +1090,8 @@ public class SpigotSkriptLoader extends SkriptLoader {
 
                             ItemStack item = recipe.getResult();
 
-                            for (String entry : entries) {
-                                if (ItemComparisonUtil.compare(item, entry)) {
+                            for (ItemDescriptor entry : entries) {
+                                if (entry.matches(item)) {
                                     return true;
                                 }
                             }
@@ -1240,15 +1247,15 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             continue;
                         }
 
-                        Iterable<? extends String> keys = ((ItemType) itemType).getItemTypeEntries();
+                        List<ItemDescriptor> keys = ItemDescriptor.allOf((ItemType) itemType);
 
                         return event -> {
                             if (match.getParseMark() == 1 && !(event.getEntity() instanceof Player)) {
                                 return false;
                             }
 
-                            for (String key : keys) {
-                                if (ItemComparisonUtil.compare(event.getItem().getItemStack(), key)) {
+                            for (ItemDescriptor key : keys) {
+                                if (key.matches(event.getItem().getItemStack())) {
                                     return true;
                                 }
                             }
@@ -1311,7 +1318,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
 
                         EnumSet<Action> allowedActions = EnumSet.allOf(Action.class);
                         Collection<BlockData> targets = new HashSet<>();
-                        Collection<String> holding = new HashSet<>();
+                        Collection<ItemDescriptor> holding = new HashSet<>();
 
                         if ((parseMark & 1) > 0) {
                             allowedActions = EnumSet.of(Action.RIGHT_CLICK_AIR, Action.RIGHT_CLICK_BLOCK);
@@ -1336,9 +1343,9 @@ public class SpigotSkriptLoader extends SkriptLoader {
 
                             for (String entry : ((ItemType) object).getItemTypeEntries()) {
                                 if ((parseMark & 16) > 0) {
-                                    holding.add(entry);
+                                    holding.add(ItemDescriptor.of(entry));
                                 } else {
-                                    targets.add(Bukkit.createBlockData(entry));
+                                    targets.add(ItemDescriptor.of(entry).getBlockData());
                                 }
                             }
 
@@ -1354,9 +1361,9 @@ public class SpigotSkriptLoader extends SkriptLoader {
 
                             for (String entry : ((ItemType) object).getItemTypeEntries()) {
                                 if ((parseMark & 16) > 0) {
-                                    targets.add(Bukkit.createBlockData(entry));
+                                    targets.add(ItemDescriptor.of(entry).getBlockData());
                                 } else {
-                                    holding.add(entry);
+                                    holding.add(ItemDescriptor.of(entry));
                                 }
                             }
                         }
@@ -1385,8 +1392,8 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             ItemStack item = event.getItem();
 
                             if (item != null) {
-                                for (String data : holding) {
-                                    if (!ItemComparisonUtil.compare(item, data)) {
+                                for (ItemDescriptor data : holding) {
+                                    if (!data.matches(item)) {
                                         return false;
                                     }
                                 }
@@ -1414,7 +1421,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                         //we have to differentiate between this not being specified, being null and being actual text, so here's a nullable optional
                         //noinspection OptionalAssignedToNull
                         Optional<String> entityTypeKey = null;
-                        Collection<String> holding = new HashSet<>();
+                        Collection<ItemDescriptor> holding = new HashSet<>();
 
                         if ((parseMark & 2) > 0) {
                             return event -> false;
@@ -1437,7 +1444,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                                     continue;
                                 }
 
-                                holding.addAll(((ItemType) itemType).getItemTypeEntries());
+                                holding.addAll(ItemDescriptor.allOf((ItemType) itemType));
 
                                 elementIndex++;
                             }
@@ -1474,7 +1481,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                                     continue;
                                 }
 
-                                holding.addAll(((ItemType) itemType).getItemTypeEntries());
+                                holding.addAll(ItemDescriptor.allOf((ItemType) itemType));
                             }
                         }
 
@@ -1513,8 +1520,8 @@ public class SpigotSkriptLoader extends SkriptLoader {
                             }
 
                             if (item.getType() != Material.AIR) {
-                                for (String data : holding) {
-                                    if (!ItemComparisonUtil.compare(item, data)) {
+                                for (ItemDescriptor data : holding) {
+                                    if (!data.matches(item)) {
                                         return false;
                                     }
                                 }
@@ -1573,7 +1580,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
                     Collection<BlockData> blockData = new HashSet<>();
 
                     for (String entry : ((ItemType) itemType).getItemTypeEntries()) {
-                        blockData.add(Bukkit.createBlockData(entry));
+                        blockData.add(ItemDescriptor.of(entry).getBlockData());
                     }
 
                     return event -> {
@@ -1814,6 +1821,8 @@ public class SpigotSkriptLoader extends SkriptLoader {
         command.setExecutor(new SkriptCommandExecutor(this, environment, skript, trigger, target));
 
         commandMapWrapper.register(command);
+
+        registeredCommands.put(section, command);
     }
 
     @Override
@@ -1829,6 +1838,48 @@ public class SpigotSkriptLoader extends SkriptLoader {
         }
     }
 
+    @Override
+    public boolean isEvent(@NotNull String text) {
+        String input = text.trim();
+
+        for (EventProxyFactory factory : events) {
+            if (factory.matches(input)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @NotNull
+    @Override
+    protected String getPlatformVersion() {
+        return QuickSkript.getInstance().getDescription().getVersion();
+    }
+
+    @Override
+    protected boolean canParseOnCurrentThread(@NotNull PsiGenericElementFactory factory) {
+        //only the factories of core are known not to query the server while parsing
+        return Bukkit.isPrimaryThread() ||
+            factory.getClass().getName().startsWith("com.github.stefvanschie.quickskript.core.");
+    }
+
+    @Override
+    public void tryUnregisterCommand(Skript skript, SkriptFileSection section) {
+        PluginCommand command = registeredCommands.remove(section);
+
+        if (command != null) {
+            commandMapWrapper.unregister(command);
+        }
+    }
+
+    @Override
+    public void tryUnregisterEvent(Skript skript, SkriptFileSection section) {
+        for (EventProxyFactory factory : events) {
+            factory.unregister(skript, section);
+        }
+    }
+
     /**
      * Creates a default predicate which takes in a block event, comparing the block data to the provided item type,
      * returning true if any of the block data matches and false otherwise.
@@ -1843,7 +1894,7 @@ public class SpigotSkriptLoader extends SkriptLoader {
         Collection<BlockData> blockData = new HashSet<>();
 
         for (String entry : itemType.getItemTypeEntries()) {
-            blockData.add(Bukkit.createBlockData(entry));
+            blockData.add(ItemDescriptor.of(entry).getBlockData());
         }
 
         return event -> {
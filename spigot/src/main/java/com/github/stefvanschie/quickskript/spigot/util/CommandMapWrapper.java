@@ -2,8 +2,11 @@ package com.github.stefvanschie.quickskript.spigot.util;
 
 import com.github.stefvanschie.quickskript.spigot.plugin.QuickSkript;
 import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
 import org.bukkit.command.CommandMap;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.SimplePluginManager;
 import org.jetbrains.annotations.NotNull;
@@ -11,6 +14,7 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -61,4 +65,30 @@ public class CommandMapWrapper {
     public void register(PluginCommand command) {
         map.register("quickskript", command);
     }
+
+    /**
+     * Unregisters the given command, including its aliases, and updates the commands known to the online players.
+     *
+     * @param command the command to unregister
+     * @since 0.1.0
+     */
+    public void unregister(@NotNull PluginCommand command) {
+        command.unregister(map);
+
+        if (map instanceof SimpleCommandMap) {
+            try {
+                Field knownCommandsField = SimpleCommandMap.class.getDeclaredField("knownCommands");
+                knownCommandsField.setAccessible(true);
+
+                @SuppressWarnings("unchecked")
+                var knownCommands = (Map<String, Command>) knownCommandsField.get(map);
+
+                knownCommands.values().removeIf(knownCommand -> knownCommand == command);
+            } catch (ReflectiveOperationException e) {
+                throw new AssertionError("Error while getting the known commands:", e);
+            }
+        }
+
+        Bukkit.getOnlinePlayers().forEach(Player::updateCommands);
+    }
 }